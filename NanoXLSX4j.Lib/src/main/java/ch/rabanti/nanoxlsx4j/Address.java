@@ -99,6 +99,16 @@ public class Address implements Comparable<Address> {
         return resolveCellAddress(this.Column, this.Row, this.Type);
     }
 
+    /**
+     * Appends the address to a StringBuilder, without creating an intermediate string
+     *
+     * @param sb StringBuilder to append the address to
+     * @throws RangeException Thrown if the column or row is out of range
+     */
+    public void appendAddress(StringBuilder sb) {
+        Cell.appendCellAddress(sb, this.Column, this.Row, this.Type);
+    }
+
     /**
      * Gets the column address (A - XFD)
      *
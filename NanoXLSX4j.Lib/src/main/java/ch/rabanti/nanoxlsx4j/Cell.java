@@ -15,10 +15,14 @@ import ch.rabanti.nanoxlsx4j.styles.StyleRepository;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,6 +36,11 @@ public class Cell implements Comparable<Cell> {
     // ### C O N S T A N T S ###
 
     private static final int ASCII_OFFSET = 64;
+    /**
+     * Lazily filled cache of all column addresses (A - XFD). Concurrent filling is harmless, since a slot can only
+     * receive the same, immutable string
+     */
+    private static final String[] COLUMN_ADDRESSES = new String[Worksheet.MAX_COLUMN_NUMBER + 1];
 
     // ### E N U M S ###
 
@@ -48,11 +57,12 @@ public class Cell implements Comparable<Cell> {
          */
         NUMBER,
         /**
-         * Type for dates and times (Note: Dates before 1900-01-01 are not allowed)
+         * Type for dates and times, represented by {@link Date}, {@link LocalDate}, {@link LocalDateTime} or
+         * {@link Instant} (Note: Dates before 1900-01-01 are not allowed)
          */
         DATE,
         /**
-         * Type for times (Note: Internally handled as OAdate, represented by {@link LocalTime}
+         * Type for times (Note: Internally handled as OAdate, represented by {@link Duration} or {@link LocalTime}
          */
         TIME,
         /**
@@ -121,6 +131,10 @@ public class Cell implements Comparable<Cell> {
     private CellType dataType;
     private Object value;
     private AddressType cellAddressType = AddressType.Default;
+    /**
+     * Map of the worksheet that contains the cell. The map is notified about modifications of the cell
+     */
+    CellMap owner;
 
     // ### G E T T E R S & S E T T E R S ###
 
@@ -144,6 +158,7 @@ public class Cell implements Comparable<Cell> {
         this.columnNumber = temp.Column;
         this.rowNumber = temp.Row;
         this.cellAddressType = temp.Type;
+        markModified();
     }
 
     /**
@@ -192,6 +207,7 @@ public class Cell implements Comparable<Cell> {
     public void setColumnNumber(int columnNumber) {
         validateColumnNumber(columnNumber);
         this.columnNumber = columnNumber;
+        markModified();
     }
 
     /**
@@ -209,7 +225,10 @@ public class Cell implements Comparable<Cell> {
      * @param dataType Type of the cell
      */
     public void setDataType(CellType dataType) {
-        this.dataType = dataType;
+        if (this.dataType != dataType) {
+            this.dataType = dataType;
+            markModified();
+        }
     }
 
     /**
@@ -229,6 +248,7 @@ public class Cell implements Comparable<Cell> {
     public void setRowNumber(int rowNumber) {
         validateRowNumber(rowNumber);
         this.rowNumber = rowNumber;
+        markModified();
     }
 
     /**
@@ -251,6 +271,7 @@ public class Cell implements Comparable<Cell> {
      */
     public void setCellAddressType(AddressType cellAddressType) {
         this.cellAddressType = cellAddressType;
+        markModified();
     }
 
     /**
@@ -270,6 +291,7 @@ public class Cell implements Comparable<Cell> {
      */
     public void setValue(Object value) {
         this.value = value;
+        markModified();
         resolveCellType();
     }
 
@@ -413,7 +435,10 @@ public class Cell implements Comparable<Cell> {
      * @throws StyleException Thrown if the workbook to remove was not found in the style sheet collection
      */
     public void removeStyle() {
-        this.cellStyle = null;
+        if (this.cellStyle != null) {
+            this.cellStyle = null;
+            markModified();
+        }
     }
 
     /**
@@ -422,6 +447,17 @@ public class Cell implements Comparable<Cell> {
      * this method and EMPTY will discard the value of the cell
      */
     public void resolveCellType() {
+        CellType previousType = this.dataType;
+        resolveType();
+        if (this.dataType != previousType) {
+            markModified();
+        }
+    }
+
+    /**
+     * Resolves the type of the cell according to its value
+     */
+    private void resolveType() {
         if (this.value == null) {
             this.setDataType(CellType.EMPTY);
             return;
@@ -453,11 +489,11 @@ public class Cell implements Comparable<Cell> {
         else if (value instanceof Short) {
             this.dataType = CellType.NUMBER;
         } // ushort not existing in Java
-        else if (value instanceof Date) {
+        else if (value instanceof Date || value instanceof LocalDate || value instanceof LocalDateTime || value instanceof Instant) {
             this.dataType = CellType.DATE;
             setStyle(BasicStyles.DateFormat());
         }
-        else if (value instanceof Duration) {
+        else if (value instanceof Duration || value instanceof LocalTime) {
             this.dataType = CellType.TIME;
             setStyle(BasicStyles.TimeFormat());
         }
@@ -511,15 +547,28 @@ public class Cell implements Comparable<Cell> {
         if (style == null) {
             throw new StyleException("No style to assign was defined");
         }
+        Style previousStyle = this.cellStyle;
         if (unmanaged) {
             this.cellStyle = style;
         }
         else {
             this.cellStyle = StyleRepository.getInstance().addStyle(style);
         }
+        if (!Objects.equals(previousStyle, this.cellStyle)) {
+            markModified();
+        }
         return this.cellStyle;
     }
 
+    /**
+     * Notifies the map of the worksheet about a modification of the cell
+     */
+    private void markModified() {
+        if (this.owner != null) {
+            this.owner.cellModified();
+        }
+    }
+
     /**
      * Copies this cell into a new one. The style is considered if not null.
      *
@@ -584,11 +633,11 @@ public class Cell implements Comparable<Cell> {
             else if (o instanceof Short) {
                 c = new Cell(o, CellType.NUMBER);
             }
-            else if (o instanceof Date) {
+            else if (o instanceof Date || o instanceof LocalDate || o instanceof LocalDateTime || o instanceof Instant) {
                 c = new Cell(o, CellType.DATE);
                 c.setStyle(BasicStyles.DateFormat());
             }
-            else if (o instanceof LocalTime) {
+            else if (o instanceof Duration || o instanceof LocalTime) {
                 c = new Cell(o, CellType.TIME);
                 c.setStyle(BasicStyles.TimeFormat());
             }
@@ -708,18 +757,32 @@ public class Cell implements Comparable<Cell> {
      * @throws RangeException Throws a RangeException if the start or end address was out of range
      */
     public static String resolveCellAddress(int column, int row, AddressType type) {
-        validateColumnNumber(column);
+        StringBuilder sb = new StringBuilder(14);
+        appendCellAddress(sb, column, row, type);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the address of a cell by the column and row number (zero based) to a StringBuilder, without creating an
+     * intermediate string
+     *
+     * @param sb     StringBuilder to append the address to
+     * @param column Column address of the cell (zero-based)
+     * @param row    Row address of the cell (zero-based)
+     * @param type   Referencing type of the address
+     * @throws RangeException Throws a RangeException if the column or row was out of range
+     */
+    public static void appendCellAddress(StringBuilder sb, int column, int row, AddressType type) {
+        String columnAddress = resolveColumnAddress(column);
         validateRowNumber(row);
-        switch (type) {
-            case FixedRowAndColumn:
-                return "$" + resolveColumnAddress(column) + "$" + (row + 1);
-            case FixedColumn:
-                return "$" + resolveColumnAddress(column) + (row + 1);
-            case FixedRow:
-                return resolveColumnAddress(column) + "$" + (row + 1);
-            default:
-                return resolveColumnAddress(column) + (row + 1);
+        if (type == AddressType.FixedColumn || type == AddressType.FixedRowAndColumn) {
+            sb.append('$');
+        }
+        sb.append(columnAddress);
+        if (type == AddressType.FixedRow || type == AddressType.FixedRowAndColumn) {
+            sb.append('$');
         }
+        sb.append(row + 1);
     }
 
     /**
@@ -816,16 +879,21 @@ public class Cell implements Comparable<Cell> {
      */
     public static String resolveColumnAddress(int columnNumber) {
         validateColumnNumber(columnNumber);
-        // A - XFD
-        StringBuilder sb = new StringBuilder();
-        columnNumber++;
-        while (columnNumber > 0) {
-            columnNumber--;
-            sb.insert(0, (char) ('A' + (columnNumber % 26)));
-            columnNumber /= 26;
+        String address = COLUMN_ADDRESSES[columnNumber];
+        if (address == null) {
+            // A - XFD
+            char[] chars = new char[3];
+            int index = chars.length;
+            int number = columnNumber + 1;
+            while (number > 0) {
+                number--;
+                chars[--index] = (char) ('A' + (number % 26));
+                number /= 26;
+            }
+            address = new String(chars, index, chars.length - index);
+            COLUMN_ADDRESSES[columnNumber] = address;
         }
-
-        return sb.toString();
+        return address;
     }
 
     /**
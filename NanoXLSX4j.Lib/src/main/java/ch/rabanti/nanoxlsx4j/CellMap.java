@@ -0,0 +1,373 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Map of the cells of a worksheet with the cell address as key. Besides the map, an index of rows is maintained, whose
+ * cells are sorted by column number. Thus, the cells can be iterated in order without sorting them<br> The index is
+ * based on the row and column number of a cell at the time the cell is put into the map. This class is only for
+ * internal use.
+ *
+ * @author Raphael Stoeckli
+ */
+class CellMap extends AbstractMap<String, Cell> {
+
+    // ### P R I V A T E F I E L D S ###
+    private final Map<String, Cell> cells;
+    private final TreeMap<Integer, CellRow> rows;
+    private Set<Map.Entry<String, Cell>> entrySet;
+    private long modificationCount;
+    private boolean shared;
+    private Runnable loader;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Default constructor
+     */
+    CellMap() {
+        this.cells = new HashMap<>();
+        this.rows = new TreeMap<>();
+    }
+
+    // ### G E T T E R S & S E T T E R S ###
+
+    /**
+     * Gets the rows of the map, sorted by row number. Each row is an unmodifiable list of cells, sorted by column
+     * number
+     *
+     * @return Unmodifiable, sorted map with the zero-based row number as key and the cells of the row as value
+     */
+    SortedMap<Integer, List<Cell>> getRows() {
+        load();
+        return Collections.unmodifiableSortedMap(this.rows);
+    }
+
+    /**
+     * Gets the number of modifications of the map and its cells. Cells notify the map about modifications, as long as
+     * they are part of it
+     *
+     * @return Number of modifications or -1 if the modifications cannot be tracked, since a cell of the map is also
+     * part of another map
+     */
+    long getModificationCount() {
+        load();
+        return this.shared ? -1 : this.modificationCount;
+    }
+
+    /**
+     * Sets a loader that adds the cells to the map. The loader is called once, before the map is accessed the first
+     * time. Cells that are put into the map by the loader do not call the loader again
+     *
+     * @param loader Loader of the cells or null if the map is already complete
+     */
+    void setLoader(Runnable loader) {
+        this.loader = loader;
+    }
+
+    // ### M E T H O D S ###
+
+    @Override
+    public int size() {
+        load();
+        return this.cells.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        load();
+        return this.cells.containsKey(key);
+    }
+
+    @Override
+    public Cell get(Object key) {
+        load();
+        return this.cells.get(key);
+    }
+
+    @Override
+    public Cell put(String key, Cell value) {
+        load();
+        Cell old = this.cells.put(key, value);
+        removeFromIndex(old);
+        addToIndex(value);
+        return old;
+    }
+
+    @Override
+    public Cell remove(Object key) {
+        load();
+        Cell old = this.cells.remove(key);
+        removeFromIndex(old);
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        load();
+        for (Cell cell : this.cells.values()) {
+            if (cell.owner == this) {
+                cell.owner = null;
+            }
+        }
+        this.cells.clear();
+        this.rows.clear();
+        this.modificationCount++;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Cell>> entrySet() {
+        load();
+        if (this.entrySet == null) {
+            this.entrySet = new EntrySet();
+        }
+        return this.entrySet;
+    }
+
+    /**
+     * Registers a modification of a cell of the map
+     */
+    void cellModified() {
+        this.modificationCount++;
+    }
+
+    /**
+     * Calls the loader of the map, if defined. The loader is removed before it is called
+     */
+    private void load() {
+        if (this.loader != null) {
+            Runnable currentLoader = this.loader;
+            this.loader = null;
+            currentLoader.run();
+        }
+    }
+
+    /**
+     * Adds a cell to the row index and registers the map as owner of the cell
+     *
+     * @param cell Cell to add. Null is ignored
+     */
+    private void addToIndex(Cell cell) {
+        this.modificationCount++;
+        if (cell == null) {
+            return;
+        }
+        if (cell.owner != null && cell.owner != this) {
+            // Modifications of the cell are only reported to one map
+            cell.owner.shared = true;
+            this.shared = true;
+        }
+        cell.owner = this;
+        this.rows.computeIfAbsent(cell.getRowNumber(), number -> new CellRow()).insert(cell);
+    }
+
+    /**
+     * Removes a cell from the row index. The cell is identified by reference
+     *
+     * @param cell Cell to remove. Null is ignored
+     */
+    private void removeFromIndex(Cell cell) {
+        this.modificationCount++;
+        if (cell == null) {
+            return;
+        }
+        if (cell.owner == this) {
+            cell.owner = null;
+        }
+        CellRow row = this.rows.get(cell.getRowNumber());
+        if (row != null && row.delete(cell)) {
+            if (row.isEmpty()) {
+                this.rows.remove(cell.getRowNumber());
+            }
+            return;
+        }
+        // The row number of the cell was modified after the cell was added
+        Iterator<CellRow> iterator = this.rows.values().iterator();
+        while (iterator.hasNext()) {
+            row = iterator.next();
+            if (row.delete(cell)) {
+                if (row.isEmpty()) {
+                    iterator.remove();
+                }
+                return;
+            }
+        }
+    }
+
+    // ### S U B C L A S S E S ###
+
+    /**
+     * Class representing the cells of one row, sorted by column number. The list is unmodifiable from outside of the
+     * map
+     */
+    private static class CellRow extends AbstractList<Cell> implements RandomAccess {
+        private Cell[] cells = new Cell[4];
+        private int size;
+
+        @Override
+        public Cell get(int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("The index " + index + " is out of range (size: " + this.size + ")");
+            }
+            return this.cells[index];
+        }
+
+        @Override
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * Adds a cell at the position of its column number. Cells with the same column number keep the order in which
+         * they were added. Appending a cell with the highest column number of the row (the usual case) needs no search
+         *
+         * @param cell Cell to add
+         */
+        void insert(Cell cell) {
+            if (this.size == this.cells.length) {
+                this.cells = Arrays.copyOf(this.cells, this.size * 2);
+            }
+            int column = cell.getColumnNumber();
+            int index = this.size;
+            if (index > 0 && this.cells[index - 1].getColumnNumber() > column) {
+                int low = 0;
+                int high = index - 1;
+                while (low <= high) {
+                    int middle = (low + high) >>> 1;
+                    if (this.cells[middle].getColumnNumber() <= column) {
+                        low = middle + 1;
+                    }
+                    else {
+                        high = middle - 1;
+                    }
+                }
+                index = low;
+                System.arraycopy(this.cells, index, this.cells, index + 1, this.size - index);
+            }
+            this.cells[index] = cell;
+            this.size++;
+        }
+
+        /**
+         * Removes a cell, identified by reference
+         *
+         * @param cell Cell to remove
+         * @return True if the cell was found and removed
+         */
+        boolean delete(Cell cell) {
+            for (int i = this.size - 1; i >= 0; i--) {
+                if (this.cells[i] == cell) {
+                    System.arraycopy(this.cells, i + 1, this.cells, i, this.size - i - 1);
+                    this.size--;
+                    this.cells[this.size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Entry set of the map, keeping the row index up to date if entries are removed or modified
+     */
+    private class EntrySet extends AbstractSet<Map.Entry<String, Cell>> {
+
+        @Override
+        public int size() {
+            return cells.size();
+        }
+
+        @Override
+        public void clear() {
+            CellMap.this.clear();
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, Cell>> iterator() {
+            Iterator<Map.Entry<String, Cell>> iterator = cells.entrySet().iterator();
+            return new Iterator<>() {
+                private Map.Entry<String, Cell> current;
+
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public Map.Entry<String, Cell> next() {
+                    current = iterator.next();
+                    return new CellEntry(current);
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                    removeFromIndex(current.getValue());
+                }
+            };
+        }
+    }
+
+    /**
+     * Entry of the map, keeping the row index up to date if the value is replaced
+     */
+    private class CellEntry implements Map.Entry<String, Cell> {
+        private final Map.Entry<String, Cell> entry;
+
+        CellEntry(Map.Entry<String, Cell> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return this.entry.getKey();
+        }
+
+        @Override
+        public Cell getValue() {
+            return this.entry.getValue();
+        }
+
+        @Override
+        public Cell setValue(Cell value) {
+            Cell old = this.entry.setValue(value);
+            removeFromIndex(old);
+            addToIndex(value);
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this.entry.equals(o);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.entry.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.entry.toString();
+        }
+    }
+
+}
@@ -9,6 +9,12 @@ package ch.rabanti.nanoxlsx4j;
 import ch.rabanti.nanoxlsx4j.exceptions.FormatException;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoField;
 import java.time.temporal.ChronoUnit;
@@ -16,6 +22,7 @@ import java.time.temporal.TemporalAccessor;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.TimeZone;
 
 /**
  * Class for shared used (static) methods
@@ -25,7 +32,11 @@ import java.util.Locale;
 public class Helper {
 
     // ### C O N S T A N T S ###
-    private static final long ROOT_TICKS;
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final long OA_EPOCH_DAY_OFFSET = 25569L; // Days from 1899-12-30 (OADate 0) to 1970-01-01
+    private static final long FIRST_ALLOWED_EPOCH_DAY = LocalDate.of(1900, 1, 1).toEpochDay();
+    private static final long FIRST_VALID_EPOCH_DAY = LocalDate.of(1900, 3, 1).toEpochDay();
+    private static final long LAST_ALLOWED_EPOCH_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
 
     private static final float COLUMN_WIDTH_ROUNDING_MODIFIER = 256f;
     private static final float SPLIT_WIDTH_MULTIPLIER = 12f;
@@ -64,10 +75,8 @@ public class Helper {
 
     static {
         Calendar rootCalendar = Calendar.getInstance();
-        rootCalendar.set(1899, Calendar.DECEMBER, 30, 0, 0, 0);
+        rootCalendar.set(1900, Calendar.MARCH, 1, 0, 0, 0);
         rootCalendar.set(Calendar.MILLISECOND, 0);
-        ROOT_TICKS = rootCalendar.getTimeInMillis();
-        rootCalendar.set(1900, Calendar.MARCH, 1);
         FIRST_VALID_EXCEL_DATE = rootCalendar.getTime();
         rootCalendar.set(1900, Calendar.JANUARY, 1, 0, 0, 0);
         FIRST_ALLOWED_EXCEL_DATE = rootCalendar.getTime();
@@ -150,14 +159,81 @@ public class Helper {
         if (!skipCheck && (date.before(FIRST_ALLOWED_EXCEL_DATE) || date.after(LAST_ALLOWED_EXCEL_DATE))) {
             throw new FormatException("The date is not in a valid range for Excel. Dates before 1900-01-01 are not allowed.");
         }
-        Calendar dateCal = Calendar.getInstance();
-        dateCal.setTime(date);
-        if (date.before(FIRST_VALID_EXCEL_DATE)) {
-            dateCal.add(Calendar.DAY_OF_WEEK, -1); // Fix of the leap-year-1900-error
+        long millis = date.getTime();
+        long localMillis = millis + TimeZone.getDefault().getOffset(millis);
+        return getOADate(Math.floorDiv(localMillis, 1000L), true);
+    }
+
+    /**
+     * Method to calculate the OA date (OLE automation) of the passed date and time. The same rules apply as for
+     * {@link #getOADate(Date)}. Fractions of a second are ignored
+     *
+     * @param dateTime Date and time to convert
+     * @return OA date or date and time as number
+     * @throws FormatException Throws a FormatException if the passed date cannot be translated to the OADate format
+     */
+    public static double getOADateFromLocalDateTime(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            throw new FormatException("The date cannot be null");
         }
-        long currentTicks = dateCal.getTimeInMillis();
-        return ((dateCal.get(Calendar.SECOND) + (dateCal.get(Calendar.MINUTE) * 60) + (dateCal.get(Calendar.HOUR_OF_DAY) * 3600)) / 86400d) +
-                Math.floor((currentTicks - ROOT_TICKS) / (86400000d));
+        return getOADate(dateTime.toEpochSecond(ZoneOffset.UTC), false);
+    }
+
+    /**
+     * Method to calculate the OA date (OLE automation) of the passed date. The same rules apply as for
+     * {@link #getOADate(Date)}
+     *
+     * @param date Date to convert
+     * @return OA date as number (without time component)
+     * @throws FormatException Throws a FormatException if the passed date cannot be translated to the OADate format
+     */
+    public static double getOADateFromLocalDate(LocalDate date) {
+        if (date == null) {
+            throw new FormatException("The date cannot be null");
+        }
+        return getOADate(date.toEpochDay() * SECONDS_PER_DAY, false);
+    }
+
+    /**
+     * Method to calculate the OA date (OLE automation) of the passed instant. The instant is converted into the
+     * default time zone of the system, like a {@link Date}. The same rules apply as for {@link #getOADate(Date)}.
+     * Fractions of a second are ignored
+     *
+     * @param instant Instant to convert
+     * @return OA date or date and time as number
+     * @throws FormatException Throws a FormatException if the passed instant cannot be translated to the OADate
+     *                         format
+     */
+    public static double getOADateFromInstant(Instant instant) {
+        if (instant == null) {
+            throw new FormatException("The date cannot be null");
+        }
+        int offset = ZoneId.systemDefault().getRules().getOffset(instant).getTotalSeconds();
+        return getOADate(instant.getEpochSecond() + offset, false);
+    }
+
+    /**
+     * Method to calculate the OA date from the number of seconds since 1970-01-01 00:00:00, in local time. The
+     * calculation is purely arithmetic: The day component is the number of days since 1899-12-30, corrected by -1.0
+     * for all dates before 1900-03-01 (leap-year-1900-error of Excel). The time component is the fraction of the day
+     *
+     * @param localEpochSecond Seconds since 1970-01-01 00:00:00 (local time)
+     * @param skipCheck        If true, the validity check is skipped
+     * @return OA date or date and time as number
+     * @throws FormatException Throws a FormatException if the passed date is not in the valid range and the check is
+     *                         not skipped
+     */
+    private static double getOADate(long localEpochSecond, boolean skipCheck) {
+        long epochDay = Math.floorDiv(localEpochSecond, SECONDS_PER_DAY);
+        long secondOfDay = Math.floorMod(localEpochSecond, SECONDS_PER_DAY);
+        if (!skipCheck && (epochDay < FIRST_ALLOWED_EPOCH_DAY || epochDay > LAST_ALLOWED_EPOCH_DAY)) {
+            throw new FormatException("The date is not in a valid range for Excel. Dates before 1900-01-01 are not allowed.");
+        }
+        long days = epochDay + OA_EPOCH_DAY_OFFSET;
+        if (epochDay < FIRST_VALID_EPOCH_DAY) {
+            days--; // Fix of the leap-year-1900-error
+        }
+        return (secondOfDay / (double) SECONDS_PER_DAY) + days;
     }
 
     /**
@@ -191,6 +267,20 @@ public class Helper {
         }
     }
 
+    /**
+     * Method to convert a time of day into the internal Excel time format (OAdate without days)
+     *
+     * @param time Time to process
+     * @return Time as number (fraction of the day)
+     * @throws FormatException Throws a FormatException if the passed time is null
+     */
+    public static double getOATimeFromLocalTime(LocalTime time) {
+        if (time == null) {
+            throw new FormatException("The time could not be transformed into Excel format (OADate).");
+        }
+        return time.toSecondOfDay() / (double) SECONDS_PER_DAY;
+    }
+
     /**
      * Method to calculate a common Date from the OA date (OLE automation) format<br> OA Date format starts at January
      * 1st 1900 (actually 00.01.1900). Dates beyond this date cannot be handled by Excel under normal circumstances and
@@ -205,21 +295,52 @@ public class Helper {
      * https://docs.microsoft.com/en-us/office/troubleshoot/excel/wrongly-assumes-1900-is-leap-year</a>
      */
     public static Date getDateFromOA(double oaDate) {
+        long localMillis = getLocalEpochSecondFromOA(oaDate) * 1000L;
+        TimeZone zone = TimeZone.getDefault();
+        int offset = zone.getOffset(localMillis);
+        return new Date(localMillis - zone.getOffset(localMillis - offset));
+    }
+
+    /**
+     * Method to calculate a local date and time from the OA date (OLE automation) format. The same rules apply as for
+     * {@link #getDateFromOA(double)}
+     *
+     * @param oaDate OA date number
+     * @return Converted date and time
+     */
+    public static LocalDateTime getLocalDateTimeFromOA(double oaDate) {
+        return LocalDateTime.ofEpochSecond(getLocalEpochSecondFromOA(oaDate), 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Method to calculate a duration from the internal Excel time format (OAdate). The integer part of the number is
+     * handled as number of days and the fraction as time of the day, rounded to seconds
+     *
+     * @param oaDate OA date number
+     * @return Duration object
+     */
+    public static Duration getTimeFromOA(double oaDate) {
+        long secondOfDay = Math.floorMod(getLocalEpochSecondFromOA(oaDate), SECONDS_PER_DAY);
+        return Duration.ofSeconds(((long) oaDate * SECONDS_PER_DAY) + secondOfDay);
+    }
+
+    /**
+     * Method to calculate the number of seconds since 1970-01-01 00:00:00 (local time) from the OA date format. Numbers
+     * below 60 (dates before 1900-03-01) are corrected by +1.0 (leap-year-1900-error of Excel)
+     *
+     * @param oaDate OA date number
+     * @return Seconds since 1970-01-01 00:00:00 (local time)
+     */
+    private static long getLocalEpochSecondFromOA(double oaDate) {
         if (oaDate < 60) {
             oaDate = oaDate + 1;
         }
         double remainder = oaDate - (long) oaDate;
         double hours = remainder * 24;
         double minutes = (hours - (long) hours) * 60;
-        double seconds = (minutes - (long) minutes) * 60;
-        seconds = Math.round(seconds);
-        Calendar dateCal = Calendar.getInstance();
-        dateCal.setTimeInMillis(ROOT_TICKS);
-        dateCal.add(Calendar.DATE, (int) oaDate);
-        dateCal.add(Calendar.HOUR, (int) hours);
-        dateCal.add(Calendar.MINUTE, (int) minutes);
-        dateCal.add(Calendar.SECOND, (int) seconds);
-        return dateCal.getTime();
+        double seconds = Math.round((minutes - (long) minutes) * 60);
+        long secondOfDay = ((long) hours * 3600L) + ((long) minutes * 60L) + (long) seconds;
+        return (((long) oaDate - OA_EPOCH_DAY_OFFSET) * SECONDS_PER_DAY) + secondOfDay;
     }
 
     /**
@@ -7,11 +7,17 @@
 
 package ch.rabanti.nanoxlsx4j;
 
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+
 import java.text.SimpleDateFormat;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.IntPredicate;
 
 /**
  * The import options define global rules to import worksheets. The options are mainly to override particular cell types
@@ -111,6 +117,16 @@ public class ImportOptions {
     private SimpleDateFormat dateFormatter;
     private DateTimeFormatter timeFormatter;
     private Locale temporalLocale;
+    private MetricsListener metricsListener;
+    private boolean lazyLoading;
+    private final Set<String> preloadedWorksheetNames = new HashSet<>();
+    private final Set<Integer> preloadedWorksheetIndices = new HashSet<>();
+    private Executor executor;
+    private final Set<Integer> projectedColumns = new HashSet<>();
+    private int firstProjectedRow = 0;
+    private int lastProjectedRow = Integer.MAX_VALUE;
+    private IntPredicate projectedRowFilter;
+    private long sharedStringsSpillSize;
 
     /**
      * Gets whether date or time values in the workbook are interpreted as numbers
@@ -383,6 +399,256 @@ public class ImportOptions {
         return this.timeFormatter;
     }
 
+    /**
+     * Gets the listener that receives the timings and counters of the load
+     *
+     * @return Metrics listener or null if no metrics are collected (default)
+     */
+    public MetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Sets the listener that receives the timings and counters of the load, like the durations of the phases, the
+     * sizes of the read parts and the number of cells, strings and styles
+     *
+     * @param metricsListener Metrics listener (e.g. {@link SummaryMetricsListener}). If null, no metrics are collected
+     */
+    public void setMetricsListener(MetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * Gets whether the worksheets are loaded lazily
+     *
+     * @return If true, the worksheets are loaded when they are accessed the first time. If false, all worksheets are
+     * loaded immediately (default)
+     */
+    public boolean isLazyLoading() {
+        return lazyLoading;
+    }
+
+    /**
+     * Sets whether the worksheets are loaded lazily. In this mode, only the workbook definition, the relationships,
+     * the shared strings and the styles are read when the workbook is loaded. The cells and properties of a worksheet
+     * are read when the worksheet is accessed the first time, unless the worksheet was defined to be preloaded by
+     * {@link #addPreloadedWorksheet(String)} or {@link #addPreloadedWorksheet(int)}
+     *
+     * @param lazyLoading If true, the worksheets are loaded when they are accessed the first time. If false, all
+     *                    worksheets are loaded immediately (default)
+     * @apiNote The XLSX file is read again when a worksheet is loaded lazily, thus the file must not be modified or
+     * deleted as long as the workbook is used. Workbooks that are loaded from a stream are held in memory in their
+     * compressed form, as long as not all worksheets are loaded
+     */
+    public void setLazyLoading(boolean lazyLoading) {
+        this.lazyLoading = lazyLoading;
+    }
+
+    /**
+     * Adds a worksheet that is loaded immediately, if the worksheets are loaded lazily
+     *
+     * @param worksheetName Name of the worksheet
+     */
+    public void addPreloadedWorksheet(String worksheetName) {
+        this.preloadedWorksheetNames.add(worksheetName);
+    }
+
+    /**
+     * Adds a worksheet that is loaded immediately, if the worksheets are loaded lazily
+     *
+     * @param worksheetIndex Zero-based index of the worksheet
+     */
+    public void addPreloadedWorksheet(int worksheetIndex) {
+        this.preloadedWorksheetIndices.add(worksheetIndex);
+    }
+
+    /**
+     * Gets whether a worksheet is loaded immediately, if the worksheets are loaded lazily
+     *
+     * @param worksheetName  Name of the worksheet
+     * @param worksheetIndex Zero-based index of the worksheet
+     * @return True if the worksheet was added by its name or its index to the preloaded worksheets, otherwise false
+     */
+    public boolean isPreloadedWorksheet(String worksheetName, int worksheetIndex) {
+        return this.preloadedWorksheetNames.contains(worksheetName) || this.preloadedWorksheetIndices.contains(worksheetIndex);
+    }
+
+    /**
+     * Gets the executor that is used to read the worksheets in parallel
+     *
+     * @return Executor or null if the worksheets are read sequentially (default)
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor that is used to read the worksheets in parallel. The shared strings are read on the executor
+     * while the styles are read, and each worksheet part is parsed as independent task. The worksheets are added to the
+     * workbook in their original order, thus the loaded workbook is identical to a workbook that is loaded sequentially
+     *
+     * @param executor Executor (e.g. a thread pool or a virtual thread executor). If null, the worksheets are read
+     *                 sequentially (default)
+     * @apiNote In parallel mode, the parsed worksheet parts are held in memory until all worksheets are read. The import
+     * options must not be modified while a workbook is loaded
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Gets whether the worksheets are read in parallel
+     *
+     * @return True if an executor is defined, otherwise false
+     */
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    /**
+     * Adds a column to the projection. If at least one column is added, only the cells of the projected columns are
+     * imported. All other cells are skipped while the worksheets are read
+     *
+     * @param columnAddress Column address (A to XFD)
+     */
+    public void addProjectedColumn(String columnAddress) {
+        this.projectedColumns.add(Cell.resolveColumn(columnAddress));
+    }
+
+    /**
+     * Adds a column to the projection. If at least one column is added, only the cells of the projected columns are
+     * imported. All other cells are skipped while the worksheets are read
+     *
+     * @param columnNumber Column number (0-16383)
+     */
+    public void addProjectedColumn(int columnNumber) {
+        Cell.validateColumnNumber(columnNumber);
+        this.projectedColumns.add(columnNumber);
+    }
+
+    /**
+     * Gets the columns of the projection
+     *
+     * @return Set of zero-based column numbers. If empty, all columns are imported (default)
+     */
+    public Set<Integer> getProjectedColumns() {
+        return projectedColumns;
+    }
+
+    /**
+     * Sets the range of rows to import. Cells and row definitions outside of this range are skipped by the parser
+     * while the worksheets are read, without being loaded. The remaining parts of a worksheet after its rows (e.g.
+     * merged cells) are still read. A {@link SheetRowReader} stops reading after the last row of the range
+     *
+     * @param firstRow First row number to import (zero-based)
+     * @param lastRow  Last row number to import (zero-based, inclusive)
+     * @throws RangeException Thrown if a row number is negative or the last row is smaller than the first row
+     */
+    public void setProjectedRowRange(int firstRow, int lastRow) {
+        if (firstRow < 0 || lastRow < firstRow) {
+            throw new RangeException("The row range " + firstRow + " to " + lastRow + " is invalid");
+        }
+        this.firstProjectedRow = firstRow;
+        this.lastProjectedRow = lastRow;
+    }
+
+    /**
+     * Gets the first row number to import
+     *
+     * @return Zero-based row number. Default is 0
+     */
+    public int getFirstProjectedRow() {
+        return firstProjectedRow;
+    }
+
+    /**
+     * Gets the last row number to import
+     *
+     * @return Zero-based row number (inclusive). Default is {@link Integer#MAX_VALUE} (all rows)
+     */
+    public int getLastProjectedRow() {
+        return lastProjectedRow;
+    }
+
+    /**
+     * Gets the filter that decides which rows are imported
+     *
+     * @return Filter or null if all rows of the row range are imported (default)
+     */
+    public IntPredicate getProjectedRowFilter() {
+        return projectedRowFilter;
+    }
+
+    /**
+     * Sets the filter that decides which rows are imported. The filter is only invoked for rows within the range,
+     * defined by {@link #setProjectedRowRange(int, int)}
+     *
+     * @param projectedRowFilter Filter that receives the zero-based row number and returns true if the row is imported.
+     *                           If null, all rows of the row range are imported (default)
+     * @apiNote The filter may be invoked concurrently if an executor is defined by {@link #setExecutor(Executor)}
+     */
+    public void setProjectedRowFilter(IntPredicate projectedRowFilter) {
+        this.projectedRowFilter = projectedRowFilter;
+    }
+
+    /**
+     * Gets whether a projection of columns or rows is defined
+     *
+     * @return True if only particular columns or rows are imported, otherwise false
+     */
+    public boolean hasProjection() {
+        return !this.projectedColumns.isEmpty() || this.firstProjectedRow > 0 || this.lastProjectedRow < Integer.MAX_VALUE || this.projectedRowFilter != null;
+    }
+
+    /**
+     * Gets whether a row is imported, according to the row range and the row filter
+     *
+     * @param rowNumber Zero-based row number
+     * @return True if the row is imported, otherwise false
+     */
+    public boolean isProjectedRow(int rowNumber) {
+        if (rowNumber < this.firstProjectedRow || rowNumber > this.lastProjectedRow) {
+            return false;
+        }
+        return this.projectedRowFilter == null || this.projectedRowFilter.test(rowNumber);
+    }
+
+    /**
+     * Gets whether a column is imported, according to the projected columns
+     *
+     * @param columnNumber Zero-based column number
+     * @return True if the column is imported, otherwise false
+     */
+    public boolean isProjectedColumn(int columnNumber) {
+        return this.projectedColumns.isEmpty() || this.projectedColumns.contains(columnNumber);
+    }
+
+    /**
+     * Gets the size of the shared strings, above which they are moved into a temporary file
+     *
+     * @return Size in bytes or 0 if the shared strings are always held in memory (default)
+     */
+    public long getSharedStringsSpillSize() {
+        return sharedStringsSpillSize;
+    }
+
+    /**
+     * Sets the size of the shared strings, above which they are moved into a temporary, memory-mapped file. The shared
+     * strings are held as characters in one compact block, and the size is measured on this block (two bytes per
+     * character). This reduces the heap usage of workbooks with huge shared strings tables
+     *
+     * @param sharedStringsSpillSize Size in bytes. If 0, the shared strings are always held in memory (default)
+     * @throws RangeException Thrown if the size is negative
+     * @apiNote The temporary file is deleted when the shared strings are completely read. The mapping itself is
+     * released when the loaded workbook is garbage collected
+     */
+    public void setSharedStringsSpillSize(long sharedStringsSpillSize) {
+        if (sharedStringsSpillSize < 0) {
+            throw new RangeException("The spill size of the shared strings (" + sharedStringsSpillSize + ") must not be negative");
+        }
+        this.sharedStringsSpillSize = sharedStringsSpillSize;
+    }
+
     public ImportOptions() {
         this.dateFormat = DEFAULT_DATE_FORMAT;
         this.timeFormat = DEFAULT_TIME_FORMAT;
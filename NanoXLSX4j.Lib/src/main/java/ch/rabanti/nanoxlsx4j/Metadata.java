@@ -270,6 +270,28 @@ public class Metadata {
 
     // ### M E T H O D S ###
 
+    /**
+     * Creates a copy of this metadata object
+     *
+     * @return Copy of the metadata
+     */
+    Metadata copy() {
+        Metadata copy = new Metadata();
+        copy.application = this.application;
+        copy.applicationVersion = this.applicationVersion;
+        copy.category = this.category;
+        copy.company = this.company;
+        copy.contentStatus = this.contentStatus;
+        copy.creator = this.creator;
+        copy.description = this.description;
+        copy.hyperlinkBase = this.hyperlinkBase;
+        copy.keywords = this.keywords;
+        copy.manager = this.manager;
+        copy.subject = this.subject;
+        copy.title = this.title;
+        return copy;
+    }
+
     /**
      * Checks the format of the passed version string. Allowed values are null, empty and fractions from 0.0 to
      * 99999.99999 (max. number of digits before and after the period is 5)
@@ -0,0 +1,187 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+
+package ch.rabanti.nanoxlsx4j;
+
+/**
+ * Interface of a listener, that receives timings and counters of the saving and loading of workbooks. The listener is
+ * defined by {@link SaveOptions#setMetricsListener(MetricsListener)} or
+ * {@link ImportOptions#setMetricsListener(MetricsListener)}. All methods have an empty default implementation, thus
+ * only the relevant methods must be implemented. See {@link SummaryMetricsListener} for an implementation that writes
+ * a human-readable summary
+ *
+ * @author Raphael Stoeckli
+ * @apiNote The methods are called on the thread that saves or loads the workbook. If the same listener is used for
+ * several operations at the same time, the calls of the operations are interleaved
+ */
+public interface MetricsListener {
+
+    /**
+     * Enum to define the measured operation
+     */
+    enum Operation {
+        /**
+         * Saving of a workbook
+         */
+        SAVE,
+        /**
+         * Loading of a workbook
+         */
+        LOAD
+    }
+
+    /**
+     * Enum to define the phases of an operation. Since the parts of a workbook are generated and compressed
+     * alternately, a phase can be reported several times during an operation. The durations of a phase add up
+     */
+    enum Phase {
+        /**
+         * Resolution of merged cells (save) or creation of the workbook with its worksheets and cells from the read
+         * parts (load)
+         */
+        WORKBOOK,
+        /**
+         * Collection of the styles and generation of the style sheet (save) or reading of the style sheet (load)
+         */
+        STYLES,
+        /**
+         * Generation (save) or reading (load) of the shared strings table
+         */
+        SHARED_STRINGS,
+        /**
+         * Generation (save) or reading (load) of the worksheet parts
+         */
+        WORKSHEETS,
+        /**
+         * Generation (save) or reading (load) of all other parts, like the workbook definition, metadata, relationships
+         * and content types
+         */
+        DOCUMENTS,
+        /**
+         * Compression and writing of the generated parts (save) or reading of the XLSX file into memory (load)
+         */
+        PACKING
+    }
+
+    /**
+     * Enum to define the counters of an operation
+     */
+    enum Counter {
+        /**
+         * Number of worksheets
+         */
+        WORKSHEETS,
+        /**
+         * Number of cells in all worksheets
+         */
+        CELLS,
+        /**
+         * Number of references to the shared strings table (only on save)
+         */
+        SHARED_STRING_REFERENCES,
+        /**
+         * Number of distinct strings in the shared strings table
+         */
+        SHARED_STRINGS,
+        /**
+         * Number of styles
+         */
+        STYLES,
+        /**
+         * Number of parts within the XLSX file
+         */
+        PARTS
+    }
+
+    /**
+     * Enum to define the buffers, whose peak sizes are reported
+     */
+    enum Buffer {
+        /**
+         * Buffer of the rows of a worksheet part, before they are flushed into the part (in characters)
+         */
+        ROW_BUFFER,
+        /**
+         * Largest part that was completely generated in memory before its compression, e.g. on parallel compression
+         * or part caching (in bytes)
+         */
+        PART_BUFFER,
+        /**
+         * Copy of the XLSX file in memory, if the workbook is loaded from a stream (in bytes)
+         */
+        ARCHIVE_BUFFER
+    }
+
+    /**
+     * Called when an operation starts
+     *
+     * @param operation Started operation
+     */
+    default void operationStarted(Operation operation) {
+    }
+
+    /**
+     * Called when a phase or a section of a phase is completed
+     *
+     * @param operation     Current operation
+     * @param phase         Completed phase
+     * @param durationNanos Duration of the phase in nanoseconds
+     */
+    default void phaseCompleted(Operation operation, Phase phase, long durationNanos) {
+    }
+
+    /**
+     * Called when a part of the XLSX file was written or read
+     *
+     * @param operation         Current operation
+     * @param name              Filename of the part with relative path
+     * @param uncompressedBytes Size of the part in bytes, as written or read by the library
+     * @param compressedBytes   Size of the part within the XLSX file in bytes, or -1 if the size is unknown
+     */
+    default void partProcessed(Operation operation, String name, long uncompressedBytes, long compressedBytes) {
+    }
+
+    /**
+     * Called at the end of an operation for each counter
+     *
+     * @param operation Current operation
+     * @param counter   Counter
+     * @param value     Value of the counter
+     */
+    default void counted(Operation operation, Counter counter, long value) {
+    }
+
+    /**
+     * Called at the end of an operation for each used buffer
+     *
+     * @param operation Current operation
+     * @param buffer    Buffer
+     * @param peakSize  Largest size of the buffer during the operation
+     */
+    default void bufferPeak(Operation operation, Buffer buffer, long peakSize) {
+    }
+
+    /**
+     * Called when an operation was completed successfully. Failed operations are reported by
+     * {@link #operationFailed(Operation, Throwable)} instead
+     *
+     * @param operation     Completed operation
+     * @param durationNanos Total duration of the operation in nanoseconds
+     */
+    default void operationCompleted(Operation operation, long durationNanos) {
+    }
+
+    /**
+     * Called when an operation failed. The metrics that were reported since the start of the operation are incomplete
+     *
+     * @param operation Failed operation
+     * @param cause     Exception that is thrown to the caller of the operation
+     */
+    default void operationFailed(Operation operation, Throwable cause) {
+    }
+
+}
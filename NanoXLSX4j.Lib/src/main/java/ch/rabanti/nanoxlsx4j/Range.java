@@ -80,7 +80,20 @@ public class Range {
      */
     @Override
     public String toString() {
-        return StartAddress.toString() + ":" + EndAddress.toString();
+        StringBuilder sb = new StringBuilder(29);
+        appendRange(sb);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the range (e.g. 'A1:B12') to a StringBuilder, without creating intermediate strings
+     *
+     * @param sb StringBuilder to append the range to
+     */
+    public void appendRange(StringBuilder sb) {
+        StartAddress.appendAddress(sb);
+        sb.append(':');
+        EndAddress.appendAddress(sb);
     }
 
     /**
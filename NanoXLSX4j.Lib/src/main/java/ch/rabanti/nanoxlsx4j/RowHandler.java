@@ -0,0 +1,41 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j;
+
+/**
+ * Functional interface for the handling of rows, that are read one by one by {@link Workbook#read(String, String,
+ * RowHandler)} and its overloads. The handler decides after each row whether the reading is continued
+ *
+ * @author Raphael Stoeckli
+ */
+@FunctionalInterface
+public interface RowHandler {
+
+    /**
+     * Enum to define whether the reading of the worksheet is continued after a row was handled
+     */
+    enum Action {
+        /**
+         * The next row is read and passed to the handler
+         */
+        CONTINUE,
+        /**
+         * The reading is stopped immediately and the XLSX file is closed. The remaining rows are neither decompressed
+         * nor parsed
+         */
+        STOP,
+    }
+
+    /**
+     * Handles a row of the worksheet. The rows are passed in the order of the worksheet. Rows that are not defined in
+     * the worksheet (rows without cells and formatting) are skipped
+     *
+     * @param row Row with the resolved cells, including values, types and styles
+     * @return Action to define whether the reading is continued
+     */
+    Action handleRow(SheetRowReader.Row row);
+}
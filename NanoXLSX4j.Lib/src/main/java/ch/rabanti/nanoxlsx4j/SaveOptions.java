@@ -0,0 +1,498 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+
+package ch.rabanti.nanoxlsx4j;
+
+import ch.rabanti.nanoxlsx4j.exceptions.FormatException;
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * The save options define global rules to save workbooks. The options are mainly to control the performance
+ * characteristics of the writing process (e.g. parallel processing). The written workbook is not affected by the
+ * options, unless stated otherwise
+ */
+public class SaveOptions {
+
+    /**
+     * Default compression level (corresponds to level 6)
+     */
+    public static final int DEFAULT_COMPRESSION_LEVEL = -1;
+    /**
+     * Default ratio of distinct strings in a column, from which on a column in the adaptive string mode is written
+     * with inline strings
+     */
+    public static final float DEFAULT_ADAPTIVE_STRING_THRESHOLD = 0.5f;
+    /**
+     * Number of strings in a column that are written as shared strings in the adaptive string mode, before the ratio
+     * of distinct strings is evaluated
+     */
+    public static final int ADAPTIVE_STRING_SAMPLE_SIZE = 100;
+    /**
+     * Maximum expected number of unique shared strings that can be defined in the save options
+     */
+    public static final int MAX_SHARED_STRINGS_CAPACITY = 1 << 29;
+
+    /**
+     * Enum to define the deflate strategy of the compression
+     */
+    public enum CompressionStrategy {
+        /**
+         * Default strategy of deflate (string matching and Huffman coding)
+         */
+        DEFAULT(0),
+        /**
+         * Strategy for data with small values of a somewhat random distribution
+         */
+        FILTERED(1),
+        /**
+         * Strategy with Huffman coding only, without string matching. Very fast, but with a lower compression ratio
+         */
+        HUFFMAN_ONLY(2);
+
+        private final int value;
+
+        CompressionStrategy(int value) {
+            this.value = value;
+        }
+
+        /**
+         * Gets the value of the enum, corresponding to the strategy constants of {@link java.util.zip.Deflater}
+         *
+         * @return Deflater strategy
+         */
+        public int getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Enum to define the types of the parts within the XLSX file
+     */
+    public enum PartType {
+        /**
+         * Worksheets (xl/worksheets/)
+         */
+        WORKSHEET,
+        /**
+         * Shared strings table (xl/sharedStrings.xml)
+         */
+        SHARED_STRINGS,
+        /**
+         * Style sheet (xl/styles.xml)
+         */
+        STYLES,
+        /**
+         * Workbook definition (xl/workbook.xml)
+         */
+        WORKBOOK,
+        /**
+         * Metadata (docProps/)
+         */
+        METADATA,
+        /**
+         * Package structure, like the content types and relationships
+         */
+        PACKAGE,
+    }
+
+    /**
+     * Enum to define how string values are written
+     */
+    public enum StringMode {
+        /**
+         * Strings are written into the shared strings table and referenced by the cells (default)
+         */
+        SHARED,
+        /**
+         * Strings are written directly into the cells (inline strings), without shared strings table
+         */
+        INLINE,
+        /**
+         * Strings are written as shared strings, until the ratio of distinct strings of a column exceeds the adaptive
+         * threshold. From then on, the strings of the column are written as inline strings
+         */
+        ADAPTIVE,
+    }
+
+    private Executor executor;
+    private boolean parallelCompression;
+    private int compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+    private CompressionStrategy compressionStrategy = CompressionStrategy.DEFAULT;
+    private final Set<PartType> storedParts = EnumSet.noneOf(PartType.class);
+    private int sharedStringsCapacity;
+    private StringMode stringMode = StringMode.SHARED;
+    private final Map<String, Map<Integer, StringMode>> columnStringModes = new HashMap<>();
+    private float adaptiveStringThreshold = DEFAULT_ADAPTIVE_STRING_THRESHOLD;
+    private long preallocationSize;
+    private boolean forceToDisk;
+    private boolean partCaching;
+    private MetricsListener metricsListener;
+
+    /**
+     * Gets the executor that is used to render the worksheets in parallel
+     *
+     * @return Executor or null if the worksheets are rendered sequentially (default)
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the executor that is used to render the worksheets in parallel. The shared strings are collected in the
+     * order of the worksheets before the rendering starts, thus the saved workbook is byte-identical to a workbook that
+     * is saved sequentially
+     *
+     * @param executor Executor (e.g. a thread pool or a virtual thread executor). If null, the worksheets are rendered
+     *                 sequentially (default)
+     * @apiNote In parallel mode, the rendered worksheets are held in memory until they are written into the output.
+     * The workbook must not be modified while it is saved
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Gets whether the worksheets are rendered in parallel
+     *
+     * @return True if an executor is defined, otherwise false
+     */
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    /**
+     * Gets whether the entries of the XLSX file are compressed in parallel on the executor
+     *
+     * @return True if the entries are compressed in parallel, otherwise false (default)
+     */
+    public boolean isParallelCompression() {
+        return parallelCompression;
+    }
+
+    /**
+     * Sets whether the entries of the XLSX file are compressed in parallel on the executor. Large entries are split
+     * into chunks that are compressed independently. The option has no effect if no executor is defined
+     *
+     * @param parallelCompression If true, the entries are compressed in parallel
+     * @apiNote The content of the saved workbook is identical to a sequentially compressed workbook, but the compressed
+     * bytes differ, and the compression ratio is slightly lower. All parts are held in memory until they are written
+     */
+    public void setParallelCompression(boolean parallelCompression) {
+        this.parallelCompression = parallelCompression;
+    }
+
+    /**
+     * Gets the compression level of the deflated parts
+     *
+     * @return Compression level from 0 (no compression) to 9 (best compression), or -1 for the default level
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Sets the compression level of the deflated parts. Lower levels are faster, whereas higher levels lead to smaller
+     * files
+     *
+     * @param compressionLevel Compression level from 0 (no compression) to 9 (best compression), or -1 for the
+     *                         default level
+     * @throws RangeException Thrown if the level is not between 0 and 9 or -1
+     */
+    public void setCompressionLevel(int compressionLevel) {
+        if (compressionLevel < DEFAULT_COMPRESSION_LEVEL || compressionLevel > 9) {
+            throw new RangeException("The compression level (" + compressionLevel + ") must be between 0 and 9, or " + DEFAULT_COMPRESSION_LEVEL + " for the default level");
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Gets the deflate strategy of the deflated parts
+     *
+     * @return Compression strategy
+     */
+    public CompressionStrategy getCompressionStrategy() {
+        return compressionStrategy;
+    }
+
+    /**
+     * Sets the deflate strategy of the deflated parts
+     *
+     * @param compressionStrategy Compression strategy. If null, the default strategy is used
+     */
+    public void setCompressionStrategy(CompressionStrategy compressionStrategy) {
+        if (compressionStrategy == null) {
+            this.compressionStrategy = CompressionStrategy.DEFAULT;
+        }
+        else {
+            this.compressionStrategy = compressionStrategy;
+        }
+    }
+
+    /**
+     * Gets whether the parts of the passed type are stored without compression
+     *
+     * @param partType Type of the part
+     * @return True if the parts are stored, otherwise false (default)
+     */
+    public boolean isStored(PartType partType) {
+        return storedParts.contains(partType);
+    }
+
+    /**
+     * Sets whether the parts of the passed type are stored without compression (method STORED), instead of being
+     * deflated
+     *
+     * @param partType Type of the part
+     * @param stored   If true, the parts are stored without compression
+     * @apiNote Stored parts are held in memory until they are written, since their size and checksum must be known in
+     * advance
+     */
+    public void setStored(PartType partType, boolean stored) {
+        if (stored) {
+            storedParts.add(partType);
+        }
+        else {
+            storedParts.remove(partType);
+        }
+    }
+
+    /**
+     * Gets the expected number of unique shared strings
+     *
+     * @return Expected number of unique strings, or 0 if not defined (default)
+     */
+    public int getSharedStringsCapacity() {
+        return sharedStringsCapacity;
+    }
+
+    /**
+     * Sets the expected number of unique shared strings. The shared strings table is pre-sized with this number, thus
+     * it does not have to grow while the workbook is saved. The value is only a hint and not a limit
+     *
+     * @param sharedStringsCapacity Expected number of unique strings, or 0 for the default size
+     * @throws RangeException Thrown if the value is negative or larger than {@link #MAX_SHARED_STRINGS_CAPACITY}
+     */
+    public void setSharedStringsCapacity(int sharedStringsCapacity) {
+        if (sharedStringsCapacity < 0 || sharedStringsCapacity > MAX_SHARED_STRINGS_CAPACITY) {
+            throw new RangeException("The shared strings capacity (" + sharedStringsCapacity + ") must be between 0 and " + MAX_SHARED_STRINGS_CAPACITY);
+        }
+        this.sharedStringsCapacity = sharedStringsCapacity;
+    }
+
+    /**
+     * Gets the default mode how string values are written
+     *
+     * @return String mode
+     */
+    public StringMode getStringMode() {
+        return stringMode;
+    }
+
+    /**
+     * Sets the default mode how string values are written. The mode can be overridden per column by
+     * {@link #setStringMode(String, int, StringMode)}
+     *
+     * @param stringMode String mode. If null, the default mode (shared strings) is used
+     */
+    public void setStringMode(StringMode stringMode) {
+        if (stringMode == null) {
+            this.stringMode = StringMode.SHARED;
+        }
+        else {
+            this.stringMode = stringMode;
+        }
+    }
+
+    /**
+     * Gets the mode how string values of the defined column are written
+     *
+     * @param worksheetName Name of the worksheet
+     * @param columnNumber  Column number (zero-based)
+     * @return String mode of the column or the default string mode if no mode was defined for the column
+     */
+    public StringMode getStringMode(String worksheetName, int columnNumber) {
+        Map<Integer, StringMode> columns = columnStringModes.get(worksheetName);
+        if (columns == null) {
+            return stringMode;
+        }
+        return columns.getOrDefault(columnNumber, stringMode);
+    }
+
+    /**
+     * Sets the mode how string values of the defined column are written. This overrides the default string mode
+     *
+     * @param worksheetName Name of the worksheet
+     * @param columnNumber  Column number (zero-based)
+     * @param stringMode    String mode of the column. If null, the default string mode is used for the column
+     * @throws RangeException  Thrown if the column number is out of range
+     * @throws FormatException Thrown if the worksheet name is null
+     */
+    public void setStringMode(String worksheetName, int columnNumber, StringMode stringMode) {
+        Cell.validateColumnNumber(columnNumber);
+        if (worksheetName == null) {
+            throw new FormatException("The worksheet name of a column string mode cannot be null");
+        }
+        if (stringMode == null) {
+            Map<Integer, StringMode> columns = columnStringModes.get(worksheetName);
+            if (columns != null) {
+                columns.remove(columnNumber);
+            }
+        }
+        else {
+            columnStringModes.computeIfAbsent(worksheetName, name -> new HashMap<>()).put(columnNumber, stringMode);
+        }
+    }
+
+    /**
+     * Gets the ratio of distinct strings in a column, from which on a column in the adaptive string mode is written
+     * with inline strings
+     *
+     * @return Threshold between 0 and 1
+     */
+    public float getAdaptiveStringThreshold() {
+        return adaptiveStringThreshold;
+    }
+
+    /**
+     * Sets the ratio of distinct strings in a column, from which on a column in the adaptive string mode is written
+     * with inline strings. The ratio is evaluated after each string, as soon as the column contains
+     * {@link #ADAPTIVE_STRING_SAMPLE_SIZE} strings. Strings that are already in the shared strings table (e.g. from
+     * another column) are not considered as distinct
+     *
+     * @param adaptiveStringThreshold Threshold between 0 and 1
+     * @throws RangeException Thrown if the threshold is not between 0 and 1
+     */
+    public void setAdaptiveStringThreshold(float adaptiveStringThreshold) {
+        if (adaptiveStringThreshold < 0f || adaptiveStringThreshold > 1f) {
+            throw new RangeException("The adaptive string threshold (" + adaptiveStringThreshold + ") must be between 0 and 1");
+        }
+        this.adaptiveStringThreshold = adaptiveStringThreshold;
+    }
+
+    /**
+     * Gets the number of bytes that are preallocated for a file before the workbook is written into it
+     *
+     * @return Preallocation size in bytes, or 0 if no space is preallocated (default)
+     */
+    public long getPreallocationSize() {
+        return preallocationSize;
+    }
+
+    /**
+     * Sets the number of bytes that are preallocated for a file before the workbook is written into it. The space is
+     * allocated by writing zeros up to the defined size, thus the blocks are reserved on the storage device in advance,
+     * which can reduce the fragmentation. The file is truncated to its actual size after saving. The value is only
+     * considered if the workbook is saved to a file (by name or path)
+     *
+     * @param preallocationSize Preallocation size in bytes (e.g. the expected file size), or 0 to disable the
+     *                          preallocation
+     * @throws RangeException Thrown if the value is negative
+     * @apiNote The preallocation costs a full extra write of the defined size, since the zeros are written before the
+     * workbook overwrites them. A sparse file (e.g. by only setting the file length) would not reserve any blocks.
+     * Preallocation is therefore only useful if the file layout matters more than the write volume
+     */
+    public void setPreallocationSize(long preallocationSize) {
+        if (preallocationSize < 0) {
+            throw new RangeException("The preallocation size (" + preallocationSize + ") must not be negative");
+        }
+        this.preallocationSize = preallocationSize;
+    }
+
+    /**
+     * Gets whether the saved file is forced to the storage device before the save method returns
+     *
+     * @return True if the file is forced to the storage device, otherwise false (default)
+     */
+    public boolean isForceToDisk() {
+        return forceToDisk;
+    }
+
+    /**
+     * Sets whether the saved file is forced to the storage device before the save method returns. This guarantees
+     * that the file is durably written, but can slow down the saving significantly. The value is only considered if
+     * the workbook is saved to a file (by name, path or file channel)
+     *
+     * @param forceToDisk If true, the file is forced to the storage device
+     */
+    public void setForceToDisk(boolean forceToDisk) {
+        this.forceToDisk = forceToDisk;
+    }
+
+    /**
+     * Gets whether the rendered and compressed parts are cached in the workbook, to be reused by subsequent saves
+     *
+     * @return True if the parts are cached, otherwise false (default)
+     */
+    public boolean isPartCaching() {
+        return partCaching;
+    }
+
+    /**
+     * Sets whether the rendered and compressed parts are cached in the workbook. If the same workbook is saved
+     * repeatedly, the compressed data of unchanged worksheets and other parts is reused, thus only modified parts are
+     * rendered and compressed again. Modifications of cells are tracked, all other properties of the worksheets are
+     * compared with the previous save
+     *
+     * @param partCaching If true, the parts are cached
+     * @apiNote With part caching, the workbook is not streamed into the output, even if no executor is defined. Each
+     * rendered part is held uncompressed in memory until it is compressed (the non-worksheet parts also until the next
+     * save, to compare their content), and the compressed data of all parts is held in memory until the whole file is
+     * written. The memory consumption of a save is therefore about the compressed size of the file plus the largest
+     * uncompressed part (with an executor, all parts that are pending for compression), whereas a save without caching
+     * only needs the buffers of the zip stream. The cache holds the compressed data of all parts in memory, as long as
+     * the workbook is referenced. It can be released by {@link Workbook#clearPartCache()}. Modifications of objects that are not tracked, like a mutable
+     * value of a cell (e.g. a {@link java.util.Date} that is modified in place), are not detected. The asynchronous
+     * save methods save a copy of the workbook, thus they do not benefit from the cache
+     */
+    public void setPartCaching(boolean partCaching) {
+        this.partCaching = partCaching;
+    }
+
+    /**
+     * Gets the listener that receives the timings and counters of the save
+     *
+     * @return Metrics listener or null if no metrics are collected (default)
+     */
+    public MetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Sets the listener that receives the timings and counters of the save, like the durations of the phases, the
+     * sizes of the written parts and the number of cells, strings and styles
+     *
+     * @param metricsListener Metrics listener (e.g. {@link SummaryMetricsListener}). If null, no metrics are collected
+     */
+    public void setMetricsListener(MetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * Gets a key, representing all options that influence the content of the written parts (compression and string
+     * modes). Two options with the same key lead to identical parts<br> This is an internal method. There is no need
+     * to use it
+     *
+     * @return Key of the content-relevant options
+     */
+    public String getContentKey() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(compressionLevel).append('|').append(compressionStrategy).append('|').append(storedParts)
+                .append('|').append(stringMode).append('|').append(adaptiveStringThreshold);
+        for (Map.Entry<String, Map<Integer, StringMode>> worksheet : new TreeMap<>(columnStringModes).entrySet()) {
+            sb.append('|').append(worksheet.getKey()).append(new TreeMap<>(worksheet.getValue()));
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,324 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j;
+
+import ch.rabanti.nanoxlsx4j.exceptions.FormatException;
+import ch.rabanti.nanoxlsx4j.exceptions.IOException;
+import ch.rabanti.nanoxlsx4j.lowLevel.StreamingXlsxReader;
+import ch.rabanti.nanoxlsx4j.lowLevel.XlsxReader;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Class to read a single worksheet of an XLSX file row by row. In contrast to {@link Workbook#load(String)}, neither
+ * the workbook nor the worksheet is held in memory. Only the current row is resolved, thus the memory usage does not
+ * depend on the size of the worksheet. The values of the cells are resolved like by the regular loading, including
+ * the {@link ImportOptions}. The reader must be closed to release the XLSX file
+ *
+ * @author Raphael Stoeckli
+ * @apiNote The shared strings and styles of the workbook are read in advance and held in memory while the rows are
+ * read. Workbooks that are loaded from a stream are held in memory in their compressed form
+ */
+public class SheetRowReader implements Iterable<SheetRowReader.Row>, Iterator<SheetRowReader.Row>, AutoCloseable {
+
+    // ### P R I V A T E F I E L D S ###
+    private final StreamingXlsxReader reader;
+    private Row nextRow;
+    private boolean completed;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Constructor with the filename of the XLSX file and the name of the worksheet to read
+     *
+     * @param filename      Filename of the workbook
+     * @param worksheetName Name of the worksheet
+     * @throws IOException Thrown if the file could not be read or the worksheet was not found
+     */
+    public SheetRowReader(String filename, String worksheetName) throws IOException {
+        this(filename, worksheetName, null);
+    }
+
+    /**
+     * Constructor with the filename of the XLSX file, the name of the worksheet to read and import options
+     *
+     * @param filename      Filename of the workbook
+     * @param worksheetName Name of the worksheet
+     * @param options       Import options to override the data types of columns or cells. If null, the default options
+     *                      are used
+     * @throws IOException Thrown if the file could not be read or the worksheet was not found
+     */
+    public SheetRowReader(String filename, String worksheetName, ImportOptions options) throws IOException {
+        this(new XlsxReader(filename, options), worksheetName, 0);
+    }
+
+    /**
+     * Constructor with the filename of the XLSX file and the index of the worksheet to read
+     *
+     * @param filename       Filename of the workbook
+     * @param worksheetIndex Zero-based index of the worksheet
+     * @throws IOException Thrown if the file could not be read or the worksheet was not found
+     */
+    public SheetRowReader(String filename, int worksheetIndex) throws IOException {
+        this(filename, worksheetIndex, null);
+    }
+
+    /**
+     * Constructor with the filename of the XLSX file, the index of the worksheet to read and import options
+     *
+     * @param filename       Filename of the workbook
+     * @param worksheetIndex Zero-based index of the worksheet
+     * @param options        Import options to override the data types of columns or cells. If null, the default
+     *                       options are used
+     * @throws IOException Thrown if the file could not be read or the worksheet was not found
+     */
+    public SheetRowReader(String filename, int worksheetIndex, ImportOptions options) throws IOException {
+        this(new XlsxReader(filename, options), null, worksheetIndex);
+    }
+
+    /**
+     * Constructor with the stream of the XLSX file and the name of the worksheet to read
+     *
+     * @param stream        Stream containing the workbook. The stream is read completely and closed
+     * @param worksheetName Name of the worksheet
+     * @throws IOException Thrown if the stream could not be read or the worksheet was not found
+     */
+    public SheetRowReader(InputStream stream, String worksheetName) throws IOException {
+        this(stream, worksheetName, null);
+    }
+
+    /**
+     * Constructor with the stream of the XLSX file, the name of the worksheet to read and import options
+     *
+     * @param stream        Stream containing the workbook. The stream is read completely and closed
+     * @param worksheetName Name of the worksheet
+     * @param options       Import options to override the data types of columns or cells. If null, the default options
+     *                      are used
+     * @throws IOException Thrown if the stream could not be read or the worksheet was not found
+     */
+    public SheetRowReader(InputStream stream, String worksheetName, ImportOptions options) throws IOException {
+        this(new XlsxReader(stream, options), worksheetName, 0);
+    }
+
+    /**
+     * Constructor with the stream of the XLSX file and the index of the worksheet to read
+     *
+     * @param stream         Stream containing the workbook. The stream is read completely and closed
+     * @param worksheetIndex Zero-based index of the worksheet
+     * @throws IOException Thrown if the stream could not be read or the worksheet was not found
+     */
+    public SheetRowReader(InputStream stream, int worksheetIndex) throws IOException {
+        this(stream, worksheetIndex, null);
+    }
+
+    /**
+     * Constructor with the stream of the XLSX file, the index of the worksheet to read and import options
+     *
+     * @param stream         Stream containing the workbook. The stream is read completely and closed
+     * @param worksheetIndex Zero-based index of the worksheet
+     * @param options        Import options to override the data types of columns or cells. If null, the default
+     *                       options are used
+     * @throws IOException Thrown if the stream could not be read or the worksheet was not found
+     */
+    public SheetRowReader(InputStream stream, int worksheetIndex, ImportOptions options) throws IOException {
+        this(new XlsxReader(stream, options), null, worksheetIndex);
+    }
+
+    /**
+     * Constructor with the low level reader and the selection of the worksheet
+     *
+     * @param xlsxReader     Low level reader of the XLSX file
+     * @param worksheetName  Name of the worksheet or null to select the worksheet by its index
+     * @param worksheetIndex Zero-based index of the worksheet, if the name is null
+     * @throws IOException Thrown if the XLSX file could not be read or the worksheet was not found
+     */
+    private SheetRowReader(XlsxReader xlsxReader, String worksheetName, int worksheetIndex) throws IOException {
+        try {
+            this.reader = xlsxReader.openWorksheet(worksheetName, worksheetIndex);
+        }
+        catch (java.io.IOException ex) {
+            throw new IOException("There was an error while opening the worksheet. Please see the inner exception:", ex);
+        }
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Reads the next row of the worksheet. Rows that are not defined in the worksheet (rows without cells and
+     * formatting) are skipped
+     *
+     * @return Next row or null if the end of the worksheet was reached
+     * @throws IOException Thrown in case of an error while reading the row
+     */
+    public Row readRow() throws IOException {
+        if (this.nextRow != null) {
+            Row row = this.nextRow;
+            this.nextRow = null;
+            return row;
+        }
+        if (this.completed || !this.reader.readRow()) {
+            this.completed = true;
+            return null;
+        }
+        return new Row(this.reader.getRowNumber(), new ArrayList<>(this.reader.getCells()), this.reader.isRowHidden(), this.reader.getRowHeight());
+    }
+
+    /**
+     * Gets whether another row is available
+     *
+     * @return True if another row can be read, otherwise false
+     * @throws FormatException Thrown in case of an error while reading the row, with the causing exception as inner
+     *                         exception
+     */
+    @Override
+    public boolean hasNext() {
+        if (this.nextRow == null && !this.completed) {
+            try {
+                this.nextRow = readRow();
+            }
+            catch (IOException ex) {
+                throw new FormatException("There was an error while reading a row of the worksheet. Please see the inner exception:", ex);
+            }
+        }
+        return this.nextRow != null;
+    }
+
+    /**
+     * Gets the next row of the worksheet
+     *
+     * @return Next row
+     * @throws NoSuchElementException Thrown if the end of the worksheet was reached
+     * @throws FormatException        Thrown in case of an error while reading the row, with the causing exception as
+     *                                inner exception
+     */
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("The next row cannot be returned, since the end of the worksheet was reached");
+        }
+        Row row = this.nextRow;
+        this.nextRow = null;
+        return row;
+    }
+
+    /**
+     * Gets this reader as iterator. The rows can only be iterated once
+     *
+     * @return This reader
+     */
+    @Override
+    public Iterator<Row> iterator() {
+        return this;
+    }
+
+    /**
+     * Closes the reader and the XLSX file. The remaining rows are not read
+     *
+     * @throws IOException Thrown in case of an error while closing
+     */
+    @Override
+    public void close() throws IOException {
+        this.completed = true;
+        this.nextRow = null;
+        this.reader.close();
+    }
+
+    // ### S U B C L A S S E S ###
+
+    /**
+     * Class representing a row that was read by a {@link SheetRowReader}
+     */
+    public static class Row {
+        private final int rowNumber;
+        private final List<Cell> cells;
+        private final boolean hidden;
+        private final Float height;
+
+        /**
+         * Constructor with all values of the row
+         *
+         * @param rowNumber Zero-based row number
+         * @param cells     Cells of the row
+         * @param hidden    Hidden state of the row
+         * @param height    Non-standard height of the row or null
+         */
+        Row(int rowNumber, List<Cell> cells, boolean hidden, Float height) {
+            this.rowNumber = rowNumber;
+            this.cells = Collections.unmodifiableList(cells);
+            this.hidden = hidden;
+            this.height = height;
+        }
+
+        /**
+         * Gets the row number
+         *
+         * @return Zero-based row number
+         */
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        /**
+         * Gets the cells of the row, with resolved values, types, addresses and styles. Empty cells without style are
+         * not part of the row
+         *
+         * @return Unmodifiable list of the cells, in the order of the worksheet (usually ascending columns)
+         */
+        public List<Cell> getCells() {
+            return cells;
+        }
+
+        /**
+         * Gets the cell of the row in the passed column
+         *
+         * @param columnNumber Zero-based column number
+         * @return Cell or null if the row has no cell in this column
+         */
+        public Cell getCell(int columnNumber) {
+            for (Cell cell : cells) {
+                if (cell.getColumnNumber() == columnNumber) {
+                    return cell;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Gets the value of the cell in the passed column
+         *
+         * @param columnNumber Zero-based column number
+         * @return Value of the cell or null if the row has no cell in this column or the cell is empty
+         */
+        public Object getValue(int columnNumber) {
+            Cell cell = getCell(columnNumber);
+            return cell == null ? null : cell.getValue();
+        }
+
+        /**
+         * Gets whether the row is hidden
+         *
+         * @return True if the row is hidden, otherwise false
+         */
+        public boolean isHidden() {
+            return hidden;
+        }
+
+        /**
+         * Gets the non-standard height of the row
+         *
+         * @return Row height or null if no specific height is defined
+         */
+        public Float getHeight() {
+            return height;
+        }
+    }
+}
@@ -0,0 +1,512 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j;
+
+import ch.rabanti.nanoxlsx4j.exceptions.IOException;
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+import ch.rabanti.nanoxlsx4j.exceptions.WorksheetException;
+import ch.rabanti.nanoxlsx4j.lowLevel.StreamingXlsxWriter;
+import ch.rabanti.nanoxlsx4j.styles.BasicStyles;
+import ch.rabanti.nanoxlsx4j.styles.Style;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Class representing the writer of a worksheet within a {@link StreamingWorkbook}. Rows must be passed in ascending
+ * order. Only the rows within the row window (defined by the workbook) are held in memory and can still be modified.
+ * As soon as a row with a higher row number is passed, the rows that leave the window are written into the output and
+ * cannot be modified anymore
+ *
+ * @author Raphael Stoeckli
+ */
+public class SheetWriter {
+
+    // ### P R I V A T E F I E L D S ###
+    private final Map<Style, Style> mergeStyles;
+    private final Map<Style, Map<Style, Style>> mixedStyles;
+    private final List<Range> pendingMergedCells;
+    private final int rowWindow;
+    private final TreeMap<Integer, TreeMap<Integer, Cell>> rows;
+    private final Worksheet worksheet;
+    private final StreamingXlsxWriter writer;
+    private boolean begun;
+    private boolean completed;
+    private int firstOpenRowNumber;
+    private int nextRowNumber;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Constructor with worksheet, low level writer and row window
+     *
+     * @param worksheet Worksheet that holds the sheet-level settings (without cells)
+     * @param writer    Low level writer of the workbook
+     * @param rowWindow Number of rows that are kept in memory, before they are written
+     */
+    SheetWriter(Worksheet worksheet, StreamingXlsxWriter writer, int rowWindow) {
+        this.worksheet = worksheet;
+        this.writer = writer;
+        this.rowWindow = rowWindow;
+        this.rows = new TreeMap<>();
+        this.pendingMergedCells = new ArrayList<>();
+        this.mixedStyles = new IdentityHashMap<>();
+        this.mergeStyles = new IdentityHashMap<>();
+    }
+
+    // ### G E T T E R S & S E T T E R S ###
+
+    /**
+     * Gets the worksheet that holds the sheet-level settings, like column widths, column styles, auto filters, sheet
+     * view, pane splitting or protection
+     *
+     * @return Worksheet of this writer
+     * @apiNote All settings that are written in front of the cell data (columns, auto filter, sheet view and panes)
+     * must be defined before the first row is written. Cells that are added directly to the worksheet are not written.
+     * Use the methods of this writer instead
+     */
+    public Worksheet getWorksheet() {
+        return worksheet;
+    }
+
+    /**
+     * Gets the name of the worksheet
+     *
+     * @return Name of the worksheet
+     */
+    public String getSheetName() {
+        return worksheet.getSheetName();
+    }
+
+    /**
+     * Gets the lowest row number (zero-based) that can still be modified. All rows below were already written
+     *
+     * @return First open row number
+     */
+    public int getFirstOpenRowNumber() {
+        return firstOpenRowNumber;
+    }
+
+    /**
+     * Gets the row number (zero-based) that is used by the next call of {@link #addRow(List)} (or overloads). This is
+     * the row number after the highest row that was passed so far
+     *
+     * @return Next row number
+     */
+    public int getNextRowNumber() {
+        return nextRowNumber;
+    }
+
+    /**
+     * Gets whether the worksheet was completed. A completed worksheet cannot be modified anymore
+     *
+     * @return True if completed, otherwise false
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Adds a row with the passed values after the highest row that was passed so far. The values are placed in the
+     * columns A, B, C and so on. Null values are skipped
+     *
+     * @param values Values of the row
+     * @throws IOException        Thrown in case of an error while writing rows that leave the row window
+     * @throws WorksheetException Thrown if the worksheet was already completed
+     */
+    public void addRow(Object... values) throws IOException {
+        addRow(Arrays.asList(values), null);
+    }
+
+    /**
+     * Adds a row with the passed values after the highest row that was passed so far. The values are placed in the
+     * columns A, B, C and so on. Null values are skipped
+     *
+     * @param values Values of the row
+     * @throws IOException        Thrown in case of an error while writing rows that leave the row window
+     * @throws WorksheetException Thrown if the worksheet was already completed
+     */
+    public void addRow(List<?> values) throws IOException {
+        addRow(values, null);
+    }
+
+    /**
+     * Adds a row with the passed values and style after the highest row that was passed so far. The values are placed
+     * in the columns A, B, C and so on. Null values are skipped
+     *
+     * @param values Values of the row
+     * @param style  Style to apply on all cells of the row. Can be null
+     * @throws IOException        Thrown in case of an error while writing rows that leave the row window
+     * @throws WorksheetException Thrown if the worksheet was already completed
+     * @throws RangeException     Thrown if the row contains more values than columns are available
+     */
+    public void addRow(List<?> values, Style style) throws IOException {
+        int rowNumber = this.nextRowNumber;
+        Cell.validateRowNumber(rowNumber);
+        if (values.size() > Worksheet.MAX_COLUMN_NUMBER + 1) {
+            throw new RangeException("The row contains " + values.size() + " values, but only " + (Worksheet.MAX_COLUMN_NUMBER + 1) + " columns are available");
+        }
+        checkRow(rowNumber);
+        TreeMap<Integer, Cell> row = getOrCreateRow(rowNumber);
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            row.put(i, createCell(value, Cell.CellType.DEFAULT, i, rowNumber, style));
+        }
+        advance(rowNumber);
+    }
+
+    /**
+     * Adds a cell with the passed value. The row must not be written yet
+     *
+     * @param value        Value of the cell
+     * @param columnNumber Column number (zero-based)
+     * @param rowNumber    Row number (zero-based)
+     * @throws IOException        Thrown in case of an error while writing rows that leave the row window
+     * @throws WorksheetException Thrown if the row was already written or the worksheet was already completed
+     * @throws RangeException     Thrown if the column or row number is out of range
+     */
+    public void addCell(Object value, int columnNumber, int rowNumber) throws IOException {
+        addCell(value, columnNumber, rowNumber, null);
+    }
+
+    /**
+     * Adds a cell with the passed value and style. The row must not be written yet
+     *
+     * @param value        Value of the cell
+     * @param columnNumber Column number (zero-based)
+     * @param rowNumber    Row number (zero-based)
+     * @param style        Style to apply on the cell. Can be null
+     * @throws IOException        Thrown in case of an error while writing rows that leave the row window
+     * @throws WorksheetException Thrown if the row was already written or the worksheet was already completed
+     * @throws RangeException     Thrown if the column or row number is out of range
+     */
+    public void addCell(Object value, int columnNumber, int rowNumber, Style style) throws IOException {
+        putCell(value, Cell.CellType.DEFAULT, columnNumber, rowNumber, style);
+    }
+
+    /**
+     * Adds a cell with the passed formula. The row must not be written yet
+     *
+     * @param formula      Formula to insert (without leading equal sign)
+     * @param columnNumber Column number (zero-based)
+     * @param rowNumber    Row number (zero-based)
+     * @throws IOException        Thrown in case of an error while writing rows that leave the row window
+     * @throws WorksheetException Thrown if the row was already written or the worksheet was already completed
+     * @throws RangeException     Thrown if the column or row number is out of range
+     */
+    public void addCellFormula(String formula, int columnNumber, int rowNumber) throws IOException {
+        addCellFormula(formula, columnNumber, rowNumber, null);
+    }
+
+    /**
+     * Adds a cell with the passed formula and style. The row must not be written yet
+     *
+     * @param formula      Formula to insert (without leading equal sign)
+     * @param columnNumber Column number (zero-based)
+     * @param rowNumber    Row number (zero-based)
+     * @param style        Style to apply on the cell. Can be null
+     * @throws IOException        Thrown in case of an error while writing rows that leave the row window
+     * @throws WorksheetException Thrown if the row was already written or the worksheet was already completed
+     * @throws RangeException     Thrown if the column or row number is out of range
+     */
+    public void addCellFormula(String formula, int columnNumber, int rowNumber, Style style) throws IOException {
+        putCell(formula, Cell.CellType.FORMULA, columnNumber, rowNumber, style);
+    }
+
+    /**
+     * Sets the height of a row. The row must not be written yet
+     *
+     * @param rowNumber Row number (zero-based)
+     * @param height    Height from 0 to 409.5 in characters (or 0 to 546 pixels)
+     * @throws IOException        Thrown in case of an error while writing rows that leave the row window
+     * @throws WorksheetException Thrown if the row was already written or the worksheet was already completed
+     * @throws RangeException     Thrown if the row number or height is out of range
+     */
+    public void setRowHeight(int rowNumber, float height) throws IOException {
+        checkRow(rowNumber);
+        this.worksheet.setRowHeight(rowNumber, height);
+        getOrCreateRow(rowNumber);
+        advance(rowNumber);
+    }
+
+    /**
+     * Sets a row as hidden. The row must not be written yet
+     *
+     * @param rowNumber Row number (zero-based)
+     * @throws IOException        Thrown in case of an error while writing rows that leave the row window
+     * @throws WorksheetException Thrown if the row was already written or the worksheet was already completed
+     * @throws RangeException     Thrown if the row number is out of range
+     */
+    public void addHiddenRow(int rowNumber) throws IOException {
+        checkRow(rowNumber);
+        this.worksheet.addHiddenRow(rowNumber);
+        getOrCreateRow(rowNumber);
+        advance(rowNumber);
+    }
+
+    /**
+     * Merges the defined cell range. The first row of the range must not be written yet. Only the value of the upper
+     * left cell will be visible
+     *
+     * @param cellRange Range to merge (e.g. 'A1:B12')
+     * @return Returns the validated range of the merged cells (e.g. 'A1:B12')
+     * @throws WorksheetException Thrown if the first row of the range was already written or the worksheet was
+     *                            already completed
+     * @throws RangeException     Thrown if the range overlaps with another merged cell range
+     */
+    public String mergeCells(Range cellRange) {
+        int firstRow = Math.min(cellRange.StartAddress.Row, cellRange.EndAddress.Row);
+        checkRow(firstRow);
+        String key = this.worksheet.mergeCells(cellRange);
+        this.pendingMergedCells.add(this.worksheet.getMergedCells().get(key));
+        return key;
+    }
+
+    /**
+     * Merges the defined cell range. The first row of the range must not be written yet. Only the value of the upper
+     * left cell will be visible
+     *
+     * @param cellRange Range to merge (e.g. 'A1:B12')
+     * @return Returns the validated range of the merged cells (e.g. 'A1:B12')
+     * @throws WorksheetException Thrown if the first row of the range was already written or the worksheet was
+     *                            already completed
+     * @throws RangeException     Thrown if the range overlaps with another merged cell range
+     * @throws ch.rabanti.nanoxlsx4j.exceptions.FormatException Thrown if the passed range is malformed
+     */
+    public String mergeCells(String cellRange) {
+        return mergeCells(new Range(cellRange));
+    }
+
+    /**
+     * Writes all rows that are currently held in memory. These rows cannot be modified anymore afterwards
+     *
+     * @throws IOException        Thrown in case of an error while writing
+     * @throws WorksheetException Thrown if the worksheet was already completed
+     */
+    public void flush() throws IOException {
+        checkNotCompleted();
+        writeRows(this.nextRowNumber);
+    }
+
+    /**
+     * Completes the worksheet. All remaining rows and the end of the worksheet part are written
+     *
+     * @throws IOException Thrown in case of an error while writing
+     */
+    void complete() throws IOException {
+        if (this.completed) {
+            return;
+        }
+        writeRows(this.nextRowNumber);
+        this.completed = true;
+        this.writer.endWorksheet();
+    }
+
+    /**
+     * Puts a single cell into the row window
+     *
+     * @param value        Value of the cell
+     * @param type         Type of the cell
+     * @param columnNumber Column number (zero-based)
+     * @param rowNumber    Row number (zero-based)
+     * @param style        Style to apply on the cell. Can be null
+     * @throws IOException Thrown in case of an error while writing rows that leave the row window
+     */
+    private void putCell(Object value, Cell.CellType type, int columnNumber, int rowNumber, Style style) throws IOException {
+        Cell.validateColumnNumber(columnNumber);
+        Cell.validateRowNumber(rowNumber);
+        checkRow(rowNumber);
+        getOrCreateRow(rowNumber).put(columnNumber, createCell(value, type, columnNumber, rowNumber, style));
+        advance(rowNumber);
+    }
+
+    /**
+     * Creates a cell with resolved type and managed style
+     *
+     * @param value        Value of the cell
+     * @param type         Type of the cell
+     * @param columnNumber Column number (zero-based)
+     * @param rowNumber    Row number (zero-based)
+     * @param style        Style to apply on the cell. Can be null
+     * @return Cell that is ready to be written
+     */
+    private Cell createCell(Object value, Cell.CellType type, int columnNumber, int rowNumber, Style style) {
+        Cell cell = new Cell(value, type, columnNumber, rowNumber);
+        Style typeStyle = cell.getCellStyle(); // Date and time styles are already defined at this point
+        Style cellStyle;
+        if (style == null) {
+            cellStyle = typeStyle;
+        }
+        else if (typeStyle == null) {
+            cellStyle = style;
+        }
+        else {
+            cellStyle = getMixedStyle(typeStyle, style);
+        }
+        if (cellStyle != null) {
+            cell.setStyle(this.writer.resolveStyle(cellStyle), true);
+        }
+        return cell;
+    }
+
+    /**
+     * Gets a (cached) style that is the combination of the passed base style and the appended style
+     *
+     * @param baseStyle   Base style (e.g. date format)
+     * @param appendStyle Style to append
+     * @return Mixed style
+     */
+    private Style getMixedStyle(Style baseStyle, Style appendStyle) {
+        Map<Style, Style> mixed = this.mixedStyles.computeIfAbsent(baseStyle, k -> new IdentityHashMap<>());
+        Style style = mixed.get(appendStyle);
+        if (style == null) {
+            style = (Style) baseStyle.copy();
+            style.append(appendStyle);
+            mixed.put(appendStyle, style);
+        }
+        return style;
+    }
+
+    /**
+     * Gets the row with the passed number from the row window. The row is created if not existing
+     *
+     * @param rowNumber Row number (zero-based)
+     * @return Map of cells with the column number as key
+     */
+    private TreeMap<Integer, Cell> getOrCreateRow(int rowNumber) {
+        return this.rows.computeIfAbsent(rowNumber, k -> new TreeMap<>());
+    }
+
+    /**
+     * Checks whether the passed row can still be modified
+     *
+     * @param rowNumber Row number (zero-based)
+     * @throws WorksheetException Thrown if the row was already written or the worksheet was already completed
+     */
+    private void checkRow(int rowNumber) {
+        checkNotCompleted();
+        if (rowNumber < this.firstOpenRowNumber) {
+            throw new WorksheetException("The row " + (rowNumber + 1) + " was already written and cannot be modified anymore. The first row that can be modified is " + (this.firstOpenRowNumber + 1));
+        }
+    }
+
+    /**
+     * Checks whether the worksheet was not completed yet
+     *
+     * @throws WorksheetException Thrown if the worksheet was already completed
+     */
+    private void checkNotCompleted() {
+        if (this.completed) {
+            throw new WorksheetException("The worksheet '" + this.worksheet.getSheetName() + "' was already completed and cannot be modified anymore");
+        }
+    }
+
+    /**
+     * Moves the row window after the passed row number was modified. All rows that leave the window are written
+     *
+     * @param rowNumber Row number (zero-based) that was modified
+     * @throws IOException Thrown in case of an error while writing
+     */
+    private void advance(int rowNumber) throws IOException {
+        if (rowNumber >= this.nextRowNumber) {
+            this.nextRowNumber = rowNumber + 1;
+        }
+        int limit = this.nextRowNumber - this.rowWindow;
+        if (limit > this.firstOpenRowNumber) {
+            writeRows(limit);
+        }
+    }
+
+    /**
+     * Writes all rows with a lower row number than the passed one. The worksheet part is begun if not done yet
+     *
+     * @param limit Row number (zero-based) of the first row that is not written
+     * @throws IOException Thrown in case of an error while writing
+     */
+    private void writeRows(int limit) throws IOException {
+        if (!this.begun) {
+            this.writer.beginWorksheet(this.worksheet);
+            this.begun = true;
+        }
+        while (!this.rows.isEmpty() && this.rows.firstKey() < limit) {
+            Map.Entry<Integer, TreeMap<Integer, Cell>> row = this.rows.pollFirstEntry();
+            int rowNumber = row.getKey();
+            resolveMergedCells(rowNumber, row.getValue());
+            this.writer.writeRow(rowNumber, new ArrayList<>(row.getValue().values()));
+            this.worksheet.getRowHeights().remove(rowNumber);
+            this.worksheet.getHiddenRows().remove(rowNumber);
+        }
+        if (limit > this.firstOpenRowNumber) {
+            this.firstOpenRowNumber = limit;
+        }
+        Iterator<Range> iterator = this.pendingMergedCells.iterator();
+        while (iterator.hasNext()) {
+            Range range = iterator.next();
+            if (Math.max(range.StartAddress.Row, range.EndAddress.Row) < this.firstOpenRowNumber) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Resolves the merged cells within a row before it is written. All cells of a merged range, beside the upper left
+     * one, are set to empty cells with the merge style
+     *
+     * @param rowNumber Row number (zero-based)
+     * @param row       Cells of the row
+     */
+    private void resolveMergedCells(int rowNumber, TreeMap<Integer, Cell> row) {
+        for (Range range : this.pendingMergedCells) {
+            int firstRow = Math.min(range.StartAddress.Row, range.EndAddress.Row);
+            int lastRow = Math.max(range.StartAddress.Row, range.EndAddress.Row);
+            if (rowNumber < firstRow || rowNumber > lastRow) {
+                continue;
+            }
+            int firstColumn = Math.min(range.StartAddress.Column, range.EndAddress.Column);
+            int lastColumn = Math.max(range.StartAddress.Column, range.EndAddress.Column);
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                if (rowNumber == firstRow && column == firstColumn) {
+                    continue;
+                }
+                Cell cell = row.get(column);
+                Style style;
+                if (cell == null || cell.getCellStyle() == null) {
+                    style = BasicStyles.MergeCellStyle();
+                }
+                else {
+                    style = this.mergeStyles.computeIfAbsent(cell.getCellStyle(), this::createMergeStyle);
+                }
+                cell = new Cell(null, Cell.CellType.EMPTY, column, rowNumber);
+                cell.setStyle(this.writer.resolveStyle(style), true);
+                row.put(column, cell);
+            }
+        }
+    }
+
+    /**
+     * Creates the style of a hidden cell within a merged range, based on the style of the cell
+     *
+     * @param cellStyle Style of the cell
+     * @return Style with the alignment of the merge style
+     */
+    private Style createMergeStyle(Style cellStyle) {
+        Style style = cellStyle.copyStyle();
+        style.getCellXf().setForceApplyAlignment(BasicStyles.MergeCellStyle().getCellXf().isForceApplyAlignment());
+        return style;
+    }
+
+}
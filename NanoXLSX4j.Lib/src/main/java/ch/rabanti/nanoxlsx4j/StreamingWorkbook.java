@@ -0,0 +1,226 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j;
+
+import ch.rabanti.nanoxlsx4j.exceptions.IOException;
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+import ch.rabanti.nanoxlsx4j.exceptions.WorksheetException;
+import ch.rabanti.nanoxlsx4j.lowLevel.StreamingXlsxWriter;
+
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Class representing a workbook that is written as stream. In contrast to {@link Workbook}, the cells are not held in
+ * memory until the workbook is saved. Rows are passed in ascending order to a {@link SheetWriter} and written
+ * directly into the output, as soon as they leave the window of rows that can still be modified. Worksheets are
+ * written one after another. The workbook must be closed to write the remaining parts (shared strings, styles and
+ * metadata)
+ *
+ * @author Raphael Stoeckli
+ */
+public class StreamingWorkbook implements AutoCloseable {
+
+    // ### C O N S T A N T S ###
+    /**
+     * Default number of rows that are kept in memory per worksheet, before they are written
+     */
+    public static final int DEFAULT_ROW_WINDOW = 100;
+
+    // ### P R I V A T E F I E L D S ###
+    private final int rowWindow;
+    private final Workbook workbook;
+    private final StreamingXlsxWriter writer;
+    private SheetWriter currentSheetWriter;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Constructor with the target stream and the default row window
+     *
+     * @param stream Stream to write the workbook into. The stream is closed when the workbook is closed
+     */
+    public StreamingWorkbook(OutputStream stream) {
+        this(stream, DEFAULT_ROW_WINDOW);
+    }
+
+    /**
+     * Constructor with the target stream and the number of rows that are kept in memory per worksheet
+     *
+     * @param stream    Stream to write the workbook into. The stream is closed when the workbook is closed
+     * @param rowWindow Number of rows that are kept in memory, before they are written. Rows within this window can
+     *                  still be modified (e.g. by adding cells or merged cell ranges). The minimum value is 1
+     * @throws RangeException Thrown if the row window is smaller than 1
+     */
+    public StreamingWorkbook(OutputStream stream, int rowWindow) {
+        this(stream, rowWindow, null);
+    }
+
+    /**
+     * Constructor with the target stream, the number of rows that are kept in memory per worksheet and save options
+     *
+     * @param stream      Stream to write the workbook into. The stream is closed when the workbook is closed
+     * @param rowWindow   Number of rows that are kept in memory, before they are written. The minimum value is 1
+     * @param saveOptions Options to save the workbook (e.g. compression or string mode). The executor is not used. If
+     *                    null, the default options are used
+     * @throws RangeException Thrown if the row window is smaller than 1
+     */
+    public StreamingWorkbook(OutputStream stream, int rowWindow, SaveOptions saveOptions) {
+        if (rowWindow < 1) {
+            throw new RangeException("The row window (" + rowWindow + ") must be at least 1");
+        }
+        this.rowWindow = rowWindow;
+        this.workbook = new Workbook(false);
+        this.writer = new StreamingXlsxWriter(this.workbook, stream, saveOptions);
+    }
+
+    /**
+     * Constructor with the filename of the target file and the default row window
+     *
+     * @param filename Filename of the workbook
+     * @throws IOException Thrown if the file could not be created
+     */
+    public StreamingWorkbook(String filename) throws IOException {
+        this(openFile(filename), DEFAULT_ROW_WINDOW);
+    }
+
+    /**
+     * Constructor with the filename of the target file and the number of rows that are kept in memory per worksheet
+     *
+     * @param filename  Filename of the workbook
+     * @param rowWindow Number of rows that are kept in memory, before they are written. The minimum value is 1
+     * @throws IOException    Thrown if the file could not be created
+     * @throws RangeException Thrown if the row window is smaller than 1
+     */
+    public StreamingWorkbook(String filename, int rowWindow) throws IOException {
+        this(openFile(filename), rowWindow);
+    }
+
+    /**
+     * Constructor with the filename of the target file, the number of rows that are kept in memory per worksheet and
+     * save options
+     *
+     * @param filename    Filename of the workbook
+     * @param rowWindow   Number of rows that are kept in memory, before they are written. The minimum value is 1
+     * @param saveOptions Options to save the workbook (e.g. compression or string mode). The executor is not used. If
+     *                    null, the default options are used
+     * @throws IOException    Thrown if the file could not be created
+     * @throws RangeException Thrown if the row window is smaller than 1
+     */
+    public StreamingWorkbook(String filename, int rowWindow, SaveOptions saveOptions) throws IOException {
+        this(openFile(filename), rowWindow, saveOptions);
+    }
+
+    // ### G E T T E R S & S E T T E R S ###
+
+    /**
+     * Gets the worksheet writer of the worksheet that is currently written
+     *
+     * @return Current worksheet writer or null if no worksheet was added yet
+     */
+    public SheetWriter getCurrentWorksheet() {
+        return currentSheetWriter;
+    }
+
+    /**
+     * Gets the number of rows that are kept in memory per worksheet, before they are written
+     *
+     * @return Row window
+     */
+    public int getRowWindow() {
+        return rowWindow;
+    }
+
+    /**
+     * Gets the meta data of the workbook. The meta data is written when the workbook is closed
+     *
+     * @return Meta data object
+     */
+    public Metadata getWorkbookMetadata() {
+        return this.workbook.getWorkbookMetadata();
+    }
+
+    /**
+     * Sets the meta data of the workbook
+     *
+     * @param workbookMetadata Meta data object
+     */
+    public void setWorkbookMetadata(Metadata workbookMetadata) {
+        this.workbook.setWorkbookMetadata(workbookMetadata);
+    }
+
+    /**
+     * Gets whether the workbook was already closed
+     *
+     * @return True if closed, otherwise false
+     */
+    public boolean isClosed() {
+        return this.writer.isFinished();
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Adds a new worksheet and returns its writer. The worksheet that was written before is completed and cannot be
+     * modified anymore
+     *
+     * @param name Name of the new worksheet
+     * @return Writer of the new worksheet
+     * @throws IOException        Thrown in case of an error while writing the previous worksheet
+     * @throws WorksheetException Thrown if the name of the worksheet already exists or the workbook was already closed
+     * @throws ch.rabanti.nanoxlsx4j.exceptions.FormatException Thrown if the worksheet name contains illegal characters
+     *                                                          or is out of range (length between 1 an 31)
+     */
+    public SheetWriter addWorksheet(String name) throws IOException {
+        if (isClosed()) {
+            throw new WorksheetException("The worksheet '" + name + "' cannot be added because the workbook was already closed");
+        }
+        if (this.currentSheetWriter != null) {
+            this.currentSheetWriter.complete();
+        }
+        this.workbook.addWorksheet(name);
+        this.currentSheetWriter = new SheetWriter(this.workbook.getCurrentWorksheet(), this.writer, this.rowWindow);
+        return this.currentSheetWriter;
+    }
+
+    /**
+     * Closes the workbook. The current worksheet is completed and all remaining parts are written. If no worksheet was
+     * added, an empty worksheet with the name 'Sheet1' is written. The underlying stream is closed afterwards
+     *
+     * @throws IOException Thrown in case of an error while writing
+     */
+    @Override
+    public void close() throws IOException {
+        if (isClosed()) {
+            return;
+        }
+        if (this.currentSheetWriter == null) {
+            addWorksheet("Sheet1");
+        }
+        this.currentSheetWriter.complete();
+        this.writer.finish();
+    }
+
+    // ### S T A T I C M E T H O D S ###
+
+    /**
+     * Opens a file stream to the passed filename
+     *
+     * @param filename Filename of the workbook
+     * @return Opened file stream
+     * @throws IOException Thrown if the file could not be created
+     */
+    private static OutputStream openFile(String filename) throws IOException {
+        try {
+            return new FileOutputStream(filename);
+        }
+        catch (Exception e) {
+            throw new IOException("There was an error while creating the file " + filename + ". Please see the inner exception.", e);
+        }
+    }
+
+}
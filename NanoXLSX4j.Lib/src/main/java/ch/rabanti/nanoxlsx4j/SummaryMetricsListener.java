@@ -0,0 +1,226 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+
+package ch.rabanti.nanoxlsx4j;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Metrics listener that collects the metrics of an operation and writes a human-readable summary when the operation
+ * is completed. The summary contains the durations of the phases, the sizes of the parts, the counters and the peak
+ * sizes of the buffers
+ *
+ * @author Raphael Stoeckli
+ */
+public class SummaryMetricsListener implements MetricsListener {
+
+    // ### P R I V A T E F I E L D S ###
+    private final Appendable output;
+    private final Map<Phase, Long> phases;
+    private final Map<String, long[]> parts;
+    private final Map<Counter, Long> counters;
+    private final Map<Buffer, Long> buffers;
+    private String summary;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Default constructor. The summaries are written into the standard output
+     */
+    public SummaryMetricsListener() {
+        this(System.out);
+    }
+
+    /**
+     * Constructor with the output of the summaries
+     *
+     * @param output Output to write the summary of each operation into. If null, the summary is only available by
+     *               {@link #getSummary()}
+     */
+    public SummaryMetricsListener(Appendable output) {
+        this.output = output;
+        this.phases = new EnumMap<>(Phase.class);
+        this.parts = new LinkedHashMap<>();
+        this.counters = new EnumMap<>(Counter.class);
+        this.buffers = new EnumMap<>(Buffer.class);
+    }
+
+    // ### G E T T E R S ###
+
+    /**
+     * Gets the summary of the last completed operation
+     *
+     * @return Summary or null if no operation was completed yet
+     */
+    public synchronized String getSummary() {
+        return summary;
+    }
+
+    /**
+     * Gets the summed up duration of a phase of the current or last operation
+     *
+     * @param phase Phase
+     * @return Duration in nanoseconds (0 if the phase was not reported)
+     */
+    public synchronized long getPhaseDuration(Phase phase) {
+        return this.phases.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * Gets the value of a counter of the current or last operation
+     *
+     * @param counter Counter
+     * @return Value or -1 if the counter was not reported
+     */
+    public synchronized long getCounter(Counter counter) {
+        return this.counters.getOrDefault(counter, -1L);
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Discards the metrics of the previous operation
+     *
+     * @param operation Started operation
+     */
+    @Override
+    public synchronized void operationStarted(Operation operation) {
+        this.phases.clear();
+        this.parts.clear();
+        this.counters.clear();
+        this.buffers.clear();
+    }
+
+    /**
+     * Adds the duration to the phase
+     *
+     * @param operation     Current operation
+     * @param phase         Completed phase
+     * @param durationNanos Duration of the phase in nanoseconds
+     */
+    @Override
+    public synchronized void phaseCompleted(Operation operation, Phase phase, long durationNanos) {
+        this.phases.merge(phase, durationNanos, Long::sum);
+    }
+
+    /**
+     * Records the sizes of the part
+     *
+     * @param operation         Current operation
+     * @param name              Filename of the part with relative path
+     * @param uncompressedBytes Size of the part in bytes, as written or read by the library
+     * @param compressedBytes   Size of the part within the XLSX file in bytes, or -1 if the size is unknown
+     */
+    @Override
+    public synchronized void partProcessed(Operation operation, String name, long uncompressedBytes, long compressedBytes) {
+        this.parts.put(name, new long[]{uncompressedBytes, compressedBytes});
+    }
+
+    /**
+     * Records the value of the counter
+     *
+     * @param operation Current operation
+     * @param counter   Counter
+     * @param value     Value of the counter
+     */
+    @Override
+    public synchronized void counted(Operation operation, Counter counter, long value) {
+        this.counters.put(counter, value);
+    }
+
+    /**
+     * Records the peak size of the buffer
+     *
+     * @param operation Current operation
+     * @param buffer    Buffer
+     * @param peakSize  Largest size of the buffer during the operation
+     */
+    @Override
+    public synchronized void bufferPeak(Operation operation, Buffer buffer, long peakSize) {
+        this.buffers.merge(buffer, peakSize, Math::max);
+    }
+
+    /**
+     * Creates the summary of the operation and writes it into the output
+     *
+     * @param operation     Completed operation
+     * @param durationNanos Total duration of the operation in nanoseconds
+     */
+    @Override
+    public synchronized void operationCompleted(Operation operation, long durationNanos) {
+        this.summary = createSummary(operation, durationNanos);
+        if (this.output != null) {
+            try {
+                this.output.append(this.summary);
+            }
+            catch (java.io.IOException e) {
+                // The metrics must not affect the operation. The summary is still available by getSummary()
+            }
+        }
+    }
+
+    /**
+     * Discards the incomplete metrics of the failed operation. The summary of the last completed operation is kept
+     *
+     * @param operation Failed operation
+     * @param cause     Exception that is thrown to the caller of the operation
+     */
+    @Override
+    public synchronized void operationFailed(Operation operation, Throwable cause) {
+        operationStarted(operation);
+    }
+
+    /**
+     * Creates the summary of the collected metrics
+     *
+     * @param operation     Completed operation
+     * @param durationNanos Total duration of the operation in nanoseconds
+     * @return Summary as multi-line text
+     */
+    private String createSummary(Operation operation, long durationNanos) {
+        String newLine = System.lineSeparator();
+        StringBuilder sb = new StringBuilder();
+        sb.append(operation == Operation.SAVE ? "Save" : "Load").append(" completed in ").append(formatMillis(durationNanos)).append(newLine);
+        sb.append("Phases:").append(newLine);
+        for (Map.Entry<Phase, Long> phase : this.phases.entrySet()) {
+            double share = durationNanos > 0 ? phase.getValue() * 100d / durationNanos : 0d;
+            sb.append(String.format(Locale.US, "  %-16s %12s %6.1f%%", phase.getKey(), formatMillis(phase.getValue()), share)).append(newLine);
+        }
+        if (!this.parts.isEmpty()) {
+            sb.append("Parts (bytes uncompressed / compressed):").append(newLine);
+            for (Map.Entry<String, long[]> part : this.parts.entrySet()) {
+                long compressed = part.getValue()[1];
+                sb.append(String.format(Locale.US, "  %-40s %14d / %s", part.getKey(), part.getValue()[0], compressed < 0 ? "?" : Long.toString(compressed))).append(newLine);
+            }
+        }
+        sb.append("Counters:").append(newLine);
+        for (Map.Entry<Counter, Long> counter : this.counters.entrySet()) {
+            sb.append(String.format(Locale.US, "  %-24s %12d", counter.getKey(), counter.getValue())).append(newLine);
+        }
+        if (!this.buffers.isEmpty()) {
+            sb.append("Peak buffer sizes:").append(newLine);
+            for (Map.Entry<Buffer, Long> buffer : this.buffers.entrySet()) {
+                sb.append(String.format(Locale.US, "  %-24s %12d", buffer.getKey(), buffer.getValue())).append(newLine);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Formats a duration in milliseconds
+     *
+     * @param nanos Duration in nanoseconds
+     * @return Formatted duration
+     */
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.US, "%.3f ms", nanos / 1_000_000d);
+    }
+
+}
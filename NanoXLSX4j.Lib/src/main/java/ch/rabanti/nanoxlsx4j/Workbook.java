@@ -11,6 +11,7 @@ import ch.rabanti.nanoxlsx4j.exceptions.IOException;
 import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
 import ch.rabanti.nanoxlsx4j.exceptions.StyleException;
 import ch.rabanti.nanoxlsx4j.exceptions.WorksheetException;
+import ch.rabanti.nanoxlsx4j.lowLevel.PartCache;
 import ch.rabanti.nanoxlsx4j.lowLevel.XlsxReader;
 import ch.rabanti.nanoxlsx4j.lowLevel.XlsxWriter;
 import ch.rabanti.nanoxlsx4j.styles.AbstractStyle;
@@ -24,9 +25,16 @@ import ch.rabanti.nanoxlsx4j.styles.StyleRepository;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class representing a workbook
@@ -48,6 +56,7 @@ public class Workbook {
     private List<Worksheet> worksheets;
     private boolean hidden;
     private final List<String> mruColors = new ArrayList<>();
+    private PartCache partCache;
     boolean importInProgress = false;
 
     /**
@@ -213,6 +222,29 @@ public class Workbook {
         this.hidden = hidden;
     }
 
+    /**
+     * Gets the cache of the parts that were written by the last save with enabled part caching. The cache is created
+     * if not existing<br> This is an internal method. There is no need to use it
+     *
+     * @return Part cache of the workbook
+     */
+    public synchronized PartCache getPartCache() {
+        if (this.partCache == null) {
+            this.partCache = new PartCache();
+        }
+        return this.partCache;
+    }
+
+    /**
+     * Releases the cache of the parts that were written by the last save with enabled part caching. The next save
+     * renders and compresses all parts again
+     *
+     * @see SaveOptions#setPartCaching(boolean)
+     */
+    public synchronized void clearPartCache() {
+        this.partCache = null;
+    }
+
     // ### C O N S T R U C T O R S ###
 
     /**
@@ -548,7 +580,17 @@ public class Workbook {
      * @throws IOException Throws IOException in case of an error
      */
     public void save() throws IOException {
-        XlsxWriter l = new XlsxWriter(this);
+        save(null);
+    }
+
+    /**
+     * Saves the workbook with the defined save options
+     *
+     * @param options Options to save the workbook. If null, the default options are used
+     * @throws IOException Throws IOException in case of an error
+     */
+    public void save(SaveOptions options) throws IOException {
+        XlsxWriter l = new XlsxWriter(this, options);
         l.save();
     }
 
@@ -559,13 +601,69 @@ public class Workbook {
      * @throws IOException Thrown in case of an error
      */
     public void saveAs(String filename) throws IOException {
+        saveAs(filename, null);
+    }
+
+    /**
+     * Saves the workbook with the defined name and save options
+     *
+     * @param filename Filename of the saved workbook
+     * @param options  Options to save the workbook. If null, the default options are used
+     * @throws IOException Thrown in case of an error
+     */
+    public void saveAs(String filename, SaveOptions options) throws IOException {
         String backup = this.filename;
         this.filename = filename;
-        XlsxWriter l = new XlsxWriter(this);
+        XlsxWriter l = new XlsxWriter(this, options);
         l.save();
         this.filename = backup;
     }
 
+    /**
+     * Saves the workbook into the file of the defined path. The file is written through a file channel
+     *
+     * @param path Path of the saved workbook
+     * @throws IOException Thrown in case of an error
+     */
+    public void saveAs(Path path) throws IOException {
+        saveAs(path, null);
+    }
+
+    /**
+     * Saves the workbook into the file of the defined path, with the defined save options. The file is written through
+     * a file channel. The options can define a preallocation size and whether the file is forced to the storage device
+     *
+     * @param path    Path of the saved workbook
+     * @param options Options to save the workbook. If null, the default options are used
+     * @throws IOException Thrown in case of an error
+     */
+    public void saveAs(Path path, SaveOptions options) throws IOException {
+        XlsxWriter l = new XlsxWriter(this, options);
+        l.saveAsPath(path);
+    }
+
+    /**
+     * Saves the workbook into a channel (e.g. a file or socket channel)
+     *
+     * @param channel Channel to write the workbook into. The channel is not closed
+     * @throws IOException Thrown in case of an error
+     */
+    public void saveAsChannel(WritableByteChannel channel) throws IOException {
+        saveAsChannel(channel, null);
+    }
+
+    /**
+     * Saves the workbook into a channel (e.g. a file or socket channel), with the defined save options
+     *
+     * @param channel Channel to write the workbook into. The channel is not closed
+     * @param options Options to save the workbook. If null, the default options are used
+     * @throws IOException Thrown in case of an error
+     */
+    public void saveAsChannel(WritableByteChannel channel, SaveOptions options) throws IOException {
+        XlsxWriter l = new XlsxWriter(this, options);
+        l.saveAsChannel(channel);
+    }
+
     /**
      * Save the workbook to an output stream
      *
@@ -573,10 +671,114 @@ public class Workbook {
      * @throws IOException Thrown in case of an error
      */
     public void saveAsStream(OutputStream stream) throws IOException {
-        XlsxWriter l = new XlsxWriter(this);
+        saveAsStream(stream, null);
+    }
+
+    /**
+     * Save the workbook to an output stream with the defined save options
+     *
+     * @param stream  Output Stream
+     * @param options Options to save the workbook. If null, the default options are used
+     * @throws IOException Thrown in case of an error
+     */
+    public void saveAsStream(OutputStream stream, SaveOptions options) throws IOException {
+        XlsxWriter l = new XlsxWriter(this, options);
         l.saveAsStream(stream);
     }
 
+    /**
+     * Saves the workbook asynchronously on the passed executor
+     *
+     * @param executor Executor to save the workbook on (e.g. a thread pool or a virtual thread executor). If null,
+     *                 the common fork join pool is used
+     * @return Future that is completed when the workbook is saved, or completed exceptionally with the cause of the
+     * failure (e.g. an {@link IOException})
+     * @apiNote The workbook is copied when this method is called. Modifications on the workbook after the call are
+     * not considered in the saved file
+     */
+    public CompletableFuture<Void> saveAsync(Executor executor) {
+        return saveAsync(executor, null);
+    }
+
+    /**
+     * Saves the workbook asynchronously on the passed executor, with the defined save options
+     *
+     * @param executor Executor to save the workbook on (e.g. a thread pool or a virtual thread executor). If null,
+     *                 the common fork join pool is used
+     * @param options  Options to save the workbook. If null, the default options are used
+     * @return Future that is completed when the workbook is saved, or completed exceptionally with the cause of the
+     * failure (e.g. an {@link IOException})
+     * @apiNote The workbook is copied when this method is called. Modifications on the workbook after the call are
+     * not considered in the saved file
+     */
+    public CompletableFuture<Void> saveAsync(Executor executor, SaveOptions options) {
+        return saveAsAsync(this.filename, executor, options);
+    }
+
+    /**
+     * Saves the workbook asynchronously with the defined name on the passed executor
+     *
+     * @param filename Filename of the saved workbook
+     * @param executor Executor to save the workbook on (e.g. a thread pool or a virtual thread executor). If null,
+     *                 the common fork join pool is used
+     * @return Future that is completed when the workbook is saved, or completed exceptionally with the cause of the
+     * failure (e.g. an {@link IOException})
+     * @apiNote The workbook is copied when this method is called. Modifications on the workbook after the call are
+     * not considered in the saved file
+     */
+    public CompletableFuture<Void> saveAsAsync(String filename, Executor executor) {
+        return saveAsAsync(filename, executor, null);
+    }
+
+    /**
+     * Saves the workbook asynchronously with the defined name on the passed executor, with the defined save options
+     *
+     * @param filename Filename of the saved workbook
+     * @param executor Executor to save the workbook on (e.g. a thread pool or a virtual thread executor). If null,
+     *                 the common fork join pool is used
+     * @param options  Options to save the workbook. If null, the default options are used
+     * @return Future that is completed when the workbook is saved, or completed exceptionally with the cause of the
+     * failure (e.g. an {@link IOException})
+     * @apiNote The workbook is copied when this method is called. Modifications on the workbook after the call are
+     * not considered in the saved file
+     */
+    public CompletableFuture<Void> saveAsAsync(String filename, Executor executor, SaveOptions options) {
+        return runAsync(executor, workbook -> workbook.saveAs(filename, options));
+    }
+
+    /**
+     * Saves the workbook asynchronously to an output stream on the passed executor
+     *
+     * @param stream   Output Stream
+     * @param executor Executor to save the workbook on (e.g. a thread pool or a virtual thread executor). If null,
+     *                 the common fork join pool is used
+     * @return Future that is completed when the workbook is saved, or completed exceptionally with the cause of the
+     * failure (e.g. an {@link IOException})
+     * @apiNote The workbook is copied when this method is called. Modifications on the workbook after the call are
+     * not considered in the saved file. As with {@link #saveAsStream(OutputStream)}, the stream is closed after the
+     * workbook was written
+     */
+    public CompletableFuture<Void> saveAsStreamAsync(OutputStream stream, Executor executor) {
+        return saveAsStreamAsync(stream, executor, null);
+    }
+
+    /**
+     * Saves the workbook asynchronously to an output stream on the passed executor, with the defined save options
+     *
+     * @param stream   Output Stream
+     * @param executor Executor to save the workbook on (e.g. a thread pool or a virtual thread executor). If null,
+     *                 the common fork join pool is used
+     * @param options  Options to save the workbook. If null, the default options are used
+     * @return Future that is completed when the workbook is saved, or completed exceptionally with the cause of the
+     * failure (e.g. an {@link IOException})
+     * @apiNote The workbook is copied when this method is called. Modifications on the workbook after the call are
+     * not considered in the saved file. As with {@link #saveAsStream(OutputStream, SaveOptions)}, the stream is closed
+     * after the workbook was written
+     */
+    public CompletableFuture<Void> saveAsStreamAsync(OutputStream stream, Executor executor, SaveOptions options) {
+        return runAsync(executor, workbook -> workbook.saveAsStream(stream, options));
+    }
+
     /**
      * Sets the current worksheet
      *
@@ -963,6 +1165,93 @@ public class Workbook {
         return this.worksheets.stream().max((w1, w2) -> Integer.compare(w1.getSheetID(), w2.getSheetID())).get().getSheetID() + 1;
     }
 
+    /**
+     * Copies the workbook and runs a save action on the copy, using the passed executor. Errors of the copy and the
+     * save action are reported by the returned future
+     *
+     * @param executor Executor to run the action on. If null, the common fork join pool is used
+     * @param action   Save action to run
+     * @return Future that is completed when the action is finished
+     */
+    private CompletableFuture<Void> runAsync(Executor executor, SaveAction action) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            Workbook snapshot = createSnapshot();
+            (executor == null ? ForkJoinPool.commonPool() : executor).execute(() -> {
+                try {
+                    action.save(snapshot);
+                    future.complete(null);
+                }
+                catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+        catch (RuntimeException e) {
+            future.completeExceptionally(e); // Includes a rejected execution
+        }
+        return future;
+    }
+
+    /**
+     * Creates a copy of the workbook for saving. The worksheets are deep-copied. The styles are copied too, since the
+     * save assigns the style components and IDs of the styles, while the originals may be modified at the same time
+     *
+     * @return Copy of the workbook
+     */
+    private Workbook createSnapshot() {
+        Workbook copy = new Workbook();
+        copy.filename = this.filename;
+        copy.lockStructureIfProtected = this.lockStructureIfProtected;
+        copy.lockWindowsIfProtected = this.lockWindowsIfProtected;
+        copy.selectedWorksheet = this.selectedWorksheet;
+        copy.useWorkbookProtection = this.useWorkbookProtection;
+        copy.workbookMetadata = this.workbookMetadata == null ? null : this.workbookMetadata.copy();
+        copy.workbookProtectionPassword = this.workbookProtectionPassword;
+        copy.workbookProtectionPasswordHash = this.workbookProtectionPasswordHash;
+        copy.hidden = this.hidden;
+        copy.mruColors.addAll(this.mruColors);
+        copy.importInProgress = true; // Prevents validation while the worksheets are assigned
+        Map<Style, Style> styles = new IdentityHashMap<>();
+        for (Worksheet worksheet : this.worksheets) {
+            Worksheet worksheetCopy = worksheet.copy();
+            copyStyles(worksheetCopy, styles);
+            worksheetCopy.setSheetName(worksheet.getSheetName());
+            worksheetCopy.setSheetID(worksheet.getSheetID());
+            worksheetCopy.setWorkbookReference(copy);
+            copy.worksheets.add(worksheetCopy);
+            if (worksheet == this.currentWorksheet) {
+                copy.currentWorksheet = worksheetCopy;
+            }
+        }
+        copy.importInProgress = false;
+        copy.WS.setCurrentWorksheetInternal(copy.currentWorksheet);
+        return copy;
+    }
+
+    /**
+     * Replaces the styles of a copied worksheet by copies. Each distinct style object is copied only once, thus cells
+     * that share a style also share its copy. The copies are not added to the style repository
+     *
+     * @param worksheet Copied worksheet
+     * @param styles    Map of the already copied styles, with the original style as key
+     */
+    private static void copyStyles(Worksheet worksheet, Map<Style, Style> styles) {
+        for (Cell cell : worksheet.getCells().values()) {
+            if (cell.getCellStyle() != null) {
+                cell.setStyle(styles.computeIfAbsent(cell.getCellStyle(), Style::copyStyle), true);
+            }
+        }
+        for (Column column : worksheet.getColumns().values()) {
+            if (column.getDefaultColumnStyle() != null) {
+                column.setDefaultColumnStyle(styles.computeIfAbsent(column.getDefaultColumnStyle(), Style::copyStyle), true);
+            }
+        }
+        if (worksheet.getActiveStyle() != null) {
+            worksheet.setActiveStyle(styles.computeIfAbsent(worksheet.getActiveStyle(), Style::copyStyle));
+        }
+    }
+
     /**
      * Init method called in the constructors
      */
@@ -997,8 +1286,9 @@ public class Workbook {
     public static Workbook load(String filename, ImportOptions importOptions) throws IOException, java.io.IOException {
         XlsxReader r = new XlsxReader(filename, importOptions);
         r.read();
-        r.getWorkbook().setFilename(filename);
-        return r.getWorkbook();
+        Workbook workbook = r.getWorkbook();
+        workbook.setFilename(filename);
+        return workbook;
     }
 
     /**
@@ -1027,6 +1317,147 @@ public class Workbook {
         return r.getWorkbook();
     }
 
+    /**
+     * Reads a worksheet of a file row by row and passes each row to a handler. The workbook is not loaded into memory.
+     * The reading can be stopped by the handler at any row
+     *
+     * @param filename      Filename of the workbook
+     * @param worksheetName Name of the worksheet to read
+     * @param handler       Handler that is called for each row of the worksheet
+     * @return True if all rows of the worksheet were passed to the handler, false if the handler stopped the reading
+     * @throws IOException Throws IOException in case of an error or if the worksheet was not found
+     */
+    public static boolean read(String filename, String worksheetName, RowHandler handler) throws IOException {
+        return read(filename, worksheetName, null, handler);
+    }
+
+    /**
+     * Reads a worksheet of a file row by row with import options and passes each row to a handler. The workbook is not
+     * loaded into memory. The reading can be stopped by the handler at any row
+     *
+     * @param filename      Filename of the workbook
+     * @param worksheetName Name of the worksheet to read
+     * @param importOptions Import options to override the data types of columns or cells. These options can be used to
+     *                      cope with wrong interpreted data, caused by irregular styles
+     * @param handler       Handler that is called for each row of the worksheet
+     * @return True if all rows of the worksheet were passed to the handler, false if the handler stopped the reading
+     * @throws IOException Throws IOException in case of an error or if the worksheet was not found
+     */
+    public static boolean read(String filename, String worksheetName, ImportOptions importOptions, RowHandler handler) throws IOException {
+        return read(new SheetRowReader(filename, worksheetName, importOptions), handler);
+    }
+
+    /**
+     * Reads a worksheet of a file row by row and passes each row to a handler. The workbook is not loaded into memory.
+     * The reading can be stopped by the handler at any row
+     *
+     * @param filename       Filename of the workbook
+     * @param worksheetIndex Zero-based index of the worksheet to read
+     * @param handler        Handler that is called for each row of the worksheet
+     * @return True if all rows of the worksheet were passed to the handler, false if the handler stopped the reading
+     * @throws IOException Throws IOException in case of an error or if the worksheet was not found
+     */
+    public static boolean read(String filename, int worksheetIndex, RowHandler handler) throws IOException {
+        return read(filename, worksheetIndex, null, handler);
+    }
+
+    /**
+     * Reads a worksheet of a file row by row with import options and passes each row to a handler. The workbook is not
+     * loaded into memory. The reading can be stopped by the handler at any row
+     *
+     * @param filename       Filename of the workbook
+     * @param worksheetIndex Zero-based index of the worksheet to read
+     * @param importOptions  Import options to override the data types of columns or cells. These options can be used
+     *                       to cope with wrong interpreted data, caused by irregular styles
+     * @param handler        Handler that is called for each row of the worksheet
+     * @return True if all rows of the worksheet were passed to the handler, false if the handler stopped the reading
+     * @throws IOException Throws IOException in case of an error or if the worksheet was not found
+     */
+    public static boolean read(String filename, int worksheetIndex, ImportOptions importOptions, RowHandler handler) throws IOException {
+        return read(new SheetRowReader(filename, worksheetIndex, importOptions), handler);
+    }
+
+    /**
+     * Reads a worksheet of an input stream row by row and passes each row to a handler. The workbook is not loaded
+     * into memory. The reading can be stopped by the handler at any row
+     *
+     * @param stream        Stream containing the workbook
+     * @param worksheetName Name of the worksheet to read
+     * @param handler       Handler that is called for each row of the worksheet
+     * @return True if all rows of the worksheet were passed to the handler, false if the handler stopped the reading
+     * @throws IOException Throws IOException in case of an error or if the worksheet was not found
+     */
+    public static boolean read(InputStream stream, String worksheetName, RowHandler handler) throws IOException {
+        return read(stream, worksheetName, null, handler);
+    }
+
+    /**
+     * Reads a worksheet of an input stream row by row with import options and passes each row to a handler. The
+     * workbook is not loaded into memory. The reading can be stopped by the handler at any row
+     *
+     * @param stream        Stream containing the workbook
+     * @param worksheetName Name of the worksheet to read
+     * @param importOptions Import options to override the data types of columns or cells. These options can be used to
+     *                      cope with wrong interpreted data, caused by irregular styles
+     * @param handler       Handler that is called for each row of the worksheet
+     * @return True if all rows of the worksheet were passed to the handler, false if the handler stopped the reading
+     * @throws IOException Throws IOException in case of an error or if the worksheet was not found
+     */
+    public static boolean read(InputStream stream, String worksheetName, ImportOptions importOptions, RowHandler handler) throws IOException {
+        return read(new SheetRowReader(stream, worksheetName, importOptions), handler);
+    }
+
+    /**
+     * Reads a worksheet of an input stream row by row and passes each row to a handler. The workbook is not loaded
+     * into memory. The reading can be stopped by the handler at any row
+     *
+     * @param stream         Stream containing the workbook
+     * @param worksheetIndex Zero-based index of the worksheet to read
+     * @param handler        Handler that is called for each row of the worksheet
+     * @return True if all rows of the worksheet were passed to the handler, false if the handler stopped the reading
+     * @throws IOException Throws IOException in case of an error or if the worksheet was not found
+     */
+    public static boolean read(InputStream stream, int worksheetIndex, RowHandler handler) throws IOException {
+        return read(stream, worksheetIndex, null, handler);
+    }
+
+    /**
+     * Reads a worksheet of an input stream row by row with import options and passes each row to a handler. The
+     * workbook is not loaded into memory. The reading can be stopped by the handler at any row
+     *
+     * @param stream         Stream containing the workbook
+     * @param worksheetIndex Zero-based index of the worksheet to read
+     * @param importOptions  Import options to override the data types of columns or cells. These options can be used
+     *                       to cope with wrong interpreted data, caused by irregular styles
+     * @param handler        Handler that is called for each row of the worksheet
+     * @return True if all rows of the worksheet were passed to the handler, false if the handler stopped the reading
+     * @throws IOException Throws IOException in case of an error or if the worksheet was not found
+     */
+    public static boolean read(InputStream stream, int worksheetIndex, ImportOptions importOptions, RowHandler handler) throws IOException {
+        return read(new SheetRowReader(stream, worksheetIndex, importOptions), handler);
+    }
+
+    /**
+     * Passes the rows of a row reader to a handler, until the end of the worksheet is reached or the handler stops the
+     * reading. The reader is closed in any case
+     *
+     * @param reader  Opened row reader
+     * @param handler Handler that is called for each row
+     * @return True if all rows were passed to the handler, false if the handler stopped the reading
+     * @throws IOException Throws IOException in case of an error while reading a row
+     */
+    private static boolean read(SheetRowReader reader, RowHandler handler) throws IOException {
+        try (reader) {
+            SheetRowReader.Row row;
+            while ((row = reader.readRow()) != null) {
+                if (handler.handleRow(row) == RowHandler.Action.STOP) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Sets the import state. If an import is in progress, no validity checks on are performed to avoid conflicts by
      * incomplete data (e.g. hidden worksheets)
@@ -1037,4 +1468,20 @@ public class Workbook {
         this.importInProgress = state;
     }
 
+    // ### S U B C L A S S E S ###
+
+    /**
+     * Functional interface for a save action on a copy of the workbook
+     */
+    @FunctionalInterface
+    private interface SaveAction {
+        /**
+         * Saves the passed workbook
+         *
+         * @param workbook Workbook to save
+         * @throws IOException Thrown in case of an error
+         */
+        void save(Workbook workbook) throws IOException;
+    }
+
 }
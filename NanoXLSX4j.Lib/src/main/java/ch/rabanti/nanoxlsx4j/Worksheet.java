@@ -20,6 +20,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.SortedMap;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -224,7 +226,7 @@ public class Worksheet {
     // ### P R I V A T E F I E L D S ###
     private Style activeStyle;
     private Range autoFilterRange;
-    private Map<String, Cell> cells;
+    private CellMap cells;
     private Map<Integer, Column> columns;
     private CellDirection currentCellDirection;
     private int currentColumnNumber;
@@ -255,6 +257,7 @@ public class Worksheet {
     private boolean showRuler;
     private SheetViewType viewType;
     private Map<SheetViewType, Integer> zoomFactor;
+    private Consumer<Worksheet> loader;
 
     // ### G E T T E R S & S E T T E R S ###
 
@@ -267,6 +270,7 @@ public class Worksheet {
      * @throws FormatException Thrown if the passed range is malformed
      */
     public void setAutoFilterRange(String range) {
+        ensureLoaded();
         this.autoFilterRange = Cell.resolveCellRange(range);
         recalculateAutoFilter();
         recalculateColumns();
@@ -278,6 +282,7 @@ public class Worksheet {
      * @return Range of auto filter
      */
     public Range getAutoFilterRange() {
+        ensureLoaded();
         return autoFilterRange;
     }
 
@@ -287,9 +292,56 @@ public class Worksheet {
      * @return List of Cell objects
      */
     public Map<String, Cell> getCells() {
+        ensureLoaded();
         return cells;
     }
 
+    /**
+     * Gets the cells of the worksheet, grouped by rows. The rows are maintained while cells are added or removed,
+     * thus no sorting is necessary
+     *
+     * @return Unmodifiable, sorted map with the zero-based row number as key and the cells of the row, sorted by
+     * column number, as value
+     * @apiNote The rows are based on the row and column numbers of the cells at the time they were added
+     */
+    public SortedMap<Integer, List<Cell>> getSortedRows() {
+        return cells.getRows();
+    }
+
+    /**
+     * Gets the number of modifications of the cells since the worksheet was created. Adding, replacing and removing
+     * cells, as well as modifications of the values, types, addresses and styles of the cells are counted<br> This is
+     * an internal method. There is no need to use it
+     *
+     * @return Number of modifications or -1 if the modifications cannot be tracked (e.g. if a cell object is also part
+     * of another worksheet)
+     */
+    public long getModificationCount() {
+        return cells.getModificationCount();
+    }
+
+    /**
+     * Gets whether the cells and the properties of the worksheet are loaded. Worksheets of a workbook that was loaded
+     * with {@link ImportOptions#setLazyLoading(boolean)} are loaded when they are accessed the first time
+     *
+     * @return True if the worksheet is loaded or was not loaded from a file, otherwise false
+     */
+    public boolean isLoaded() {
+        return loader == null;
+    }
+
+    /**
+     * Sets a loader that resolves the cells and the properties of the worksheet, before the worksheet is accessed the
+     * first time. Only the name, ID, hidden state and workbook reference can be accessed without calling the
+     * loader<br> This is an internal method. There is no need to use it
+     *
+     * @param loader Loader of the worksheet or null if the worksheet is already loaded
+     */
+    public void setLoader(Consumer<Worksheet> loader) {
+        this.loader = loader;
+        this.cells.setLoader(loader == null ? null : this::ensureLoaded);
+    }
+
     /**
      * Gets all columns with non-standard properties, like auto filter applied or a special width as map with the
      * zero-based column index as key and the column object as value
@@ -297,6 +349,7 @@ public class Worksheet {
      * @return map of columns
      */
     public Map<Integer, Column> getColumns() {
+        ensureLoaded();
         return columns;
     }
 
@@ -364,6 +417,7 @@ public class Worksheet {
      * @return Default column width
      */
     public float getDefaultColumnWidth() {
+        ensureLoaded();
         return defaultColumnWidth;
     }
 
@@ -374,6 +428,7 @@ public class Worksheet {
      * @throws RangeException Throws a RangeException if the passed width is out of range (set)
      */
     public void setDefaultColumnWidth(float defaultColumnWidth) {
+        ensureLoaded();
         if (defaultColumnWidth < MIN_COLUMN_WIDTH || defaultColumnWidth > MAX_COLUMN_WIDTH) {
             throw new RangeException("The passed default row height is out of range (" + MIN_COLUMN_WIDTH + " to " + MAX_COLUMN_WIDTH + ")");
         }
@@ -386,6 +441,7 @@ public class Worksheet {
      * @return Default Row height
      */
     public float getDefaultRowHeight() {
+        ensureLoaded();
         return defaultRowHeight;
     }
 
@@ -396,6 +452,7 @@ public class Worksheet {
      * @throws RangeException Throws a RangeException if the passed height is out of range (set)
      */
     public void setDefaultRowHeight(float defaultRowHeight) {
+        ensureLoaded();
         if (defaultRowHeight < MIN_ROW_HEIGHT || defaultRowHeight > MAX_ROW_HEIGHT) {
             throw new RangeException("The passed default row height is out of range (" + MIN_ROW_HEIGHT + " to " + MAX_ROW_HEIGHT + ")");
         }
@@ -409,6 +466,7 @@ public class Worksheet {
      * @return Map with hidden rows
      */
     public Map<Integer, Boolean> getHiddenRows() {
+        ensureLoaded();
         return hiddenRows;
     }
 
@@ -419,6 +477,7 @@ public class Worksheet {
      * @return Map of row heights
      */
     public Map<Integer, Float> getRowHeights() {
+        ensureLoaded();
         return rowHeights;
     }
 
@@ -428,6 +487,7 @@ public class Worksheet {
      * @return Hashmap with merged cell references
      */
     public Map<String, Range> getMergedCells() {
+        ensureLoaded();
         return mergedCells;
     }
 
@@ -439,6 +499,7 @@ public class Worksheet {
      * this function name in a future version. Therefore, the type will change
      */
     public Range getSelectedCells() {
+        ensureLoaded();
         if (selectedCells.isEmpty()) {
             return null;
         }
@@ -453,6 +514,7 @@ public class Worksheet {
      * @return All ranges of the selected cells
      */
     public List<Range> getSelectedCellRanges() {
+        ensureLoaded();
         return selectedCells;
     }
 
@@ -467,6 +529,7 @@ public class Worksheet {
      * version
      */
     public void setSelectedCells(String range) {
+        ensureLoaded();
         removeSelectedCells();
         if (range == null) {
             this.selectedCells.clear();
@@ -516,6 +579,7 @@ public class Worksheet {
      * @param range Cell range to be added as selected cells
      */
     public void addSelectedCells(Range range) {
+        ensureLoaded();
         selectedCells.add(range);
     }
 
@@ -526,6 +590,7 @@ public class Worksheet {
      * @param endAddress   End address of the range to add
      */
     public void addSelectedCells(Address startAddress, Address endAddress) {
+        ensureLoaded();
         selectedCells.add(new Range(startAddress, endAddress));
     }
 
@@ -535,6 +600,7 @@ public class Worksheet {
      * @param range Cell range to add as selected cells
      */
     public void addSelectedCells(String range) {
+        ensureLoaded();
         if (!Helper.isNullOrEmpty(range)) {
             selectedCells.add(Cell.resolveCellRange(range));
         }
@@ -576,6 +642,7 @@ public class Worksheet {
      * @return If true, the worksheet is protected
      */
     public boolean isUseSheetProtection() {
+        ensureLoaded();
         return useSheetProtection;
     }
 
@@ -585,6 +652,7 @@ public class Worksheet {
      * @param useSheetProtection If true, the worksheet is protected
      */
     public void setUseSheetProtection(boolean useSheetProtection) {
+        ensureLoaded();
         this.useSheetProtection = useSheetProtection;
     }
 
@@ -597,6 +665,7 @@ public class Worksheet {
      * {@link Worksheet#getSheetProtectionPasswordHash()} getter to check whether there is a password set
      */
     public String getSheetProtectionPassword() {
+        ensureLoaded();
         return sheetProtectionPassword;
     }
 
@@ -609,6 +678,7 @@ public class Worksheet {
      * instead
      */
     public void setSheetProtectionPasswordHash(String hash) {
+        ensureLoaded();
         this.sheetProtectionPasswordHash = hash;
     }
 
@@ -619,6 +689,7 @@ public class Worksheet {
      * @return Encrypted password as String
      */
     public String getSheetProtectionPasswordHash() {
+        ensureLoaded();
         return sheetProtectionPasswordHash;
     }
 
@@ -629,6 +700,7 @@ public class Worksheet {
      *                 used
      */
     public void setSheetProtectionPassword(String password) {
+        ensureLoaded();
         if (Helper.isNullOrEmpty(password)) {
             this.sheetProtectionPassword = null;
             this.sheetProtectionPasswordHash = null;
@@ -647,6 +719,7 @@ public class Worksheet {
      * @return List of SheetProtectionValues
      */
     public List<SheetProtectionValue> getSheetProtectionValues() {
+        ensureLoaded();
         return sheetProtectionValues;
     }
 
@@ -704,6 +777,7 @@ public class Worksheet {
      * {@link Helper#getInternalPaneSplitHeight(float)}
      */
     public Float getPaneSplitTopHeight() {
+        ensureLoaded();
         return paneSplitTopHeight;
     }
 
@@ -717,6 +791,7 @@ public class Worksheet {
      * {@link Helper#getInternalColumnWidth(float, float, float)}}
      */
     public Float getPaneSplitLeftWidth() {
+        ensureLoaded();
         return paneSplitLeftWidth;
     }
 
@@ -727,6 +802,7 @@ public class Worksheet {
      * @return True if panes are frozen
      */
     public Boolean getFreezeSplitPanes() {
+        ensureLoaded();
         return freezeSplitPanes;
     }
 
@@ -738,6 +814,7 @@ public class Worksheet {
      * @return Address of the top Left cell address of the bottom right pane
      */
     public Address getPaneSplitTopLeftCell() {
+        ensureLoaded();
         return paneSplitTopLeftCell;
     }
 
@@ -752,6 +829,7 @@ public class Worksheet {
      * @return Address where the panes splits the worksheet apart
      */
     public Address getPaneSplitAddress() {
+        ensureLoaded();
         return paneSplitAddress;
     }
 
@@ -761,6 +839,7 @@ public class Worksheet {
      * @return Active pane if defined
      */
     public WorksheetPane getActivePane() {
+        ensureLoaded();
         return activePane;
     }
 
@@ -779,6 +858,7 @@ public class Worksheet {
      * @return True if grid lines are visible
      */
     public boolean isShowingGridLines() {
+        ensureLoaded();
         return showGridLines;
     }
 
@@ -788,6 +868,7 @@ public class Worksheet {
      * @param showGridLines True if grid lines are visible
      */
     public void setShowingGridLines(boolean showGridLines) {
+        ensureLoaded();
         this.showGridLines = showGridLines;
     }
 
@@ -797,6 +878,7 @@ public class Worksheet {
      * @return True if column and row headers are visible
      */
     public boolean isShowingRowColumnHeaders() {
+        ensureLoaded();
         return showRowColumnHeaders;
     }
 
@@ -807,6 +889,7 @@ public class Worksheet {
      * @param showRowColumnHeaders True if column and row headers are visible
      */
     public void setShowingRowColumnHeaders(boolean showRowColumnHeaders) {
+        ensureLoaded();
         this.showRowColumnHeaders = showRowColumnHeaders;
     }
 
@@ -818,6 +901,7 @@ public class Worksheet {
      * @return True if rules are visible
      */
     public boolean isShowingRuler() {
+        ensureLoaded();
         return showRuler;
     }
 
@@ -829,6 +913,7 @@ public class Worksheet {
      * @param showRuler True if rulers are visible
      */
     public void setShowingRuler(boolean showRuler) {
+        ensureLoaded();
         this.showRuler = showRuler;
     }
 
@@ -838,6 +923,7 @@ public class Worksheet {
      * @return View type of the current worksheet
      */
     public SheetViewType getViewType() {
+        ensureLoaded();
         return viewType;
     }
 
@@ -847,6 +933,7 @@ public class Worksheet {
      * @param viewType View type of the current worksheet
      */
     public void setViewType(SheetViewType viewType) {
+        ensureLoaded();
         this.viewType = viewType;
         setZoomFactor(viewType, 100);
     }
@@ -858,6 +945,7 @@ public class Worksheet {
      * @return Map of the zoom factors depending on the view type
      */
     public int getZoomFactor() {
+        ensureLoaded();
         return zoomFactor.get(viewType);
     }
 
@@ -872,6 +960,7 @@ public class Worksheet {
      * {@link Worksheet#setZoomFactor(SheetViewType, int)}
      */
     public void setZoomFactor(int zoomFactor) {
+        ensureLoaded();
         this.setZoomFactor(viewType, zoomFactor);
     }
 
@@ -882,6 +971,7 @@ public class Worksheet {
      * @return Map of defined zoom factors of the current worksheet
      */
     public Map<SheetViewType, Integer> getZoomFactors() {
+        ensureLoaded();
         return zoomFactor;
     }
 
@@ -1618,6 +1708,7 @@ public class Worksheet {
      * @return Min or max number, or -1 if not defined
      */
     private int getBoundaryNumber(boolean row, boolean min) {
+        ensureLoaded();
         int cellBoundary = getBoundaryDataNumber(row, min, false);
         if (row) {
             int heightBoundary = -1;
@@ -1865,6 +1956,7 @@ public class Worksheet {
      * {@link SheetProtectionValue#selectUnlockedCells} is added automatically
      */
     public void addAllowedActionOnSheetProtection(SheetProtectionValue typeOfProtection) {
+        ensureLoaded();
         if (typeOfProtection == null) {
             return;
         }
@@ -2013,6 +2105,7 @@ public class Worksheet {
      * {@link #getColumns()}. The hidden state will be set to false and width to default, in this case.
      */
     public void resetColumn(int columnNumber) {
+        ensureLoaded();
         if (columns.containsKey(columnNumber) && !columns.get(columnNumber).hasAutoFilter()) // AutoFilters cannot have gaps
         {
             columns.remove(columnNumber);
@@ -2092,6 +2185,7 @@ public class Worksheet {
      *                        out of range (0 to 255)
      */
     public void setColumnWidth(int columnNumber, float width) {
+        ensureLoaded();
         Cell.validateColumnNumber(columnNumber);
         if (width < MIN_COLUMN_WIDTH || width > MAX_COLUMN_WIDTH) {
             throw new RangeException(
@@ -2129,6 +2223,7 @@ public class Worksheet {
      * @throws RangeException Thrown if the column number is out of the valid range (from 0 to 16383)
      */
     public Style setColumnDefaultStyle(int columnNumber, Style style) {
+        ensureLoaded();
         Cell.validateColumnNumber(columnNumber);
         if (this.columns.containsKey(columnNumber)) {
             return this.columns.get(columnNumber).setDefaultColumnStyle(style);
@@ -2201,6 +2296,7 @@ public class Worksheet {
      * @param activePane    Active pane in the split window (can be null) (can be null)
      */
     public void setHorizontalSplit(float topPaneHeight, Address topLeftCell, WorksheetPane activePane) {
+        ensureLoaded();
         setSplit(null, topPaneHeight, topLeftCell, activePane);
     }
 
@@ -2218,6 +2314,7 @@ public class Worksheet {
      *                            panes number of rows from top, if freeze is applied
      */
     public void setHorizontalSplit(int numberOfRowsFromTop, boolean freeze, Address topLeftCell, WorksheetPane activePane) {
+        ensureLoaded();
         setSplit(null, numberOfRowsFromTop, freeze, topLeftCell, activePane);
     }
 
@@ -2235,6 +2332,7 @@ public class Worksheet {
      *                            columns from left, if freeze is applied
      */
     public void setVerticalSplit(int numberOfColumnsFromLeft, boolean freeze, Address topLeftCell, WorksheetPane activePane) {
+        ensureLoaded();
         setSplit(numberOfColumnsFromLeft, null, freeze, topLeftCell, activePane);
     }
 
@@ -2248,6 +2346,7 @@ public class Worksheet {
      * @param activePane    Active pane in the split window (can be null)
      */
     public void setVerticalSplit(float leftPaneWidth, Address topLeftCell, WorksheetPane activePane) {
+        ensureLoaded();
         setSplit(leftPaneWidth, null, topLeftCell, activePane);
     }
 
@@ -2269,6 +2368,7 @@ public class Worksheet {
      *                            freeze is applied
      */
     public void setSplit(Integer numberOfColumnsFromLeft, Integer numberOfRowsFromTop, boolean freeze, Address topLeftCell, WorksheetPane activePane) {
+        ensureLoaded();
         if (freeze) {
             if (numberOfColumnsFromLeft != null && topLeftCell.Column < numberOfColumnsFromLeft) {
                 throw new WorksheetException("The column number " +
@@ -2307,6 +2407,7 @@ public class Worksheet {
      * @param activePane    Active pane in the split window (can be null)
      */
     public void setSplit(Float leftPaneWidth, Float topPaneHeight, Address topLeftCell, WorksheetPane activePane) {
+        ensureLoaded();
         this.paneSplitLeftWidth = leftPaneWidth;
         this.paneSplitTopHeight = topPaneHeight;
         this.freezeSplitPanes = null;
@@ -2319,6 +2420,7 @@ public class Worksheet {
      * Resets splitting of the worksheet into panes, as well as their freezing
      */
     public void resetSplit() {
+        ensureLoaded();
         this.paneSplitLeftWidth = null;
         this.paneSplitTopHeight = null;
         this.freezeSplitPanes = null;
@@ -2405,12 +2507,24 @@ public class Worksheet {
         Cell.validateRowNumber(currentRowNumber);
     }
 
+    /**
+     * Calls the loader of the worksheet, if defined. The loader is removed before it is called, thus the methods of
+     * the worksheet can be used by the loader
+     */
+    private void ensureLoaded() {
+        if (this.loader != null) {
+            Consumer<Worksheet> currentLoader = this.loader;
+            setLoader(null);
+            currentLoader.accept(this);
+        }
+    }
+
     /**
      * Init method for constructors
      */
     private void init() {
         this.currentCellDirection = CellDirection.ColumnToColumn;
-        this.cells = new HashMap<>();
+        this.cells = new CellMap();
         this.currentRowNumber = 0;
         this.currentColumnNumber = 0;
         this.defaultColumnWidth = DEFAULT_COLUMN_WIDTH;
@@ -2463,6 +2577,7 @@ public class Worksheet {
      *                        addresses are already occupied in another merge range
      */
     public String mergeCells(Address startAddress, Address endAddress) {
+        ensureLoaded();
         String key = startAddress.toString() + ":" + endAddress.toString();
         Range value = new Range(startAddress, endAddress);
         List<Address> cells = value.resolveEnclosedAddresses();
@@ -2481,6 +2596,7 @@ public class Worksheet {
      * to use it. It must be public to require access from the XlsXWriter class
      */
     public void recalculateAutoFilter() {
+        ensureLoaded();
         if (this.autoFilterRange == null) {
             return;
         }
@@ -2514,6 +2630,7 @@ public class Worksheet {
      * to use it. It must be public to require access from the XlsXWriter class
      */
     public void recalculateColumns() {
+        ensureLoaded();
         ArrayList<Integer> columnsToDelete = new ArrayList<>();
         for (Map.Entry<Integer, Column> col : this.getColumns().entrySet()) {
             if (!col.getValue().hasAutoFilter() &&
@@ -2577,6 +2694,7 @@ public class Worksheet {
      * Removes auto filters from the worksheet
      */
     public void removeAutoFilter() {
+        ensureLoaded();
         this.autoFilterRange = null;
     }
 
@@ -2619,6 +2737,7 @@ public class Worksheet {
      * @throws FormatException Thrown if the passed address is malformed
      */
     public void removeMergedCells(String range) {
+        ensureLoaded();
         if (range != null) {
             range = range.toUpperCase();
         }
@@ -2645,6 +2764,7 @@ public class Worksheet {
      * Removes the cell selection of this worksheet
      */
     public void removeSelectedCells() {
+        ensureLoaded();
         this.selectedCells.clear();
     }
 
@@ -2654,6 +2774,7 @@ public class Worksheet {
      * @param rowNumber Row number (zero-based)
      */
     public void removeRowHeight(int rowNumber) {
+        ensureLoaded();
         rowHeights.remove(rowNumber);
     }
 
@@ -2663,6 +2784,7 @@ public class Worksheet {
      * @param value Allowed action on the worksheet or cells
      */
     public void removeAllowedActionOnSheetProtection(SheetProtectionValue value) {
+        ensureLoaded();
         sheetProtectionValues.remove(value);
     }
 
@@ -2704,6 +2826,7 @@ public class Worksheet {
      * @throws FormatException Throws an FormatException if the passed range is malformed
      */
     public void setAutoFilter(String range) {
+        ensureLoaded();
         autoFilterRange = Cell.resolveCellRange(range);
         recalculateAutoFilter();
         recalculateColumns();
@@ -2717,6 +2840,7 @@ public class Worksheet {
      * @throws RangeException Thrown if the passed row number was out of range
      */
     private void setColumnHiddenState(int columnNumber, boolean state) {
+        ensureLoaded();
         Cell.validateColumnNumber(columnNumber);
         if (columns.containsKey(columnNumber)) {
             columns.get(columnNumber).setHidden(state);
@@ -2755,6 +2879,7 @@ public class Worksheet {
      *                        rows)
      */
     public void setRowHeight(int rowNumber, float height) {
+        ensureLoaded();
         Cell.validateRowNumber(rowNumber);
         if (height < 0 || height > 409.5) {
             throw new RangeException("The row height (" + height + ") is out of range. Range is from 0 to 409.5 (equals 546px).");
@@ -2770,6 +2895,7 @@ public class Worksheet {
      * @throws RangeException Thrown if the passed row number was out of range
      */
     private void setRowHiddenState(int rowNumber, boolean state) {
+        ensureLoaded();
         Cell.validateRowNumber(rowNumber);
         if (this.hiddenRows.containsKey(rowNumber)) {
             if (state) {
@@ -2795,6 +2921,7 @@ public class Worksheet {
      * will set the internal ID, name and workbook reference.
      */
     public Worksheet copy() {
+        ensureLoaded();
         Worksheet copy = new Worksheet();
         for (Map.Entry<String, Cell> cell : this.cells.entrySet()) {
             copy.addCell(cell.getValue().copy(), cell.getKey());
@@ -2865,6 +2992,7 @@ public class Worksheet {
      * {@link Worksheet.SheetViewType}
      */
     public void setZoomFactor(SheetViewType sheetViewType, int zoomFactor) {
+        ensureLoaded();
         if (zoomFactor != AUTO_ZOOM_FACTOR && (zoomFactor < MIN_ZOOM_FACTOR || zoomFactor > MAX_ZOOM_FACTOR)) {
             throw new WorksheetException("The zoom factor " + zoomFactor + " is not valid. Valid are values between " + MIN_ZOOM_FACTOR + " and " + MAX_ZOOM_FACTOR + ", or " + AUTO_ZOOM_FACTOR + " (automatic)");
         }
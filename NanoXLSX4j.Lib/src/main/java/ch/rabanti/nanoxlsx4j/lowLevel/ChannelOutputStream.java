@@ -0,0 +1,211 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayDeque;
+
+/**
+ * Class to write a stream into a channel, using a large direct buffer. The direct buffers are pooled and reused by
+ * subsequent streams, since their allocation is expensive<br> This class is only for internal use.
+ *
+ * @author Raphael Stoeckli
+ */
+class ChannelOutputStream extends OutputStream {
+
+    // ### C O N S T A N T S ###
+    /**
+     * Size of the direct buffer in bytes
+     */
+    static final int BUFFER_SIZE = 1024 * 1024;
+    /**
+     * Maximum number of unused buffers that are kept in the pool
+     */
+    private static final int MAX_POOLED_BUFFERS = 4;
+    private static final ArrayDeque<ByteBuffer> BUFFER_POOL = new ArrayDeque<>();
+
+    // ### P R I V A T E F I E L D S ###
+    private final WritableByteChannel channel;
+    private final boolean closeChannel;
+    private final boolean force;
+    private final boolean truncate;
+    private ByteBuffer buffer;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Constructor with all parameters
+     *
+     * @param channel      Channel to write into
+     * @param closeChannel If true, the channel is closed when the stream is closed
+     * @param force        If true and the channel is a file channel, the written data is forced to the storage device
+     *                     when the stream is closed
+     * @param truncate     If true and the channel is a file channel, the file is truncated at the current position when
+     *                     the stream is closed (used to remove a preallocated area)
+     */
+    ChannelOutputStream(WritableByteChannel channel, boolean closeChannel, boolean force, boolean truncate) {
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+        this.force = force && channel instanceof FileChannel;
+        this.truncate = truncate;
+        this.buffer = acquireBuffer();
+    }
+
+    // ### M E T H O D S ###
+
+    @Override
+    public void write(int b) throws java.io.IOException {
+        ensureOpen();
+        if (!this.buffer.hasRemaining()) {
+            drain();
+        }
+        this.buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws java.io.IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (!this.buffer.hasRemaining()) {
+                drain();
+            }
+            int count = Math.min(len, this.buffer.remaining());
+            this.buffer.put(b, off, count);
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Allocates the passed number of bytes in the file by writing zeros from the current position on, before any data
+     * is written. Unlike a sparse file (e.g. by only writing the last byte), the blocks are actually reserved on the
+     * storage device. The position of the channel is not changed. The method has no effect if the channel is not a
+     * file channel
+     *
+     * @param size Number of bytes to allocate
+     * @throws java.io.IOException Thrown in case of an error while writing
+     */
+    void preallocate(long size) throws java.io.IOException {
+        ensureOpen();
+        if (!(this.channel instanceof FileChannel) || size <= 0) {
+            return;
+        }
+        FileChannel fileChannel = (FileChannel) this.channel;
+        this.buffer.clear();
+        while (this.buffer.remaining() >= Long.BYTES) {
+            this.buffer.putLong(0L); // Pooled buffers may contain data of a previous stream
+        }
+        long position = fileChannel.position();
+        long end = position + size;
+        while (position < end) {
+            this.buffer.clear();
+            this.buffer.limit((int) Math.min(this.buffer.capacity(), end - position));
+            while (this.buffer.hasRemaining()) {
+                position += fileChannel.write(this.buffer, position);
+            }
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void flush() throws java.io.IOException {
+        if (this.buffer != null) {
+            drain();
+        }
+    }
+
+    /**
+     * Writes the remaining data into the channel and releases the buffer. Depending on the settings, the file is
+     * truncated, forced to the storage device, and the channel is closed. Subsequent calls are ignored
+     *
+     * @throws java.io.IOException Thrown in case of an error while writing
+     */
+    @Override
+    public void close() throws java.io.IOException {
+        if (this.buffer == null) {
+            return;
+        }
+        try {
+            drain();
+            if (this.channel instanceof FileChannel) {
+                FileChannel fileChannel = (FileChannel) this.channel;
+                if (this.truncate) {
+                    fileChannel.truncate(fileChannel.position());
+                }
+                if (this.force) {
+                    fileChannel.force(true);
+                }
+            }
+        }
+        finally {
+            releaseBuffer(this.buffer);
+            this.buffer = null;
+            if (this.closeChannel) {
+                this.channel.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the content of the buffer into the channel
+     *
+     * @throws java.io.IOException Thrown in case of an error while writing
+     */
+    private void drain() throws java.io.IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Checks whether the stream is still open
+     *
+     * @throws java.io.IOException Thrown if the stream was already closed
+     */
+    private void ensureOpen() throws java.io.IOException {
+        if (this.buffer == null) {
+            throw new java.io.IOException("The stream is already closed");
+        }
+    }
+
+    // ### S T A T I C M E T H O D S ###
+
+    /**
+     * Takes a buffer from the pool or allocates a new one
+     *
+     * @return Empty direct buffer
+     */
+    private static ByteBuffer acquireBuffer() {
+        synchronized (BUFFER_POOL) {
+            ByteBuffer buffer = BUFFER_POOL.poll();
+            if (buffer != null) {
+                return buffer;
+            }
+        }
+        return ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a buffer into the pool, if the pool is not full
+     *
+     * @param buffer Buffer to release
+     */
+    private static void releaseBuffer(ByteBuffer buffer) {
+        buffer.clear();
+        synchronized (BUFFER_POOL) {
+            if (BUFFER_POOL.size() < MAX_POOLED_BUFFERS) {
+                BUFFER_POOL.push(buffer);
+            }
+        }
+    }
+
+}
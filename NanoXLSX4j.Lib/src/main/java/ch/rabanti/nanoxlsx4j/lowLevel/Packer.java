@@ -6,13 +6,24 @@
  */
 package ch.rabanti.nanoxlsx4j.lowLevel;
 
+import ch.rabanti.nanoxlsx4j.MetricsListener;
 import org.w3c.dom.Document;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -29,14 +40,36 @@ public class Packer {
      * Path of the main content type file (MSXML)
      */
     private static final String CONTENT_TYPE_DOCUMENT = "[Content_Types].xml";
+    /**
+     * XML declaration that is written in front of each streamed part
+     */
+    static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\r\n";
+    /**
+     * Size of the buffer in bytes, used to write into an output stream
+     */
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
 
     // ### P R I V A T E F I E L D S ###
     private final List<String> contentTypeList;
     private final List<byte[]> dataList;
+    private final List<PartWriter> partWriterList;
     private final List<Boolean> includeContentType;
     private final List<String> pathList;
     private final List<Relationship> relationships;
+    private final Map<String, ReuseCondition> reuseConditions;
     private final XlsxWriter xlsxWriterReference;
+    private Executor compressionExecutor;
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+    private int compressionStrategy = Deflater.DEFAULT_STRATEGY;
+    private Predicate<String> storedEntries;
+    private PartCache partCache;
+    private ZipOutputStream zipStream;
+    private Writer entryWriter;
+    private MetricsListener metricsListener;
+    private MeasuringWriter measuringWriter;
+    private ZipEntry currentEntry;
+    private int partCount;
+    private long peakPartSize;
 
     // ### C O N S T R U C T O R S ###
 
@@ -47,13 +80,81 @@ public class Packer {
      */
     public Packer(XlsxWriter reference) {
         dataList = new ArrayList<>();
+        partWriterList = new ArrayList<>();
         pathList = new ArrayList<>();
         contentTypeList = new ArrayList<>();
         relationships = new ArrayList<>();
         includeContentType = new ArrayList<>();
+        reuseConditions = new HashMap<>();
         this.xlsxWriterReference = reference;
     }
 
+    // ### G E T T E R S & S E T T E R S ###
+
+    /**
+     * Gets the executor that is used to compress the entries in parallel
+     *
+     * @return Executor or null if the entries are compressed sequentially (default)
+     */
+    public Executor getCompressionExecutor() {
+        return compressionExecutor;
+    }
+
+    /**
+     * Sets the executor that is used to compress the entries in parallel by {@link #pack(OutputStream)}. The
+     * incremental packing mode is not affected
+     *
+     * @param compressionExecutor Executor or null to compress the entries sequentially (default)
+     */
+    public void setCompressionExecutor(Executor compressionExecutor) {
+        this.compressionExecutor = compressionExecutor;
+    }
+
+    /**
+     * Sets the compression level and strategy of the deflated entries
+     *
+     * @param level    Compression level (0-9 or -1 for the default level)
+     * @param strategy Deflate strategy, according to the strategy constants of {@link Deflater}
+     */
+    public void setCompression(int level, int strategy) {
+        this.compressionLevel = level;
+        this.compressionStrategy = strategy;
+    }
+
+    /**
+     * Sets the condition for entries that are stored without compression. Stored entries are generated in memory
+     * before they are written, since their size and checksum must be known in advance. Parts that are opened by
+     * {@link #openPart(String, String)} are always deflated
+     *
+     * @param storedEntries Condition that is tested with the path of an entry, or null to deflate all entries
+     *                      (default)
+     */
+    public void setStoredEntries(Predicate<String> storedEntries) {
+        this.storedEntries = storedEntries;
+    }
+
+    /**
+     * Sets the cache of the compressed parts. If a cache is defined, the packing is performed by
+     * {@link ParallelZipWriter} (sequentially, if no compression executor is defined). Parts with the same content as
+     * the cached ones, as well as parts with a fulfilled {@link ReuseCondition}, are not compressed again. All other
+     * parts are put into the cache
+     *
+     * @param partCache Cache or null to pack without caching (default)
+     */
+    void setPartCache(PartCache partCache) {
+        this.partCache = partCache;
+    }
+
+    /**
+     * Sets the listener that receives the durations of the generation and compression of the parts, as well as the
+     * sizes of the written parts, when packing by {@link #pack(OutputStream)}
+     *
+     * @param metricsListener Metrics listener or null if no metrics are collected (default)
+     */
+    void setMetricsListener(MetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
     // ### M E T H O D S ###
 
     /**
@@ -67,10 +168,7 @@ public class Packer {
      *                                                      array
      */
     public void addPart(String name, String contentType, Document document) throws ch.rabanti.nanoxlsx4j.exceptions.IOException {
-        dataList.add(XlsxWriter.createBytesFromDocument(document));
-        pathList.add(name);
-        contentTypeList.add(contentType);
-        includeContentType.add(true);
+        addPart(name, contentType, document, true);
     }
 
     /**
@@ -86,19 +184,65 @@ public class Packer {
      */
     public void addPart(String name, String contentType, Document document, boolean includeInContentType) throws ch.rabanti.nanoxlsx4j.exceptions.IOException {
         dataList.add(XlsxWriter.createBytesFromDocument(document));
+        partWriterList.add(null);
+        pathList.add(name);
+        contentTypeList.add(contentType);
+        includeContentType.add(includeInContentType);
+    }
+
+    /**
+     * Adds a streamed Part to the file. The content of the part is not generated before the packing takes place. It is
+     * then written directly (UTF-8 encoded) into the corresponding entry of the output
+     *
+     * @param name        Filename with relative path
+     * @param contentType URL with information about the content type (MSXML).<br> This information is used in the main
+     *                    content type file
+     * @param partWriter  Writer that generates the XML content of the part (without XML declaration)
+     */
+    public void addPart(String name, String contentType, PartWriter partWriter) {
+        addPart(name, contentType, partWriter, true);
+    }
+
+    /**
+     * Adds a streamed Part to the file. The content of the part is not generated before the packing takes place. It is
+     * then written directly (UTF-8 encoded) into the corresponding entry of the output
+     *
+     * @param name                 Filename with relative path
+     * @param contentType          URL with information about the content type (MSXML).<br> This information is used in
+     *                             the main content type file
+     * @param partWriter           Writer that generates the XML content of the part (without XML declaration)
+     * @param includeInContentType If true, the content type will be added in the main content type file, otherwise not
+     */
+    public void addPart(String name, String contentType, PartWriter partWriter, boolean includeInContentType) {
+        dataList.add(null);
+        partWriterList.add(partWriter);
         pathList.add(name);
         contentTypeList.add(contentType);
         includeContentType.add(includeInContentType);
     }
 
+    /**
+     * Adds a streamed Part to the file, whose cached compressed data is reused if the passed condition is fulfilled.
+     * The condition is only evaluated if a part cache is defined
+     *
+     * @param name        Filename with relative path
+     * @param contentType URL with information about the content type (MSXML).<br> This information is used in the main
+     *                    content type file
+     * @param partWriter  Writer that generates the XML content of the part (without XML declaration)
+     * @param condition   Condition to reuse the cached part
+     */
+    void addPart(String name, String contentType, PartWriter partWriter, ReuseCondition condition) {
+        addPart(name, contentType, partWriter, true);
+        this.reuseConditions.put(name, condition);
+    }
+
     /**
      * Creates the main content type file (MSXML)
      *
-     * @return Returns the byte array to add into the compilation
-     * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown if the document could not be converted to a byte
-     *                                                      array
+     * @param writer Writer of the current entry
+     * @throws java.io.IOException Thrown if the document could not be written
      */
-    private byte[] createContentTypeDocument() throws ch.rabanti.nanoxlsx4j.exceptions.IOException {
+    private void writeContentTypeDocument(Writer writer) throws java.io.IOException {
         StringBuilder sb = new StringBuilder();
         sb.append("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">\r\n");
         sb.append("<Default Extension=\"xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\" />\r\n");
@@ -115,8 +259,7 @@ public class Packer {
             sb.append("\" />\r\n");
         }
         sb.append("</Types>");
-        Document d = this.xlsxWriterReference.createXMLDocument(sb.toString());
-        return XlsxWriter.createBytesFromDocument(d);
+        writer.write(sb.toString());
     }
 
     /**
@@ -134,12 +277,11 @@ public class Packer {
     /**
      * Creates a relationship file (MSXML)
      *
-     * @param rel Relationship object to process
-     * @return Returns the byte array to add into the compilation
-     * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown if the document could not be converted to a byte
-     *                                                      array
+     * @param rel    Relationship object to process
+     * @param writer Writer of the current entry
+     * @throws java.io.IOException Thrown if the document could not be written
      */
-    private byte[] createRelationshipDocument(Relationship rel) throws ch.rabanti.nanoxlsx4j.exceptions.IOException {
+    private void writeRelationshipDocument(Relationship rel, Writer writer) throws java.io.IOException {
         StringBuilder sb = new StringBuilder();
         sb.append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">\r\n");
         for (int i = 0; i < rel.getIdList().size(); i++) {
@@ -152,8 +294,7 @@ public class Packer {
             sb.append("\"/>\r\n");
         }
         sb.append("</Relationships>");
-        Document d = this.xlsxWriterReference.createXMLDocument(sb.toString());
-        return XlsxWriter.createBytesFromDocument(d);
+        writer.write(sb.toString());
     }
 
     /**
@@ -163,37 +304,499 @@ public class Packer {
      * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown in case of an error while packing or writing
      */
     public void pack(OutputStream stream) throws ch.rabanti.nanoxlsx4j.exceptions.IOException {
+        if (this.compressionExecutor != null || this.partCache != null) {
+            packParallel(stream);
+            return;
+        }
+        try {
+            open(stream);
+            writeXmlEntry(CONTENT_TYPE_DOCUMENT, this::writeContentTypeDocument);
+            for (Relationship relationship : this.relationships) {
+                writeXmlEntry(relationship.getRootFolder(), writer -> writeRelationshipDocument(relationship, writer));
+            }
+            for (int i = 0; i < this.pathList.size(); i++) {
+                writePart(i);
+            }
+            closeStream();
+            reportPackingMetrics();
+        }
+        catch (Exception e) {
+            throw new ch.rabanti.nanoxlsx4j.exceptions.IOException("There was an error while packing the file. Please see the inner exception.", e);
+        }
+    }
+
+    /**
+     * Method to pack the data into a XLSX file, whereas the entries are compressed in parallel on the compression
+     * executor. All parts are generated on the calling thread and held in memory until they are compressed and written.
+     * If a part cache is defined, unchanged parts are taken from the cache
+     *
+     * @param stream OutputStream to save the data into
+     * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown in case of an error while packing or writing
+     */
+    private void packParallel(OutputStream stream) throws ch.rabanti.nanoxlsx4j.exceptions.IOException {
+        try {
+            Executor executor = this.compressionExecutor != null ? this.compressionExecutor : Runnable::run;
+            ParallelZipWriter zip = new ParallelZipWriter(executor, this.compressionLevel, this.compressionStrategy);
+            zip.setMetricsListener(this.metricsListener);
+            addEntry(zip, CONTENT_TYPE_DOCUMENT, render(CONTENT_TYPE_DOCUMENT, this::writeContentTypeDocument), true);
+            for (Relationship relationship : this.relationships) {
+                addEntry(zip, relationship.getRootFolder(), render(relationship.getRootFolder(), writer -> writeRelationshipDocument(relationship, writer)), true);
+            }
+            for (int i = 0; i < this.pathList.size(); i++) {
+                String name = this.pathList.get(i);
+                ReuseCondition condition = this.reuseConditions.get(name);
+                if (this.partCache != null && condition != null && condition.isReusable()) {
+                    zip.addEntry(name, this.partCache.getEntry(name));
+                    continue;
+                }
+                byte[] data = this.dataList.get(i);
+                if (data == null) {
+                    data = render(name, this.partWriterList.get(i));
+                }
+                addEntry(zip, name, data, condition == null);
+            }
+            long start = System.nanoTime();
+            OutputStream output = createBufferedStream(stream);
+            zip.writeTo(output);
+            output.flush();
+            stream.close();
+            reportPhase(MetricsListener.Phase.PACKING, System.nanoTime() - start);
+            this.partCount = zip.getEntryCount();
+            reportPackingMetrics();
+        }
+        catch (Exception e) {
+            throw new ch.rabanti.nanoxlsx4j.exceptions.IOException("There was an error while packing the file. Please see the inner exception.", e);
+        }
+    }
+
+    /**
+     * Adds an entry to the zip writer. If a part cache is defined, the compressed data of an unchanged part is taken
+     * from the cache. Otherwise, the compressed data is put into the cache
+     *
+     * @param zip            Zip writer
+     * @param name           Filename with relative path
+     * @param data           Content of the part
+     * @param compareContent If true, the content is compared with the cached part, otherwise the part is compressed in
+     *                       any case and its content is not held in the cache
+     */
+    private void addEntry(ParallelZipWriter zip, String name, byte[] data, boolean compareContent) {
+        if (this.partCache == null) {
+            zip.addEntry(name, data, isStored(name));
+            return;
+        }
+        CompletableFuture<ParallelZipWriter.CompressedData> cached = compareContent ? this.partCache.getEntry(name, data) : null;
+        if (cached != null) {
+            zip.addEntry(name, cached);
+        }
+        else {
+            this.partCache.putEntry(name, compareContent ? data : null, zip.addEntry(name, data, isStored(name)));
+        }
+    }
+
+    /**
+     * Renders a part with XML declaration into a byte array (UTF-8 encoded)
+     *
+     * @param partWriter Writer that generates the XML content of the part
+     * @return Content of the part
+     * @throws java.io.IOException                          Thrown in case of an error while writing
+     * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown in case of an error while generating the part
+     */
+    static byte[] renderPart(PartWriter partWriter) throws java.io.IOException, ch.rabanti.nanoxlsx4j.exceptions.IOException {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        Writer writer = new OutputStreamWriter(data, StandardCharsets.UTF_8);
+        writer.write(XML_DECLARATION);
+        partWriter.write(writer);
+        writer.flush();
+        return data.toByteArray();
+    }
+
+    /**
+     * Renders a part into a byte array and reports the duration of the rendering, if a metrics listener is defined
+     *
+     * @param name       Filename with relative path
+     * @param partWriter Writer that generates the XML content of the part
+     * @return Content of the part
+     * @throws java.io.IOException                          Thrown in case of an error while writing
+     * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown in case of an error while generating the part
+     */
+    private byte[] render(String name, PartWriter partWriter) throws java.io.IOException, ch.rabanti.nanoxlsx4j.exceptions.IOException {
+        if (this.metricsListener == null) {
+            return renderPart(partWriter);
+        }
+        long start = System.nanoTime();
+        byte[] data = renderPart(partWriter);
+        reportPhase(getPhase(name), System.nanoTime() - start);
+        this.peakPartSize = Math.max(this.peakPartSize, data.length);
+        return data;
+    }
+
+    /**
+     * Wraps the passed stream into a buffered stream, unless the stream is already buffered by a direct buffer
+     *
+     * @param stream OutputStream to save the data into
+     * @return Buffered stream
+     */
+    private static OutputStream createBufferedStream(OutputStream stream) {
+        if (stream instanceof ChannelOutputStream) {
+            return stream;
+        }
+        return new BufferedOutputStream(stream, STREAM_BUFFER_SIZE);
+    }
+
+    /**
+     * Opens the passed stream for an incremental packing. After this call, parts can be written one after another by
+     * {@link #openPart(String, String)}. The packing must be completed by {@link #close()}, that writes all parts
+     * added by {@link #addPart(String, String, PartWriter)}, the relationships and the main content type file
+     *
+     * @param stream OutputStream to save the data into
+     */
+    public void open(OutputStream stream) {
+        this.zipStream = new ConfigurableZipOutputStream(createBufferedStream(stream), this.compressionStrategy);
+        this.zipStream.setMethod(ZipOutputStream.DEFLATED);
+        this.zipStream.setLevel(this.compressionLevel);
+        // The writer is never closed, since this would close the zip stream. It is flushed before each entry instead
+        this.entryWriter = new OutputStreamWriter(this.zipStream, StandardCharsets.UTF_8);
+        if (this.metricsListener != null) {
+            this.measuringWriter = new MeasuringWriter(this.entryWriter);
+        }
+    }
+
+    /**
+     * Opens a new part in the incremental packing mode. The XML declaration is already written when the writer is
+     * returned. The part is closed when the next part is opened or the packing is completed by {@link #close()}
+     *
+     * @param name        Filename with relative path
+     * @param contentType URL with information about the content type (MSXML).<br> This information is used in the main
+     *                    content type file
+     * @return Writer of the opened part. The writer must not be closed
+     * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown if the part could not be opened or the packer was not
+     *                                                      opened by {@link #open(OutputStream)}
+     */
+    public Writer openPart(String name, String contentType) throws ch.rabanti.nanoxlsx4j.exceptions.IOException {
+        if (this.zipStream == null) {
+            throw new ch.rabanti.nanoxlsx4j.exceptions.IOException("The part " + name + " cannot be opened because the packer was not opened");
+        }
+        try {
+            putXmlEntry(name);
+        }
+        catch (Exception e) {
+            throw new ch.rabanti.nanoxlsx4j.exceptions.IOException("There was an error while opening the part " + name + ". Please see the inner exception.", e);
+        }
+        // Part is already written when packing is completed
+        dataList.add(null);
+        partWriterList.add(null);
+        pathList.add(name);
+        contentTypeList.add(contentType);
+        includeContentType.add(true);
+        return this.entryWriter;
+    }
+
+    /**
+     * Completes the incremental packing. All parts that were not written yet, the relationships and the main content
+     * type file are written, and the stream is closed
+     *
+     * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown in case of an error while packing or writing
+     */
+    public void close() throws ch.rabanti.nanoxlsx4j.exceptions.IOException {
+        if (this.zipStream == null) {
+            throw new ch.rabanti.nanoxlsx4j.exceptions.IOException("The packing cannot be completed because the packer was not opened");
+        }
         try {
-            byte[] contentTypes = createContentTypeDocument();
-
-            ZipOutputStream out = new ZipOutputStream(new BufferedOutputStream(stream), StandardCharsets.UTF_8);
-            out.setMethod(ZipOutputStream.DEFLATED);
-            ZipEntry entry = new ZipEntry(CONTENT_TYPE_DOCUMENT);
-            out.putNextEntry(entry);
-            out.write(contentTypes, 0, contentTypes.length);
-            byte[] data;
-            for (int i = 0; i < this.relationships.size(); i++) {
-                data = createRelationshipDocument(this.relationships.get(i));
-                entry = new ZipEntry(this.relationships.get(i).getRootFolder());
-                out.putNextEntry(entry);
-                out.write(data, 0, data.length);
+            for (int i = 0; i < this.pathList.size(); i++) {
+                if (this.dataList.get(i) != null || this.partWriterList.get(i) != null) {
+                    writePart(i);
+                }
             }
-            for (int i = 0; i < this.dataList.size(); i++) {
-                data = this.dataList.get(i);
-                entry = new ZipEntry(this.pathList.get(i));
-                out.putNextEntry(entry);
-                out.write(data, 0, data.length);
+            for (Relationship relationship : this.relationships) {
+                writeXmlEntry(relationship.getRootFolder(), writer -> writeRelationshipDocument(relationship, writer));
             }
-            out.flush();
-            out.close();
+            writeXmlEntry(CONTENT_TYPE_DOCUMENT, this::writeContentTypeDocument);
+            closeStream();
         }
         catch (Exception e) {
             throw new ch.rabanti.nanoxlsx4j.exceptions.IOException("There was an error while packing the file. Please see the inner exception.", e);
         }
     }
 
+    /**
+     * Writes the part with the passed index into a new entry
+     *
+     * @param index Index of the part
+     * @throws java.io.IOException                          Thrown in case of an error while writing
+     * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown in case of an error while generating the part
+     */
+    private void writePart(int index) throws java.io.IOException, ch.rabanti.nanoxlsx4j.exceptions.IOException {
+        byte[] data = this.dataList.get(index);
+        String name = this.pathList.get(index);
+        if (data != null && isStored(name)) {
+            writeStoredEntry(name, data);
+        }
+        else if (data != null) {
+            closeEntry();
+            putNextEntry(new ZipEntry(name));
+            this.zipStream.write(data, 0, data.length);
+        }
+        else {
+            writeXmlEntry(name, this.partWriterList.get(index));
+        }
+    }
+
+    /**
+     * Writes a generated part with XML declaration into a new entry. The part is either streamed into a deflated entry
+     * or generated in memory and stored
+     *
+     * @param name       Filename with relative path
+     * @param partWriter Writer that generates the XML content of the part
+     * @throws java.io.IOException                          Thrown in case of an error while writing
+     * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown in case of an error while generating the part
+     */
+    private void writeXmlEntry(String name, PartWriter partWriter) throws java.io.IOException, ch.rabanti.nanoxlsx4j.exceptions.IOException {
+        if (isStored(name)) {
+            writeStoredEntry(name, render(name, partWriter));
+        }
+        else if (this.measuringWriter == null) {
+            putXmlEntry(name);
+            partWriter.write(this.entryWriter);
+        }
+        else {
+            // The time within the writer is spent on the compression, the remaining time on the generation
+            putXmlEntry(name);
+            long start = System.nanoTime();
+            long packingStart = this.measuringWriter.nanos;
+            partWriter.write(this.measuringWriter);
+            long packing = this.measuringWriter.nanos - packingStart;
+            reportPhase(getPhase(name), System.nanoTime() - start - packing);
+            reportPhase(MetricsListener.Phase.PACKING, packing);
+        }
+    }
+
+    /**
+     * Writes the passed data into a new entry without compression
+     *
+     * @param name Filename with relative path
+     * @param data Content of the entry
+     * @throws java.io.IOException Thrown in case of an error while writing
+     */
+    private void writeStoredEntry(String name, byte[] data) throws java.io.IOException {
+        closeEntry();
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        ZipEntry entry = new ZipEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(data.length);
+        entry.setCompressedSize(data.length);
+        entry.setCrc(crc.getValue());
+        putNextEntry(entry);
+        this.zipStream.write(data, 0, data.length);
+    }
+
+    /**
+     * Gets whether the entry with the passed path is stored without compression
+     *
+     * @param name Filename with relative path
+     * @return True if the entry is stored, otherwise false
+     */
+    private boolean isStored(String name) {
+        return this.storedEntries != null && this.storedEntries.test(name);
+    }
+
+    /**
+     * Starts a new entry and writes the XML declaration into it. The previous entry is flushed before
+     *
+     * @param name Filename with relative path
+     * @throws java.io.IOException Thrown in case of an error while writing
+     */
+    private void putXmlEntry(String name) throws java.io.IOException {
+        closeEntry();
+        putNextEntry(new ZipEntry(name));
+        this.entryWriter.write(XML_DECLARATION);
+    }
+
+    /**
+     * Starts a new entry in the zip stream
+     *
+     * @param entry Entry to start
+     * @throws java.io.IOException Thrown in case of an error while writing
+     */
+    private void putNextEntry(ZipEntry entry) throws java.io.IOException {
+        this.zipStream.putNextEntry(entry);
+        this.currentEntry = entry;
+    }
+
+    /**
+     * Flushes the writer into the current entry. If a metrics listener is defined, the entry is closed and its sizes
+     * are reported, since they are only known after the compression
+     *
+     * @throws java.io.IOException Thrown in case of an error while writing
+     */
+    private void closeEntry() throws java.io.IOException {
+        if (this.metricsListener == null) {
+            this.entryWriter.flush();
+            return;
+        }
+        long start = System.nanoTime();
+        this.entryWriter.flush();
+        if (this.currentEntry != null) {
+            this.zipStream.closeEntry();
+            this.partCount++;
+            this.metricsListener.partProcessed(MetricsListener.Operation.SAVE, this.currentEntry.getName(), this.currentEntry.getSize(), this.currentEntry.getCompressedSize());
+            this.currentEntry = null;
+        }
+        reportPhase(MetricsListener.Phase.PACKING, System.nanoTime() - start);
+    }
+
+    /**
+     * Reports the duration of a phase, if a metrics listener is defined
+     *
+     * @param phase         Phase
+     * @param durationNanos Duration in nanoseconds
+     */
+    private void reportPhase(MetricsListener.Phase phase, long durationNanos) {
+        if (this.metricsListener != null) {
+            this.metricsListener.phaseCompleted(MetricsListener.Operation.SAVE, phase, durationNanos);
+        }
+    }
+
+    /**
+     * Reports the number of written parts and the largest part that was generated in memory, if a metrics listener is
+     * defined
+     */
+    private void reportPackingMetrics() {
+        if (this.metricsListener == null) {
+            return;
+        }
+        this.metricsListener.counted(MetricsListener.Operation.SAVE, MetricsListener.Counter.PARTS, this.partCount);
+        if (this.peakPartSize > 0) {
+            this.metricsListener.bufferPeak(MetricsListener.Operation.SAVE, MetricsListener.Buffer.PART_BUFFER, this.peakPartSize);
+        }
+    }
+
+    /**
+     * Gets the phase, in which the part with the passed path is generated
+     *
+     * @param name Filename with relative path
+     * @return Phase of the part
+     */
+    private static MetricsListener.Phase getPhase(String name) {
+        switch (XlsxWriter.getPartType(name)) {
+            case WORKSHEET:
+                return MetricsListener.Phase.WORKSHEETS;
+            case SHARED_STRINGS:
+                return MetricsListener.Phase.SHARED_STRINGS;
+            case STYLES:
+                return MetricsListener.Phase.STYLES;
+            default:
+                return MetricsListener.Phase.DOCUMENTS;
+        }
+    }
+
+    /**
+     * Flushes and closes the zip stream (including the underlying stream)
+     *
+     * @throws java.io.IOException Thrown in case of an error while writing
+     */
+    private void closeStream() throws java.io.IOException {
+        closeEntry();
+        this.zipStream.flush();
+        this.zipStream.close();
+        this.zipStream = null;
+        this.entryWriter = null;
+        this.measuringWriter = null;
+    }
+
     // ### S U B C L A S S E S ###
 
+    /**
+     * Zip output stream with a configurable deflate strategy, since the strategy is not exposed by
+     * {@link ZipOutputStream}
+     */
+    private static class ConfigurableZipOutputStream extends ZipOutputStream {
+        /**
+         * Constructor with the target stream and the deflate strategy
+         *
+         * @param stream   Stream to write the zip file into
+         * @param strategy Deflate strategy, according to the strategy constants of {@link Deflater}
+         */
+        ConfigurableZipOutputStream(OutputStream stream, int strategy) {
+            super(stream, StandardCharsets.UTF_8);
+            this.def.setStrategy(strategy);
+        }
+    }
+
+    /**
+     * Writer that measures the time spent within the underlying writer of an entry, which is the time of the encoding
+     * and compression of the written characters
+     */
+    private static class MeasuringWriter extends Writer {
+        private final Writer writer;
+        private long nanos;
+
+        /**
+         * Constructor with the underlying writer
+         *
+         * @param writer Writer of the entries
+         */
+        MeasuringWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws java.io.IOException {
+            long start = System.nanoTime();
+            this.writer.write(buffer, offset, length);
+            this.nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void write(String value, int offset, int length) throws java.io.IOException {
+            long start = System.nanoTime();
+            this.writer.write(value, offset, length);
+            this.nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void flush() throws java.io.IOException {
+            long start = System.nanoTime();
+            this.writer.flush();
+            this.nanos += System.nanoTime() - start;
+        }
+
+        @Override
+        public void close() throws java.io.IOException {
+            // The writer of the entries is never closed by a part
+            flush();
+        }
+    }
+
+    /**
+     * Interface for parts that are generated during the packing and written directly into the corresponding entry
+     */
+    @FunctionalInterface
+    public interface PartWriter {
+        /**
+         * Writes the XML content of the part (without XML declaration)
+         *
+         * @param writer Writer of the current entry. The writer must not be closed
+         * @throws java.io.IOException                          Thrown in case of an error while writing
+         * @throws ch.rabanti.nanoxlsx4j.exceptions.IOException Thrown in case of an error while generating the part
+         */
+        void write(Writer writer) throws java.io.IOException, ch.rabanti.nanoxlsx4j.exceptions.IOException;
+    }
+
+    /**
+     * Interface to determine whether the cached compressed data of a part can be reused instead of generating the part
+     */
+    @FunctionalInterface
+    interface ReuseCondition {
+        /**
+         * Determines whether the cached part can be reused. The method is called in the order of the parts, right
+         * before the part would be generated
+         *
+         * @return True if the cached part is reused, otherwise false
+         */
+        boolean isReusable();
+    }
+
     /**
      * Nested class representing a relationship (MSXML)
      */
@@ -0,0 +1,391 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import ch.rabanti.nanoxlsx4j.MetricsListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Class to assemble a zip file, whose entries are compressed concurrently. Each entry is split into chunks that are
+ * compressed independently into raw deflate blocks, using the end of the previous chunk as dictionary. The blocks of
+ * an entry are concatenated in the output, thus each entry is a regular deflated entry. ZIP64 extensions are written
+ * for all sizes and offsets beyond 4 GB and if the number of entries exceeds 65534<br> This class is only for
+ * internal use.
+ *
+ * @author Raphael Stoeckli
+ */
+class ParallelZipWriter {
+
+    // ### C O N S T A N T S ###
+    /**
+     * Number of uncompressed bytes that are compressed as one chunk
+     */
+    static final int CHUNK_SIZE = 128 * 1024;
+    /**
+     * Number of bytes in front of a chunk that are used as dictionary (size of the deflate window)
+     */
+    static final int DICTIONARY_SIZE = 32 * 1024;
+
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final short ZIP64_EXTRA_FIELD_ID = 0x0001;
+    private static final short VERSION = 20;
+    private static final short ZIP64_VERSION = 45;
+    private static final short UTF8_FLAG = 0x0800;
+    private static final short STORED = 0;
+    private static final short DEFLATED = 8;
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    // ### P R I V A T E F I E L D S ###
+    private final Executor executor;
+    private final int level;
+    private final int strategy;
+    private final short dosTime;
+    private final short dosDate;
+    private final List<CompletableFuture<CompressedEntry>> entries;
+    private MetricsListener metricsListener;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Constructor with executor, compression level and strategy
+     *
+     * @param executor Executor to compress the chunks on
+     * @param level    Compression level (0-9 or -1 for the default level)
+     * @param strategy Deflate strategy, according to the strategy constants of {@link Deflater}
+     */
+    ParallelZipWriter(Executor executor, int level, int strategy) {
+        this.executor = executor;
+        this.level = level;
+        this.strategy = strategy;
+        this.entries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        this.dosTime = (short) ((now.getHour() << 11) | (now.getMinute() << 5) | (now.getSecond() / 2));
+        this.dosDate = (short) (((now.getYear() - 1980) << 9) | (now.getMonthValue() << 5) | now.getDayOfMonth());
+    }
+
+    // ### G E T T E R S & S E T T E R S ###
+
+    /**
+     * Gets the number of added entries
+     *
+     * @return Number of entries
+     */
+    int getEntryCount() {
+        return this.entries.size();
+    }
+
+    /**
+     * Sets the listener that receives the sizes of the entries when they are written by {@link #writeTo(OutputStream)}
+     *
+     * @param metricsListener Metrics listener or null if no metrics are collected (default)
+     */
+    void setMetricsListener(MetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Adds an entry. The compression starts immediately on the executor
+     *
+     * @param name   Filename with relative path
+     * @param data   Uncompressed content of the entry
+     * @param stored If true, the entry is stored without compression
+     * @return Future of the compressed data, that can be reused by {@link #addEntry(String, CompletableFuture)}
+     */
+    CompletableFuture<CompressedData> addEntry(String name, byte[] data, boolean stored) {
+        CompletableFuture<Long> crc = CompletableFuture.supplyAsync(() -> {
+            CRC32 crc32 = new CRC32();
+            crc32.update(data, 0, data.length);
+            return crc32.getValue();
+        }, this.executor);
+        if (stored) {
+            return addEntry(name, crc.thenApply(value -> new CompressedData(STORED, value, data.length, List.of(data))));
+        }
+        int chunkCount = Math.max(1, (data.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        List<CompletableFuture<byte[]>> chunks = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            int offset = i * CHUNK_SIZE;
+            int length = Math.min(CHUNK_SIZE, data.length - offset);
+            boolean last = i == chunkCount - 1;
+            chunks.add(CompletableFuture.supplyAsync(() -> compressChunk(data, offset, length, last), this.executor));
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0]));
+        return addEntry(name, all.thenCombine(crc, (ignored, value) -> {
+            List<byte[]> blocks = new ArrayList<>(chunkCount);
+            for (CompletableFuture<byte[]> chunk : chunks) {
+                blocks.add(chunk.join());
+            }
+            return new CompressedData(DEFLATED, value, data.length, blocks);
+        }));
+    }
+
+    /**
+     * Adds an entry with already compressed data (e.g. of a previous save)
+     *
+     * @param name Filename with relative path
+     * @param data Future of the compressed data
+     * @return The passed future
+     */
+    CompletableFuture<CompressedData> addEntry(String name, CompletableFuture<CompressedData> data) {
+        this.entries.add(data.thenApply(value -> new CompressedEntry(name, value)));
+        return data;
+    }
+
+    /**
+     * Compresses a chunk into raw deflate blocks. All chunks except the last are terminated by a sync flush, thus the
+     * blocks of all chunks can be concatenated to one deflate stream
+     *
+     * @param data   Uncompressed content of the entry
+     * @param offset Start of the chunk
+     * @param length Length of the chunk
+     * @param last   If true, the deflate stream is finished with this chunk
+     * @return Compressed chunk
+     */
+    private byte[] compressChunk(byte[] data, int offset, int length, boolean last) {
+        Deflater deflater = new Deflater(this.level, true);
+        try {
+            deflater.setStrategy(this.strategy);
+            if (offset > 0) {
+                int dictionaryLength = Math.min(DICTIONARY_SIZE, offset);
+                deflater.setDictionary(data, offset - dictionaryLength, dictionaryLength);
+            }
+            deflater.setInput(data, offset, length);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            int count;
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    count = deflater.deflate(buffer);
+                    out.write(buffer, 0, count);
+                }
+            }
+            else {
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    out.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return out.toByteArray();
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes all entries in the order they were added, followed by the central directory. The method waits for the
+     * compression of each entry
+     *
+     * @param stream Stream to write the zip file into. The stream is not closed
+     * @throws java.io.IOException Thrown in case of an error while writing
+     */
+    void writeTo(OutputStream stream) throws java.io.IOException {
+        List<CompressedEntry> written = new ArrayList<>(this.entries.size());
+        long offset = 0;
+        for (CompletableFuture<CompressedEntry> future : this.entries) {
+            CompressedEntry entry = future.join();
+            entry.offset = offset;
+            // The local header of a ZIP64 entry contains always both sizes
+            boolean zip64 = entry.data.size >= ZIP64_MAGIC_VALUE || entry.data.compressedSize >= ZIP64_MAGIC_VALUE;
+            int extraLength = zip64 ? 20 : 0;
+            ByteBuffer header = createHeader(30 + entry.nameBytes.length + extraLength);
+            header.putInt(LOCAL_HEADER_SIGNATURE);
+            header.putShort(zip64 ? ZIP64_VERSION : VERSION);
+            putEntryFields(header, entry, zip64, zip64);
+            header.putShort((short) extraLength);
+            header.put(entry.nameBytes);
+            if (zip64) {
+                header.putShort(ZIP64_EXTRA_FIELD_ID);
+                header.putShort((short) 16);
+                header.putLong(entry.data.size);
+                header.putLong(entry.data.compressedSize);
+            }
+            stream.write(header.array());
+            for (byte[] block : entry.data.blocks) {
+                stream.write(block);
+            }
+            offset += header.capacity() + entry.data.compressedSize;
+            written.add(entry);
+            if (this.metricsListener != null) {
+                this.metricsListener.partProcessed(MetricsListener.Operation.SAVE, entry.name, entry.data.size, entry.data.compressedSize);
+            }
+        }
+        long centralDirectoryOffset = offset;
+        for (CompressedEntry entry : written) {
+            // The central header contains only the values in the ZIP64 extra field, that exceed the regular fields
+            boolean zip64Size = entry.data.size >= ZIP64_MAGIC_VALUE;
+            boolean zip64CompressedSize = entry.data.compressedSize >= ZIP64_MAGIC_VALUE;
+            boolean zip64Offset = entry.offset >= ZIP64_MAGIC_VALUE;
+            int zip64Length = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0) + (zip64Offset ? 8 : 0);
+            int extraLength = zip64Length > 0 ? zip64Length + 4 : 0;
+            short version = zip64Length > 0 ? ZIP64_VERSION : VERSION;
+            ByteBuffer header = createHeader(46 + entry.nameBytes.length + extraLength);
+            header.putInt(CENTRAL_HEADER_SIGNATURE);
+            header.putShort(version); // Version made by
+            header.putShort(version); // Version needed to extract
+            putEntryFields(header, entry, zip64Size, zip64CompressedSize);
+            header.putShort((short) extraLength);
+            header.putShort((short) 0); // Comment length
+            header.putShort((short) 0); // Disk number
+            header.putShort((short) 0); // Internal attributes
+            header.putInt(0); // External attributes
+            header.putInt((int) Math.min(entry.offset, ZIP64_MAGIC_VALUE));
+            header.put(entry.nameBytes);
+            if (zip64Length > 0) {
+                header.putShort(ZIP64_EXTRA_FIELD_ID);
+                header.putShort((short) zip64Length);
+                if (zip64Size) {
+                    header.putLong(entry.data.size);
+                }
+                if (zip64CompressedSize) {
+                    header.putLong(entry.data.compressedSize);
+                }
+                if (zip64Offset) {
+                    header.putLong(entry.offset);
+                }
+            }
+            stream.write(header.array());
+            offset += header.capacity();
+        }
+        long centralDirectorySize = offset - centralDirectoryOffset;
+        int count = written.size();
+        if (count >= ZIP64_MAGIC_COUNT || centralDirectorySize >= ZIP64_MAGIC_VALUE || centralDirectoryOffset >= ZIP64_MAGIC_VALUE) {
+            ByteBuffer end = createHeader(56 + 20);
+            end.putInt(ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            end.putLong(44); // Size of the remaining record
+            end.putShort(ZIP64_VERSION); // Version made by
+            end.putShort(ZIP64_VERSION); // Version needed to extract
+            end.putInt(0); // Number of this disk
+            end.putInt(0); // Disk of the central directory
+            end.putLong(count);
+            end.putLong(count);
+            end.putLong(centralDirectorySize);
+            end.putLong(centralDirectoryOffset);
+            end.putInt(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE);
+            end.putInt(0); // Disk of the ZIP64 end of central directory record
+            end.putLong(offset);
+            end.putInt(1); // Total number of disks
+            stream.write(end.array());
+        }
+        ByteBuffer end = createHeader(22);
+        end.putInt(END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+        end.putShort((short) 0); // Number of this disk
+        end.putShort((short) 0); // Disk of the central directory
+        end.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+        end.putShort((short) Math.min(count, ZIP64_MAGIC_COUNT));
+        end.putInt((int) Math.min(centralDirectorySize, ZIP64_MAGIC_VALUE));
+        end.putInt((int) Math.min(centralDirectoryOffset, ZIP64_MAGIC_VALUE));
+        end.putShort((short) 0); // Comment length
+        stream.write(end.array());
+    }
+
+    /**
+     * Puts the fields that are identical in the local and the central header (from flags to the filename length).
+     * Sizes that are stored in the ZIP64 extra field are replaced by the ZIP64 marker
+     *
+     * @param header              Header buffer
+     * @param entry               Entry to describe
+     * @param zip64Size           If true, the uncompressed size is stored in the ZIP64 extra field
+     * @param zip64CompressedSize If true, the compressed size is stored in the ZIP64 extra field
+     */
+    private void putEntryFields(ByteBuffer header, CompressedEntry entry, boolean zip64Size, boolean zip64CompressedSize) {
+        header.putShort(UTF8_FLAG);
+        header.putShort(entry.data.method);
+        header.putShort(this.dosTime);
+        header.putShort(this.dosDate);
+        header.putInt((int) entry.data.crc);
+        header.putInt((int) (zip64CompressedSize ? ZIP64_MAGIC_VALUE : entry.data.compressedSize));
+        header.putInt((int) (zip64Size ? ZIP64_MAGIC_VALUE : entry.data.size));
+        header.putShort((short) entry.nameBytes.length);
+    }
+
+    /**
+     * Creates a little endian buffer for a header
+     *
+     * @param size Size of the header
+     * @return Buffer
+     */
+    private static ByteBuffer createHeader(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // ### S U B C L A S S E S ###
+
+    /**
+     * Class representing the compressed data of an entry. The data is immutable and can be reused for several zip
+     * files
+     */
+    static class CompressedData {
+        private final short method;
+        private final long crc;
+        private final long size;
+        private final long compressedSize;
+        private final List<byte[]> blocks;
+
+        /**
+         * Constructor with all values of the compressed data
+         *
+         * @param method Compression method (stored or deflated)
+         * @param crc    CRC32 of the uncompressed content
+         * @param size   Size of the uncompressed content
+         * @param blocks Compressed blocks, in order
+         */
+        CompressedData(short method, long crc, long size, List<byte[]> blocks) {
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.blocks = blocks;
+            long length = 0;
+            for (byte[] block : blocks) {
+                length += block.length;
+            }
+            this.compressedSize = length;
+        }
+    }
+
+    /**
+     * Class representing a compressed entry within the zip file
+     */
+    private static class CompressedEntry {
+        private final String name;
+        private final byte[] nameBytes;
+        private final CompressedData data;
+        private long offset;
+
+        /**
+         * Constructor with the name and the compressed data of the entry
+         *
+         * @param name Filename with relative path
+         * @param data Compressed data
+         */
+        CompressedEntry(String name, CompressedData data) {
+            this.name = name;
+            this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            this.data = data;
+        }
+    }
+
+}
@@ -0,0 +1,252 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import ch.rabanti.nanoxlsx4j.Worksheet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Class representing a cache of the parts of a workbook, that were written by the last save. The compressed data of
+ * the parts is reused by subsequent saves of the same workbook, if the parts are unchanged. The state of the
+ * worksheets is recorded to detect whether a worksheet part can be reused without rendering it<br> This class is only
+ * for internal use. A cache must not be used by several saves at the same time
+ *
+ * @author Raphael Stoeckli
+ */
+public class PartCache {
+
+    // ### P R I V A T E F I E L D S ###
+    private final Map<String, CachedEntry> entries;
+    private final Map<String, WorksheetState> worksheetStates;
+    private List<Worksheet> worksheets;
+    private String contentKey;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Default constructor
+     */
+    public PartCache() {
+        this.entries = new HashMap<>();
+        this.worksheetStates = new HashMap<>();
+        this.worksheets = new ArrayList<>();
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Removes all cached parts
+     */
+    public void clear() {
+        this.entries.clear();
+        this.worksheetStates.clear();
+        this.worksheets = new ArrayList<>();
+        this.contentKey = null;
+    }
+
+    /**
+     * Prepares the cache for a new save. All cached parts are discarded if the content-relevant save options were
+     * changed. The states of the worksheets are discarded if the worksheets were added, removed or reordered
+     *
+     * @param contentKey Key of the content-relevant save options
+     * @param worksheets Worksheets of the workbook, in order
+     */
+    void prepare(String contentKey, List<Worksheet> worksheets) {
+        if (!contentKey.equals(this.contentKey)) {
+            clear();
+            this.contentKey = contentKey;
+        }
+        if (!isSameSequence(worksheets)) {
+            this.worksheetStates.clear();
+            this.worksheets = new ArrayList<>(worksheets);
+        }
+    }
+
+    /**
+     * Discards the states of all worksheets, e.g. if the styles were changed, so that the style numbers within the
+     * worksheets may differ
+     */
+    void invalidateWorksheets() {
+        this.worksheetStates.clear();
+    }
+
+    /**
+     * Gets the compressed data of a part, regardless of its content
+     *
+     * @param name Filename with relative path
+     * @return Future of the compressed data or null if the part is not cached
+     */
+    CompletableFuture<ParallelZipWriter.CompressedData> getEntry(String name) {
+        CachedEntry entry = this.entries.get(name);
+        return entry == null ? null : entry.data;
+    }
+
+    /**
+     * Gets the compressed data of a part, if the cached part has exactly the passed content
+     *
+     * @param name    Filename with relative path
+     * @param content Uncompressed content of the part
+     * @return Future of the compressed data or null if the part is not cached or its content differs
+     */
+    CompletableFuture<ParallelZipWriter.CompressedData> getEntry(String name, byte[] content) {
+        CachedEntry entry = this.entries.get(name);
+        if (entry == null || entry.content == null || !Arrays.equals(entry.content, content)) {
+            return null;
+        }
+        return entry.data;
+    }
+
+    /**
+     * Puts the compressed data of a part into the cache
+     *
+     * @param name    Filename with relative path
+     * @param content Uncompressed content of the part, or null if the content is not compared by
+     *                {@link #getEntry(String, byte[])}
+     * @param data    Future of the compressed data
+     */
+    void putEntry(String name, byte[] content, CompletableFuture<ParallelZipWriter.CompressedData> data) {
+        this.entries.put(name, new CachedEntry(content, data));
+    }
+
+    /**
+     * Gets the recorded state of a worksheet
+     *
+     * @param name Filename of the worksheet part with relative path
+     * @return State or null if no state is recorded
+     */
+    WorksheetState getWorksheetState(String name) {
+        return this.worksheetStates.get(name);
+    }
+
+    /**
+     * Records the state of a worksheet
+     *
+     * @param name  Filename of the worksheet part with relative path
+     * @param state State of the worksheet
+     */
+    void putWorksheetState(String name, WorksheetState state) {
+        this.worksheetStates.put(name, state);
+    }
+
+    /**
+     * Checks whether the passed worksheets are the same objects in the same order as the cached ones
+     *
+     * @param worksheets Worksheets to check
+     * @return True if the sequence is the same, otherwise false
+     */
+    private boolean isSameSequence(List<Worksheet> worksheets) {
+        if (worksheets.size() != this.worksheets.size()) {
+            return false;
+        }
+        for (int i = 0; i < worksheets.size(); i++) {
+            if (worksheets.get(i) != this.worksheets.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ### S U B C L A S S E S ###
+
+    /**
+     * Class representing a cached part
+     */
+    private static class CachedEntry {
+        private final byte[] content;
+        private final CompletableFuture<ParallelZipWriter.CompressedData> data;
+
+        /**
+         * Constructor with all values
+         *
+         * @param content Uncompressed content or null
+         * @param data    Future of the compressed data
+         */
+        CachedEntry(byte[] content, CompletableFuture<ParallelZipWriter.CompressedData> data) {
+            this.content = content;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Class representing the state of a worksheet at the time its part was rendered. A worksheet part can be reused if
+     * no cell was modified and the rendered start and end of the part, the row heights and hidden rows, as well as the
+     * shared strings table in front of the worksheet are unchanged
+     */
+    static class WorksheetState {
+        private final String sheetName;
+        private final long modificationCount;
+        private final String start;
+        private final String end;
+        private final Map<Integer, Float> rowHeights;
+        private final Map<Integer, Boolean> hiddenRows;
+        private final List<String> sharedStrings;
+        private final int sharedStringsCount;
+
+        /**
+         * Constructor with all values
+         *
+         * @param worksheet          Rendered worksheet
+         * @param modificationCount  Modification count of the worksheet after the rendering
+         * @param start              Rendered start of the worksheet part, up to the opening sheetData tag
+         * @param end                Rendered end of the worksheet part, beginning with the closing sheetData tag
+         * @param sharedStrings      Strings that were added to the shared strings table by the worksheet, in order
+         * @param sharedStringsCount Number of shared string references of the worksheet
+         */
+        WorksheetState(Worksheet worksheet, long modificationCount, String start, String end, List<String> sharedStrings, int sharedStringsCount) {
+            this.sheetName = worksheet.getSheetName();
+            this.modificationCount = modificationCount;
+            this.start = start;
+            this.end = end;
+            this.rowHeights = new HashMap<>(worksheet.getRowHeights());
+            this.hiddenRows = new HashMap<>(worksheet.getHiddenRows());
+            this.sharedStrings = sharedStrings;
+            this.sharedStringsCount = sharedStringsCount;
+        }
+
+        /**
+         * Gets the strings that were added to the shared strings table by the worksheet, in order
+         *
+         * @return List of strings
+         */
+        List<String> getSharedStrings() {
+            return sharedStrings;
+        }
+
+        /**
+         * Gets the number of shared string references of the worksheet
+         *
+         * @return Number of references
+         */
+        int getSharedStringsCount() {
+            return sharedStringsCount;
+        }
+
+        /**
+         * Checks whether the worksheet is unchanged, compared to this state
+         *
+         * @param worksheet Worksheet to check
+         * @param start     Current start of the worksheet part
+         * @param end       Current end of the worksheet part
+         * @return True if the worksheet part would be rendered identically, otherwise false
+         */
+        boolean matches(Worksheet worksheet, String start, String end) {
+            long count = worksheet.getModificationCount();
+            return count >= 0 && count == this.modificationCount &&
+                    this.sheetName.equals(worksheet.getSheetName()) &&
+                    this.start.equals(start) && this.end.equals(end) &&
+                    this.rowHeights.equals(worksheet.getRowHeights()) &&
+                    this.hiddenRows.equals(worksheet.getHiddenRows());
+        }
+    }
+
+}
@@ -7,6 +7,13 @@
 package ch.rabanti.nanoxlsx4j.lowLevel;
 
 import ch.rabanti.nanoxlsx4j.Helper;
+import ch.rabanti.nanoxlsx4j.Worksheet;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 
 /**
  * Static class with common util methods, used during reading XLSX files
@@ -45,6 +52,106 @@ public class ReaderUtils {
         }
     }
 
+    /**
+     * Resolves a cell reference (e.g. 'BC12') into the packed zero-based column and row number, by scanning its
+     * characters without regular expressions or the creation of objects. Absolute references are not supported
+     *
+     * @param address Cell reference
+     * @return Packed value with the row number in the upper and the column number in the lower 32 bits, or -1 if the
+     * reference is malformed or out of range
+     */
+    static long resolveCellReference(String address) {
+        int length = address.length();
+        int index = 0;
+        int column = 0;
+        while (index < length) {
+            char c = address.charAt(index);
+            if (c >= 'A' && c <= 'Z') {
+                column = column * 26 + (c - 'A' + 1);
+            }
+            else if (c >= 'a' && c <= 'z') {
+                column = column * 26 + (c - 'a' + 1);
+            }
+            else {
+                break;
+            }
+            if (column > Worksheet.MAX_COLUMN_NUMBER + 1) {
+                return -1;
+            }
+            index++;
+        }
+        if (index == 0 || index == length) {
+            return -1;
+        }
+        int row = 0;
+        while (index < length) {
+            char c = address.charAt(index);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            row = row * 10 + (c - '0');
+            if (row > Worksheet.MAX_ROW_NUMBER + 1) {
+                return -1;
+            }
+            index++;
+        }
+        if (row == 0) {
+            return -1;
+        }
+        return packCellReference(column - 1, row - 1);
+    }
+
+    /**
+     * Packs a zero-based column and row number into one value
+     *
+     * @param column Zero-based column number
+     * @param row    Zero-based row number
+     * @return Packed value with the row number in the upper and the column number in the lower 32 bits
+     */
+    static long packCellReference(int column, int row) {
+        return ((long) row << 32) | column;
+    }
+
+    /**
+     * Gets the zero-based column number of a packed cell reference
+     *
+     * @param reference Packed cell reference
+     * @return Column number
+     */
+    static int getColumn(long reference) {
+        return (int) reference;
+    }
+
+    /**
+     * Gets the zero-based row number of a packed cell reference
+     *
+     * @param reference Packed cell reference
+     * @return Row number
+     */
+    static int getRow(long reference) {
+        return (int) (reference >>> 32);
+    }
+
+    /**
+     * Skips the current element of an XML stream with all nested elements. The reader is positioned on the end of the
+     * element afterwards
+     *
+     * @param reader XML stream reader, positioned on the start of the element
+     * @throws XMLStreamException Thrown in case of an error while parsing
+     */
+    static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int nodeType = reader.next();
+            if (nodeType == START_ELEMENT) {
+                depth++;
+            }
+            else if (nodeType == END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
     /**
      * Low-level parser class to handle nullable integers
      */
@@ -0,0 +1,286 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Class representing a compact store of the strings of a shared strings table. All characters are held in one arena,
+ * and the start of each string is held in an offset array. String objects are only created when a string is accessed
+ * for the first time, and are reused by subsequent accesses.
+ * If a spill size is defined, the arena is moved into a temporary, memory-mapped file as soon as the size is exceeded
+ *
+ * @author Raphael Stoeckli
+ */
+class SharedStringStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int SEGMENT_SIZE = 1 << 28; // Characters per mapped segment (512 MB)
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private final long spillSize;
+    private char[] arena;
+    private int arenaLength;
+    private long[] offsets;
+    private int count;
+    private FileChannel spillChannel;
+    private ByteBuffer writeBuffer;
+    private long spilledLength;
+    private CharBuffer[] segments;
+    private String[] cache;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Constructor with the spill size
+     *
+     * @param spillSize Size of the arena in bytes, above which the arena is moved into a temporary, memory-mapped file.
+     *                  If 0, the arena is always held in memory
+     */
+    SharedStringStore(long spillSize) {
+        this.spillSize = spillSize;
+        this.arena = new char[INITIAL_CAPACITY];
+        this.offsets = new long[INITIAL_CAPACITY + 1];
+    }
+
+    // ### G E T T E R S ###
+
+    /**
+     * Gets the number of strings in the store
+     *
+     * @return Number of strings
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Gets whether the arena was moved into a temporary file
+     *
+     * @return True if the strings are read from a memory-mapped file, otherwise false
+     */
+    boolean isSpilled() {
+        return spillChannel != null || segments != null;
+    }
+
+    /**
+     * Gets a string of the store. The string is created on the first access and cached, thus all cells that refer to
+     * the same index share one instance
+     *
+     * @param index Zero-based index of the string
+     * @return String
+     * @throws IndexOutOfBoundsException Thrown if the index is out of range
+     */
+    String get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("The index " + index + " is out of range");
+        }
+        // Concurrent accesses may create the same string twice, which is harmless, since strings are immutable
+        String value = cache[index];
+        if (value == null) {
+            value = createString(index);
+            cache[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Creates a string from the arena or the mapped segments
+     *
+     * @param index Zero-based index of the string
+     * @return String
+     */
+    private String createString(int index) {
+        long start = offsets[index];
+        int length = (int) (offsets[index + 1] - start);
+        if (segments == null) {
+            return new String(arena, (int) start, length);
+        }
+        int position = (int) (start % SEGMENT_SIZE);
+        // The buffer is never repositioned, thus the sequence can be created concurrently
+        return segments[(int) (start / SEGMENT_SIZE)].subSequence(position, position + length).toString();
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Adds a string to the store
+     *
+     * @param value String to add
+     * @throws IOException Thrown if the string could not be written into the temporary file
+     */
+    void add(CharSequence value) throws IOException {
+        if (segments != null) {
+            throw new IllegalStateException("No strings can be added after the store was completed");
+        }
+        if (count + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        int length = value.length();
+        if (spillChannel == null && spillSize > 0 && ((long) arenaLength + length) * Character.BYTES > spillSize) {
+            spill();
+        }
+        if (spillChannel != null) {
+            offsets[count] = write(value);
+            count++;
+            offsets[count] = spilledLength;
+            return;
+        }
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            arena[arenaLength + i] = value.charAt(i);
+        }
+        offsets[count] = arenaLength;
+        arenaLength += length;
+        count++;
+        offsets[count] = arenaLength;
+    }
+
+    /**
+     * Completes the store after all strings were added. If the arena was moved into a temporary file, the file is
+     * mapped into memory. Otherwise, the unused capacity of the arena is released
+     *
+     * @throws IOException Thrown if the temporary file could not be mapped
+     */
+    void complete() throws IOException {
+        offsets = Arrays.copyOf(offsets, count + 1);
+        cache = new String[count];
+        if (spillChannel == null) {
+            arena = Arrays.copyOf(arena, arenaLength);
+            return;
+        }
+        try {
+            flush();
+            int segmentCount = (int) ((spilledLength + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            CharBuffer[] mapped = new CharBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long start = (long) i * SEGMENT_SIZE;
+                long length = Math.min(SEGMENT_SIZE, spilledLength - start);
+                mapped[i] = spillChannel.map(FileChannel.MapMode.READ_ONLY, start * Character.BYTES, length * Character.BYTES).asCharBuffer();
+            }
+            segments = mapped;
+        }
+        finally {
+            // The mapping remains valid after the channel is closed. The file is deleted on close
+            spillChannel.close();
+            spillChannel = null;
+            writeBuffer = null;
+        }
+    }
+
+    /**
+     * Aborts the store if the strings could not be read completely. If the arena was already moved into a temporary
+     * file, the file is closed and thus deleted. The store is empty afterwards
+     */
+    void abort() {
+        count = 0;
+        arena = null;
+        writeBuffer = null;
+        if (spillChannel != null) {
+            try {
+                spillChannel.close();
+            }
+            catch (IOException ex) {
+                // Ignore, the file is deleted when the process terminates at the latest
+            }
+            spillChannel = null;
+        }
+    }
+
+    /**
+     * Moves the strings of the arena into a temporary file. All subsequent strings are written into the file
+     *
+     * @throws IOException Thrown if the temporary file could not be created or written
+     */
+    private void spill() throws IOException {
+        Path path = Files.createTempFile("nanoxlsx4j-sharedStrings", ".tmp");
+        spillChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        for (int i = 0; i < count; i++) {
+            int start = (int) offsets[i];
+            offsets[i] = write(CharBuffer.wrap(arena, start, (int) offsets[i + 1] - start));
+        }
+        offsets[count] = spilledLength;
+        arena = null;
+        arenaLength = 0;
+    }
+
+    /**
+     * Writes a string into the temporary file. A string never crosses the border of a mapped segment, thus the
+     * remaining space of a segment is padded if the string does not fit into it
+     *
+     * @param value String to write
+     * @return Start offset of the string in characters
+     * @throws IOException Thrown if the string could not be written
+     */
+    private long write(CharSequence value) throws IOException {
+        int length = value.length();
+        long remaining = SEGMENT_SIZE - spilledLength % SEGMENT_SIZE;
+        if (length > remaining) {
+            for (long i = 0; i < remaining; i++) {
+                putChar('\0');
+            }
+            spilledLength += remaining;
+        }
+        long start = spilledLength;
+        for (int i = 0; i < length; i++) {
+            putChar(value.charAt(i));
+        }
+        spilledLength += length;
+        return start;
+    }
+
+    /**
+     * Puts a character into the write buffer and flushes the buffer if it is full
+     *
+     * @param c Character to put
+     * @throws IOException Thrown if the buffer could not be written
+     */
+    private void putChar(char c) throws IOException {
+        if (writeBuffer.remaining() < Character.BYTES) {
+            flush();
+        }
+        writeBuffer.putChar(c);
+    }
+
+    /**
+     * Writes the content of the write buffer into the temporary file
+     *
+     * @throws IOException Thrown if the buffer could not be written
+     */
+    private void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            spillChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Ensures that the arena can hold the passed number of additional characters
+     *
+     * @param length Number of characters to add
+     */
+    private void ensureCapacity(int length) {
+        long required = (long) arenaLength + length;
+        if (required <= arena.length) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("The shared strings exceed the maximum size of the arena. Consider defining a spill size in the import options");
+        }
+        long capacity = Math.max(required, (long) arena.length * 2);
+        arena = Arrays.copyOf(arena, (int) Math.min(capacity, Integer.MAX_VALUE - 8));
+    }
+}
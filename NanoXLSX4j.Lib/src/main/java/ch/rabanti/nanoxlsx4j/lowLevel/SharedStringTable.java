@@ -0,0 +1,176 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import ch.rabanti.nanoxlsx4j.SaveOptions;
+
+import java.util.Arrays;
+
+/**
+ * Class representing the table of unique strings that are written as shared strings. Each string gets the next free
+ * index when it is added for the first time. The table uses open addressing with linear probing on primitive arrays,
+ * thus adding a string that already exists does not allocate any objects
+ *
+ * @author Raphael Stoeckli
+ */
+class SharedStringTable {
+
+    // ### C O N S T A N T S ###
+    /**
+     * Default number of strings that can be added before the table grows
+     */
+    static final int DEFAULT_CAPACITY = 256;
+    /**
+     * Maximum number of strings in the table. The slot array has twice the size, which is the largest power of two
+     * that can be allocated as array
+     */
+    static final int MAXIMUM_CAPACITY = SaveOptions.MAX_SHARED_STRINGS_CAPACITY;
+
+    // ### P R I V A T E F I E L D S ###
+    private String[] values;
+    private int[] hashes;
+    private int[] slots;
+    private int shift;
+    private int count;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Default constructor
+     */
+    SharedStringTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor with the expected number of unique strings
+     *
+     * @param capacity Number of strings that can be added before the table grows. The value is clamped to the range
+     *                 of 16 to {@link #MAXIMUM_CAPACITY}
+     */
+    SharedStringTable(int capacity) {
+        capacity = Math.min(Math.max(capacity, 16), MAXIMUM_CAPACITY);
+        this.values = new String[capacity];
+        this.hashes = new int[capacity];
+        // The slot array has at least twice the capacity (load factor of 0.5)
+        int bits = 32 - Integer.numberOfLeadingZeros(capacity * 2 - 1);
+        this.slots = new int[1 << bits];
+        this.shift = 32 - bits;
+        this.count = 0;
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Adds a string to the table, if it does not exist yet
+     *
+     * @param value String to add
+     * @return Index of the string (either added or of the existing entry)
+     */
+    int add(String value) {
+        int hash = value.hashCode();
+        int mask = this.slots.length - 1;
+        int slot = slotOf(hash);
+        int entry;
+        while ((entry = this.slots[slot]) != 0) {
+            if (this.hashes[entry - 1] == hash && this.values[entry - 1].equals(value)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (this.count == this.values.length) {
+            grow();
+            return add(value);
+        }
+        this.values[this.count] = value;
+        this.hashes[this.count] = hash;
+        this.count++;
+        this.slots[slot] = this.count; // Slots contain the index + 1, since 0 marks a free slot
+        return this.count - 1;
+    }
+
+    /**
+     * Gets the index of the passed string without adding it
+     *
+     * @param value String to look up
+     * @return Index of the string or -1 if the string does not exist
+     */
+    int indexOf(String value) {
+        int hash = value.hashCode();
+        int mask = this.slots.length - 1;
+        int slot = slotOf(hash);
+        int entry;
+        while ((entry = this.slots[slot]) != 0) {
+            if (this.hashes[entry - 1] == hash && this.values[entry - 1].equals(value)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the string with the passed index
+     *
+     * @param index Index of the string
+     * @return String
+     * @throws IndexOutOfBoundsException Thrown if the index does not exist
+     */
+    String get(int index) {
+        if (index < 0 || index >= this.count) {
+            throw new IndexOutOfBoundsException("The shared string index " + index + " does not exist");
+        }
+        return this.values[index];
+    }
+
+    /**
+     * Gets the number of unique strings in the table
+     *
+     * @return Number of strings
+     */
+    int size() {
+        return this.count;
+    }
+
+    /**
+     * Gets the first slot of the passed hash (Fibonacci hashing, to spread similar hashes)
+     *
+     * @param hash Hash of a string
+     * @return Slot index
+     */
+    private int slotOf(int hash) {
+        return (hash * 0x9E3779B9) >>> this.shift;
+    }
+
+    /**
+     * Doubles the capacity of the table and reassigns all slots
+     *
+     * @throws IllegalStateException Thrown if the table already has the maximum capacity
+     */
+    private void grow() {
+        if (this.values.length >= MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("The number of unique shared strings exceeds the maximum of " + MAXIMUM_CAPACITY);
+        }
+        int capacity = Math.min(this.values.length * 2, MAXIMUM_CAPACITY);
+        this.values = Arrays.copyOf(this.values, capacity);
+        this.hashes = Arrays.copyOf(this.hashes, capacity);
+        if (this.slots.length >= capacity * 2) {
+            return; // The slot array still keeps the load factor of 0.5
+        }
+        this.slots = new int[this.slots.length * 2];
+        this.shift--;
+        int mask = this.slots.length - 1;
+        for (int i = 0; i < this.count; i++) {
+            int slot = slotOf(this.hashes[i]);
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots[slot] = i + 1;
+        }
+    }
+
+}
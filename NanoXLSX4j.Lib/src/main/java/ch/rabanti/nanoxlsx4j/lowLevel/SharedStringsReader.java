@@ -6,14 +6,21 @@
  */
 package ch.rabanti.nanoxlsx4j.lowLevel;
 
-import ch.rabanti.nanoxlsx4j.Helper;
 import ch.rabanti.nanoxlsx4j.ImportOptions;
 import ch.rabanti.nanoxlsx4j.exceptions.IOException;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
 /**
  * Class representing a reader for the shared strings table of XLSX files
  *
@@ -21,7 +28,8 @@ import java.util.List;
  */
 public class SharedStringsReader {
 
-    private final List<String> sharedStrings;
+    private final SharedStringStore sharedStrings;
+    private final StringBuilder text = new StringBuilder();
     private boolean capturePhoneticCharacters = false;
     private List<PhoneticInfo> phoneticsInfo = null;
 
@@ -31,11 +39,12 @@ public class SharedStringsReader {
      * @return True if at least one shared string object exists in the workbook
      */
     public boolean hasElements() {
-        return !sharedStrings.isEmpty();
+        return sharedStrings.size() > 0;
     }
 
     /**
-     * Gets the value of the shared string table by its index
+     * Gets the value of the shared string table by its index. The string is created from the compact store on the first
+     * access, and the same instance is returned on subsequent accesses
      *
      * @param index Index of the stared string entry
      * @return Determined shared string value. Returns null in case of an invalid index
@@ -47,49 +56,83 @@ public class SharedStringsReader {
         return sharedStrings.get(index);
     }
 
+    /**
+     * Gets the number of entries in the shared strings table
+     *
+     * @return Number of shared strings
+     */
+    public int getCount() {
+        return sharedStrings.size();
+    }
+
+    /**
+     * Gets whether the shared strings were moved into a temporary, memory-mapped file, according to
+     * {@link ImportOptions#setSharedStringsSpillSize(long)}
+     *
+     * @return True if the shared strings are read from a memory-mapped file, otherwise false
+     */
+    public boolean isSpilled() {
+        return sharedStrings.isSpilled();
+    }
+
     /**
      * Constructor with parameters
      *
      * @param importOptions Import options instance
      */
     public SharedStringsReader(ImportOptions importOptions) {
+        long spillSize = 0;
         if (importOptions != null) {
             this.capturePhoneticCharacters = importOptions.isEnforcePhoneticCharacterImport();
             if (this.capturePhoneticCharacters) {
                 this.phoneticsInfo = new ArrayList<>();
             }
+            spillSize = importOptions.getSharedStringsSpillSize();
         }
-        this.sharedStrings = new ArrayList<>();
+        this.sharedStrings = new SharedStringStore(spillSize);
     }
 
     /**
-     * Reads the XML file form the passed stream and processes the shared strings table
+     * Reads the XML file form the passed stream and processes the shared strings table. The file is parsed by a pull
+     * parser, thus only the current string is held as object while reading
      *
      * @param stream Stream of the XML file
      * @throws IOException Throws IOException in case of an error
      */
     public void read(InputStream stream) throws IOException, java.io.IOException {
+        XMLStreamReader xr = null;
         try {
-            XmlDocument xr = new XmlDocument();
-            xr.load(stream);
-            StringBuilder sb;
-            for (XmlDocument.XmlNode node : xr.getDocumentElement().getChildNodes()) {
-                if (node.getName().equalsIgnoreCase("si")) {
-                    sb = new StringBuilder();
-                    getTextToken(node, sb);
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            xr = factory.createXMLStreamReader(stream);
+            StringBuilder sb = new StringBuilder();
+            while (xr.hasNext()) {
+                if (xr.next() == START_ELEMENT && xr.getLocalName().equalsIgnoreCase("si")) {
+                    sb.setLength(0);
+                    getTextTokens(xr, sb);
                     if (this.capturePhoneticCharacters) {
                         this.sharedStrings.add(processPhoneticCharacters(sb));
                     }
                     else {
-                        this.sharedStrings.add(sb.toString());
+                        this.sharedStrings.add(sb);
                     }
                 }
             }
+            this.sharedStrings.complete();
         }
         catch (Exception ex) {
+            this.sharedStrings.abort(); // Removes a possible temporary file
             throw new IOException("The XML entry could not be read from the input stream. Please see the inner exception:", ex);
         }
         finally {
+            if (xr != null) {
+                try {
+                    xr.close();
+                }
+                catch (XMLStreamException ex) {
+                    // Ignore, the stream is closed anyway
+                }
+            }
             if (stream != null) {
                 stream.close();
             }
@@ -97,34 +140,111 @@ public class SharedStringsReader {
     }
 
     /**
-     * Function collects text tokens recursively in case of a split by formatting
+     * Function collects the text tokens of a string item, in case of a split by formatting. The parser is positioned on
+     * the end of the item afterwards
      *
-     * @param node Root node to process
-     * @param sb   StringBuilder reference
+     * @param xr Parser, positioned on the start of the string item
+     * @param sb StringBuilder reference
+     * @throws XMLStreamException Thrown in case of an error while parsing
      */
-    private void getTextToken(XmlDocument.XmlNode node, StringBuilder sb) {
-        if (node.getName().equalsIgnoreCase("rPh")) {
-            if (this.capturePhoneticCharacters) {
-                if (node.hasChildNodes() &&
-                        node.getChildNodes().get(0).getName().equalsIgnoreCase("t") &&
-                        !Helper.isNullOrEmpty(node.getChildNodes().get(0).getInnerText())) {
-                    String start = node.getAttribute("sb");
-                    String end = node.getAttribute("eb");
-                    this.phoneticsInfo.add(new PhoneticInfo(node.getChildNodes().get(0).getInnerText(), start, end));
+    private void getTextTokens(XMLStreamReader xr, StringBuilder sb) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && xr.hasNext()) {
+            int nodeType = xr.next();
+            if (nodeType == END_ELEMENT) {
+                depth--;
+            }
+            else if (nodeType == START_ELEMENT) {
+                String name = xr.getLocalName();
+                if (name.equalsIgnoreCase("rPh")) {
+                    getPhoneticToken(xr);
+                }
+                else if (name.equalsIgnoreCase("t")) {
+                    // Reproduces the new line behavior of Excel
+                    appendNormalized(readInnerText(xr), sb);
+                }
+                else {
+                    depth++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Function collects a phonetic token, if phonetic characters are captured. The parser is positioned on the end of
+     * the token afterwards
+     *
+     * @param xr Parser, positioned on the start of the phonetic token
+     * @throws XMLStreamException Thrown in case of an error while parsing
+     */
+    private void getPhoneticToken(XMLStreamReader xr) throws XMLStreamException {
+        String start = xr.getAttributeValue(null, "sb");
+        String end = xr.getAttributeValue(null, "eb");
+        boolean first = true;
+        int depth = 1;
+        while (depth > 0 && xr.hasNext()) {
+            int nodeType = xr.next();
+            if (nodeType == END_ELEMENT) {
+                depth--;
+            }
+            else if (nodeType == START_ELEMENT) {
+                if (first && this.capturePhoneticCharacters && xr.getLocalName().equalsIgnoreCase("t")) {
+                    CharSequence value = readInnerText(xr);
+                    if (value.length() > 0) {
+                        this.phoneticsInfo.add(new PhoneticInfo(value.toString(), start, end));
+                    }
+                }
+                else {
+                    depth++;
                 }
+                first = false;
             }
-            return;
         }
+    }
 
-        if (node.getName().equalsIgnoreCase("t") && !Helper.isNullOrEmpty(node.getInnerText())) {
-            // Reproduces the new line behavior of Excel
-            String text = node.getInnerText().replace("\r\n", "\n").replace("\n", "\r\n");
-            sb.append(text);
+    /**
+     * Reads the text of the current element, without the text of nested elements. The parser is positioned on the end
+     * of the element afterwards
+     *
+     * @param xr Parser, positioned on the start of the element
+     * @return Text of the element. The returned buffer is reused by the next call
+     * @throws XMLStreamException Thrown in case of an error while parsing
+     */
+    private CharSequence readInnerText(XMLStreamReader xr) throws XMLStreamException {
+        this.text.setLength(0);
+        int depth = 1;
+        while (depth > 0 && xr.hasNext()) {
+            int nodeType = xr.next();
+            if (depth == 1 && (nodeType == CHARACTERS || nodeType == CDATA)) {
+                this.text.append(xr.getTextCharacters(), xr.getTextStart(), xr.getTextLength());
+            }
+            else if (nodeType == START_ELEMENT) {
+                depth++;
+            }
+            else if (nodeType == END_ELEMENT) {
+                depth--;
+            }
         }
-        if (node.hasChildNodes()) {
-            for (XmlDocument.XmlNode childNode : node.getChildNodes()) {
-                getTextToken(childNode, sb);
+        return this.text;
+    }
+
+    /**
+     * Appends a text with normalized new lines. Each new line is represented by CR LF, like in Excel
+     *
+     * @param value Text to append
+     * @param sb    StringBuilder reference
+     */
+    private static void appendNormalized(CharSequence value, StringBuilder sb) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '\r' && i + 1 < length && value.charAt(i + 1) == '\n') {
+                continue; // The CR is appended with the subsequent LF
+            }
+            if (c == '\n') {
+                sb.append('\r');
             }
+            sb.append(c);
         }
     }
 
@@ -134,9 +254,9 @@ public class SharedStringsReader {
      * @param sb Original StringBuilder
      * @return Text with added phonetic characters (after particular characters, in brackets)
      */
-    private String processPhoneticCharacters(StringBuilder sb) {
+    private CharSequence processPhoneticCharacters(StringBuilder sb) {
         if (this.phoneticsInfo.isEmpty()) {
-            return sb.toString();
+            return sb;
         }
         String text = sb.toString();
         StringBuilder sb2 = new StringBuilder();
@@ -149,7 +269,7 @@ public class SharedStringsReader {
         sb2.append(text.substring(currentTextIndex));
 
         phoneticsInfo.clear();
-        return sb2.toString();
+        return sb2;
     }
 
     /**
@@ -0,0 +1,290 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import ch.rabanti.nanoxlsx4j.Cell;
+import ch.rabanti.nanoxlsx4j.ImportOptions;
+import ch.rabanti.nanoxlsx4j.exceptions.IOException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipFile;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Class for the low level reading of a worksheet row by row. The worksheet part is parsed by a pull parser, thus only
+ * the current row is held in memory. The values of the cells are resolved like by {@link WorksheetReader}, according to
+ * the styles and import options<br> This class is only for internal use. Use the high level API (class SheetRowReader)
+ * to read worksheets row by row.
+ *
+ * @author Raphael Stoeckli
+ */
+public class StreamingXlsxReader implements AutoCloseable {
+
+    // ### P R I V A T E F I E L D S ###
+    private final InputStream stream;
+    private final ZipFile zipFile;
+    private final WorksheetReader worksheetReader;
+    private final ImportOptions importOptions;
+    private final boolean projection;
+    private final XMLStreamReader xmlReader;
+    private final List<Cell> cells;
+    private final StringBuilder text;
+    private int rowNumber = -1;
+    private boolean rowHidden;
+    private Float rowHeight;
+    private boolean closed;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Constructor with the stream of the worksheet part
+     *
+     * @param stream          Stream of the worksheet part
+     * @param zipFile         Zip file that contains the part and is closed with this reader, or null if the XLSX file
+     *                        is held in memory
+     * @param worksheetReader Worksheet reader that is used to resolve the values of the cells
+     * @throws XMLStreamException Thrown if the XML parser could not be created
+     */
+    StreamingXlsxReader(InputStream stream, ZipFile zipFile, WorksheetReader worksheetReader) throws XMLStreamException {
+        this.stream = stream;
+        this.zipFile = zipFile;
+        this.worksheetReader = worksheetReader;
+        this.importOptions = worksheetReader.getImportOptions();
+        this.projection = this.importOptions != null && this.importOptions.hasProjection();
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.xmlReader = factory.createXMLStreamReader(stream);
+        this.cells = new ArrayList<>();
+        this.text = new StringBuilder();
+    }
+
+    // ### G E T T E R S ###
+
+    /**
+     * Gets the number of the current row
+     *
+     * @return Zero-based row number or -1 if no row was read yet
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Gets whether the current row is hidden
+     *
+     * @return True if the row is hidden, otherwise false
+     */
+    public boolean isRowHidden() {
+        return rowHidden;
+    }
+
+    /**
+     * Gets the non-standard height of the current row
+     *
+     * @return Row height or null if no specific height is defined
+     */
+    public Float getRowHeight() {
+        return rowHeight;
+    }
+
+    /**
+     * Gets the cells of the current row, in the order of the worksheet part (usually ascending columns). The list is
+     * reused for the next row
+     *
+     * @return List of the cells
+     */
+    public List<Cell> getCells() {
+        return cells;
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Reads the next row of the worksheet. Empty rows that are not defined in the worksheet part are skipped, as well as
+     * rows and cells that are not projected by the import options
+     *
+     * @return True if a row was read, false if the end of the worksheet was reached
+     * @throws IOException Thrown in case of an error while reading the worksheet part
+     */
+    public boolean readRow() throws IOException {
+        if (this.closed) {
+            return false;
+        }
+        try {
+            while (this.xmlReader.hasNext()) {
+                if (this.xmlReader.next() == START_ELEMENT && this.xmlReader.getLocalName().equalsIgnoreCase("row")) {
+                    String rowAttribute = this.xmlReader.getAttributeValue(null, "r");
+                    // Rows without number are counted from the previous row
+                    this.rowNumber = rowAttribute == null ? this.rowNumber + 1 : Integer.parseInt(rowAttribute) - 1;
+                    if (this.projection && this.rowNumber > this.importOptions.getLastProjectedRow()) {
+                        return false; // Rows are ordered ascending
+                    }
+                    else if (this.projection && !this.importOptions.isProjectedRow(this.rowNumber)) {
+                        ReaderUtils.skipElement(this.xmlReader);
+                        continue;
+                    }
+                    readRowElement();
+                    return true;
+                }
+            }
+            return false;
+        }
+        catch (Exception ex) {
+            throw new IOException("There was an error while reading a row of the worksheet. Please see the inner exception:", ex);
+        }
+    }
+
+    /**
+     * Closes the worksheet part and the XLSX file
+     *
+     * @throws IOException Thrown in case of an error while closing
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.xmlReader.close();
+            this.stream.close();
+            if (this.zipFile != null) {
+                this.zipFile.close();
+            }
+        }
+        catch (Exception ex) {
+            throw new IOException("There was an error while closing the worksheet. Please see the inner exception:", ex);
+        }
+    }
+
+    /**
+     * Reads the attributes and cells of a row element. The parser is positioned on the end of the row afterwards
+     *
+     * @throws XMLStreamException Thrown in case of an error while parsing
+     */
+    private void readRowElement() throws XMLStreamException {
+        this.rowHidden = ReaderUtils.parseBinaryBoolean(this.xmlReader.getAttributeValue(null, "hidden")) == 1;
+        String heightAttribute = this.xmlReader.getAttributeValue(null, "ht");
+        this.rowHeight = heightAttribute == null ? null : Float.parseFloat(heightAttribute);
+        this.cells.clear();
+        int columnNumber = -1;
+        while (this.xmlReader.hasNext()) {
+            int nodeType = this.xmlReader.next();
+            if (nodeType == END_ELEMENT) {
+                return;
+            }
+            else if (nodeType == START_ELEMENT && this.xmlReader.getLocalName().equalsIgnoreCase("c")) {
+                String address = this.xmlReader.getAttributeValue(null, "r");
+                // Cells without address are counted from the previous cell
+                long reference = address == null ? ReaderUtils.packCellReference(columnNumber + 1, this.rowNumber) : WorksheetReader.resolveCellReference(address);
+                columnNumber = ReaderUtils.getColumn(reference);
+                if (this.projection && !this.importOptions.isProjectedColumn(columnNumber)) {
+                    ReaderUtils.skipElement(this.xmlReader);
+                    continue;
+                }
+                this.cells.add(readCellElement(columnNumber, ReaderUtils.getRow(reference)));
+            }
+            else if (nodeType == START_ELEMENT) {
+                ReaderUtils.skipElement(this.xmlReader);
+            }
+        }
+    }
+
+    /**
+     * Reads a cell element and resolves its value. The parser is positioned on the end of the cell afterwards
+     *
+     * @param columnNumber Zero-based column number of the cell
+     * @param rowNumber    Zero-based row number of the cell
+     * @return Resolved cell
+     * @throws XMLStreamException Thrown in case of an error while parsing
+     */
+    private Cell readCellElement(int columnNumber, int rowNumber) throws XMLStreamException {
+        String type = this.xmlReader.getAttributeValue(null, "t");
+        String styleNumber = this.xmlReader.getAttributeValue(null, "s");
+        String value = "";
+        while (this.xmlReader.hasNext()) {
+            int nodeType = this.xmlReader.next();
+            if (nodeType == END_ELEMENT) {
+                break;
+            }
+            else if (nodeType == START_ELEMENT) {
+                String name = this.xmlReader.getLocalName();
+                if (name.equalsIgnoreCase("v") || name.equalsIgnoreCase("f")) {
+                    value = readInnerText();
+                }
+                else if (name.equalsIgnoreCase("is")) {
+                    // New lines are normalized like in shared strings
+                    value = readInlineString().replace("\r\n", "\n").replace("\n", "\r\n");
+                }
+                else {
+                    ReaderUtils.skipElement(this.xmlReader);
+                }
+            }
+        }
+        return this.worksheetReader.resolveCellData(value, type, styleNumber, columnNumber, rowNumber);
+    }
+
+    /**
+     * Reads the text of an inline string, including all runs of a rich text. Phonetic runs are ignored
+     *
+     * @return Text of the inline string
+     * @throws XMLStreamException Thrown in case of an error while parsing
+     */
+    private String readInlineString() throws XMLStreamException {
+        StringBuilder sb = new StringBuilder();
+        while (this.xmlReader.hasNext()) {
+            int nodeType = this.xmlReader.next();
+            if (nodeType == END_ELEMENT && this.xmlReader.getLocalName().equalsIgnoreCase("is")) {
+                break;
+            }
+            else if (nodeType == START_ELEMENT) {
+                String name = this.xmlReader.getLocalName();
+                if (name.equalsIgnoreCase("t")) {
+                    sb.append(readInnerText());
+                }
+                else if (!name.equalsIgnoreCase("r")) {
+                    ReaderUtils.skipElement(this.xmlReader);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reads the text of the current element, without the text of nested elements. The parser is positioned on the end
+     * of the element afterwards
+     *
+     * @return Text of the element
+     * @throws XMLStreamException Thrown in case of an error while parsing
+     */
+    private String readInnerText() throws XMLStreamException {
+        this.text.setLength(0);
+        while (this.xmlReader.hasNext()) {
+            int nodeType = this.xmlReader.next();
+            if (nodeType == CHARACTERS || nodeType == CDATA) {
+                this.text.append(this.xmlReader.getTextCharacters(), this.xmlReader.getTextStart(), this.xmlReader.getTextLength());
+            }
+            else if (nodeType == START_ELEMENT) {
+                ReaderUtils.skipElement(this.xmlReader);
+            }
+            else if (nodeType == END_ELEMENT) {
+                break;
+            }
+        }
+        return this.text.toString();
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import ch.rabanti.nanoxlsx4j.Cell;
+import ch.rabanti.nanoxlsx4j.Column;
+import ch.rabanti.nanoxlsx4j.SaveOptions;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.Worksheet;
+import ch.rabanti.nanoxlsx4j.exceptions.IOException;
+import ch.rabanti.nanoxlsx4j.styles.Style;
+import ch.rabanti.nanoxlsx4j.styles.StyleManager;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class for the low level handling of streamed workbooks. The worksheets are written row by row directly into the
+ * output, whereas all other parts (shared strings, styles, workbook, metadata) are written when the workbook is
+ * finished<br> This class is only for internal use. Use the high level API (class StreamingWorkbook) to write
+ * streamed Excel files.
+ *
+ * @author Raphael Stoeckli
+ */
+public class StreamingXlsxWriter {
+
+    // ### P R I V A T E F I E L D S ###
+    private final StringBuilder buffer;
+    private final Packer packer;
+    private final Map<Style, Style> resolvedStyles;
+    private final StyleManager styles;
+    private final Packer.Relationship workbookRelationship;
+    private final XlsxWriter xlsxWriter;
+    private Worksheet currentWorksheet;
+    private Writer currentWriter;
+    private boolean finished;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Constructor with workbook and target stream. The stream is opened immediately
+     *
+     * @param workbook Workbook that holds the worksheets (without cells) and the metadata of the streamed workbook
+     * @param stream   Stream to write the workbook into
+     */
+    public StreamingXlsxWriter(Workbook workbook, OutputStream stream) {
+        this(workbook, stream, null);
+    }
+
+    /**
+     * Constructor with workbook, target stream and save options. The stream is opened immediately
+     *
+     * @param workbook    Workbook that holds the worksheets (without cells) and the metadata of the streamed workbook
+     * @param stream      Stream to write the workbook into
+     * @param saveOptions Options to save the workbook. The executor is not used in the streamed mode. If null, the
+     *                    default options are used
+     */
+    public StreamingXlsxWriter(Workbook workbook, OutputStream stream, SaveOptions saveOptions) {
+        this.xlsxWriter = new XlsxWriter(workbook, saveOptions);
+        this.styles = StyleManager.createWithDefaultStyles();
+        this.xlsxWriter.setStyles(this.styles);
+        this.packer = this.xlsxWriter.createPacker();
+        this.workbookRelationship = this.xlsxWriter.createRelationships(this.packer);
+        this.resolvedStyles = new IdentityHashMap<>();
+        this.buffer = new StringBuilder();
+        this.packer.open(stream);
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Resolves the passed style into a managed style of the streamed workbook. The internal ID of a managed style is
+     * stable as soon as it was resolved, since new styles are always appended to the style sheet
+     *
+     * @param style Style to resolve
+     * @return Managed style that can be assigned (unmanaged) to a cell or column
+     * @apiNote The passed style must not be modified after it was resolved, since the resolved style is cached
+     */
+    public Style resolveStyle(Style style) {
+        Style resolved = this.resolvedStyles.get(style);
+        if (resolved == null) {
+            // A copy has no internal ID, thus it is appended and the IDs of all previous styles remain unchanged
+            resolved = this.styles.addStyle(style.copyStyle());
+            this.resolvedStyles.put(style, resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Begins a new worksheet part. All column definitions of the worksheet must be defined at this point. A previous
+     * worksheet that was not ended yet will be ended
+     *
+     * @param worksheet Worksheet to write (without cells)
+     * @throws IOException Thrown in case of an error while writing
+     */
+    public void beginWorksheet(Worksheet worksheet) throws IOException {
+        checkNotFinished();
+        endWorksheet();
+        for (Column column : worksheet.getColumns().values()) {
+            if (column.getDefaultColumnStyle() != null) {
+                column.setDefaultColumnStyle(resolveStyle(column.getDefaultColumnStyle()), true);
+            }
+        }
+        String path = XlsxWriter.getWorksheetPath(worksheet);
+        this.currentWriter = this.packer.openPart(path, XlsxWriter.WORKSHEET_CONTENT_TYPE);
+        this.workbookRelationship.addRelationshipEntry("/" + path, XlsxWriter.WORKSHEET_RELATIONSHIP_TYPE);
+        this.currentWorksheet = worksheet;
+        this.xlsxWriter.appendWorksheetStart(worksheet, this.buffer);
+    }
+
+    /**
+     * Writes a row into the current worksheet part. The types and styles of the cells must already be resolved (see
+     * {@link #resolveStyle(Style)}). Rows must be written in ascending order
+     *
+     * @param rowNumber Row number (zero-based)
+     * @param cells     Cells of the row, sorted by column number. The list can be empty if the row only has a defined
+     *                  height or hidden state
+     * @throws IOException Thrown in case of an error while writing or if no worksheet was begun
+     */
+    public void writeRow(int rowNumber, List<Cell> cells) throws IOException {
+        if (this.currentWorksheet == null) {
+            throw new IOException("The row " + (rowNumber + 1) + " cannot be written because no worksheet was begun");
+        }
+        XlsxWriter.DynamicRow row = new XlsxWriter.DynamicRow();
+        row.setRowNumber(rowNumber);
+        row.getCellDefinitions().addAll(cells);
+        this.buffer.append(this.xlsxWriter.createRowString(row, this.currentWorksheet, false));
+        try {
+            this.xlsxWriter.flushBuffer(this.buffer, this.currentWriter, false);
+        }
+        catch (Exception e) {
+            throw new IOException("There was an error while writing the row " + (rowNumber + 1) + ". Please see the inner exception.", e);
+        }
+    }
+
+    /**
+     * Ends the current worksheet part, if one was begun
+     *
+     * @throws IOException Thrown in case of an error while writing
+     */
+    public void endWorksheet() throws IOException {
+        if (this.currentWorksheet == null) {
+            return;
+        }
+        this.xlsxWriter.appendWorksheetEnd(this.currentWorksheet, this.buffer);
+        try {
+            this.xlsxWriter.flushBuffer(this.buffer, this.currentWriter, true);
+        }
+        catch (Exception e) {
+            throw new IOException("There was an error while writing the worksheet " + this.currentWorksheet.getSheetName() + ". Please see the inner exception.", e);
+        }
+        this.currentWorksheet = null;
+        this.currentWriter = null;
+    }
+
+    /**
+     * Finishes the workbook. The current worksheet is ended and all remaining parts are written. The stream is closed
+     * afterwards
+     *
+     * @throws IOException Thrown in case of an error while writing
+     */
+    public void finish() throws IOException {
+        checkNotFinished();
+        endWorksheet();
+        this.finished = true;
+        this.xlsxWriter.addWorkbookParts(this.packer, this.workbookRelationship);
+        this.packer.close();
+    }
+
+    /**
+     * Gets whether the workbook was already finished
+     *
+     * @return True if finished, otherwise false
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Checks whether the workbook was not finished yet
+     *
+     * @throws IOException Thrown if the workbook was already finished
+     */
+    private void checkNotFinished() throws IOException {
+        if (this.finished) {
+            throw new IOException("The streamed workbook was already finished");
+        }
+    }
+
+}
@@ -15,7 +15,10 @@ import ch.rabanti.nanoxlsx4j.Range;
 import ch.rabanti.nanoxlsx4j.Worksheet;
 import ch.rabanti.nanoxlsx4j.exceptions.WorksheetException;
 import ch.rabanti.nanoxlsx4j.styles.Style;
+import ch.rabanti.nanoxlsx4j.styles.StyleRepository;
 
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigDecimal;
@@ -36,6 +39,8 @@ import java.util.Map;
 
 import static ch.rabanti.nanoxlsx4j.Cell.CellType.DATE;
 import static ch.rabanti.nanoxlsx4j.Cell.CellType.TIME;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 
 /**
  * Class representing a reader for worksheets of XLSX files
@@ -45,16 +50,19 @@ import static ch.rabanti.nanoxlsx4j.Cell.CellType.TIME;
 public class WorksheetReader {
 
     private static final double ZERO_THRESHOLD = 0.000001d;
-    private static final Calendar CALENDAR = Calendar.getInstance();
-    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.#########");
 
-    private final Map<String, Cell> data;
+    // Formatters are not thread-safe, thus each reader has its own instances
+    private final Calendar calendar = Calendar.getInstance();
+    private final DecimalFormat decimalFormat = new DecimalFormat("#.#########");
+    private final SimpleDateFormat dateFormatter;
+
+    private final List<Cell> data;
     private final SharedStringsReader sharedStrings;
-    private final Map<String, String> styleAssignment = new HashMap<>();
     private final ImportOptions importOptions;
     private List<String> dateStyles;
     private List<String> timeStyles;
     private Map<String, Style> resolvedStyles;
+    private boolean registeredStyles;
     private Range autoFilterRange = null;
     private final List<Column> columns = new ArrayList<>();
     private Float defaultColumnWidth;
@@ -73,23 +81,15 @@ public class WorksheetReader {
     private final Map<Worksheet.SheetViewType, Integer> zoomFactors = new HashMap<>();
 
     /**
-     * Gets the data of the worksheet as Hashmap of cell address-cell object tuples
+     * Gets the cells of the worksheet with resolved values and styles, in the order of the worksheet part (ascending
+     * rows). If a cell is defined more than once, the last definition is valid
      *
-     * @return Hashmap of cell address-cell object tuples
+     * @return List of cells
      */
-    public Map<String, Cell> getData() {
+    public List<Cell> getData() {
         return data;
     }
 
-    /**
-     * Gets the assignment of resolved styles to cell addresses
-     *
-     * @return Map of cell address-style number tuples
-     */
-    public Map<String, String> getStyleAssignment() {
-        return styleAssignment;
-    }
-
     /**
      * gets the auto filter range
      *
@@ -235,6 +235,15 @@ public class WorksheetReader {
         return zoomFactors;
     }
 
+    /**
+     * Gets the import options of the reader
+     *
+     * @return Import options or null if not defined
+     */
+    ImportOptions getImportOptions() {
+        return importOptions;
+    }
+
     /**
      * Constructor with parameters and import options
      *
@@ -242,14 +251,18 @@ public class WorksheetReader {
      * @param styleReaderContainer Resolved styles, used to determine dates or times
      */
     public WorksheetReader(SharedStringsReader sharedStrings, StyleReaderContainer styleReaderContainer, ImportOptions options) {
-        this.data = new HashMap<>();
+        this.data = new ArrayList<>();
         this.sharedStrings = sharedStrings;
         this.importOptions = options;
+        this.dateFormatter = options == null || options.getDateFormatter() == null ? null : (SimpleDateFormat) options.getDateFormatter().clone();
         processStyles(styleReaderContainer);
     }
 
     /**
-     * Determine which of the resolved styles are either to define a time or a date. Stores also the styles into a map
+     * Determine which of the resolved styles are either to define a time or a date. Stores also the styles into a map.
+     * If the worksheets are read in parallel, the styles are added to the style repository in advance (on the calling
+     * thread), thus the worksheet can be read on another thread. Otherwise, only the styles that are assigned to cells or
+     * columns are added to the repository
      *
      * @param styleReaderContainer Resolved styles from the style reader
      */
@@ -257,6 +270,7 @@ public class WorksheetReader {
         this.dateStyles = new ArrayList<>();
         this.timeStyles = new ArrayList<>();
         this.resolvedStyles = new HashMap<>();
+        this.registeredStyles = importOptions != null && importOptions.isParallel();
         for (int i = 0; i < styleReaderContainer.getStyleCount(); i++) {
             String index = Integer.toString(i);
             StyleReaderContainer.StyleResult result = styleReaderContainer.evaluateDateTimeStyle(i);
@@ -266,7 +280,12 @@ public class WorksheetReader {
             if (result.isTimeStyle()) {
                 this.timeStyles.add(index);
             }
-            resolvedStyles.put(index, result.getResult());
+            if (registeredStyles) {
+                resolvedStyles.put(index, StyleRepository.getInstance().addStyle(result.getResult()));
+            }
+            else {
+                resolvedStyles.put(index, result.getResult());
+            }
         }
     }
 
@@ -280,23 +299,8 @@ public class WorksheetReader {
         data.clear();
         try {
             XmlDocument xr = new XmlDocument();
-            xr.load(stream);
-            XmlDocument.XmlNodeList rows = xr.getDocumentElement().getElementsByTagName("row", true);
-            for (int i = 0; i < rows.size(); i++) {
-                XmlDocument.XmlNode row = rows.get(i);
-                String rowAttribute = row.getAttribute("r");
-                if (rowAttribute != null) {
-                    String hiddenAttribute = row.getAttribute("hidden");
-                    RowDefinition.addRowDefinition(this.rows, rowAttribute, null, hiddenAttribute);
-                    String heightAttribute = row.getAttribute("ht");
-                    RowDefinition.addRowDefinition(this.rows, rowAttribute, heightAttribute, null);
-                }
-                if (row.hasChildNodes()) {
-                    for (XmlDocument.XmlNode rowChild : row.getChildNodes()) {
-                        readCell(rowChild);
-                    }
-                }
-            }
+            // The rows are read while the worksheet is parsed, thus they are never loaded into the document
+            xr.load(stream, "sheetData", this::readSheetData);
             getSheetView(xr);
             getMergedCells(xr);
             getSheetFormats(xr);
@@ -314,6 +318,81 @@ public class WorksheetReader {
         }
     }
 
+    /**
+     * Reads the rows of the sheet data directly from the XML stream. Rows and cells that are not projected by the
+     * import options are skipped by the parser without being loaded. Once the last projected row was passed, all
+     * remaining rows are skipped as well
+     *
+     * @param reader XML stream reader, positioned on the start of the sheet data
+     * @throws XMLStreamException Thrown in case of an error while parsing
+     */
+    private void readSheetData(XMLStreamReader reader) throws XMLStreamException {
+        boolean projection = importOptions != null && importOptions.hasProjection();
+        boolean lastRowPassed = false;
+        int rowNumber = -1;
+        while (reader.hasNext()) {
+            int nodeType = reader.next();
+            if (nodeType == END_ELEMENT) {
+                return;
+            }
+            else if (nodeType != START_ELEMENT) {
+                continue;
+            }
+            if (lastRowPassed || !reader.getLocalName().equals("row")) {
+                ReaderUtils.skipElement(reader);
+                continue;
+            }
+            String rowAttribute = reader.getAttributeValue(null, "r");
+            if (projection) {
+                // Rows without number are counted from the previous row
+                rowNumber = rowAttribute == null ? rowNumber + 1 : Integer.parseInt(rowAttribute) - 1;
+                if (rowNumber > importOptions.getLastProjectedRow()) {
+                    lastRowPassed = true; // Rows are ordered ascending
+                    ReaderUtils.skipElement(reader);
+                    continue;
+                }
+                else if (!importOptions.isProjectedRow(rowNumber)) {
+                    ReaderUtils.skipElement(reader);
+                    continue;
+                }
+            }
+            readRow(reader, rowAttribute, projection);
+        }
+    }
+
+    /**
+     * Reads a row and its cells from the XML stream. The reader is positioned on the end of the row afterwards
+     *
+     * @param reader       XML stream reader, positioned on the start of the row
+     * @param rowAttribute Row number of the row (one-based), or null if not defined
+     * @param projection   If true, cells are skipped if their column is not projected by the import options
+     * @throws XMLStreamException Thrown in case of an error while parsing
+     */
+    private void readRow(XMLStreamReader reader, String rowAttribute, boolean projection) throws XMLStreamException {
+        if (rowAttribute != null) {
+            String hiddenAttribute = reader.getAttributeValue(null, "hidden");
+            RowDefinition.addRowDefinition(this.rows, rowAttribute, null, hiddenAttribute);
+            String heightAttribute = reader.getAttributeValue(null, "ht");
+            RowDefinition.addRowDefinition(this.rows, rowAttribute, heightAttribute, null);
+        }
+        while (reader.hasNext()) {
+            int nodeType = reader.next();
+            if (nodeType == END_ELEMENT) {
+                return;
+            }
+            else if (nodeType == START_ELEMENT) {
+                if (projection && reader.getLocalName().equalsIgnoreCase("c")) {
+                    String address = reader.getAttributeValue(null, "r");
+                    if (address != null && !importOptions.isProjectedColumn(ReaderUtils.getColumn(resolveCellReference(address)))) {
+                        ReaderUtils.skipElement(reader);
+                        continue;
+                    }
+                }
+                readCell(XmlDocument.XmlNode.loadXmlNode(reader));
+            }
+        }
+    }
+
     /**
      * Gets the selected cells of the current worksheet
      *
@@ -599,7 +678,7 @@ public class WorksheetReader {
                 column.setWidth(getValidatedWidth(width));
                 column.setHidden(hidden);
                 if (defaultStyle != null) {
-                    column.setDefaultColumnStyle(defaultStyle);
+                    column.setDefaultColumnStyle(defaultStyle, registeredStyles);
                 }
                 this.columns.add(column);
             }
@@ -614,10 +693,10 @@ public class WorksheetReader {
     private void readCell(XmlDocument.XmlNode rowChild) {
         String type = "s";
         String styleNumber = "";
-        String address = "A1";
+        long reference = 0; // A1
         String value = "";
         if (rowChild.getName().equalsIgnoreCase("c")) {
-            address = rowChild.getAttribute("r"); // Mandatory
+            reference = resolveCellReference(rowChild.getAttribute("r")); // Mandatory
             type = rowChild.getAttribute("t"); // can be null if not existing
             styleNumber = rowChild.getAttribute("s"); // can be null
             if (rowChild.hasChildNodes()) {
@@ -630,18 +709,43 @@ public class WorksheetReader {
                     }
                     if (valueNode.getName().equalsIgnoreCase("is")) {
                         if (valueNode.getChildNodes().hasNext()) {
-                            value = valueNode.getChildNodes().next().getInnerText();
+                            // New lines are normalized like in shared strings
+                            value = valueNode.getChildNodes().next().getInnerText().replace("\r\n", "\n").replace("\n", "\r\n");
                         }
                     }
                 }
             }
         }
-        String key = address.toUpperCase();
-        styleAssignment.put(key, styleNumber);
-        data.put(key, resolveCellData(value, type, styleNumber, address));
+        data.add(resolveCellData(value, type, styleNumber, ReaderUtils.getColumn(reference), ReaderUtils.getRow(reference)));
     }
 
-    private Cell resolveCellData(String raw, String type, String styleNumber, String address) {
+    /**
+     * Resolves the packed column and row number of a cell reference. Malformed references, that cannot be resolved by
+     * the scanner, are resolved by the regular address parser, which throws a descriptive exception
+     *
+     * @param address Cell reference (e.g. 'A1')
+     * @return Packed cell reference (see {@link ReaderUtils#resolveCellReference(String)})
+     */
+    static long resolveCellReference(String address) {
+        long reference = ReaderUtils.resolveCellReference(address);
+        if (reference < 0) {
+            Address cellAddress = Cell.resolveCellCoordinate(address);
+            reference = ReaderUtils.packCellReference(cellAddress.Column, cellAddress.Row);
+        }
+        return reference;
+    }
+
+    /**
+     * Resolves the value and type of a cell from its raw XML values, according to the styles and import options
+     *
+     * @param raw         Raw value of the cell (value, formula or inline string)
+     * @param type        Type attribute of the cell (can be null)
+     * @param styleNumber Style number of the cell (can be null)
+     * @param column      Zero-based column number of the cell
+     * @param row         Zero-based row number of the cell
+     * @return Resolved cell
+     */
+    Cell resolveCellData(String raw, String type, String styleNumber, int column, int row) {
         Cell.CellType importedType = Cell.CellType.DEFAULT;
         Object rawValue;
         if (checkType(type, "b")) {
@@ -690,20 +794,19 @@ public class WorksheetReader {
             importedType = Cell.CellType.STRING;
             rawValue = raw;
         }
-        Address cellAddress = new Address(address);
         if (importOptions != null) {
             if (importOptions.getEnforcedColumnTypes().size() > 0) {
-                rawValue = getEnforcedColumnValue(rawValue, importedType, cellAddress);
+                rawValue = getEnforcedColumnValue(rawValue, importedType, column, row);
             }
-            rawValue = getGloballyEnforcedValue(rawValue, cellAddress);
-            rawValue = getGloballyEnforcedFlagValues(rawValue, cellAddress);
+            rawValue = getGloballyEnforcedValue(rawValue, row);
+            rawValue = getGloballyEnforcedFlagValues(rawValue, row);
             importedType = resolveType(rawValue, importedType);
             if (importedType == Cell.CellType.DATE && rawValue instanceof Date && ((Date) rawValue).getTime() < Helper.FIRST_ALLOWED_EXCEL_DATE.getTime()) {
                 // Fix conversion from time to date, where time has no days
                 rawValue = addTemporalUnits((Date) rawValue, 1, 0, 0, 0);
             }
         }
-        return createCell(rawValue, importedType, cellAddress, styleNumber);
+        return createCell(rawValue, importedType, column, row, styleNumber);
     }
 
     private boolean checkType(String type, String expectation) {
@@ -747,8 +850,8 @@ public class WorksheetReader {
         }
     }
 
-    private Object getGloballyEnforcedFlagValues(Object data, Address address) {
-        if (address.Row < importOptions.getEnforcingStartRowNumber()) {
+    private Object getGloballyEnforcedFlagValues(Object data, int row) {
+        if (row < importOptions.getEnforcingStartRowNumber()) {
             return data;
         }
         if (importOptions.isEnforceDateTimesAsNumbers()) {
@@ -767,8 +870,8 @@ public class WorksheetReader {
         return data;
     }
 
-    private Object getGloballyEnforcedValue(Object data, Address address) {
-        if (address.Row < importOptions.getEnforcingStartRowNumber()) {
+    private Object getGloballyEnforcedValue(Object data, int row) {
+        if (row < importOptions.getEnforcingStartRowNumber()) {
             return data;
         }
         if (importOptions.getGlobalEnforcingType().equals(ImportOptions.GlobalType.AllNumbersToDouble)) {
@@ -795,17 +898,17 @@ public class WorksheetReader {
         return data;
     }
 
-    private Object getEnforcedColumnValue(Object data, Cell.CellType importedTyp, Address address) {
-        if (address.Row < importOptions.getEnforcingStartRowNumber()) {
+    private Object getEnforcedColumnValue(Object data, Cell.CellType importedTyp, int column, int row) {
+        if (row < importOptions.getEnforcingStartRowNumber()) {
             return data;
         }
-        if (!importOptions.getEnforcedColumnTypes().containsKey(address.Column)) {
+        if (!importOptions.getEnforcedColumnTypes().containsKey(column)) {
             return data;
         }
         if (importedTyp == Cell.CellType.FORMULA) {
             return data;
         }
-        switch (importOptions.getEnforcedColumnTypes().get(address.Column)) {
+        switch (importOptions.getEnforcedColumnTypes().get(column)) {
             case Numeric:
                 return getNumericValue(data, importedTyp);
             case BigDecimal:
@@ -929,7 +1032,7 @@ public class WorksheetReader {
             if (dValue != null) {
                 return dValue;
             }
-            Date tempDate = tryParseDate(tempString, importOptions);
+            Date tempDate = tryParseDate(tempString, dateFormatter);
             if (tempDate != null) {
                 return BigDecimal.valueOf(Helper.getOADate(tempDate));
             }
@@ -993,7 +1096,7 @@ public class WorksheetReader {
             return convertDateFromDouble(data);
         }
         else if (String.class.equals(cls)) {
-            Date date2 = tryParseDate((String) data, importOptions.getDateFormatter());
+            Date date2 = tryParseDate((String) data, dateFormatter);
             if (date2 != null) {
                 return date2;
             }
@@ -1072,19 +1175,15 @@ public class WorksheetReader {
             // fallback to number (cannot be anything else)
             return new Result<>(getNumericValue(raw), Cell.CellType.NUMBER);
         }
-        Date tempDate = Helper.getDateFromOA(dValue);
-        if (dValue < 1.0) {
-            tempDate = addTemporalUnits(tempDate, 1, 0, 0, 0); // Modify wrong 1st date when < 1
-        }
         if (valueType == Cell.CellType.DATE) {
+            Date tempDate = Helper.getDateFromOA(dValue);
+            if (dValue < 1.0) {
+                tempDate = addTemporalUnits(tempDate, 1, 0, 0, 0); // Modify wrong 1st date when < 1
+            }
             return new Result<>(tempDate, DATE);
         }
         else {
-            CALENDAR.setTime(tempDate);
-            return new Result<>(
-                    Helper.createDuration(dValue.intValue(), CALENDAR.get(Calendar.HOUR_OF_DAY), CALENDAR.get(Calendar.MINUTE), CALENDAR.get(Calendar.SECOND)),
-                    TIME
-            );
+            return new Result<>(Helper.getTimeFromOA(dValue), TIME);
         }
     }
 
@@ -1104,9 +1203,7 @@ public class WorksheetReader {
         if (oaDate instanceof Double) {
             double d = (Double) oaDate;
             if (d >= Helper.MIN_OADATE_VALUE && d <= Helper.MAX_OADATE_VALUE) {
-                Date date = Helper.getDateFromOA(d);
-                CALENDAR.setTime(date);
-                return Helper.createDuration((int) d, CALENDAR.get(Calendar.HOUR_OF_DAY), CALENDAR.get(Calendar.MINUTE), CALENDAR.get(Calendar.SECOND));
+                return Helper.getTimeFromOA(d);
             }
         }
         return data;
@@ -1150,7 +1247,7 @@ public class WorksheetReader {
             return ((Boolean) data).toString();
         }
         else if (Date.class.equals(cls)) {
-            return importOptions.getDateFormatter().format((Date) data);
+            return dateFormatter.format((Date) data);
         }
         else if (Duration.class.equals(cls)) {
             TimeComponent t = new TimeComponent((int) ((Duration) data).toSeconds());
@@ -1172,7 +1269,7 @@ public class WorksheetReader {
                 if (tempObject != null) {
                     return tempObject;
                 }
-                Date tempDate = tryParseDate(tempString, importOptions);
+                Date tempDate = tryParseDate(tempString, dateFormatter);
                 if (tempDate != null) {
                     return Helper.getOADate(tempDate);
                 }
@@ -1231,21 +1328,21 @@ public class WorksheetReader {
         }
     }
 
-    private static Date addTemporalUnits(Date root, int days, int hours, int minutes, int seconds) {
-        CALENDAR.setTime(root);
+    private Date addTemporalUnits(Date root, int days, int hours, int minutes, int seconds) {
+        calendar.setTime(root);
         if (days != 0) {
-            CALENDAR.add(Calendar.DATE, days);
+            calendar.add(Calendar.DATE, days);
         }
         if (hours != 0) {
-            CALENDAR.add(Calendar.HOUR, hours);
+            calendar.add(Calendar.HOUR, hours);
         }
         if (minutes != 0) {
-            CALENDAR.add(Calendar.MINUTE, minutes);
+            calendar.add(Calendar.MINUTE, minutes);
         }
         if (seconds != 0) {
-            CALENDAR.add(Calendar.SECOND, seconds);
+            calendar.add(Calendar.SECOND, seconds);
         }
-        return CALENDAR.getTime();
+        return calendar.getTime();
     }
 
     private static Double tryParseDouble(String raw) {
@@ -1277,10 +1374,10 @@ public class WorksheetReader {
      * @param value Raw string value
      * @return Decimal with either a float or double value
      */
-    private static Number tryParseDecimal(String value) {
+    private Number tryParseDecimal(String value) {
         try {
             double d = Double.parseDouble(value);
-            String[] dString = DECIMAL_FORMAT.format(d).split("\\.");
+            String[] dString = decimalFormat.format(d).split("\\.");
             int numberOfDigits = 0;
             if (dString.length == 2) {
                 numberOfDigits = dString[1].length();
@@ -1379,42 +1476,20 @@ public class WorksheetReader {
         }
     }
 
-    /**
-     * Tris to parse a Date instance from a string
-     *
-     * @param raw     String to parse
-     * @param options Import options to take the parsing patterns of
-     * @return LocalTime instance or null if not possible to parse
-     */
-    private static Date tryParseDate(String raw, ImportOptions options) {
-        try {
-            if (options != null && options.getDateFormatter() != null) {
-                Date date = options.getDateFormatter().parse(raw);
-                long d = date.getTime();
-                if (d >= Helper.FIRST_ALLOWED_EXCEL_DATE.getTime() && d <= Helper.LAST_ALLOWED_EXCEL_DATE.getTime()) {
-                    return date;
-                }
-            }
-        }
-        catch (Exception ex) {
-            // Ignore
-        }
-        return null;
-    }
-
     /**
      * Creates a generic cell with style information
      *
      * @param value       value of the cell
      * @param type        Cell type
-     * @param address     Cell address
+     * @param column      Zero-based column number of the cell
+     * @param row         Zero-based row number of the cell
      * @param styleNumber Style number of the cell
      * @return Resolved cell
      */
-    private Cell createCell(Object value, Cell.CellType type, Address address, String styleNumber) {
-        Cell cell = new Cell(value, type, address);
+    private Cell createCell(Object value, Cell.CellType type, int column, int row, String styleNumber) {
+        Cell cell = new Cell(value, type, column, row);
         if (styleNumber != null && resolvedStyles.containsKey(styleNumber)) {
-            cell.setStyle(resolvedStyles.get(styleNumber));
+            cell.setStyle(resolvedStyles.get(styleNumber), registeredStyles);
         }
         return cell;
     }
@@ -10,23 +10,27 @@ import ch.rabanti.nanoxlsx4j.Cell;
 import ch.rabanti.nanoxlsx4j.Column;
 import ch.rabanti.nanoxlsx4j.Helper;
 import ch.rabanti.nanoxlsx4j.ImportOptions;
+import ch.rabanti.nanoxlsx4j.MetricsListener;
 import ch.rabanti.nanoxlsx4j.Range;
 import ch.rabanti.nanoxlsx4j.Workbook;
 import ch.rabanti.nanoxlsx4j.Worksheet;
+import ch.rabanti.nanoxlsx4j.exceptions.FormatException;
 import ch.rabanti.nanoxlsx4j.exceptions.IOException;
 import ch.rabanti.nanoxlsx4j.exceptions.WorksheetException;
-import ch.rabanti.nanoxlsx4j.styles.Style;
 import ch.rabanti.nanoxlsx4j.styles.StyleRepository;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
-import java.util.zip.ZipInputStream;
 
 /**
  * Class representing a reader to decompile XLSX files
@@ -37,12 +41,18 @@ public class XlsxReader {
 
     private String filePath;
     private InputStream inputStream;
-    private ByteArrayInputStream memoryStream;
+    private ZipIndex zipIndex;
     private final Map<Integer, WorksheetReader> worksheets;
     private WorkbookReader workbook;
     private MetaDataReader metaDataReader;
     private final ImportOptions importOptions;
     private StyleReaderContainer styleReaderContainer;
+    private SharedStringsReader sharedStrings;
+    private Map<Integer, String> worksheetPaths;
+    private final MetricsListener metricsListener;
+    private long startTime;
+    private CountingInputStream currentPart;
+    private int sharedStringCount;
 
     /**
      * Constructor with stream and import options as parameter
@@ -55,6 +65,7 @@ public class XlsxReader {
         this.worksheets = new HashMap<>();
         this.inputStream = stream;
         this.importOptions = options;
+        this.metricsListener = options == null ? null : options.getMetricsListener();
     }
 
     /**
@@ -68,6 +79,7 @@ public class XlsxReader {
         this.filePath = path;
         this.worksheets = new HashMap<>();
         this.importOptions = options;
+        this.metricsListener = options == null ? null : options.getMetricsListener();
     }
 
     /**
@@ -97,24 +109,27 @@ public class XlsxReader {
         InputStream is = null;
 
         try {
-            ZipEntry comparison;
+            long compressedSize = -1;
             if (file != null) {
-                comparison = file.getEntry(name);
-                is = file.getInputStream(comparison);
+                ZipEntry entry = file.getEntry(name);
+                is = file.getInputStream(entry);
+                compressedSize = entry.getCompressedSize();
             }
             else {
-                memoryStream.reset();
-                ZipInputStream zs = new ZipInputStream(memoryStream);
-                while ((comparison = zs.getNextEntry()) != null) {
-                    if (comparison.getName().equals(name)) {
-                        is = zs;
-                        break;
-                    }
+                // The central directory of the in-memory file is indexed once, thus each entry is read from its offset
+                ZipIndex.Entry entry = zipIndex.getEntry(name);
+                if (entry != null) {
+                    is = zipIndex.getInputStream(entry);
+                    compressedSize = entry.getCompressedSize();
                 }
             }
             if (is == null && throwExceptionIfAbsent) {
                 throw new IOException("The entry '" + name + "' is missing in the file");
             }
+            if (is != null && this.metricsListener != null) {
+                this.currentPart = new CountingInputStream(is, name, compressedSize);
+                return this.currentPart;
+            }
             return is;
         }
         catch (Exception ex) {
@@ -134,186 +149,353 @@ public class XlsxReader {
      */
     public void read() throws IOException, java.io.IOException {
         ZipFile zf = null;
+        boolean lazyLoading = importOptions != null && importOptions.isLazyLoading();
+        this.startTime = System.nanoTime();
+        if (this.metricsListener != null) {
+            this.metricsListener.operationStarted(MetricsListener.Operation.LOAD);
+        }
         try {
-            if (inputStream == null && !Helper.isNullOrEmpty(filePath)) {
-                zf = new ZipFile(this.filePath);
-            }
-            else if (inputStream != null) {
-                ByteArrayOutputStream os = new ByteArrayOutputStream();
-                byte[] buffer = new byte[1024];
-                for (int i = inputStream.read(buffer); i != -1; i = inputStream.read(buffer)) {
-                    os.write(buffer, 0, i);
-                }
-                inputStream.close();
-                memoryStream = new ByteArrayInputStream(os.toByteArray());
+            zf = openArchive();
+            readWorkbookParts(zf);
+            if (importOptions != null && importOptions.isParallel()) {
+                readWorksheetsParallel(zf, lazyLoading);
             }
             else {
-                throw new IOException("No valid stream or file path was provided to open");
-            }
-            InputStream stream;
-            SharedStringsReader sharedStrings = new SharedStringsReader(importOptions);
-            stream = getEntryStream("xl/sharedStrings.xml", zf, false);
-            if (stream != null) {
-                sharedStrings.read(stream);
-            }
-            StyleRepository.getInstance().setImportInProgress(true);
-            StyleReader styleReader = new StyleReader();
-            stream = getEntryStream("xl/styles.xml", zf);
-            styleReader.read(stream);
-            this.styleReaderContainer = styleReader.getStyleReaderContainer();
-            StyleRepository.getInstance().setImportInProgress(false);
-
-            this.workbook = new WorkbookReader();
-            stream = getEntryStream("xl/workbook.xml", zf);
-            this.workbook.read(stream);
-
-            metaDataReader = new MetaDataReader();
-            stream = getEntryStream("docProps/app.xml", zf, false);
-            if (stream != null) { // If null, no docProps/app.xml seems to be defined
-                this.metaDataReader.readAppData(stream);
-            }
-            stream = getEntryStream("docProps/core.xml", zf, false);
-            if (stream != null) { // If null, no docProps/core.xml seems to be defined
-                this.metaDataReader.readCoreData(stream);
-            }
-            int worksheetIndex = 1;
-            WorksheetReader wr;
-            String nameTemplate = "sheet" + worksheetIndex + ".xml";
-            String name = "xl/worksheets/" + nameTemplate; // default
-            RelationshipReader relationships = new RelationshipReader();
-            stream = getEntryStream("xl/_rels/workbook.xml.rels", zf);
-            relationships.read(stream);
-            for (Map.Entry<Integer, WorkbookReader.WorksheetDefinition> definition : workbook.getWorksheetDefinitions().entrySet()) {
-                Optional<RelationshipReader.RelationShip> relationship = relationships.getRelationships().stream().filter(r -> r.getId().equals(definition.getValue().getRelId())).findFirst();
-                if (relationship.isPresent()) {
-                    // relationship resolution
-                    name = relationship.get().getTarget();
+                long time = System.nanoTime();
+                int index = 0;
+                for (Map.Entry<Integer, String> worksheet : this.worksheetPaths.entrySet()) {
+                    String name = this.workbook.getWorksheetDefinitions().get(worksheet.getKey()).getWorksheetName();
+                    if (!lazyLoading || importOptions.isPreloadedWorksheet(name, index)) {
+                        InputStream stream = getEntryStream(worksheet.getValue(), zf);
+                        WorksheetReader wr = new WorksheetReader(sharedStrings, styleReaderContainer, importOptions);
+                        wr.read(stream);
+                        this.worksheets.put(worksheet.getKey(), wr);
+                        time = completePart(MetricsListener.Phase.WORKSHEETS, time);
+                    }
+                    index++;
                 }
-                stream = getEntryStream(name, zf);
-                wr = new WorksheetReader(sharedStrings, styleReaderContainer, importOptions);
-                wr.read(stream);
-                this.worksheets.put(definition.getKey(), wr);
-                // fallback resolution
-                worksheetIndex++;
-                nameTemplate = "sheet" + worksheetIndex + ".xml";
-                name = "xl/worksheets/" + nameTemplate;
             }
-            if (this.worksheets.isEmpty()) {
+            if (this.worksheetPaths.isEmpty()) {
                 throw new IOException("No worksheet was found in the workbook");
             }
         }
         catch (Exception ex) {
-            throw new IOException("There was an error while reading an XLSX file. Please see the inner exception:", ex);
+            IOException exception = new IOException("There was an error while reading an XLSX file. Please see the inner exception:", ex);
+            reportFailure(exception);
+            throw exception;
         }
         finally {
-            if (memoryStream != null) {
-                memoryStream.close();
+            if (!lazyLoading) {
+                // Lazily loaded worksheets are read from the in-memory file later
+                zipIndex = null;
+            }
+            if (zf != null) {
+                zf.close();
             }
         }
     }
 
     /**
-     * Resolves the workbook with all worksheets from the loaded file
+     * Reads the worksheet parts concurrently on the executor of the import options. The streams and the readers of the
+     * worksheets are created sequentially, thus the styles are added to the style repository in the order of the
+     * worksheets. Only the parsing of the parts is performed on the executor. The worksheets are collected in their
+     * original order, after all tasks are completed
      *
-     * @return Workbook object
+     * @param zf          Zip file or null if the XLSX file was read from a stream
+     * @param lazyLoading If true, only the preloaded worksheets are read
+     * @throws Exception Thrown in case of an error while reading a worksheet part
      */
-    public Workbook getWorkbook() {
-        Workbook wb = new Workbook(false);
-        wb.setImportState(true);
-        Worksheet ws;
-        for (Map.Entry<Integer, WorksheetReader> reader : this.worksheets.entrySet()) {
-            WorkbookReader.WorksheetDefinition definition = workbook.getWorksheetDefinitions().get(reader.getKey());
-            ws = new Worksheet(definition.getWorksheetName(), definition.getSheetId(), wb);
-            ws.setHidden(definition.isHidden());
-            ws.setViewType(reader.getValue().getViewType());
-            ws.setShowingGridLines(reader.getValue().isShowingGridLines());
-            ws.setShowingRowColumnHeaders(reader.getValue().isShowingRowColHeaders());
-            ws.setShowingRuler(reader.getValue().isShowingRuler());
-            ws.setZoomFactor(reader.getValue().getCurrentZoomScale());
-            for (Map.Entry<Worksheet.SheetViewType, Integer> zoomFactor : reader.getValue().getZoomFactors().entrySet()) {
-                ws.setZoomFactor(zoomFactor.getKey(), zoomFactor.getValue());
-            }
-            if (reader.getValue().getAutoFilterRange() != null) {
-                ws.setAutoFilter(reader.getValue().getAutoFilterRange().StartAddress.Column, reader.getValue().getAutoFilterRange().EndAddress.Column);
-            }
-            if (reader.getValue().getDefaultColumnWidth() != null) {
-                ws.setDefaultColumnWidth(reader.getValue().getDefaultColumnWidth());
-            }
-            if (reader.getValue().getDefaultRowHeight() != null) {
-                ws.setDefaultRowHeight(reader.getValue().getDefaultRowHeight());
-            }
-            if (reader.getValue().getSelectedCells() != null) {
-                for (Range range : reader.getValue().getSelectedCells()) {
-                    ws.addSelectedCells(range);
+    private void readWorksheetsParallel(ZipFile zf, boolean lazyLoading) throws Exception {
+        long time = System.nanoTime();
+        Map<Integer, CompletableFuture<WorksheetReader>> tasks = new LinkedHashMap<>();
+        List<CountingInputStream> parts = new ArrayList<>();
+        int index = 0;
+        for (Map.Entry<Integer, String> worksheet : this.worksheetPaths.entrySet()) {
+            String name = this.workbook.getWorksheetDefinitions().get(worksheet.getKey()).getWorksheetName();
+            if (!lazyLoading || importOptions.isPreloadedWorksheet(name, index)) {
+                InputStream stream = getEntryStream(worksheet.getValue(), zf);
+                if (this.currentPart != null) {
+                    parts.add(this.currentPart);
+                    this.currentPart = null;
                 }
+                WorksheetReader wr = new WorksheetReader(sharedStrings, styleReaderContainer, importOptions);
+                tasks.put(worksheet.getKey(), CompletableFuture.supplyAsync(() -> {
+                    try {
+                        wr.read(stream);
+                        return wr;
+                    }
+                    catch (Exception ex) {
+                        throw new CompletionException(ex);
+                    }
+                }, importOptions.getExecutor()));
             }
-            for (Range range : reader.getValue().getMergedCells()) {
-                ws.mergeCells(range);
+            index++;
+        }
+        // All tasks must be completed before the zip file is closed, even if one of them failed
+        join(CompletableFuture.allOf(tasks.values().toArray(new CompletableFuture<?>[0])));
+        for (Map.Entry<Integer, CompletableFuture<WorksheetReader>> task : tasks.entrySet()) {
+            this.worksheets.put(task.getKey(), task.getValue().join());
+        }
+        if (this.metricsListener != null) {
+            reportPhase(MetricsListener.Phase.WORKSHEETS, System.nanoTime() - time, null);
+            for (CountingInputStream part : parts) {
+                reportPhase(null, 0, part);
             }
-            for (Map.Entry<Worksheet.SheetProtectionValue, Integer> sheetProtection : reader.getValue().getWorksheetProtection().entrySet()) {
-                ws.getSheetProtectionValues().add(sheetProtection.getKey());
+        }
+    }
+
+    /**
+     * Waits for the completion of a task and rethrows the causing exception of a failed task
+     *
+     * @param task Task to wait for
+     * @param <T>  Type of the result
+     * @return Result of the task
+     * @throws Exception Causing exception if the task failed
+     */
+    private static <T> T join(CompletableFuture<T> task) throws Exception {
+        try {
+            return task.join();
+        }
+        catch (CompletionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
             }
-            if (!reader.getValue().getWorksheetProtection().isEmpty()) {
-                ws.setUseSheetProtection(true);
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens a single worksheet of the XLSX file to read its rows one after another, without loading the whole
+     * worksheet or workbook into memory. The shared strings, styles and the workbook definition are read in advance.
+     * The XLSX file remains open until the returned reader is closed
+     *
+     * @param worksheetName  Name of the worksheet or null to select the worksheet by its index
+     * @param worksheetIndex Zero-based index of the worksheet. The index is only considered if the name is null
+     * @return Row reader of the worksheet
+     * @throws IOException         Throws IOException in case of an error or if the worksheet was not found
+     * @throws java.io.IOException Throws IOException if the XLSX file could not be closed after an error
+     */
+    public StreamingXlsxReader openWorksheet(String worksheetName, int worksheetIndex) throws IOException, java.io.IOException {
+        ZipFile zf = null;
+        try {
+            zf = openArchive();
+            readWorkbookParts(zf);
+            String path = null;
+            int index = 0;
+            for (Map.Entry<Integer, String> worksheet : this.worksheetPaths.entrySet()) {
+                String name = this.workbook.getWorksheetDefinitions().get(worksheet.getKey()).getWorksheetName();
+                if (worksheetName == null ? index == worksheetIndex : worksheetName.equals(name)) {
+                    path = worksheet.getValue();
+                    break;
+                }
+                index++;
             }
-            if (!Helper.isNullOrEmpty(reader.getValue().getWorksheetProtectionHash())) {
-                ws.setSheetProtectionPasswordHash(reader.getValue().getWorksheetProtectionHash());
+            if (path == null) {
+                throw new IOException(worksheetName == null ? "No worksheet with the index " + worksheetIndex + " was found in the workbook" : "No worksheet with the name '" + worksheetName + "' was found in the workbook");
             }
-            for (Map.Entry<Integer, WorksheetReader.RowDefinition> row : reader.getValue().getRows().entrySet()) {
-                if (row.getValue().isHidden()) {
-                    ws.addHiddenRow(row.getKey());
-                }
-                if (row.getValue().getHeight() != null) {
-                    ws.setRowHeight(row.getKey(), getValidatedHeight(row.getValue().getHeight()));
-                }
+            WorksheetReader wr = new WorksheetReader(sharedStrings, styleReaderContainer, importOptions);
+            StreamingXlsxReader reader = new StreamingXlsxReader(getEntryStream(path, zf), zf, wr);
+            zf = null; // The file is closed by the row reader
+            return reader;
+        }
+        catch (IOException ex) {
+            throw ex;
+        }
+        catch (Exception ex) {
+            throw new IOException("There was an error while reading an XLSX file. Please see the inner exception:", ex);
+        }
+        finally {
+            zipIndex = null;
+            if (zf != null) {
+                zf.close();
             }
-            for (Column column : reader.getValue().getColumns()) {
-                if (column.getWidth() != Worksheet.DEFAULT_COLUMN_WIDTH) {
-                    ws.setColumnWidth(column.getColumnAddress(), column.getWidth());
-                }
-                if (column.isHidden()) {
-                    ws.addHiddenColumn(column.getNumber());
-                }
-                if (column.getDefaultColumnStyle() != null) {
-                    ws.setColumnDefaultStyle(column.getColumnAddress(), column.getDefaultColumnStyle());
-                }
+        }
+    }
+
+    /**
+     * Opens the XLSX file from the file path or copies the input stream into memory and indexes its entries
+     *
+     * @return Zip file or null if the XLSX file was read from a stream
+     * @throws IOException         Throws IOException if no valid source was provided
+     * @throws java.io.IOException Throws IOException in case of an error while opening or reading the source
+     */
+    private ZipFile openArchive() throws IOException, java.io.IOException {
+        ZipFile zf = null;
+        if (inputStream == null && !Helper.isNullOrEmpty(filePath)) {
+            zf = new ZipFile(this.filePath);
+        }
+        else if (inputStream != null) {
+            byte[] data = inputStream.readAllBytes();
+            inputStream.close();
+            zipIndex = new ZipIndex(data);
+            if (this.metricsListener != null) {
+                this.metricsListener.bufferPeak(MetricsListener.Operation.LOAD, MetricsListener.Buffer.ARCHIVE_BUFFER, data.length);
             }
-            for (Map.Entry<String, Cell> cell : reader.getValue().getData().entrySet()) {
-                if (reader.getValue().getStyleAssignment().containsKey(cell.getKey())) {
-                    Style style = styleReaderContainer.getStyle(reader.getValue().getStyleAssignment().get(cell.getKey()));
-                    if (style != null) {
-                        cell.getValue().setStyle(style);
-                    }
-                }
-                ws.addCell(cell.getValue(), cell.getKey());
+        }
+        else {
+            throw new IOException("No valid stream or file path was provided to open");
+        }
+        return zf;
+    }
+
+    /**
+     * Reads all parts beside the worksheets (shared strings, styles, workbook definition, metadata and relationships)
+     * and resolves the paths of the worksheet parts
+     *
+     * @param zf Zip file or null if the XLSX file was read from a stream
+     * @throws Exception Thrown in case of an error while reading a part
+     */
+    private void readWorkbookParts(ZipFile zf) throws Exception {
+        long time = completePart(MetricsListener.Phase.PACKING, this.startTime);
+        InputStream stream;
+        this.sharedStrings = new SharedStringsReader(importOptions);
+        stream = getEntryStream("xl/sharedStrings.xml", zf, false);
+        if (importOptions != null && importOptions.isParallel()) {
+            time = readSharedStringsAndStylesParallel(zf, stream, time);
+        }
+        else {
+            if (stream != null) {
+                sharedStrings.read(stream);
             }
-            if (reader.getValue().getPaneSplitValue() != null) {
-                WorksheetReader.PaneDefinition pane = reader.getValue().getPaneSplitValue();
-                if (pane.getFrozenState()) {
-                    if (pane.isYSplitDefined() && !pane.isXSplitDefined()) {
-                        ws.setHorizontalSplit(pane.getPaneSplitRowIndex(), pane.getFrozenState(), pane.getTopLeftCell(), pane.getActivePane());
-                    }
-                    if (!pane.isYSplitDefined() && pane.isXSplitDefined()) {
-                        ws.setVerticalSplit(pane.getPaneSplitColumnIndex(), pane.getFrozenState(), pane.getTopLeftCell(), pane.getActivePane());
-                    }
-                    else if (pane.isYSplitDefined() && pane.isXSplitDefined()) {
-                        ws.setSplit(
-                                pane
-                                        .getPaneSplitColumnIndex(), pane.getPaneSplitRowIndex(), pane.getFrozenState(), pane.getTopLeftCell(), pane.getActivePane()
-                        );
-                    }
+            this.sharedStringCount = sharedStrings.getCount();
+            time = completePart(MetricsListener.Phase.SHARED_STRINGS, time);
+            readStyles(zf);
+            time = completePart(MetricsListener.Phase.STYLES, time);
+        }
+
+        this.workbook = new WorkbookReader();
+        stream = getEntryStream("xl/workbook.xml", zf);
+        this.workbook.read(stream);
+        time = completePart(MetricsListener.Phase.DOCUMENTS, time);
+
+        metaDataReader = new MetaDataReader();
+        stream = getEntryStream("docProps/app.xml", zf, false);
+        if (stream != null) { // If null, no docProps/app.xml seems to be defined
+            this.metaDataReader.readAppData(stream);
+        }
+        time = completePart(MetricsListener.Phase.DOCUMENTS, time);
+        stream = getEntryStream("docProps/core.xml", zf, false);
+        if (stream != null) { // If null, no docProps/core.xml seems to be defined
+            this.metaDataReader.readCoreData(stream);
+        }
+        time = completePart(MetricsListener.Phase.DOCUMENTS, time);
+        RelationshipReader relationships = new RelationshipReader();
+        stream = getEntryStream("xl/_rels/workbook.xml.rels", zf);
+        relationships.read(stream);
+        completePart(MetricsListener.Phase.DOCUMENTS, time);
+        this.worksheetPaths = new LinkedHashMap<>();
+        int worksheetIndex = 1;
+        for (Map.Entry<Integer, WorkbookReader.WorksheetDefinition> definition : workbook.getWorksheetDefinitions().entrySet()) {
+            Optional<RelationshipReader.RelationShip> relationship = relationships.getRelationships().stream().filter(r -> r.getId().equals(definition.getValue().getRelId())).findFirst();
+            if (relationship.isPresent()) {
+                // relationship resolution
+                this.worksheetPaths.put(definition.getKey(), relationship.get().getTarget());
+            }
+            else {
+                // fallback resolution
+                this.worksheetPaths.put(definition.getKey(), "xl/worksheets/sheet" + worksheetIndex + ".xml");
+            }
+            worksheetIndex++;
+        }
+    }
+
+    /**
+     * Reads the shared strings on the executor of the import options, while the styles are read on the current thread
+     *
+     * @param zf                  Zip file or null if the XLSX file was read from a stream
+     * @param sharedStringsStream Stream of the shared strings part or null if not defined
+     * @param start               Start time of the phase in nanoseconds
+     * @return End time of the phase in nanoseconds, to be used as start time of the next phase
+     * @throws Exception Thrown in case of an error while reading the shared strings or the styles
+     */
+    private long readSharedStringsAndStylesParallel(ZipFile zf, InputStream sharedStringsStream, long start) throws Exception {
+        CountingInputStream sharedStringsPart = this.currentPart;
+        this.currentPart = null;
+        CompletableFuture<Long> sharedStringsTask;
+        if (sharedStringsStream == null) {
+            sharedStringsTask = CompletableFuture.completedFuture(0L);
+        }
+        else {
+            sharedStringsTask = CompletableFuture.supplyAsync(() -> {
+                try {
+                    sharedStrings.read(sharedStringsStream);
+                    return System.nanoTime() - start;
                 }
-                else {
-                    if (pane.isYSplitDefined() && !pane.isXSplitDefined()) {
-                        ws.setHorizontalSplit(pane.getPaneSplitHeight(), pane.getTopLeftCell(), pane.getActivePane());
-                    }
-                    if (!pane.isYSplitDefined() && pane.isXSplitDefined()) {
-                        ws.setVerticalSplit(pane.getPaneSplitWidth(), pane.getTopLeftCell(), pane.getActivePane());
-                    }
-                    else if (pane.isYSplitDefined() && pane.isXSplitDefined()) {
-                        ws.setSplit(pane.getPaneSplitWidth(), pane.getPaneSplitHeight(), pane.getTopLeftCell(), pane.getActivePane());
-                    }
+                catch (Exception ex) {
+                    throw new CompletionException(ex);
                 }
+            }, importOptions.getExecutor());
+        }
+        long stylesDuration;
+        try {
+            readStyles(zf);
+            stylesDuration = System.nanoTime() - start;
+        }
+        finally {
+            // The shared strings are read completely before the zip file is closed, even if the styles are invalid
+            sharedStringsTask.exceptionally(ex -> 0L).join();
+        }
+        long sharedStringsDuration = join(sharedStringsTask);
+        this.sharedStringCount = sharedStrings.getCount();
+        if (this.metricsListener != null) {
+            reportPhase(MetricsListener.Phase.SHARED_STRINGS, sharedStringsDuration, sharedStringsPart);
+            reportPhase(MetricsListener.Phase.STYLES, stylesDuration, this.currentPart);
+            this.currentPart = null;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Reads the styles of the XLSX file
+     *
+     * @param zf Zip file or null if the XLSX file was read from a stream
+     * @throws Exception Thrown in case of an error while reading the styles
+     */
+    private void readStyles(ZipFile zf) throws Exception {
+        StyleRepository.getInstance().setImportInProgress(true);
+        StyleReader styleReader = new StyleReader();
+        InputStream stream = getEntryStream("xl/styles.xml", zf);
+        styleReader.read(stream);
+        this.styleReaderContainer = styleReader.getStyleReaderContainer();
+        StyleRepository.getInstance().setImportInProgress(false);
+    }
+
+    /**
+     * Resolves the workbook with all worksheets from the loaded file
+     *
+     * @return Workbook object
+     */
+    public Workbook getWorkbook() {
+        try {
+            return createWorkbook();
+        }
+        catch (RuntimeException ex) {
+            reportFailure(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Creates the workbook from the read parts
+     *
+     * @return Workbook
+     */
+    private Workbook createWorkbook() {
+        long time = System.nanoTime();
+        Workbook wb = new Workbook(false);
+        wb.setImportState(true);
+        Worksheet ws;
+        for (Map.Entry<Integer, String> worksheet : this.worksheetPaths.entrySet()) {
+            WorkbookReader.WorksheetDefinition definition = workbook.getWorksheetDefinitions().get(worksheet.getKey());
+            ws = new Worksheet(definition.getWorksheetName(), definition.getSheetId(), wb);
+            ws.setHidden(definition.isHidden());
+            WorksheetReader reader = this.worksheets.get(worksheet.getKey());
+            if (reader != null) {
+                resolveWorksheet(ws, reader);
+            }
+            else {
+                String path = worksheet.getValue();
+                ws.setLoader(w -> loadWorksheet(w, path));
             }
             wb.addWorksheet(ws);
         }
@@ -341,9 +523,207 @@ public class XlsxReader {
         wb.getWorkbookMetadata().setSubject(metaDataReader.getSubject());
         wb.getWorkbookMetadata().setTitle(metaDataReader.getTitle());
         wb.setImportState(false);
+        if (this.metricsListener != null) {
+            reportMetrics(time);
+        }
+        if (importOptions != null && importOptions.isLazyLoading()) {
+            // The loaders of the remaining worksheets keep this reader, but not the already resolved worksheet parts
+            this.worksheets.clear();
+        }
         return wb;
     }
 
+    /**
+     * Resolves the cells and properties of a worksheet from the read worksheet part
+     *
+     * @param ws     Worksheet to resolve
+     * @param reader Reader of the worksheet part
+     */
+    private void resolveWorksheet(Worksheet ws, WorksheetReader reader) {
+        ws.setViewType(reader.getViewType());
+        ws.setShowingGridLines(reader.isShowingGridLines());
+        ws.setShowingRowColumnHeaders(reader.isShowingRowColHeaders());
+        ws.setShowingRuler(reader.isShowingRuler());
+        ws.setZoomFactor(reader.getCurrentZoomScale());
+        for (Map.Entry<Worksheet.SheetViewType, Integer> zoomFactor : reader.getZoomFactors().entrySet()) {
+            ws.setZoomFactor(zoomFactor.getKey(), zoomFactor.getValue());
+        }
+        if (reader.getAutoFilterRange() != null) {
+            ws.setAutoFilter(reader.getAutoFilterRange().StartAddress.Column, reader.getAutoFilterRange().EndAddress.Column);
+        }
+        if (reader.getDefaultColumnWidth() != null) {
+            ws.setDefaultColumnWidth(reader.getDefaultColumnWidth());
+        }
+        if (reader.getDefaultRowHeight() != null) {
+            ws.setDefaultRowHeight(reader.getDefaultRowHeight());
+        }
+        if (reader.getSelectedCells() != null) {
+            for (Range range : reader.getSelectedCells()) {
+                ws.addSelectedCells(range);
+            }
+        }
+        for (Range range : reader.getMergedCells()) {
+            ws.mergeCells(range);
+        }
+        for (Map.Entry<Worksheet.SheetProtectionValue, Integer> sheetProtection : reader.getWorksheetProtection().entrySet()) {
+            ws.getSheetProtectionValues().add(sheetProtection.getKey());
+        }
+        if (!reader.getWorksheetProtection().isEmpty()) {
+            ws.setUseSheetProtection(true);
+        }
+        if (!Helper.isNullOrEmpty(reader.getWorksheetProtectionHash())) {
+            ws.setSheetProtectionPasswordHash(reader.getWorksheetProtectionHash());
+        }
+        for (Map.Entry<Integer, WorksheetReader.RowDefinition> row : reader.getRows().entrySet()) {
+            if (row.getValue().isHidden()) {
+                ws.addHiddenRow(row.getKey());
+            }
+            if (row.getValue().getHeight() != null) {
+                ws.setRowHeight(row.getKey(), getValidatedHeight(row.getValue().getHeight()));
+            }
+        }
+        for (Column column : reader.getColumns()) {
+            if (column.getWidth() != Worksheet.DEFAULT_COLUMN_WIDTH) {
+                ws.setColumnWidth(column.getColumnAddress(), column.getWidth());
+            }
+            if (column.isHidden()) {
+                ws.addHiddenColumn(column.getNumber());
+            }
+            if (column.getDefaultColumnStyle() != null) {
+                ws.setColumnDefaultStyle(column.getColumnAddress(), column.getDefaultColumnStyle());
+            }
+        }
+        // The styles of the cells are already resolved by the worksheet reader
+        for (Cell cell : reader.getData()) {
+            ws.addCell(cell, cell.getColumnNumber(), cell.getRowNumber());
+        }
+        if (reader.getPaneSplitValue() != null) {
+            WorksheetReader.PaneDefinition pane = reader.getPaneSplitValue();
+            if (pane.getFrozenState()) {
+                if (pane.isYSplitDefined() && !pane.isXSplitDefined()) {
+                    ws.setHorizontalSplit(pane.getPaneSplitRowIndex(), pane.getFrozenState(), pane.getTopLeftCell(), pane.getActivePane());
+                }
+                if (!pane.isYSplitDefined() && pane.isXSplitDefined()) {
+                    ws.setVerticalSplit(pane.getPaneSplitColumnIndex(), pane.getFrozenState(), pane.getTopLeftCell(), pane.getActivePane());
+                }
+                else if (pane.isYSplitDefined() && pane.isXSplitDefined()) {
+                    ws.setSplit(
+                            pane
+                                    .getPaneSplitColumnIndex(), pane.getPaneSplitRowIndex(), pane.getFrozenState(), pane.getTopLeftCell(), pane.getActivePane()
+                    );
+                }
+            }
+            else {
+                if (pane.isYSplitDefined() && !pane.isXSplitDefined()) {
+                    ws.setHorizontalSplit(pane.getPaneSplitHeight(), pane.getTopLeftCell(), pane.getActivePane());
+                }
+                if (!pane.isYSplitDefined() && pane.isXSplitDefined()) {
+                    ws.setVerticalSplit(pane.getPaneSplitWidth(), pane.getTopLeftCell(), pane.getActivePane());
+                }
+                else if (pane.isYSplitDefined() && pane.isXSplitDefined()) {
+                    ws.setSplit(pane.getPaneSplitWidth(), pane.getPaneSplitHeight(), pane.getTopLeftCell(), pane.getActivePane());
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads a worksheet that was not read by {@link #read()}, since the lazy loading was enabled in the import options.
+     * The worksheet part is read from the XLSX file again
+     *
+     * @param ws   Worksheet to load
+     * @param path Path of the worksheet part within the XLSX file
+     * @throws FormatException Thrown if the worksheet could not be loaded, with the causing exception as inner
+     *                         exception
+     */
+    private void loadWorksheet(Worksheet ws, String path) {
+        Workbook wb = ws.getWorkbookReference();
+        try (ZipFile zf = this.zipIndex == null ? new ZipFile(this.filePath) : null) {
+            InputStream stream = getEntryStream(path, zf);
+            WorksheetReader wr = new WorksheetReader(sharedStrings, styleReaderContainer, importOptions);
+            wr.read(stream);
+            this.currentPart = null;
+            if (wb != null) {
+                wb.setImportState(true);
+            }
+            resolveWorksheet(ws, wr);
+        }
+        catch (WorksheetException ex) {
+            throw ex;
+        }
+        catch (Exception ex) {
+            throw new FormatException("There was an error while loading the worksheet '" + ws.getSheetName() + "'. Please see the inner exception:", ex);
+        }
+        finally {
+            if (wb != null) {
+                wb.setImportState(false);
+            }
+        }
+    }
+
+    /**
+     * Reports the duration of a phase and the sizes of the last read part (if any) to the metrics listener, if defined
+     *
+     * @param phase Completed phase
+     * @param start Start time of the phase in nanoseconds
+     * @return End time of the phase in nanoseconds, to be used as start time of the next phase
+     */
+    private long completePart(MetricsListener.Phase phase, long start) {
+        long end = System.nanoTime();
+        if (this.metricsListener == null) {
+            return end;
+        }
+        reportPhase(phase, end - start, this.currentPart);
+        this.currentPart = null;
+        return end;
+    }
+
+    /**
+     * Reports the duration of a phase and the sizes of a read part to the metrics listener
+     *
+     * @param phase    Completed phase or null if only the part is reported
+     * @param duration Duration of the phase in nanoseconds
+     * @param part     Read part or null if no part is reported
+     */
+    private void reportPhase(MetricsListener.Phase phase, long duration, CountingInputStream part) {
+        if (phase != null) {
+            this.metricsListener.phaseCompleted(MetricsListener.Operation.LOAD, phase, duration);
+        }
+        if (part != null) {
+            this.metricsListener.partProcessed(MetricsListener.Operation.LOAD, part.name, part.count, part.compressedSize);
+        }
+    }
+
+    /**
+     * Reports the failure of the load to the metrics listener, if defined
+     *
+     * @param cause Exception that is thrown to the caller
+     */
+    private void reportFailure(Throwable cause) {
+        if (this.metricsListener != null) {
+            this.metricsListener.operationFailed(MetricsListener.Operation.LOAD, cause);
+        }
+    }
+
+    /**
+     * Reports the creation of the workbook, the counters and the completion of the load to the metrics listener
+     *
+     * @param start Start time of the creation of the workbook in nanoseconds
+     */
+    private void reportMetrics(long start) {
+        long end = System.nanoTime();
+        this.metricsListener.phaseCompleted(MetricsListener.Operation.LOAD, MetricsListener.Phase.WORKBOOK, end - start);
+        long cells = 0;
+        for (WorksheetReader reader : this.worksheets.values()) {
+            cells += reader.getData().size();
+        }
+        this.metricsListener.counted(MetricsListener.Operation.LOAD, MetricsListener.Counter.WORKSHEETS, this.worksheets.size());
+        this.metricsListener.counted(MetricsListener.Operation.LOAD, MetricsListener.Counter.CELLS, cells);
+        this.metricsListener.counted(MetricsListener.Operation.LOAD, MetricsListener.Counter.SHARED_STRINGS, this.sharedStringCount);
+        this.metricsListener.counted(MetricsListener.Operation.LOAD, MetricsListener.Counter.STYLES, this.styleReaderContainer.getStyleCount());
+        this.metricsListener.operationCompleted(MetricsListener.Operation.LOAD, end - this.startTime);
+    }
+
     /**
      * Gets the row height according to {@link ImportOptions#isEnforceValidRowDimensions()}
      *
@@ -375,4 +755,51 @@ public class XlsxReader {
         }
     }
 
+    /**
+     * Stream that counts the uncompressed bytes of a part, that were read by the reader of the part
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private final String name;
+        private final long compressedSize;
+        private long count;
+
+        /**
+         * Constructor with the stream and the entry of the part
+         *
+         * @param stream         Stream of the part
+         * @param name           Filename of the part with relative path
+         * @param compressedSize Size of the part within the zip file or -1 if unknown
+         */
+        CountingInputStream(InputStream stream, String name, long compressedSize) {
+            super(stream);
+            this.name = name;
+            this.compressedSize = compressedSize;
+        }
+
+        @Override
+        public int read() throws java.io.IOException {
+            int value = super.read();
+            if (value != -1) {
+                this.count++;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws java.io.IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                this.count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws java.io.IOException {
+            long skipped = super.skip(n);
+            this.count += skipped;
+            return skipped;
+        }
+    }
+
 }
@@ -10,7 +10,9 @@ import ch.rabanti.nanoxlsx4j.Cell;
 import ch.rabanti.nanoxlsx4j.Column;
 import ch.rabanti.nanoxlsx4j.Helper;
 import ch.rabanti.nanoxlsx4j.Metadata;
+import ch.rabanti.nanoxlsx4j.MetricsListener;
 import ch.rabanti.nanoxlsx4j.Range;
+import ch.rabanti.nanoxlsx4j.SaveOptions;
 import ch.rabanti.nanoxlsx4j.Workbook;
 import ch.rabanti.nanoxlsx4j.Worksheet;
 import ch.rabanti.nanoxlsx4j.exceptions.FormatException;
@@ -37,13 +39,22 @@ import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.OutputStream;
 import java.io.StringReader;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collections;
@@ -52,7 +63,10 @@ import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Class for low level handling (XML, formatting, preparing of packing)<br> This class is only for internal use. Use the
@@ -77,12 +91,36 @@ public class XlsxWriter {
      * Maximum valid OAdate value (9999-12-31)
      */
     public static final double MAX_OADATE_VALUE = 2958465.999988426d;
+    /**
+     * Number of buffered characters of a worksheet part, before they are flushed into the output
+     */
+    private static final int FLUSH_THRESHOLD = 65536;
+    /**
+     * Content type of worksheet parts
+     */
+    static final String WORKSHEET_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml";
+    /**
+     * Relationship type of worksheet parts
+     */
+    static final String WORKSHEET_RELATIONSHIP_TYPE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet";
+    /**
+     * Path of the style sheet part
+     */
+    private static final String STYLES_PATH = "xl/styles.xml";
 
     // ### P R I V A T E F I E L D S ###
-    private final SortedMap sharedStrings;
+    private final SaveOptions saveOptions;
+    private final SharedStringTable sharedStrings;
+    private boolean sharedStringsCollected;
+    private final Map<Worksheet, Map<Integer, StringColumnStatistics>> stringColumns;
     private int sharedStringsTotalCount;
     private final Workbook workbook;
     private StyleManager styles;
+    private char[] flushChunk;
+    private int peakBufferSize;
+    private PartCache partCache;
+    private boolean sharedStringsReusable;
+    private List<String> addedSharedStrings;
 
     // ### C O N S T R U C T O R S ###
 
@@ -92,13 +130,40 @@ public class XlsxWriter {
      * @param workbook Workbook to process
      */
     public XlsxWriter(Workbook workbook) {
+        this(workbook, null);
+    }
+
+    /**
+     * Constructor with defined workbook object and save options
+     *
+     * @param workbook    Workbook to process
+     * @param saveOptions Options to save the workbook. If null, the default options are used
+     */
+    public XlsxWriter(Workbook workbook, SaveOptions saveOptions) {
         this.workbook = workbook;
-        this.sharedStrings = new SortedMap();
+        if (saveOptions == null) {
+            this.saveOptions = new SaveOptions();
+        }
+        else {
+            this.saveOptions = saveOptions;
+        }
+        this.sharedStrings = new SharedStringTable(Math.max(this.saveOptions.getSharedStringsCapacity(), SharedStringTable.DEFAULT_CAPACITY));
         this.sharedStringsTotalCount = 0;
+        this.stringColumns = new IdentityHashMap<>();
     }
 
     // ### M E T H O D S ###
 
+    /**
+     * Sets the managed styles of the workbook. This is only necessary if the workbook is not written by
+     * {@link #saveAsStream(OutputStream)}, where the styles are resolved from the workbook
+     *
+     * @param styles Style manager with all styles that are referenced by the written cells
+     */
+    void setStyles(StyleManager styles) {
+        this.styles = styles;
+    }
+
     /**
      * Method to append a simple XML tag with an enclosed value to the passed StringBuilder
      *
@@ -118,7 +183,7 @@ public class XlsxWriter {
             sb.append(':');
         }
         sb.append(tagName).append(">");
-        sb.append(escapeXMLChars(value));
+        appendXmlChars(sb, value);
         sb.append("</");
         if (!hasNoNs) {
             sb.append(nameSpace);
@@ -129,16 +194,16 @@ public class XlsxWriter {
     }
 
     /**
-     * Method to create the app-properties (part of metadata) as XML document
+     * Method to write the app-properties (part of metadata) as XML part
      *
-     * @return Formatted XML document
-     * @throws IOException Thrown in case of an error while creating the XML document
+     * @param writer Writer of the part
+     * @throws java.io.IOException Thrown in case of an error while writing the XML part
      */
-    private Document createAppPropertiesDocument() throws IOException {
+    private void writeAppPropertiesPart(Writer writer) throws java.io.IOException {
         String sb = "<Properties xmlns=\"http://schemas.openxmlformats.org/officeDocument/2006/extended-properties\" xmlns:vt=\"http://schemas.openxmlformats.org/officeDocument/2006/docPropsVTypes\">" +
                 createAppString() +
                 "</Properties>";
-        return createXMLDocument(sb);
+        writer.write(sb);
     }
 
     /**
@@ -209,16 +274,16 @@ public class XlsxWriter {
     }
 
     /**
-     * Method to create the core-properties (part of metadata) as XML document
+     * Method to write the core-properties (part of metadata) as XML part
      *
-     * @return Formatted XML document
-     * @throws IOException Thrown in case of an error while creating the XML document
+     * @param writer Writer of the part
+     * @throws java.io.IOException Thrown in case of an error while writing the XML part
      */
-    private Document createCorePropertiesDocument() throws IOException {
+    private void writeCorePropertiesPart(Writer writer) throws java.io.IOException {
         String sb = "<cp:coreProperties xmlns:cp=\"http://schemas.openxmlformats.org/package/2006/metadata/core-properties\" xmlns:dc=\"http://purl.org/dc/elements/1.1/\" xmlns:dcterms=\"http://purl.org/dc/terms/\" xmlns:dcmitype=\"http://purl.org/dc/dcmitype/\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">" +
                 createCorePropertiesString() +
                 "</cp:coreProperties>";
-        return createXMLDocument(sb);
+        writer.write(sb);
     }
 
     /**
@@ -271,7 +336,9 @@ public class XlsxWriter {
         itr = sheet.getMergedCells().entrySet().iterator();
         while (itr.hasNext()) {
             range = itr.next();
-            sb.append("<mergeCell ref=\"").append(range.getValue().toString()).append("\"/>");
+            sb.append("<mergeCell ref=\"");
+            range.getValue().appendRange(sb);
+            sb.append("\"/>");
         }
         sb.append("</mergeCells>");
         return sb.toString();
@@ -309,11 +376,13 @@ public class XlsxWriter {
     /**
      * Method to create a row string
      *
-     * @param dynamicRow Dynamic row with List of cells, heights and hidden states
-     * @param worksheet  Worksheet to process
+     * @param dynamicRow       Dynamic row with List of cells, heights and hidden states
+     * @param worksheet        Worksheet to process
+     * @param resolveCellTypes If true, the types of the cells are recalculated, otherwise the types (and styles) are
+     *                         used as they are
      * @return Formatted row string
      */
-    private String createRowString(DynamicRow dynamicRow, Worksheet worksheet) {
+    String createRowString(DynamicRow dynamicRow, Worksheet worksheet, boolean resolveCellTypes) {
         int rowNumber = dynamicRow.getRowNumber();
         String height = "";
         String hidden = "";
@@ -326,25 +395,22 @@ public class XlsxWriter {
         StringBuilder sb = new StringBuilder();
         sb.append("<row r=\"").append((rowNumber + 1)).append("\"").append(height).append(hidden).append(">");
         String typeAttribute;
-        String styleDef = "";
-        String typeDef = "";
+        String typeDef;
         String value = "";
-        String tValue = "";
+        Style style;
         boolean boolValue;
+        int sharedStringIndex;
 
-        int col = 0;
         for (Cell item : dynamicRow.getCellDefinitions()) {
             typeDef = " ";
-            if (item.getCellStyle() != null) {
-                styleDef = " s=\"" + item.getCellStyle().getInternalID() + "\" ";
-            }
-            else {
-                styleDef = "";
+            sharedStringIndex = -1;
+            style = item.getCellStyle(); // The style is determined before the type is recalculated
+            if (resolveCellTypes) {
+                item.resolveCellType(); // Recalculate the type (for handling DEFAULT)
             }
-            item.resolveCellType(); // Recalculate the type (for handling DEFAULT)
             if (item.getDataType().equals(Cell.CellType.BOOL)) {
                 typeAttribute = "b";
-                typeDef = " t=\"" + typeAttribute + "\" ";
+                typeDef = " t=\"b\" ";
                 boolValue = (boolean) item.getValue();
                 if (boolValue) {
                     value = "1";
@@ -354,138 +420,299 @@ public class XlsxWriter {
                 }
 
             }
-            // Number casting
+            // Numbers, dates and times are appended directly by appendNumericValue
             else if (item.getDataType() == Cell.CellType.NUMBER) {
                 typeAttribute = "n";
-                tValue = " t=\"" + typeAttribute + "\" ";
-                Object o = item.getValue();
-                if (o instanceof Byte) {
-                    value = Byte.toString((byte) item.getValue());
-                }
-                else if (o instanceof BigDecimal) {
-                    value = item.getValue().toString();
-                }
-                else if (o instanceof Double) {
-                    value = Double.toString((double) item.getValue());
-                }
-                else if (o instanceof Float) {
-                    value = Float.toString((float) item.getValue());
-                }
-                else if (o instanceof Integer) {
-                    value = Integer.toString((int) item.getValue());
-                }
-                else if (o instanceof Long) {
-                    value = Long.toString((long) item.getValue());
-                }
-                else if (o instanceof Short) {
-                    value = Short.toString((short) item.getValue());
-                }
             }
-            // Date parsing
             else if (item.getDataType().equals(Cell.CellType.DATE)) {
                 typeAttribute = "d";
-                Date date = (Date) item.getValue();
-                value = Helper.getOADateString(date);
             }
-            // Time parsing
             else if (item.getDataType().equals(Cell.CellType.TIME)) {
                 typeAttribute = "d";
                 // TODO: 'd' is probably an outdated attribute (to be checked for dates and
                 // times)
-                Duration time = (Duration) item.getValue();
-                value = Helper.getOATimeString(time);
             }
             else {
                 if (item.getValue() == null) {
                     typeAttribute = null;
+                    typeDef = " t=\"null\" ";
                     value = null;
                 }
                 else // Handle sharedStrings
                 {
                     if (item.getDataType().equals(Cell.CellType.FORMULA)) {
                         typeAttribute = "str";
-                        value = item.getValue().toString();
+                        typeDef = " t=\"str\" ";
                     }
                     else {
-                        typeAttribute = "s";
-                        value = sharedStrings.add(item.getValue().toString(), Integer.toString(sharedStrings.size()));
-                        sharedStringsTotalCount++;
+                        sharedStringIndex = resolveStringCell(worksheet, item, item.getValue().toString());
+                        typeAttribute = sharedStringIndex < 0 ? "inlineStr" : "s";
+                        typeDef = sharedStringIndex < 0 ? " t=\"inlineStr\" " : " t=\"s\" ";
                     }
                 }
-                typeDef = " t=\"" + typeAttribute + "\" ";
             }
             if (!item.getDataType().equals(Cell.CellType.EMPTY)) {
-                sb.append("<c").append(typeDef).append("r=\"").append(item.getCellAddress()).append("\"").append(styleDef).append(">");
+                sb.append("<c").append(typeDef).append("r=\"");
+                Cell.appendCellAddress(sb, item.getColumnNumber(), item.getRowNumber(), item.getCellAddressType());
+                sb.append('"');
+                appendStyleDefinition(sb, style);
+                sb.append('>');
                 if (item.getDataType().equals(Cell.CellType.FORMULA)) {
-                    sb.append("<f>").append(XlsxWriter.escapeXMLChars(item.getValue().toString())).append("</f>");
+                    sb.append("<f>");
+                    appendXmlChars(sb, item.getValue().toString());
+                    sb.append("</f>");
+                }
+                else if (sharedStringIndex >= 0) {
+                    sb.append("<v>").append(sharedStringIndex).append("</v>");
+                }
+                else if ("inlineStr".equals(typeAttribute)) {
+                    sb.append("<is>");
+                    appendStringText(sb, item.getValue().toString());
+                    sb.append("</is>");
+                }
+                else if (item.getDataType() == Cell.CellType.NUMBER || item.getDataType() == Cell.CellType.DATE || item.getDataType() == Cell.CellType.TIME) {
+                    sb.append("<v>");
+                    appendNumericValue(sb, item);
+                    sb.append("</v>");
                 }
                 else {
-                    sb.append("<v>").append(XlsxWriter.escapeXMLChars(value)).append("</v>");
+                    sb.append("<v>");
+                    appendXmlChars(sb, value);
+                    sb.append("</v>");
                 }
                 sb.append("</c>");
             }
-            else if (value == null || item.getDataType().equals(Cell.CellType.EMPTY)) // Empty cell
+            else // Empty cell
             {
-                sb.append("<c r=\"").append(item.getCellAddress()).append("\"").append(styleDef).append("/>");
+                sb.append("<c r=\"");
+                Cell.appendCellAddress(sb, item.getColumnNumber(), item.getRowNumber(), item.getCellAddressType());
+                sb.append('"');
+                appendStyleDefinition(sb, style);
+                sb.append("/>");
             }
-            col++;
         }
         sb.append("</row>");
         return sb.toString();
     }
 
     /**
-     * Method to create shared strings as XML document
+     * Method to append the style attribute of a cell, if a style is defined
      *
-     * @return Formatted XML document
-     * @throws IOException Thrown in case of an error while creating the XML document
+     * @param sb    Buffer to append the attribute to
+     * @param style Style of the cell or null
      */
-    private Document createSharedStringsDocument() throws IOException {
+    private static void appendStyleDefinition(StringBuilder sb, Style style) {
+        if (style == null) {
+            return;
+        }
+        Integer id = style.getInternalID();
+        sb.append(" s=\"");
+        if (id == null) {
+            sb.append((String) null);
+        }
+        else {
+            sb.append(id.intValue());
+        }
+        sb.append("\" ");
+    }
+
+    /**
+     * Method to append the value of a number, date or time cell. The digits are appended directly into the buffer, in
+     * the same format as {@link Double#toString(double)}, {@link Integer#toString(int)} etc. would produce, but without
+     * temporary strings
+     *
+     * @param sb   Buffer to append the value to
+     * @param item Cell of the type NUMBER, DATE or TIME
+     */
+    private static void appendNumericValue(StringBuilder sb, Cell item) {
+        Object o = item.getValue();
+        if (item.getDataType() == Cell.CellType.DATE) {
+            sb.append(getOADate(o));
+        }
+        else if (item.getDataType() == Cell.CellType.TIME) {
+            sb.append(o instanceof LocalTime ? Helper.getOATimeFromLocalTime((LocalTime) o) : Helper.getOATime((Duration) o));
+        }
+        else if (o instanceof Double) {
+            sb.append((double) o);
+        }
+        else if (o instanceof Float) {
+            sb.append((float) o);
+        }
+        else if (o instanceof Integer || o instanceof Short || o instanceof Byte) {
+            sb.append(((Number) o).intValue());
+        }
+        else if (o instanceof Long) {
+            sb.append((long) o);
+        }
+        else {
+            sb.append(o); // BigDecimal and other numbers
+        }
+    }
+
+    /**
+     * Method to get the OA date of the value of a date cell
+     *
+     * @param value Value of the type Date, LocalDate, LocalDateTime or Instant
+     * @return OA date or date and time as number
+     * @throws FormatException Throws a FormatException if the value cannot be translated to the OADate format
+     */
+    private static double getOADate(Object value) {
+        if (value instanceof LocalDateTime) {
+            return Helper.getOADateFromLocalDateTime((LocalDateTime) value);
+        }
+        else if (value instanceof LocalDate) {
+            return Helper.getOADateFromLocalDate((LocalDate) value);
+        }
+        else if (value instanceof Instant) {
+            return Helper.getOADateFromInstant((Instant) value);
+        }
+        return Helper.getOADate((Date) value);
+    }
+
+    /**
+     * Method to resolve the index of a shared string. The string is added to the shared strings table, unless the
+     * table was already collected before the rendering. In this case, the table is only read, which allows to render
+     * several worksheets concurrently
+     *
+     * @param value String value
+     * @return Index of the string in the shared strings table
+     */
+    private int resolveSharedString(String value) {
+        if (this.sharedStringsCollected) {
+            return this.sharedStrings.indexOf(value);
+        }
+        this.sharedStringsTotalCount++;
+        int size = this.sharedStrings.size();
+        int index = this.sharedStrings.add(value);
+        if (this.addedSharedStrings != null && this.sharedStrings.size() > size) {
+            this.addedSharedStrings.add(value);
+        }
+        return index;
+    }
+
+    /**
+     * Method to collect the shared strings of a worksheet in advance, in the same order as they would be collected
+     * while rendering. The types of the cells are resolved in this step
+     *
+     * @param cellData Sorted rows of the worksheet
+     */
+    private void collectSharedStrings(Worksheet worksheet, List<DynamicRow> cellData) {
+        for (DynamicRow row : cellData) {
+            for (Cell item : row.getCellDefinitions()) {
+                item.resolveCellType(); // Recalculate the type (for handling DEFAULT)
+                Cell.CellType type = item.getDataType();
+                if (item.getValue() == null || type == Cell.CellType.BOOL || type == Cell.CellType.NUMBER || type == Cell.CellType.DATE ||
+                        type == Cell.CellType.TIME || type == Cell.CellType.FORMULA) {
+                    continue;
+                }
+                resolveStringCell(worksheet, item, item.getValue().toString());
+            }
+        }
+    }
+
+    /**
+     * Method to resolve whether a string cell is written as shared or as inline string, according to the string mode
+     * of its column. Shared strings are resolved by {@link #resolveSharedString(String)}. In the adaptive mode, a
+     * column switches to inline strings as soon as the ratio of distinct strings exceeds the threshold. The decision is
+     * recorded per column, thus it can be reproduced if the shared strings were collected before the rendering
+     *
+     * @param worksheet Worksheet of the cell
+     * @param cell      Cell to process. The cells of a column must be passed in ascending row order
+     * @param value     String value of the cell
+     * @return Index of the string in the shared strings table or -1 if the string is written as inline string
+     */
+    private int resolveStringCell(Worksheet worksheet, Cell cell, String value) {
+        SaveOptions.StringMode mode = this.saveOptions.getStringMode(worksheet.getSheetName(), cell.getColumnNumber());
+        if (mode == SaveOptions.StringMode.INLINE) {
+            return -1;
+        }
+        else if (mode == SaveOptions.StringMode.SHARED) {
+            return resolveSharedString(value);
+        }
+        StringColumnStatistics statistics;
+        if (this.sharedStringsCollected) {
+            Map<Integer, StringColumnStatistics> columns = this.stringColumns.get(worksheet);
+            statistics = columns == null ? null : columns.get(cell.getColumnNumber());
+            if (statistics != null && cell.getRowNumber() >= statistics.inlineFromRow) {
+                return -1;
+            }
+            return resolveSharedString(value);
+        }
+        statistics = this.stringColumns.computeIfAbsent(worksheet, w -> new HashMap<>())
+                .computeIfAbsent(cell.getColumnNumber(), c -> new StringColumnStatistics());
+        if (cell.getRowNumber() >= statistics.inlineFromRow) {
+            return -1;
+        }
+        int uniqueCount = this.sharedStrings.size();
+        int index = resolveSharedString(value);
+        statistics.count++;
+        if (this.sharedStrings.size() > uniqueCount) {
+            statistics.distinctCount++;
+        }
+        if (statistics.count >= SaveOptions.ADAPTIVE_STRING_SAMPLE_SIZE &&
+                (float) statistics.distinctCount / statistics.count > this.saveOptions.getAdaptiveStringThreshold()) {
+            statistics.inlineFromRow = cell.getRowNumber() + 1;
+        }
+        return index;
+    }
+
+    /**
+     * Method to write the shared strings as XML part
+     *
+     * @param writer Writer of the part
+     * @throws java.io.IOException Thrown in case of an error while writing the XML part
+     */
+    private void writeSharedStringsPart(Writer writer) throws java.io.IOException {
         StringBuilder sb = new StringBuilder();
         sb.append("<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"");
         sb.append(this.sharedStringsTotalCount);
         sb.append("\" uniqueCount=\"");
         sb.append(this.sharedStrings.size());
         sb.append("\">");
-        List<String> keys = this.sharedStrings.getKeys();
-        for (int i = 0; i < keys.size(); i++) {
-            appendSharedString(sb, keys.get(i));
+        for (int i = 0; i < this.sharedStrings.size(); i++) {
+            appendSharedString(sb, this.sharedStrings.get(i));
+            flushBuffer(sb, writer, false);
         }
         sb.append("</sst>");
-        return createXMLDocument(sb.toString());
+        flushBuffer(sb, writer, true);
     }
 
     private void appendSharedString(StringBuilder sb, String value) {
-        int len = value.length();
-        value = escapeXMLChars(value);
         sb.append("<si>");
+        appendStringText(sb, value);
+        sb.append("</si>");
+    }
+
+    /**
+     * Method to append the text element of a shared or inline string
+     *
+     * @param sb    Buffer to append the element to
+     * @param value String value
+     */
+    private static void appendStringText(StringBuilder sb, String value) {
+        int len = value.length();
         if (len == 0) {
             sb.append("<t></t>");
+            return;
+        }
+        if (isWhitespaceAfterEscaping(value.charAt(0)) || isWhitespaceAfterEscaping(value.charAt(len - 1))) {
+            sb.append("<t xml:space=\"preserve\">");
         }
         else {
-            if (Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(len - 1))) {
-                sb.append("<t xml:space=\"preserve\">");
-            }
-            else {
-                sb.append("<t>");
-            }
-            sb.append(normalizeNewLines(value)).append("</t>");
+            sb.append("<t>");
         }
-        sb.append("</si>");
+        appendEscapedXmlChars(sb, value, false, true);
+        sb.append("</t>");
     }
 
     /**
-     * Method to normalize all newlines to CR+LF
+     * Method to determine whether a character is written as white space, after it was escaped
      *
-     * @param value Input value
-     * @return Normalized value
+     * @param c Character to check
+     * @return True if the character is a white space or an illegal character that is replaced by a white space
      */
-    private String normalizeNewLines(String value) {
-        if (value == null || (value.indexOf('\n') == -1 && value.indexOf('\r') == -1)) {
-            return value;
-        }
-        String normalized = value.replace("\r\n", "\n").replace("\r", "\n");
-        return normalized.replace("\n", "\r\n");
+    private static boolean isWhitespaceAfterEscaping(char c) {
+        return Character.isWhitespace(c) || isIllegalXmlChar(c);
     }
 
     /**
@@ -778,22 +1005,23 @@ public class XlsxWriter {
                     throw new FormatException(
                             "The number format style component with the ID " + numberFormatStyle.getCustomFormatID() + " cannot be null or empty");
                 }
-                sb.append("<numFmt formatCode=\"").append(escapeXMLAttributeChars(numberFormatStyle.getCustomFormatCode())).append("\" numFmtId=\"")
-                        .append(numberFormatStyle.getCustomFormatID()).append("\"/>");
+                sb.append("<numFmt formatCode=\"");
+                appendXmlAttributeChars(sb, numberFormatStyle.getCustomFormatCode());
+                sb.append("\" numFmtId=\"").append(numberFormatStyle.getCustomFormatID()).append("\"/>");
             }
         }
         return sb.toString();
     }
 
     /**
-     * Method to create a style sheet as XML document
+     * Method to write the style sheet as XML part
      *
-     * @return Formatted XML document
-     * @throws StyleException Thrown if a style was not referenced in the style sheet
-     * @throws RangeException Thrown if a referenced cell was out of range
-     * @throws IOException    Thrown in case of an error while creating the XML document
+     * @param writer Writer of the part
+     * @throws StyleException      Thrown if a style was not referenced in the style sheet
+     * @throws RangeException      Thrown if a referenced cell was out of range
+     * @throws java.io.IOException Thrown in case of an error while writing the XML part
      */
-    private Document createStyleSheetDocument() throws IOException {
+    private void writeStyleSheetPart(Writer writer) throws java.io.IOException {
         String bordersString = createStyleBorderString();
         String fillsString = createStyleFillString();
         String fontsString = createStyleFontString();
@@ -835,7 +1063,7 @@ public class XlsxWriter {
             }
         }
         sb.append("</styleSheet>");
-        return createXMLDocument(sb.toString());
+        writer.write(sb.toString());
     }
 
     /**
@@ -991,13 +1219,13 @@ public class XlsxWriter {
     }
 
     /**
-     * Method to create a workbook as XML document
+     * Method to write the workbook as XML part
      *
-     * @return Formatted XML document
-     * @throws RangeException Thrown if a referenced cell was out of range
-     * @throws IOException    Thrown in case of an error while creating the XML document
+     * @param writer Writer of the part
+     * @throws RangeException      Thrown if a referenced cell was out of range
+     * @throws java.io.IOException Thrown in case of an error while writing the XML part
      */
-    private Document createWorkbookDocument() throws IOException {
+    private void writeWorkbookPart(Writer writer) throws java.io.IOException {
         StringBuilder sb = new StringBuilder();
         sb.append(
                 "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">");
@@ -1015,8 +1243,9 @@ public class XlsxWriter {
         sb.append("<sheets>");
         if (!workbook.getWorksheets().isEmpty()) {
             for (Worksheet item : workbook.getWorksheets()) {
-                sb.append("<sheet r:id=\"rId").append(item.getSheetID()).append("\" sheetId=\"").append(item.getSheetID()).append("\" name=\"")
-                        .append(escapeXMLAttributeChars(item.getSheetName())).append("\"");
+                sb.append("<sheet r:id=\"rId").append(item.getSheetID()).append("\" sheetId=\"").append(item.getSheetID()).append("\" name=\"");
+                appendXmlAttributeChars(sb, item.getSheetName());
+                sb.append("\"");
                 if (item.isHidden()) {
                     sb.append(" state=\"hidden\"");
                 }
@@ -1029,7 +1258,7 @@ public class XlsxWriter {
         }
         sb.append("</sheets>");
         sb.append("</workbook>");
-        return createXMLDocument(sb.toString());
+        writer.write(sb.toString());
     }
 
     /**
@@ -1056,16 +1285,31 @@ public class XlsxWriter {
     }
 
     /**
-     * Method to create a worksheet part as XML document
+     * Method to write a worksheet as XML part. The rows are flushed into the writer in blocks, so that the whole
+     * worksheet is never held in memory as XML
      *
      * @param worksheet worksheet object to process
-     * @return Formatted XML document
-     * @throws IOException Thrown in case of an error while creating the XML document
+     * @param writer    Writer of the part
+     * @throws java.io.IOException Thrown in case of an error while writing the XML part
      */
-    private Document createWorksheetPart(Worksheet worksheet) throws IOException {
+    private void writeWorksheetPart(Worksheet worksheet, Writer writer) throws java.io.IOException {
+        StringBuilder sb = new StringBuilder();
+        appendWorksheetStart(worksheet, sb);
+        createRowsString(worksheet, sb, writer);
+        appendWorksheetEnd(worksheet, sb);
+        flushBuffer(sb, writer, true);
+    }
+
+    /**
+     * Method to append the beginning of a worksheet part up to the opening sheetData tag. The dimension is only
+     * appended if the worksheet contains cells
+     *
+     * @param worksheet worksheet object to process
+     * @param sb        Buffer of the worksheet part
+     */
+    void appendWorksheetStart(Worksheet worksheet, StringBuilder sb) {
         worksheet.recalculateAutoFilter();
         worksheet.recalculateColumns();
-        StringBuilder sb = new StringBuilder();
         sb.append(
                 "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" xmlns:mc=\"http://schemas.openxmlformats.org/markup-compatibility/2006\" mc:Ignorable=\"x14ac\" xmlns:x14ac=\"http://schemas.microsoft.com/office/spreadsheetml/2009/9/ac\">");
 
@@ -1108,16 +1352,24 @@ public class XlsxWriter {
             sb.append("</cols>");
         }
         sb.append("<sheetData>");
-        createRowsString(worksheet, sb);
-        sb.append("</sheetData>");
+    }
 
+    /**
+     * Method to append the end of a worksheet part, beginning with the closing sheetData tag
+     *
+     * @param worksheet worksheet object to process
+     * @param sb        Buffer of the worksheet part
+     */
+    void appendWorksheetEnd(Worksheet worksheet, StringBuilder sb) {
+        sb.append("</sheetData>");
         sb.append(createMergedCellsString(worksheet));
         sb.append(createSheetProtectionString(worksheet));
         if (worksheet.getAutoFilterRange() != null) {
-            sb.append("<autoFilter ref=\"").append(worksheet.getAutoFilterRange().toString()).append("\"/>");
+            sb.append("<autoFilter ref=\"");
+            worksheet.getAutoFilterRange().appendRange(sb);
+            sb.append("\"/>");
         }
         sb.append("</worksheet>");
-        return createXMLDocument(sb.toString());
     }
 
     /**
@@ -1130,13 +1382,150 @@ public class XlsxWriter {
         return worksheet.getPaneSplitLeftWidth() != null || worksheet.getPaneSplitTopHeight() != null || worksheet.getPaneSplitAddress() != null;
     }
 
-    private void createRowsString(Worksheet worksheet, StringBuilder sb) {
+    /**
+     * Method to create the rows of the passed worksheet. The buffer is flushed into the writer whenever its size exceeds
+     * the flush threshold
+     *
+     * @param worksheet Worksheet to process
+     * @param sb        Buffer of the worksheet part
+     * @param writer    Writer of the part
+     * @throws java.io.IOException Thrown in case of an error while writing the XML part
+     */
+    private void createRowsString(Worksheet worksheet, StringBuilder sb, Writer writer) throws java.io.IOException {
         List<DynamicRow> cellData = getSortedSheetData(worksheet);
         String line;
         for (DynamicRow row : cellData) {
-            line = createRowString(row, worksheet);
+            line = createRowString(row, worksheet, true);
             sb.append(line);
+            flushBuffer(sb, writer, false);
+        }
+    }
+
+    /**
+     * Method to render a whole worksheet part into a string. The cell types and shared strings must already be
+     * resolved by {@link #collectSharedStrings(Worksheet, List)}. This method can be called concurrently for different worksheets
+     *
+     * @param worksheet Worksheet to process
+     * @param cellData  Sorted rows of the worksheet
+     * @return XML content of the worksheet part
+     */
+    private String createWorksheetPartString(Worksheet worksheet, List<DynamicRow> cellData) {
+        StringBuilder sb = new StringBuilder();
+        appendWorksheetStart(worksheet, sb);
+        for (DynamicRow row : cellData) {
+            sb.append(createRowString(row, worksheet, false));
+        }
+        appendWorksheetEnd(worksheet, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Method to render all worksheets of the workbook concurrently on the executor of the save options. First, the
+     * rows of the worksheets are sorted concurrently. Then, the cell types and shared strings are resolved sequentially
+     * in the order of the worksheets, thus the indices of the shared strings are identical to a sequential rendering.
+     * Finally, the worksheets are rendered concurrently, while the shared strings table is only read. If a part cache is
+     * used, worksheets that can be reused are not rendered
+     *
+     * @param worksheetParts Parts of the worksheets, in the order of the worksheets
+     * @return List of futures with the rendered worksheet parts, in the order of the worksheets. The future of a reused
+     * worksheet is null
+     */
+    private List<CompletableFuture<String>> renderWorksheetsParallel(List<WorksheetPart> worksheetParts) {
+        List<Worksheet> worksheets = this.workbook.getWorksheets();
+        List<CompletableFuture<List<DynamicRow>>> sortedData = new ArrayList<>(worksheets.size());
+        for (Worksheet worksheet : worksheets) {
+            sortedData.add(CompletableFuture.supplyAsync(() -> getSortedSheetData(worksheet), this.saveOptions.getExecutor()));
+        }
+        List<List<DynamicRow>> cellData = new ArrayList<>(worksheets.size());
+        for (CompletableFuture<List<DynamicRow>> future : sortedData) {
+            List<DynamicRow> rows = future.join();
+            WorksheetPart part = worksheetParts.get(cellData.size());
+            if (this.partCache == null) {
+                collectSharedStrings(part.worksheet, rows);
+            }
+            else if (part.isReusable()) {
+                rows = null;
+            }
+            else {
+                part.beginRecording();
+                collectSharedStrings(part.worksheet, rows);
+                part.endRecording();
+            }
+            cellData.add(rows);
+        }
+        this.sharedStringsCollected = true;
+        List<CompletableFuture<String>> parts = new ArrayList<>(worksheets.size());
+        for (int i = 0; i < worksheets.size(); i++) {
+            Worksheet worksheet = worksheets.get(i);
+            List<DynamicRow> rows = cellData.get(i);
+            parts.add(rows == null ? null : CompletableFuture.supplyAsync(() -> createWorksheetPartString(worksheet, rows), this.saveOptions.getExecutor()));
+        }
+        return parts;
+    }
+
+    /**
+     * Method to determine whether the cached part of a worksheet can be reused. This is the case if the worksheet is
+     * unchanged and the shared strings table in front of the worksheet is identical to the last save. If the part is
+     * reused, the shared strings of the worksheet are added to the shared strings table, as if the worksheet was
+     * rendered
+     *
+     * @param worksheet Worksheet to check
+     * @param start     Rendered start of the worksheet part
+     * @param end       Rendered end of the worksheet part
+     * @return True if the cached part is reused, otherwise false
+     */
+    private boolean reuseWorksheetPart(Worksheet worksheet, String start, String end) {
+        String name = getWorksheetPath(worksheet);
+        PartCache.WorksheetState state = this.partCache.getWorksheetState(name);
+        if (!this.sharedStringsReusable || state == null || this.partCache.getEntry(name) == null || !state.matches(worksheet, start, end)) {
+            return false;
+        }
+        for (String value : state.getSharedStrings()) {
+            this.sharedStrings.add(value);
         }
+        this.sharedStringsTotalCount += state.getSharedStringsCount();
+        return true;
+    }
+
+    /**
+     * Method to record the state of a rendered worksheet in the part cache. If the worksheet added other shared strings
+     * than at the last save, the cached parts of the subsequent worksheets cannot be reused anymore
+     *
+     * @param worksheet          Rendered worksheet
+     * @param start              Rendered start of the worksheet part
+     * @param end                Rendered end of the worksheet part
+     * @param sharedStrings      Strings that were added to the shared strings table by the worksheet
+     * @param sharedStringsCount Number of shared string references of the worksheet
+     */
+    private void recordWorksheetState(Worksheet worksheet, String start, String end, List<String> sharedStrings, int sharedStringsCount) {
+        String name = getWorksheetPath(worksheet);
+        PartCache.WorksheetState previous = this.partCache.getWorksheetState(name);
+        if (previous == null || !previous.getSharedStrings().equals(sharedStrings)) {
+            this.sharedStringsReusable = false;
+        }
+        this.partCache.putWorksheetState(name, new PartCache.WorksheetState(worksheet, worksheet.getModificationCount(), start, end, sharedStrings, sharedStringsCount));
+    }
+
+    /**
+     * Method to flush the content of a buffer into the writer of a part. The buffer is cleared afterwards
+     *
+     * @param sb     Buffer to flush
+     * @param writer Writer of the part
+     * @param force  If true, the buffer is flushed in any case, otherwise only if its size exceeds the flush threshold
+     * @throws java.io.IOException Thrown in case of an error while writing the XML part
+     */
+    void flushBuffer(StringBuilder sb, Writer writer, boolean force) throws java.io.IOException {
+        int length = sb.length();
+        if (length == 0 || (!force && length < FLUSH_THRESHOLD)) {
+            return;
+        }
+        if (this.flushChunk == null || this.flushChunk.length < length) {
+            this.flushChunk = new char[Math.max(length, FLUSH_THRESHOLD)];
+        }
+        this.peakBufferSize = Math.max(this.peakBufferSize, length);
+        sb.getChars(0, length, this.flushChunk, 0);
+        writer.write(this.flushChunk, 0, length);
+        sb.setLength(0);
     }
 
     /**
@@ -1191,13 +1580,13 @@ public class XlsxWriter {
         if (!worksheet.getSelectedCellRanges().isEmpty()) {
             sb.append("<selection sqref=\"");
             for (int i = 0; i < worksheet.getSelectedCellRanges().size(); i++) {
-                sb.append(worksheet.getSelectedCellRanges().get(i).toString());
+                worksheet.getSelectedCellRanges().get(i).appendRange(sb);
                 if (i < worksheet.getSelectedCellRanges().size() - 1) {
                     sb.append(" ");
                 }
             }
             sb.append("\" activeCell=\"");
-            sb.append(worksheet.getSelectedCellRanges().get(0).StartAddress.toString());
+            worksheet.getSelectedCellRanges().get(0).StartAddress.appendAddress(sb);
             sb.append("\"/>");
         }
         sb.append("</sheetView></sheetViews>");
@@ -1366,50 +1755,91 @@ public class XlsxWriter {
     }
 
     /**
-     * Method to sort the cells of a worksheet as preparation for the XML document
+     * Method to get the cells of a worksheet in order, as preparation for the XML document. The cells are taken from
+     * the row index of the worksheet, without sorting them
      *
      * @param sheet Worksheet to process
      * @return Sorted list of dynamic rows that are either defined by cells or row widths / hidden states. The list is
      * sorted by row numbers (zero-based)
      */
     private List<DynamicRow> getSortedSheetData(Worksheet sheet) {
-        List<Cell> temp = new ArrayList<>();
-        for (Map.Entry<String, Cell> item : sheet.getCells().entrySet()) {
-            temp.add(item.getValue());
+        SortedMap<Integer, List<Cell>> cellRows = sheet.getSortedRows();
+        List<Integer> emptyRows = new ArrayList<>(); // Rows without cells, but with a height or hidden state
+        for (Integer rowNumber : sheet.getRowHeights().keySet()) {
+            if (!cellRows.containsKey(rowNumber)) {
+                emptyRows.add(rowNumber);
+            }
         }
-        Collections.sort(temp);
-        DynamicRow row = new DynamicRow();
-        Map<Integer, DynamicRow> rows = new HashMap<>();
-        int rowNumber;
-        if (!temp.isEmpty()) {
-            rowNumber = temp.get(0).getRowNumber();
-            row.setRowNumber(rowNumber);
-            for (Cell cell : temp) {
-                if (cell.getRowNumber() != rowNumber) {
-                    rows.put(rowNumber, row);
-                    row = new DynamicRow();
-                    row.setRowNumber(cell.getRowNumber());
-                    rowNumber = cell.getRowNumber();
-                }
-                row.getCellDefinitions().add(cell);
+        for (Integer rowNumber : sheet.getHiddenRows().keySet()) {
+            if (!cellRows.containsKey(rowNumber) && !sheet.getRowHeights().containsKey(rowNumber)) {
+                emptyRows.add(rowNumber);
             }
-            if (!row.getCellDefinitions().isEmpty()) {
-                rows.put(rowNumber, row);
+        }
+        Collections.sort(emptyRows); // Usually very few rows
+        List<DynamicRow> output = new ArrayList<>(cellRows.size() + emptyRows.size());
+        int emptyRowIndex = 0;
+        for (Map.Entry<Integer, List<Cell>> cellRow : cellRows.entrySet()) {
+            if (!isRowConsistent(cellRow.getKey(), cellRow.getValue())) {
+                return sortSheetData(sheet);
+            }
+            while (emptyRowIndex < emptyRows.size() && emptyRows.get(emptyRowIndex) < cellRow.getKey()) {
+                output.add(new DynamicRow(emptyRows.get(emptyRowIndex), Collections.emptyList()));
+                emptyRowIndex++;
             }
+            output.add(new DynamicRow(cellRow.getKey(), cellRow.getValue()));
         }
-        for (Map.Entry<Integer, Float> rowHeight : sheet.getRowHeights().entrySet()) {
-            if (!rows.containsKey(rowHeight.getKey())) {
-                row = new DynamicRow();
-                row.setRowNumber(rowHeight.getKey());
-                rows.put(rowHeight.getKey(), row);
+        while (emptyRowIndex < emptyRows.size()) {
+            output.add(new DynamicRow(emptyRows.get(emptyRowIndex), Collections.emptyList()));
+            emptyRowIndex++;
+        }
+        return output;
+    }
+
+    /**
+     * Checks whether the cells of a row from the row index still match their row and column numbers. This is not the
+     * case if the address of a cell was modified after the cell was added to the worksheet
+     *
+     * @param rowNumber Row number of the index
+     * @param cells     Cells of the row
+     * @return True if all cells are in the row and sorted by column number, otherwise false
+     */
+    private static boolean isRowConsistent(int rowNumber, List<Cell> cells) {
+        int lastColumn = Integer.MIN_VALUE;
+        for (Cell cell : cells) {
+            if (cell.getRowNumber() != rowNumber || cell.getColumnNumber() < lastColumn) {
+                return false;
             }
+            lastColumn = cell.getColumnNumber();
         }
-        for (Map.Entry<Integer, Boolean> hiddenRow : sheet.getHiddenRows().entrySet()) {
-            if (!rows.containsKey(hiddenRow.getKey())) {
+        return true;
+    }
+
+    /**
+     * Method to sort the cells of a worksheet as preparation for the XML document. This method is only used if the
+     * row index of the worksheet does not match the addresses of the cells anymore
+     *
+     * @param sheet Worksheet to process
+     * @return Sorted list of dynamic rows that are either defined by cells or row widths / hidden states. The list is
+     * sorted by row numbers (zero-based)
+     */
+    private List<DynamicRow> sortSheetData(Worksheet sheet) {
+        List<Cell> temp = new ArrayList<>(sheet.getCells().values());
+        Collections.sort(temp);
+        Map<Integer, DynamicRow> rows = new HashMap<>();
+        DynamicRow row = null;
+        for (Cell cell : temp) {
+            if (row == null || cell.getRowNumber() != row.getRowNumber()) {
                 row = new DynamicRow();
-                row.setRowNumber(hiddenRow.getKey());
-                rows.put(hiddenRow.getKey(), row);
+                row.setRowNumber(cell.getRowNumber());
+                rows.put(cell.getRowNumber(), row);
             }
+            row.getCellDefinitions().add(cell);
+        }
+        for (Integer rowNumber : sheet.getRowHeights().keySet()) {
+            rows.computeIfAbsent(rowNumber, number -> new DynamicRow(number, Collections.emptyList()));
+        }
+        for (Integer rowNumber : sheet.getHiddenRows().keySet()) {
+            rows.computeIfAbsent(rowNumber, number -> new DynamicRow(number, Collections.emptyList()));
         }
         List<DynamicRow> output = new ArrayList<>(rows.values());
         output.sort((r1, r2) -> (Integer.compare(r1.getRowNumber(), r2.getRowNumber()))); // Lambda sort
@@ -1423,8 +1853,7 @@ public class XlsxWriter {
      */
     public void save() throws IOException {
         try {
-            FileOutputStream dest = new FileOutputStream(this.workbook.getFilename());
-            saveAsStream(dest);
+            saveAsPath(Paths.get(this.workbook.getFilename()));
         }
         catch (Exception e) {
             throw new IOException(
@@ -1432,53 +1861,292 @@ public class XlsxWriter {
         }
     }
 
+    /**
+     * Method to save the workbook into a file, defined by a path. The file is written through a file channel with a
+     * large direct buffer. The preallocation size and the force option of the save options are considered
+     *
+     * @param path Path of the file
+     * @throws IOException Thrown in case of an error
+     */
+    public void saveAsPath(Path path) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+        catch (Exception e) {
+            throw new IOException("There was an error while opening the file " + path + ". Please see the inner exception.", e);
+        }
+        long preallocationSize = this.saveOptions.getPreallocationSize();
+        try (ChannelOutputStream stream = new ChannelOutputStream(channel, true, this.saveOptions.isForceToDisk(), preallocationSize > 0)) {
+            stream.preallocate(preallocationSize);
+            saveAsStream(stream);
+        }
+        catch (java.io.IOException e) {
+            throw new IOException("There was an error while writing the file " + path + ". Please see the inner exception.", e);
+        }
+    }
+
+    /**
+     * Method to save the workbook into a channel (e.g. a file or socket channel). The data is written through a large
+     * direct buffer. If the channel is a file channel, the force option of the save options is considered
+     *
+     * @param channel Channel to write the workbook into. The channel is not closed
+     * @throws IOException Thrown in case of an error
+     */
+    public void saveAsChannel(WritableByteChannel channel) throws IOException {
+        if (channel == null) {
+            throw new IOException("The channel to save the workbook into cannot be null");
+        }
+        try (ChannelOutputStream stream = new ChannelOutputStream(channel, false, this.saveOptions.isForceToDisk(), false)) {
+            saveAsStream(stream);
+        }
+        catch (java.io.IOException e) {
+            throw new IOException("There was an error while writing into the channel. Please see the inner exception.", e);
+        }
+    }
+
+    /**
+     * Method to save the workbook into the passed stream. The parts of the workbook are generated during the packing
+     * and written directly into the stream. If part caching is enabled in the save options, unchanged parts are taken
+     * from the part cache of the workbook
+     *
+     * @param stream Stream to write the workbook into
+     * @throws IOException Thrown in case of an error
+     */
     public void saveAsStream(OutputStream stream) throws IOException {
+        if (!this.saveOptions.isPartCaching()) {
+            writeWorkbook(stream);
+            return;
+        }
+        PartCache cache = this.workbook.getPartCache();
+        synchronized (cache) {
+            this.partCache = cache;
+            try {
+                writeWorkbook(stream);
+            }
+            catch (IOException e) {
+                cache.clear(); // The cache may be incomplete
+                throw e;
+            }
+            finally {
+                this.partCache = null;
+            }
+        }
+    }
+
+    /**
+     * Method to write the workbook into the passed stream
+     *
+     * @param stream Stream to write the workbook into
+     * @throws IOException Thrown in case of an error
+     */
+    private void writeWorkbook(OutputStream stream) throws IOException {
+        MetricsListener metrics = this.saveOptions.getMetricsListener();
+        long start = System.nanoTime();
         try {
+            if (metrics != null) {
+                metrics.operationStarted(MetricsListener.Operation.SAVE);
+            }
             this.workbook.resolveMergedCells();
+            long time = reportPhase(MetricsListener.Phase.WORKBOOK, start);
             this.styles = StyleManager.getManagedStyles(workbook); // After this point, styles must not be changed anymore
-            Document doc;
-            Document app = createAppPropertiesDocument();
-            Document core = createCorePropertiesDocument();
-            Document styles = createStyleSheetDocument();
-            Document book = createWorkbookDocument();
+            reportPhase(MetricsListener.Phase.STYLES, time);
             String file;
-            Worksheet sheet;
-            Packer p = new Packer(this);
-            Packer.Relationship rel = p.createRelationship("_rels/.rels");
-            rel.addRelationshipEntry("/xl/workbook.xml", "http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument");
-            rel.addRelationshipEntry("/docProps/core.xml", "http://schemas.openxmlformats.org/package/2006/relationships/metadata/core-properties");
-            rel.addRelationshipEntry("/docProps/app.xml", "http://schemas.openxmlformats.org/officeDocument/2006/relationships/extended-properties");
-            rel = p.createRelationship("xl/_rels/workbook.xml.rels");
-            if (!workbook.getWorksheets().isEmpty()) {
+            Packer p = createPacker();
+            p.setMetricsListener(metrics);
+            if (this.saveOptions.isParallel() && this.saveOptions.isParallelCompression()) {
+                p.setCompressionExecutor(this.saveOptions.getExecutor());
+            }
+            if (this.partCache != null) {
+                preparePartCache(p);
+            }
+            Packer.Relationship rel = createRelationships(p);
+            List<WorksheetPart> worksheetParts = new ArrayList<>(this.workbook.getWorksheets().size());
+            for (Worksheet sheet : this.workbook.getWorksheets()) {
+                worksheetParts.add(new WorksheetPart(sheet));
+            }
+            if (!workbook.getWorksheets().isEmpty() && this.saveOptions.isParallel()) {
+                time = System.nanoTime();
+                List<CompletableFuture<String>> parts = renderWorksheetsParallel(worksheetParts);
+                reportPhase(MetricsListener.Phase.WORKSHEETS, time);
+                for (int i = 0; i < this.workbook.getWorksheets().size(); i++) {
+                    CompletableFuture<String> part = parts.get(i);
+                    file = getWorksheetPath(this.workbook.getWorksheets().get(i));
+                    rel.addRelationshipEntry("/" + file, WORKSHEET_RELATIONSHIP_TYPE);
+                    if (this.partCache != null) {
+                        p.addPart(file, WORKSHEET_CONTENT_TYPE, writer -> writer.write(part.join()), worksheetParts.get(i));
+                    }
+                    else {
+                        p.addPart(file, WORKSHEET_CONTENT_TYPE, writer -> writer.write(part.join()));
+                    }
+                }
+            }
+            else if (!workbook.getWorksheets().isEmpty()) {
                 for (int i = 0; i < this.workbook.getWorksheets().size(); i++) {
-                    sheet = this.workbook.getWorksheets().get(i);
-                    doc = createWorksheetPart(sheet);
-                    file = "sheet" + sheet.getSheetID() + ".xml";
-                    rel.addRelationshipEntry("/xl/worksheets/" + file, "http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet");
-                    p.addPart("xl/worksheets/" + file, "application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml", doc);
+                    Worksheet sheet = this.workbook.getWorksheets().get(i);
+                    file = getWorksheetPath(sheet);
+                    rel.addRelationshipEntry("/" + file, WORKSHEET_RELATIONSHIP_TYPE);
+                    if (this.partCache != null) {
+                        WorksheetPart part = worksheetParts.get(i);
+                        p.addPart(file, WORKSHEET_CONTENT_TYPE, part, part);
+                    }
+                    else {
+                        p.addPart(file, WORKSHEET_CONTENT_TYPE, writer -> writeWorksheetPart(sheet, writer));
+                    }
                 }
             }
             else {
                 // Fallback on empty workbook
-                doc = createWorksheetPart(new Worksheet());
-                file = "sheet1.xml";
-                rel.addRelationshipEntry("/xl/worksheets/" + file, "http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet");
-                p.addPart("xl/worksheets/" + file, "application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml", doc);
-            }
-
-            rel.addRelationshipEntry("/xl/styles.xml", "http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles");
-            rel.addRelationshipEntry("/xl/sharedStrings.xml", "http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings");
-            p.addPart("docProps/core.xml", "application/vnd.openxmlformats-package.core-properties+xml", core);
-            p.addPart("docProps/app.xml", "application/vnd.openxmlformats-officedocument.extended-properties+xml", app);
-            p.addPart("xl/sharedStrings.xml", "application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml", createSharedStringsDocument());
-            p.addPart("xl/workbook.xml", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml", book, false);
-            p.addPart("xl/styles.xml", "application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml", styles);
+                file = "xl/worksheets/sheet1.xml";
+                rel.addRelationshipEntry("/" + file, WORKSHEET_RELATIONSHIP_TYPE);
+                p.addPart(file, WORKSHEET_CONTENT_TYPE, writer -> writeWorksheetPart(new Worksheet(), writer));
+            }
+            addWorkbookParts(p, rel);
             p.pack(stream);
+            if (metrics != null) {
+                reportCounters(metrics);
+                metrics.operationCompleted(MetricsListener.Operation.SAVE, System.nanoTime() - start);
+            }
         }
         catch (Exception e) {
-            throw new IOException(
+            IOException exception = new IOException(
                     "There was an error while creating the workbook document during writing to a stream. Please see the inner exception:" + e.getMessage(), e);
+            if (metrics != null) {
+                metrics.operationFailed(MetricsListener.Operation.SAVE, exception);
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Method to report the duration of a phase of the save to the metrics listener, if defined
+     *
+     * @param phase Completed phase
+     * @param start Start time of the phase in nanoseconds
+     * @return End time of the phase in nanoseconds, to be used as start time of the next phase
+     */
+    private long reportPhase(MetricsListener.Phase phase, long start) {
+        long end = System.nanoTime();
+        MetricsListener metrics = this.saveOptions.getMetricsListener();
+        if (metrics != null) {
+            metrics.phaseCompleted(MetricsListener.Operation.SAVE, phase, end - start);
+        }
+        return end;
+    }
+
+    /**
+     * Method to report the counters and the peak size of the row buffer of the completed save
+     *
+     * @param metrics Metrics listener
+     */
+    private void reportCounters(MetricsListener metrics) {
+        long cells = 0;
+        for (Worksheet worksheet : this.workbook.getWorksheets()) {
+            cells += worksheet.getCells().size();
+        }
+        metrics.counted(MetricsListener.Operation.SAVE, MetricsListener.Counter.WORKSHEETS, this.workbook.getWorksheets().size());
+        metrics.counted(MetricsListener.Operation.SAVE, MetricsListener.Counter.CELLS, cells);
+        metrics.counted(MetricsListener.Operation.SAVE, MetricsListener.Counter.SHARED_STRING_REFERENCES, this.sharedStringsTotalCount);
+        metrics.counted(MetricsListener.Operation.SAVE, MetricsListener.Counter.SHARED_STRINGS, this.sharedStrings.size());
+        metrics.counted(MetricsListener.Operation.SAVE, MetricsListener.Counter.STYLES, this.styles.getStyleNumber());
+        if (this.peakBufferSize > 0) {
+            metrics.bufferPeak(MetricsListener.Operation.SAVE, MetricsListener.Buffer.ROW_BUFFER, this.peakBufferSize);
+        }
+    }
+
+    /**
+     * Method to prepare the part cache for the current save. The cached worksheet parts are only reused if the
+     * rendered style sheet is identical to the last save, since the cells refer to the styles by their number
+     *
+     * @param p Packer to pack the workbook
+     * @throws java.io.IOException Thrown in case of an error while rendering the style sheet
+     * @throws IOException         Thrown in case of an error while rendering the style sheet
+     */
+    private void preparePartCache(Packer p) throws java.io.IOException, IOException {
+        this.partCache.prepare(this.saveOptions.getContentKey(), this.workbook.getWorksheets());
+        if (this.partCache.getEntry(STYLES_PATH, Packer.renderPart(this::writeStyleSheetPart)) == null) {
+            this.partCache.invalidateWorksheets();
+        }
+        this.sharedStringsReusable = true;
+        p.setPartCache(this.partCache);
+    }
+
+    /**
+     * Method to create the package relationships and the (still empty) relationships of the workbook
+     *
+     * @param p Packer to add the relationships
+     * @return Relationships of the workbook, where the worksheets are added
+     */
+    Packer.Relationship createRelationships(Packer p) {
+        Packer.Relationship rel = p.createRelationship("_rels/.rels");
+        rel.addRelationshipEntry("/xl/workbook.xml", "http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument");
+        rel.addRelationshipEntry("/docProps/core.xml", "http://schemas.openxmlformats.org/package/2006/relationships/metadata/core-properties");
+        rel.addRelationshipEntry("/docProps/app.xml", "http://schemas.openxmlformats.org/officeDocument/2006/relationships/extended-properties");
+        return p.createRelationship("xl/_rels/workbook.xml.rels");
+    }
+
+    /**
+     * Method to add all parts beside the worksheets to the packer. The parts are generated during the packing
+     *
+     * @param p   Packer to add the parts
+     * @param rel Relationships of the workbook
+     */
+    void addWorkbookParts(Packer p, Packer.Relationship rel) {
+        rel.addRelationshipEntry("/xl/styles.xml", "http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles");
+        rel.addRelationshipEntry("/xl/sharedStrings.xml", "http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings");
+        p.addPart("docProps/core.xml", "application/vnd.openxmlformats-package.core-properties+xml", this::writeCorePropertiesPart);
+        p.addPart("docProps/app.xml", "application/vnd.openxmlformats-officedocument.extended-properties+xml", this::writeAppPropertiesPart);
+        // The shared strings part must be written after all worksheet parts, since the worksheets fill the shared strings table
+        p.addPart("xl/sharedStrings.xml", "application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml", this::writeSharedStringsPart);
+        p.addPart("xl/workbook.xml", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml", this::writeWorkbookPart, false);
+        p.addPart(STYLES_PATH, "application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml", this::writeStyleSheetPart);
+    }
+
+    /**
+     * Creates a packer with the compression settings of the save options
+     *
+     * @return Packer instance
+     */
+    Packer createPacker() {
+        Packer p = new Packer(this);
+        p.setCompression(this.saveOptions.getCompressionLevel(), this.saveOptions.getCompressionStrategy().getValue());
+        p.setStoredEntries(path -> this.saveOptions.isStored(getPartType(path)));
+        return p;
+    }
+
+    /**
+     * Gets the path of the part of the passed worksheet within the package
+     *
+     * @param worksheet Worksheet to process
+     * @return Relative path of the worksheet part
+     */
+    static String getWorksheetPath(Worksheet worksheet) {
+        return "xl/worksheets/sheet" + worksheet.getSheetID() + ".xml";
+    }
+
+    /**
+     * Gets the type of the part with the passed path within the package
+     *
+     * @param path Relative path of the part
+     * @return Part type
+     */
+    static SaveOptions.PartType getPartType(String path) {
+        if (path.startsWith("xl/worksheets/")) {
+            return SaveOptions.PartType.WORKSHEET;
+        }
+        else if (path.equals("xl/sharedStrings.xml")) {
+            return SaveOptions.PartType.SHARED_STRINGS;
+        }
+        else if (path.equals(STYLES_PATH)) {
+            return SaveOptions.PartType.STYLES;
         }
+        else if (path.equals("xl/workbook.xml")) {
+            return SaveOptions.PartType.WORKBOOK;
+        }
+        else if (path.startsWith("docProps/")) {
+            return SaveOptions.PartType.METADATA;
+        }
+        return SaveOptions.PartType.PACKAGE;
     }
 
     // ### S T A T I C M E T H O D S ###
@@ -1510,85 +2178,101 @@ public class XlsxWriter {
     }
 
     /**
-     * Method to escape XML characters in an XML attribute
+     * Method to append a string with escaped XML characters as XML attribute value to the passed StringBuilder
      *
+     * @param sb    StringBuilder to append
      * @param input Input string to process
-     * @return Escaped string
      */
-    private static String escapeXMLAttributeChars(String input) {
-        input = escapeXMLChars(input); // Sanitize string from illegal characters beside quotes
-        input = input.replace("\"", "&quot;");
-        return input;
+    private static void appendXmlAttributeChars(StringBuilder sb, String input) {
+        appendEscapedXmlChars(sb, input, true, false);
     }
 
     /**
-     * Method to escape XML characters between two XML tags<br> Note: The XML specs allow characters up to the character
-     * value of 0x10FFFF. However, the Java char range is only up to 0xFFFF. PicoXLSX4j will neglect all values above
-     * this level in the sanitizing check. Illegal characters like 0x1 will be replaced with a white space (0x20)
+     * Method to append a string with escaped XML characters as text between two XML tags to the passed StringBuilder
      *
+     * @param sb    StringBuilder to append
      * @param input Input string to process
-     * @return Escaped string
      */
-    private static String escapeXMLChars(String input) {
+    private static void appendXmlChars(StringBuilder sb, String input) {
+        appendEscapedXmlChars(sb, input, false, false);
+    }
+
+    /**
+     * Method to append a string with escaped XML characters to the passed StringBuilder, in a single pass. If no
+     * character must be escaped, the string is appended as it is<br> Note: The XML specs allow characters up to the
+     * character value of 0x10FFFF. However, the Java char range is only up to 0xFFFF. PicoXLSX4j will neglect all
+     * values above this level in the sanitizing check. Illegal characters like 0x1 will be replaced with a white space
+     * (0x20)
+     *
+     * @param sb                StringBuilder to append
+     * @param input             Input string to process
+     * @param escapeQuotes      If true, quotes are escaped (used for attribute values)
+     * @param normalizeNewLines If true, all line breaks (CR, LF or CR LF) are written as CR LF
+     */
+    private static void appendEscapedXmlChars(StringBuilder sb, String input, boolean escapeQuotes, boolean normalizeNewLines) {
         int len = input.length();
-        List<Integer> illegalCharacters = new ArrayList<>(len);
-        List<Integer> characterTypes = new ArrayList<>(len);
-        int i;
+        int i = 0;
+        while (i < len && !isEscapedXmlChar(input.charAt(i), escapeQuotes, normalizeNewLines)) {
+            i++;
+        }
+        if (i == len) {
+            sb.append(input);
+            return;
+        }
+        sb.append(input, 0, i);
         char c;
-        for (i = 0; i < len; i++) {
+        for (; i < len; i++) {
             c = input.charAt(i);
-            if ((c < 0x9) || (c > 0xA && c < 0xD) || (c > 0xD && c < 0x20) || (c > 0xD7FF && c < 0xE000) || (c > 0xFFFD)) {
-                illegalCharacters.add(i);
-                characterTypes.add(0);
-                continue;
-            } // Note: XML specs allow characters up to 0x10FFFF. However, the Java char range
-            // is only up to 0xFFFF; Higher values are neglected here
-            if (c == 0x3C) // <
-            {
-                illegalCharacters.add(i);
-                characterTypes.add(1);
+            if (!isEscapedXmlChar(c, escapeQuotes, normalizeNewLines)) {
+                sb.append(c);
             }
-            else if (c == 0x3E) // >
-            {
-                illegalCharacters.add(i);
-                characterTypes.add(2);
-            }
-            else if (c == 0x26) // &
-            {
-                illegalCharacters.add(i);
-                characterTypes.add(3);
-            }
-        }
-        if (illegalCharacters.isEmpty()) {
-            return input;
-        }
-        StringBuilder sb = new StringBuilder(len);
-        int lastIndex = 0;
-        len = illegalCharacters.size();
-        int j, type;
-        for (i = 0; i < len; i++) {
-            j = illegalCharacters.get(i);
-            type = characterTypes.get(i);
-            sb.append(input, lastIndex, j);
-            if (type == 0) {
-                sb.append(' '); // Whitespace as fall back on illegal character
-            }
-            else if (type == 1) // replace <
-            {
+            else if (c == '<') {
                 sb.append("&lt;");
             }
-            else if (type == 2) // replace >
-            {
+            else if (c == '>') {
                 sb.append("&gt;");
             }
-            else if (type == 3) // replace &
-            {
+            else if (c == '&') {
                 sb.append("&amp;");
             }
-            lastIndex = j + 1;
+            else if (c == '"') {
+                sb.append("&quot;");
+            }
+            else if (c == '\r' || c == '\n') {
+                sb.append("\r\n");
+                if (c == '\r' && i + 1 < len && input.charAt(i + 1) == '\n') {
+                    i++;
+                }
+            }
+            else {
+                sb.append(' '); // Whitespace as fall back on illegal character
+            }
         }
-        sb.append(input.substring(lastIndex));
-        return sb.toString();
+    }
+
+    /**
+     * Method to determine whether a character must be escaped or replaced
+     *
+     * @param c                 Character to check
+     * @param escapeQuotes      If true, quotes are escaped
+     * @param normalizeNewLines If true, line breaks are normalized
+     * @return True if the character is not appended as it is, otherwise false
+     */
+    private static boolean isEscapedXmlChar(char c, boolean escapeQuotes, boolean normalizeNewLines) {
+        if (c < 0x20) {
+            return c != 0x9 && ((c != 0xA && c != 0xD) || normalizeNewLines);
+        }
+        return c == '<' || c == '>' || c == '&' || (c == '"' && escapeQuotes) || isIllegalXmlChar(c);
+    }
+
+    /**
+     * Method to determine whether a character is illegal in XML and is replaced by a white space
+     *
+     * @param c Character to check
+     * @return True if the character is illegal, otherwise false
+     */
+    private static boolean isIllegalXmlChar(char c) {
+        return (c < 0x9) || (c > 0xA && c < 0xD) || (c > 0xD && c < 0x20) || (c > 0xD7FF && c < 0xE000) || (c > 0xFFFD);
     }
 
     // ### H E L P E R C L A S S E S ###
@@ -1597,7 +2281,7 @@ public class XlsxWriter {
      * Class representing a row that is either empty or containing cells. Empty rows can also carry information about
      * height or visibility
      */
-    private static class DynamicRow {
+    static class DynamicRow {
 
         private final List<Cell> cellDefinitions;
         private int rowNumber;
@@ -1636,6 +2320,100 @@ public class XlsxWriter {
             this.cellDefinitions = new ArrayList<>();
         }
 
+        /**
+         * Constructor with row number and cells
+         *
+         * @param rowNumber       Row number (zero-based)
+         * @param cellDefinitions Cells of the row, sorted by column number. The list is not copied
+         */
+        public DynamicRow(int rowNumber, List<Cell> cellDefinitions) {
+            this.rowNumber = rowNumber;
+            this.cellDefinitions = cellDefinitions;
+        }
+
+    }
+
+    /**
+     * Class representing the part of a worksheet, if a part cache is used. The start and end of the part are rendered
+     * to determine whether the cached part can be reused. Otherwise, the part is rendered and its state is recorded
+     */
+    private class WorksheetPart implements Packer.PartWriter, Packer.ReuseCondition {
+        private final Worksheet worksheet;
+        private String start;
+        private String end;
+        private Boolean reused;
+        private List<String> recordedStrings;
+        private int recordedCount;
+
+        /**
+         * Constructor with the worksheet of the part
+         *
+         * @param worksheet Worksheet to process
+         */
+        WorksheetPart(Worksheet worksheet) {
+            this.worksheet = worksheet;
+        }
+
+        /**
+         * Determines whether the cached part can be reused. The determination takes place only once
+         *
+         * @return True if the cached part is reused, otherwise false
+         */
+        @Override
+        public boolean isReusable() {
+            if (this.reused == null) {
+                StringBuilder sb = new StringBuilder();
+                appendWorksheetStart(this.worksheet, sb);
+                this.start = sb.toString();
+                sb.setLength(0);
+                appendWorksheetEnd(this.worksheet, sb);
+                this.end = sb.toString();
+                this.reused = reuseWorksheetPart(this.worksheet, this.start, this.end);
+            }
+            return this.reused;
+        }
+
+        /**
+         * Starts to record the shared strings that are added by the worksheet
+         */
+        void beginRecording() {
+            this.recordedStrings = new ArrayList<>();
+            this.recordedCount = sharedStringsTotalCount;
+            addedSharedStrings = this.recordedStrings;
+        }
+
+        /**
+         * Stops the recording of the shared strings and records the state of the worksheet in the part cache
+         */
+        void endRecording() {
+            addedSharedStrings = null;
+            recordWorksheetState(this.worksheet, this.start, this.end, this.recordedStrings, sharedStringsTotalCount - this.recordedCount);
+        }
+
+        /**
+         * Writes the worksheet part, whereas the already rendered start and end of the part are used
+         *
+         * @param writer Writer of the part
+         * @throws java.io.IOException Thrown in case of an error while writing the XML part
+         */
+        @Override
+        public void write(Writer writer) throws java.io.IOException {
+            StringBuilder sb = new StringBuilder(this.start);
+            beginRecording();
+            createRowsString(this.worksheet, sb, writer);
+            endRecording();
+            sb.append(this.end);
+            flushBuffer(sb, writer, true);
+        }
+    }
+
+    /**
+     * Class representing the statistics of the strings of a column in the adaptive string mode
+     */
+    private static class StringColumnStatistics {
+        private int count;
+        private int distinctCount;
+        private int inlineFromRow = Integer.MAX_VALUE;
     }
 
 }
@@ -35,6 +35,21 @@ public class XmlDocument {
 
     private XmlNode documentElement;
 
+    /**
+     * Interface to read an element directly from the XML stream, instead of loading it into the document
+     */
+    @FunctionalInterface
+    public interface ElementReader {
+        /**
+         * Reads the current element. The reader is positioned on the start of the element and must be positioned on
+         * the end of the element afterwards
+         *
+         * @param reader XML stream reader (reference)
+         * @throws XMLStreamException Throws XMLStreamException in case of a stream error
+         */
+        void read(XMLStreamReader reader) throws XMLStreamException;
+    }
+
     /**
      * Gets the root node of the XML document
      *
@@ -52,6 +67,20 @@ public class XmlDocument {
      * @throws java.io.IOException Throws IOException in case of a stream error
      */
     public void load(InputStream stream) throws IOException, java.io.IOException {
+        load(stream, null, null);
+    }
+
+    /**
+     * Loads an XML document from a stream. Elements with the defined name are not loaded into the document, but passed
+     * to the element reader while the stream is parsed (e.g. to process large elements without holding them in memory)
+     *
+     * @param stream        Input Stream
+     * @param elementName   (Tag) name of the elements that are passed to the element reader. Can be null
+     * @param elementReader Reader of the elements with the defined name. Can be null
+     * @throws IOException         Throws IOException in case of an error, caught by the library
+     * @throws java.io.IOException Throws IOException in case of a stream error
+     */
+    public void load(InputStream stream, String elementName, ElementReader elementReader) throws IOException, java.io.IOException {
         XMLStreamReader xr;
         XMLInputFactory factory = XMLInputFactory.newFactory();
         factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
@@ -63,7 +92,7 @@ public class XmlDocument {
 
                 int nodeType = xr.next();
                 if (nodeType == START_ELEMENT) {
-                    this.documentElement = XmlNode.loadXmlNode(xr);
+                    this.documentElement = XmlNode.loadXmlNode(xr, elementName, elementReader);
                 }
             }
         }
@@ -273,6 +302,20 @@ public class XmlDocument {
          * @throws XMLStreamException Throws IOException in case of a stream error
          */
         public static XmlNode loadXmlNode(XMLStreamReader reader) throws XMLStreamException {
+            return loadXmlNode(reader, null, null);
+        }
+
+        /**
+         * Static method to resolve attributes and sub-nodes recursively. Sub-nodes with the defined name are passed to
+         * the element reader instead of being loaded
+         *
+         * @param reader          XML stream reader (reference)
+         * @param readElementName (Tag) name of the sub-nodes that are passed to the element reader. Can be null
+         * @param elementReader   Reader of the sub-nodes with the defined name. Can be null
+         * @return Resolved XML node with possible attributes and sub-nodes
+         * @throws XMLStreamException Throws IOException in case of a stream error
+         */
+        public static XmlNode loadXmlNode(XMLStreamReader reader, String readElementName, ElementReader elementReader) throws XMLStreamException {
             String elementName = reader.getName().getLocalPart();
             XmlNode node = new XmlNode(elementName);
             int attributeCount = reader.getAttributeCount();
@@ -293,7 +336,11 @@ public class XmlDocument {
                     return node;
                 }
                 else if (nodeType == START_ELEMENT) {
-                    XmlNode childNode = loadXmlNode(reader);
+                    if (elementReader != null && reader.getLocalName().equals(readElementName)) {
+                        elementReader.read(reader);
+                        continue;
+                    }
+                    XmlNode childNode = loadXmlNode(reader, readElementName, elementReader);
                     node.nodeList.add(childNode);
                 }
                 else if (nodeType == CHARACTERS) {
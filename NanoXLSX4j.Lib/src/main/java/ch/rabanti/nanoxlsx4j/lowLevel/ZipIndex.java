@@ -0,0 +1,353 @@
+/*
+ * NanoXLSX4j is a small Java library to write and read XLSX (Microsoft Excel 2007 or newer) files in an easy and native way
+ * Copyright Raphael Stoeckli © 2026
+ * This library is licensed under the MIT License.
+ * You find a copy of the license in project folder or on: http://opensource.org/licenses/MIT
+ */
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Class to access the entries of a zip file in memory by random access. The central directory is parsed once, and each
+ * entry is read from its offset, without scanning the preceding entries. Deflated entries are inflated directly from a
+ * slice of the buffer. ZIP64 archives are supported<br> This class is only for internal use.
+ *
+ * @author Raphael Stoeckli
+ */
+class ZipIndex {
+
+    // ### C O N S T A N T S ###
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int CENTRAL_HEADER_SIZE = 46;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    // ### P R I V A T E F I E L D S ###
+    private final byte[] data;
+    private final ByteBuffer buffer;
+    private final Map<String, Entry> entries;
+
+    // ### C O N S T R U C T O R S ###
+
+    /**
+     * Constructor with the zip file in memory. The central directory is parsed immediately
+     *
+     * @param data Content of the zip file. The array is not copied and must not be modified afterwards
+     * @throws ZipException Thrown if the data is not a valid zip file
+     */
+    ZipIndex(byte[] data) throws ZipException {
+        this.data = data;
+        this.buffer = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+        this.entries = new HashMap<>();
+        readCentralDirectory();
+    }
+
+    // ### G E T T E R S ###
+
+    /**
+     * Gets the number of entries in the zip file
+     *
+     * @return Number of entries
+     */
+    int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Gets the entry with the passed name
+     *
+     * @param name Filename with relative path
+     * @return Entry or null if the zip file contains no entry with this name
+     */
+    Entry getEntry(String name) {
+        return this.entries.get(name);
+    }
+
+    // ### M E T H O D S ###
+
+    /**
+     * Gets a stream of the uncompressed content of an entry
+     *
+     * @param entry Entry of this zip file
+     * @return Stream of the content
+     * @throws ZipException Thrown if the local header of the entry is invalid or the compression method is not
+     *                      supported
+     */
+    InputStream getInputStream(Entry entry) throws ZipException {
+        int offset = checkRange(entry.localHeaderOffset, LOCAL_HEADER_SIZE);
+        if (this.buffer.getInt(offset) != LOCAL_HEADER_SIGNATURE) {
+            throw new ZipException("The local header of the entry '" + entry.name + "' is invalid");
+        }
+        int start = offset + LOCAL_HEADER_SIZE + getUnsignedShort(offset + 26) + getUnsignedShort(offset + 28);
+        int length = checkRange(entry.compressedSize, 0);
+        checkRange(start, length);
+        if (entry.method == STORED) {
+            return new ByteArrayInputStream(this.data, start, length);
+        }
+        else if (entry.method == DEFLATED) {
+            return new InflatingInputStream(this.buffer.duplicate().position(start).limit(start + length).slice());
+        }
+        else {
+            throw new ZipException("The compression method " + entry.method + " of the entry '" + entry.name + "' is not supported");
+        }
+    }
+
+    /**
+     * Reads the end of central directory record (or its ZIP64 counterpart) and all entries of the central directory
+     *
+     * @throws ZipException Thrown if the central directory is missing or invalid
+     */
+    private void readCentralDirectory() throws ZipException {
+        int end = findEndOfCentralDirectory();
+        long count = getUnsignedShort(end + 10);
+        long centralDirectoryOffset = getUnsignedInt(end + 16);
+        int locator = end - ZIP64_LOCATOR_SIZE;
+        if (locator >= 0 && this.buffer.getInt(locator) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE) {
+            int zip64End = checkRange(this.buffer.getLong(locator + 8), 56);
+            if (this.buffer.getInt(zip64End) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                throw new ZipException("The ZIP64 end of central directory record is invalid");
+            }
+            count = this.buffer.getLong(zip64End + 32);
+            centralDirectoryOffset = this.buffer.getLong(zip64End + 48);
+        }
+        else if (count == ZIP64_MAGIC_COUNT || centralDirectoryOffset == ZIP64_MAGIC_VALUE) {
+            throw new ZipException("The ZIP64 end of central directory locator is missing");
+        }
+        int position = checkRange(centralDirectoryOffset, 0);
+        for (long i = 0; i < count; i++) {
+            checkRange(position, CENTRAL_HEADER_SIZE);
+            if (this.buffer.getInt(position) != CENTRAL_HEADER_SIGNATURE) {
+                throw new ZipException("The central directory is invalid");
+            }
+            int method = getUnsignedShort(position + 10);
+            long compressedSize = getUnsignedInt(position + 20);
+            long size = getUnsignedInt(position + 24);
+            int nameLength = getUnsignedShort(position + 28);
+            int extraLength = getUnsignedShort(position + 30);
+            int commentLength = getUnsignedShort(position + 32);
+            long localHeaderOffset = getUnsignedInt(position + 42);
+            int nameStart = position + CENTRAL_HEADER_SIZE;
+            checkRange(nameStart, nameLength + extraLength + commentLength);
+            String name = new String(this.data, nameStart, nameLength, StandardCharsets.UTF_8);
+            // The ZIP64 extra field contains only the values, whose regular fields are set to the ZIP64 marker
+            int extra = nameStart + nameLength;
+            int extraEnd = extra + extraLength;
+            while (extra + 4 <= extraEnd) {
+                int id = getUnsignedShort(extra);
+                int length = getUnsignedShort(extra + 2);
+                if (id == ZIP64_EXTRA_FIELD_ID) {
+                    int field = extra + 4;
+                    if (size == ZIP64_MAGIC_VALUE && field + 8 <= extraEnd) {
+                        size = this.buffer.getLong(field);
+                        field += 8;
+                    }
+                    if (compressedSize == ZIP64_MAGIC_VALUE && field + 8 <= extraEnd) {
+                        compressedSize = this.buffer.getLong(field);
+                        field += 8;
+                    }
+                    if (localHeaderOffset == ZIP64_MAGIC_VALUE && field + 8 <= extraEnd) {
+                        localHeaderOffset = this.buffer.getLong(field);
+                    }
+                    break;
+                }
+                extra += 4 + length;
+            }
+            // If a name occurs several times, the first entry is used, like by a sequential read
+            this.entries.putIfAbsent(name, new Entry(name, method, compressedSize, size, localHeaderOffset));
+            position = extraEnd + commentLength;
+        }
+    }
+
+    /**
+     * Searches the end of central directory record, starting from the end of the data (the record can be followed by
+     * a comment)
+     *
+     * @return Offset of the record
+     * @throws ZipException Thrown if no record was found
+     */
+    private int findEndOfCentralDirectory() throws ZipException {
+        int last = this.data.length - END_OF_CENTRAL_DIRECTORY_SIZE;
+        int first = Math.max(0, last - MAX_COMMENT_LENGTH);
+        for (int i = last; i >= first; i--) {
+            if (this.buffer.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE && i + END_OF_CENTRAL_DIRECTORY_SIZE + getUnsignedShort(i + 20) <= this.data.length) {
+                return i;
+            }
+        }
+        throw new ZipException("The end of central directory record was not found. The data is not a valid zip file");
+    }
+
+    /**
+     * Checks whether a range lies within the data
+     *
+     * @param offset Start of the range
+     * @param length Length of the range
+     * @return Start of the range as integer
+     * @throws ZipException Thrown if the range exceeds the data
+     */
+    private int checkRange(long offset, int length) throws ZipException {
+        if (offset < 0 || offset + length > this.data.length) {
+            throw new ZipException("The zip file is truncated or contains an invalid offset (" + offset + ")");
+        }
+        return (int) offset;
+    }
+
+    /**
+     * Gets an unsigned 16 bit value
+     *
+     * @param offset Offset of the value
+     * @return Value
+     */
+    private int getUnsignedShort(int offset) {
+        return this.buffer.getShort(offset) & 0xFFFF;
+    }
+
+    /**
+     * Gets an unsigned 32 bit value
+     *
+     * @param offset Offset of the value
+     * @return Value
+     */
+    private long getUnsignedInt(int offset) {
+        return this.buffer.getInt(offset) & 0xFFFFFFFFL;
+    }
+
+    // ### S U B C L A S S E S ###
+
+    /**
+     * Class representing an entry of the central directory
+     */
+    static class Entry {
+        private final String name;
+        private final int method;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        /**
+         * Constructor with all values of the entry
+         *
+         * @param name              Filename with relative path
+         * @param method            Compression method
+         * @param compressedSize    Size of the compressed data
+         * @param size              Size of the uncompressed data
+         * @param localHeaderOffset Offset of the local header
+         */
+        Entry(String name, int method, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        /**
+         * Gets the filename of the entry
+         *
+         * @return Filename with relative path
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the size of the compressed data of the entry
+         *
+         * @return Compressed size in bytes
+         */
+        long getCompressedSize() {
+            return compressedSize;
+        }
+
+        /**
+         * Gets the size of the uncompressed data of the entry
+         *
+         * @return Uncompressed size in bytes
+         */
+        long getSize() {
+            return size;
+        }
+    }
+
+    /**
+     * Stream that inflates a raw deflate stream from a buffer, which contains the whole compressed data of an entry
+     */
+    private static class InflatingInputStream extends InputStream {
+        private Inflater inflater;
+        private final byte[] single = new byte[1];
+
+        /**
+         * Constructor with the compressed data
+         *
+         * @param compressed Buffer with the compressed data
+         */
+        InflatingInputStream(ByteBuffer compressed) {
+            this.inflater = new Inflater(true);
+            this.inflater.setInput(compressed);
+        }
+
+        @Override
+        public int read() throws java.io.IOException {
+            return read(this.single, 0, 1) == -1 ? -1 : this.single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws java.io.IOException {
+            if (this.inflater == null) {
+                throw new java.io.IOException("The stream is closed");
+            }
+            if (length == 0) {
+                return 0;
+            }
+            try {
+                int read;
+                while ((read = this.inflater.inflate(buffer, offset, length)) == 0) {
+                    if (this.inflater.finished()) {
+                        return -1;
+                    }
+                    if (this.inflater.needsInput() || this.inflater.needsDictionary()) {
+                        throw new EOFException("Unexpected end of the compressed data");
+                    }
+                }
+                return read;
+            }
+            catch (DataFormatException e) {
+                throw new ZipException("The compressed data is invalid: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public int available() {
+            return this.inflater == null || this.inflater.finished() ? 0 : 1;
+        }
+
+        @Override
+        public void close() {
+            if (this.inflater != null) {
+                this.inflater.end();
+                this.inflater = null;
+            }
+        }
+    }
+}
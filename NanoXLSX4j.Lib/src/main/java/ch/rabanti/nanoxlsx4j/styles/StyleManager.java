@@ -236,18 +236,29 @@ public class StyleManager {
     }
 
     /**
-     * Method to gather all styles of the cells in all worksheets
+     * Method to create a style manager that contains only the two mandatory default styles (default style with the ID 0
+     * and the style with the gray fill pattern with the ID 1)
      *
-     * @param workbook Workbook to get all cells with possible style definitions
-     * @return StyleManager object, to be processed by the save methods
+     * @return StyleManager object with the default styles
      */
-    public static StyleManager getManagedStyles(Workbook workbook) {
+    public static StyleManager createWithDefaultStyles() {
         StyleManager styleManager = new StyleManager();
         styleManager.addStyle(new Style("default", 0, true));
         Style borderStyle = new Style("default_border_style", 1, true);
         borderStyle.setBorder(BasicStyles.DottedFill_0_125().getBorder());
         borderStyle.setFill(BasicStyles.DottedFill_0_125().getFill());
         styleManager.addStyle(borderStyle);
+        return styleManager;
+    }
+
+    /**
+     * Method to gather all styles of the cells in all worksheets
+     *
+     * @param workbook Workbook to get all cells with possible style definitions
+     * @return StyleManager object, to be processed by the save methods
+     */
+    public static StyleManager getManagedStyles(Workbook workbook) {
+        StyleManager styleManager = createWithDefaultStyles();
 
         for (int i = 0; i < workbook.getWorksheets().size(); i++) {
             for (Map.Entry<String, Cell> cell : workbook.getWorksheets().get(i).getCells().entrySet()) {
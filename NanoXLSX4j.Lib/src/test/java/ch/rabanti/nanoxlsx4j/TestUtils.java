@@ -7,6 +7,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.NumberFormat;
 import java.time.Duration;
 import java.time.LocalTime;
@@ -135,10 +137,7 @@ public class TestUtils {
 
     public static Workbook saveAndLoadWorkbook(Workbook workbook, ImportOptions options)
             throws IOException, java.io.IOException {
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
-        workbook.saveAsStream(stream);
-        ByteArrayInputStream inputStream = new ByteArrayInputStream(stream.toByteArray());
-        stream.close();
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(saveWorkbook(workbook));
         Workbook givenWorkbook = Workbook.load(inputStream, options);
         inputStream.close();
         return givenWorkbook;
@@ -148,6 +147,41 @@ public class TestUtils {
         return saveAndLoadWorkbook(workbook, null);
     }
 
+    public static byte[] saveWorkbook(Workbook workbook) throws IOException, java.io.IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream);
+        return stream.toByteArray();
+    }
+
+    public static Workbook loadWorkbook(byte[] data, ImportOptions options, Path directory)
+            throws IOException, java.io.IOException {
+        if (directory == null) {
+            return Workbook.load(new ByteArrayInputStream(data), options);
+        }
+        Path path = directory.resolve("workbook.xlsx");
+        Files.write(path, data);
+        return Workbook.load(path.toString(), options);
+    }
+
+    public static void assertWorksheetsEqual(Worksheet expected, Worksheet actual) {
+        assertEquals(expected.getSheetName(), actual.getSheetName());
+        assertEquals(expected.getCells().size(), actual.getCells().size());
+        for (Map.Entry<String, Cell> cell : expected.getCells().entrySet()) {
+            Cell actualCell = actual.getCell(cell.getKey());
+            assertEquals(cell.getValue().getValue(), actualCell.getValue());
+            assertEquals(cell.getValue().getDataType(), actualCell.getDataType());
+            assertEquals(cell.getValue().getCellStyle(), actualCell.getCellStyle());
+        }
+        assertEquals(expected.getMergedCells(), actual.getMergedCells());
+        assertEquals(expected.getHiddenRows(), actual.getHiddenRows());
+        assertEquals(expected.getRowHeights(), actual.getRowHeights());
+        assertEquals(expected.getColumns().keySet(), actual.getColumns().keySet());
+        assertEquals(expected.getPaneSplitTopHeight(), actual.getPaneSplitTopHeight());
+        assertEquals(expected.getPaneSplitAddress(), actual.getPaneSplitAddress());
+        assertEquals(expected.getZoomFactor(), actual.getZoomFactor());
+        assertEquals(expected.isHidden(), actual.isHidden());
+    }
+
     public interface TriConsumer<T1, T2, T3> {
         void accept(T1 t1, T2 t2, T3 t3);
 
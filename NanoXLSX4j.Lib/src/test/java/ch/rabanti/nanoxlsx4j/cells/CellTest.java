@@ -5,6 +5,7 @@ import ch.rabanti.nanoxlsx4j.Cell;
 import ch.rabanti.nanoxlsx4j.Range;
 import ch.rabanti.nanoxlsx4j.TestUtils;
 import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.Worksheet;
 import ch.rabanti.nanoxlsx4j.cells.types.CellTypeUtils;
 import ch.rabanti.nanoxlsx4j.exceptions.FormatException;
 import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
@@ -28,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -554,6 +556,35 @@ public class CellTest {
         assertEquals(expectedAddress, address);
     }
 
+    @DisplayName("Test of the appendCellAddress method with the address type")
+    @ParameterizedTest(name = "Given column {0}, row {1} and type {2} should append the address {3}")
+    @CsvSource(
+            {
+                    "0, 0, Default, A1",
+                    "0, 0, FixedColumn, $A1",
+                    "0, 0, FixedRow, A$1",
+                    "0, 0, FixedRowAndColumn, $A$1",
+                    "26, 9, Default, AA10",
+                    "16383, 1048575, Default, XFD1048576",
+                    "16383, 1048575, FixedRowAndColumn, $XFD$1048576",}
+    )
+    void appendCellAddressTest(int column, int row, Cell.AddressType type, String expectedAddress) {
+        StringBuilder sb = new StringBuilder("r=");
+        Cell.appendCellAddress(sb, column, row, type);
+        assertEquals("r=" + expectedAddress, sb.toString());
+    }
+
+    @DisplayName("Test of the failing appendCellAddress method")
+    @Test()
+    void appendCellAddressFailTest() {
+        StringBuilder sb = new StringBuilder();
+        assertThrows(RangeException.class, () -> Cell.appendCellAddress(sb, -1, 0, Cell.AddressType.Default));
+        assertThrows(RangeException.class, () -> Cell.appendCellAddress(sb, 16384, 0, Cell.AddressType.Default));
+        assertThrows(RangeException.class, () -> Cell.appendCellAddress(sb, 0, -1, Cell.AddressType.Default));
+        assertThrows(RangeException.class, () -> Cell.appendCellAddress(sb, 0, 1048576, Cell.AddressType.Default));
+        assertEquals(0, sb.length());
+    }
+
     @DisplayName("Test of the  resolveCellCoordinate method with string as parameter")
     @ParameterizedTest(name = "Given address expression {0} should lead to the column {1}, row {2} and type {3}")
     @CsvSource(
@@ -648,6 +679,16 @@ public class CellTest {
         assertThrows(RangeException.class, () -> Cell.resolveColumnAddress(16384));
     }
 
+    @DisplayName("Test of the resolveColumnAddress method on all columns, in combination with the resolveColumn method")
+    @Test()
+    void resolveColumnAddressTest3() {
+        for (int i = 0; i <= Worksheet.MAX_COLUMN_NUMBER; i++) {
+            String address = Cell.resolveColumnAddress(i);
+            assertEquals(i, Cell.resolveColumn(address));
+            assertSame(address, Cell.resolveColumnAddress(i)); // Cached
+        }
+    }
+
     @DisplayName("Test of the address scope check function")
     @ParameterizedTest(name = "Given address or range string: {0} should lead to: {1}")
     @CsvSource(
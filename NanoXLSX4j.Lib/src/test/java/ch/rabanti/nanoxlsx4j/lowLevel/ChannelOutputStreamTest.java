@@ -0,0 +1,55 @@
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ChannelOutputStreamTest {
+
+    @DisplayName("Test of the preallocation of a file with zeros before the data is written")
+    @ParameterizedTest(name = "Given a preallocation of {0} bytes should lead to a zero-filled file and the written data after truncation")
+    @CsvSource(
+            {
+                    "0",
+                    "1",
+                    "1048576",
+                    "3145733",
+            }
+    )
+    void preallocateTest(long size) throws Exception {
+        Path path = Files.createTempFile("nanoxlsx4j-preallocation", ".tmp");
+        try {
+            // A pooled buffer with remaining data of a previous stream must not be written into the preallocated area
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                ChannelOutputStream stream = new ChannelOutputStream(channel, false, false, false);
+                byte[] data = new byte[ChannelOutputStream.BUFFER_SIZE - 1];
+                Arrays.fill(data, (byte) 0xFF);
+                stream.write(data);
+                stream.close();
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ChannelOutputStream stream = new ChannelOutputStream(channel, false, false, true);
+                stream.preallocate(size);
+                assertEquals(0, channel.position());
+                assertEquals(size, channel.size());
+                byte[] content = Files.readAllBytes(path);
+                assertArrayEquals(new byte[(int) size], content);
+                stream.write(new byte[]{1, 2, 3});
+                stream.close();
+            }
+            assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(path));
+        }
+        finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelZipWriterTest {
+
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Test of the ZIP64 end of central directory, depending on the number of entries")
+    @ParameterizedTest(name = "Given {0} entries should lead to a zip file with ZIP64 end record: {1}")
+    @CsvSource(
+            {
+                    "1, false",
+                    "65534, false",
+                    "65535, true",
+                    "70000, true",
+            }
+    )
+    void zip64EntryCountTest(int entryCount, boolean expectedZip64) throws Exception {
+        ParallelZipWriter zip = new ParallelZipWriter(Runnable::run, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+        for (int i = 0; i < entryCount; i++) {
+            zip.addEntry("entry" + i + ".xml", ("<v>" + i + "</v>").getBytes(StandardCharsets.UTF_8), i % 2 == 0);
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        zip.writeTo(stream);
+        byte[] data = stream.toByteArray();
+        assertEquals(expectedZip64, hasZip64EndRecord(data));
+
+        int count = 0;
+        try (ZipInputStream zipStream = new ZipInputStream(new ByteArrayInputStream(data))) {
+            ZipEntry entry;
+            while ((entry = zipStream.getNextEntry()) != null) {
+                assertEquals("entry" + count + ".xml", entry.getName());
+                assertArrayEquals(("<v>" + count + "</v>").getBytes(StandardCharsets.UTF_8), zipStream.readAllBytes());
+                count++;
+            }
+        }
+        assertEquals(entryCount, count);
+
+        Path file = tempDir.resolve("entries.zip");
+        Files.write(file, data);
+        try (ZipFile zipFile = new ZipFile(file.toFile())) {
+            assertEquals(entryCount, zipFile.size());
+            String lastName = "entry" + (entryCount - 1) + ".xml";
+            try (InputStream entryStream = zipFile.getInputStream(zipFile.getEntry(lastName))) {
+                assertArrayEquals(("<v>" + (entryCount - 1) + "</v>").getBytes(StandardCharsets.UTF_8), entryStream.readAllBytes());
+            }
+        }
+    }
+
+    @DisplayName("Test of the ZIP64 extra fields of entries beyond an offset of 4 GB. Run with: mvn test -Dtest=ParallelZipWriterTest -Dnanoxlsx4j.zip64=true")
+    @Test()
+    @EnabledIfSystemProperty(named = "nanoxlsx4j.zip64", matches = "true")
+    void zip64OffsetTest() throws Exception {
+        // The same stored block is used for all entries, thus the memory usage does not grow with the file
+        byte[] block = new byte[64 * 1024 * 1024];
+        for (int i = 0; i < block.length; i++) {
+            block[i] = (byte) (i % 251);
+        }
+        int entryCount = 66; // 4.125 GB
+        ParallelZipWriter zip = new ParallelZipWriter(Runnable::run, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+        for (int i = 0; i < entryCount; i++) {
+            zip.addEntry("block" + i + ".bin", block, true);
+        }
+        zip.addEntry("last.xml", "<last/>".getBytes(StandardCharsets.UTF_8), false);
+        Path file = tempDir.resolve("large.zip");
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(file), 1024 * 1024)) {
+            zip.writeTo(stream);
+        }
+        assertTrue(Files.size(file) > 0xFFFFFFFFL);
+
+        try (ZipFile zipFile = new ZipFile(file.toFile())) {
+            assertEquals(entryCount + 1, zipFile.size());
+            try (InputStream entryStream = zipFile.getInputStream(zipFile.getEntry("last.xml"))) {
+                assertArrayEquals("<last/>".getBytes(StandardCharsets.UTF_8), entryStream.readAllBytes());
+            }
+            try (InputStream entryStream = zipFile.getInputStream(zipFile.getEntry("block" + (entryCount - 1) + ".bin"))) {
+                assertTrue(Arrays.equals(block, entryStream.readAllBytes()));
+            }
+        }
+        try (ZipInputStream zipStream = new ZipInputStream(Files.newInputStream(file))) {
+            int count = 0;
+            ZipEntry entry;
+            while ((entry = zipStream.getNextEntry()) != null) {
+                if (entry.getName().equals("last.xml")) {
+                    assertArrayEquals("<last/>".getBytes(StandardCharsets.UTF_8), zipStream.readAllBytes());
+                }
+                count++;
+            }
+            assertEquals(entryCount + 1, count);
+            assertNull(zipStream.getNextEntry());
+        }
+    }
+
+    private static boolean hasZip64EndRecord(byte[] data) {
+        // The ZIP64 end record (56 bytes) and locator (20 bytes) are in front of the end record (22 bytes)
+        int position = data.length - 22 - 20 - 56;
+        return position >= 0 && ByteBuffer.wrap(data, position, 4).order(ByteOrder.LITTLE_ENDIAN).getInt() == ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE;
+    }
+}
@@ -0,0 +1,80 @@
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import ch.rabanti.nanoxlsx4j.exceptions.FormatException;
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ReaderUtilsTest {
+
+    @DisplayName("Test of the scanning of cell references into packed column and row numbers")
+    @ParameterizedTest(name = "Given reference {0} should lead to column {1} and row {2}")
+    @CsvSource(
+            {
+                    "A1, 0, 0",
+                    "a1, 0, 0",
+                    "Z99, 25, 98",
+                    "AA100, 26, 99",
+                    "BC12, 54, 11",
+                    "XFD1048576, 16383, 1048575",
+            }
+    )
+    void resolveCellReferenceTest(String reference, int expectedColumn, int expectedRow) {
+        long packed = ReaderUtils.resolveCellReference(reference);
+        assertEquals(expectedColumn, ReaderUtils.getColumn(packed));
+        assertEquals(expectedRow, ReaderUtils.getRow(packed));
+        assertEquals(packed, WorksheetReader.resolveCellReference(reference));
+    }
+
+    @DisplayName("Test of the scanning of malformed or out of range cell references")
+    @ParameterizedTest(name = "Given reference {0} should lead to no result of the scanner")
+    @CsvSource(
+            {
+                    "''",
+                    "A",
+                    "1",
+                    "A0",
+                    "A1B",
+                    "$A$1",
+                    "XFE1",
+                    "A1048577",
+                    "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA1",
+                    "A99999999999999999999",
+            }
+    )
+    void resolveInvalidCellReferenceTest(String reference) {
+        assertEquals(-1, ReaderUtils.resolveCellReference(reference));
+    }
+
+    @DisplayName("Test of the fallback of the worksheet reader for absolute references that cannot be scanned")
+    @ParameterizedTest(name = "Given reference {0} should lead to column {1} and row {2}")
+    @CsvSource(
+            {
+                    "$A$1, 0, 0",
+                    "$C5, 2, 4",
+            }
+    )
+    void resolveCellReferenceFallbackTest(String reference, int expectedColumn, int expectedRow) {
+        long packed = WorksheetReader.resolveCellReference(reference);
+        assertEquals(expectedColumn, ReaderUtils.getColumn(packed));
+        assertEquals(expectedRow, ReaderUtils.getRow(packed));
+    }
+
+    @DisplayName("Test of the failing resolution of invalid references by the worksheet reader")
+    @ParameterizedTest(name = "Given reference {0} should lead to a {1}")
+    @CsvSource(
+            {
+                    "A0, RangeException",
+                    "XFE1, RangeException",
+                    "1A, FormatException",
+            }
+    )
+    void resolveCellReferenceFailTest(String reference, String expectedException) {
+        Class<? extends RuntimeException> exceptionType = expectedException.equals("RangeException") ? RangeException.class : FormatException.class;
+        assertThrows(exceptionType, () -> WorksheetReader.resolveCellReference(reference));
+    }
+}
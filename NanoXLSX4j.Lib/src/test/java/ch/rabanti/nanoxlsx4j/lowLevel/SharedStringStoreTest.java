@@ -0,0 +1,166 @@
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import ch.rabanti.nanoxlsx4j.ImportOptions;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.Worksheet;
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class SharedStringStoreTest {
+
+    @DisplayName("Test of the storage of strings in the arena or in a temporary file")
+    @ParameterizedTest(name = "Given {0} strings and a spill size of {1} bytes should lead to the original strings (spilled: {2})")
+    @CsvSource(
+            {
+                    "0, 0, false",
+                    "1, 0, false",
+                    "5000, 0, false",
+                    "5000, 1000000, false",
+                    "5000, 1000, true",
+                    "5000, 1, true",
+            }
+    )
+    void storeTest(int count, long spillSize, boolean expectedSpilled) throws Exception {
+        SharedStringStore store = new SharedStringStore(spillSize);
+        for (int i = 0; i < count; i++) {
+            store.add(createString(i));
+        }
+        store.complete();
+        assertEquals(count, store.size());
+        assertEquals(expectedSpilled, store.isSpilled());
+        for (int i = 0; i < count; i++) {
+            assertEquals(createString(i), store.get(i));
+            // Subsequent accesses return the cached instance
+            assertSame(store.get(i), store.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(count));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(-1));
+    }
+
+    @DisplayName("Test of the reading of a shared strings table with formatted runs, phonetic tokens and new lines")
+    @ParameterizedTest(name = "Given phonetic import {0} and a spill size of {1} bytes should lead to the expected strings")
+    @CsvSource(
+            {
+                    "false, 0",
+                    "true, 0",
+                    "false, 2",
+                    "true, 2",
+            }
+    )
+    void readTest(boolean phoneticCharacters, long spillSize) throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"5\" uniqueCount=\"5\">" +
+                "<si><t>plain &amp; simple</t></si>" +
+                "<si><r><rPr><b/></rPr><t>bold</t></r><r><t xml:space=\"preserve\"> text</t></r></si>" +
+                "<si><t>line1\nline2\r\nline3</t></si>" +
+                "<si><t>漢字</t><rPh sb=\"0\" eb=\"2\"><t>かんじ</t></rPh><phoneticPr fontId=\"1\"/></si>" +
+                "<si/>" +
+                "</sst>";
+        ImportOptions options = new ImportOptions();
+        options.setEnforcePhoneticCharacterImport(phoneticCharacters);
+        options.setSharedStringsSpillSize(spillSize);
+        SharedStringsReader reader = new SharedStringsReader(options);
+        reader.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(5, reader.getCount());
+        assertEquals(spillSize > 0, reader.isSpilled());
+        assertEquals("plain & simple", reader.getString(0));
+        assertEquals("bold text", reader.getString(1));
+        assertEquals("line1\r\nline2\r\nline3", reader.getString(2));
+        assertEquals(phoneticCharacters ? "漢字(かんじ)" : "漢字", reader.getString(3));
+        assertEquals("", reader.getString(4));
+        assertNull(reader.getString(5));
+    }
+
+    @DisplayName("Test of the closing of the temporary file if the shared strings could not be read completely")
+    @ParameterizedTest(name = "Given a spill size of {0} bytes should lead to no remaining open file")
+    @CsvSource(
+            {
+                    "0",
+                    "2",
+            }
+    )
+    void abortTest(long spillSize) throws Exception {
+        // The first temporary file may open further descriptors permanently (e.g. for the random name)
+        SharedStringStore warmUp = new SharedStringStore(1);
+        warmUp.add("value");
+        warmUp.abort();
+        long initialFiles = countOpenFiles();
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">" +
+                "<si><t>first</t></si><si><t>second</t></si><si><t>broken</si>";
+        ImportOptions options = new ImportOptions();
+        options.setSharedStringsSpillSize(spillSize);
+        SharedStringsReader reader = new SharedStringsReader(options);
+        assertThrows(ch.rabanti.nanoxlsx4j.exceptions.IOException.class, () -> reader.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))));
+        assertEquals(0, reader.getCount());
+        assertFalse(reader.isSpilled());
+        assertEquals(initialFiles, countOpenFiles());
+
+        SharedStringStore store = new SharedStringStore(1);
+        store.add("value");
+        assertTrue(store.isSpilled());
+        store.abort();
+        assertFalse(store.isSpilled());
+        assertEquals(0, store.size());
+        assertEquals(initialFiles, countOpenFiles());
+    }
+
+    @DisplayName("Test of the loading of a workbook with spilled shared strings")
+    @Test()
+    void loadSpilledWorkbookTest() throws Exception {
+        Workbook workbook = new Workbook("strings");
+        Worksheet worksheet = workbook.getCurrentWorksheet();
+        for (int i = 0; i < 2000; i++) {
+            worksheet.addCell(createString(i), 0, i);
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream);
+        ImportOptions options = new ImportOptions();
+        options.setSharedStringsSpillSize(4096);
+        Workbook loadedWorkbook = Workbook.load(new ByteArrayInputStream(stream.toByteArray()), options);
+        for (int i = 0; i < 2000; i++) {
+            assertEquals(createString(i), loadedWorkbook.getWorksheets().get(0).getCell(0, i).getValue());
+        }
+    }
+
+    @DisplayName("Test of the default and invalid spill size of the shared strings")
+    @Test()
+    void spillSizeTest() {
+        ImportOptions options = new ImportOptions();
+        assertEquals(0, options.getSharedStringsSpillSize());
+        options.setSharedStringsSpillSize(1024);
+        assertEquals(1024, options.getSharedStringsSpillSize());
+        assertThrows(RangeException.class, () -> options.setSharedStringsSpillSize(-1));
+        assertFalse(new SharedStringsReader(null).isSpilled());
+        assertEquals(0, new SharedStringStore(1).size());
+    }
+
+    private static long countOpenFiles() {
+        // The temporary file may already be unlinked on opening (e.g. on Linux), thus the open descriptors are counted
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        assumeTrue(bean instanceof UnixOperatingSystemMXBean);
+        return ((UnixOperatingSystemMXBean) bean).getOpenFileDescriptorCount();
+    }
+
+    private static String createString(int index) {
+        return "string" + index + (index % 7 == 0 ? "" : "-ä€" + "x".repeat(index % 50));
+    }
+}
@@ -0,0 +1,95 @@
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import ch.rabanti.nanoxlsx4j.SaveOptions;
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SharedStringTableTest {
+
+    @DisplayName("Test of the growth of the shared strings table")
+    @ParameterizedTest(name = "Given a capacity of {0} and {1} unique strings should lead to the original indices")
+    @CsvSource(
+            {
+                    "0, 0",
+                    "0, 1",
+                    "-5, 100",
+                    "16, 16",
+                    "16, 17",
+                    "100, 5000",
+                    "256, 100000",
+                    "100000, 10",
+            }
+    )
+    void growTest(int capacity, int count) {
+        SharedStringTable table = new SharedStringTable(capacity);
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, table.add("string" + i));
+        }
+        // Adding the strings a second time must not lead to new entries
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, table.add("string" + i));
+            assertEquals(i, table.indexOf("string" + i));
+            assertEquals("string" + i, table.get(i));
+        }
+        assertEquals(count, table.size());
+        assertEquals(-1, table.indexOf("string" + count));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(count));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.get(-1));
+    }
+
+    @DisplayName("Test of the shared strings table with strings of the same hash code")
+    @Test()
+    void hashCollisionTest() {
+        // "Aa" and "BB" have the same hash code, thus all combinations of them collide
+        List<String> values = new ArrayList<>();
+        values.add("");
+        for (int i = 0; i < 10; i++) {
+            List<String> combined = new ArrayList<>();
+            for (String value : values) {
+                combined.add(value + "Aa");
+                combined.add(value + "BB");
+            }
+            values = combined;
+        }
+        assertEquals(1024, values.size());
+        assertEquals(values.get(0).hashCode(), values.get(values.size() - 1).hashCode());
+        SharedStringTable table = new SharedStringTable();
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i, table.add(values.get(i)));
+            assertEquals(i, table.add(values.get(i)));
+        }
+        assertEquals(values.size(), table.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(i, table.indexOf(values.get(i)));
+            assertEquals(values.get(i), table.get(i));
+        }
+        assertEquals(-1, table.indexOf("AaAaAaAaAaAaAaAaAaAaAa"));
+    }
+
+    @DisplayName("Test of the failing definition of a shared strings capacity beyond the maximum")
+    @ParameterizedTest(name = "Given capacity {0} should lead to an exception")
+    @CsvSource(
+            {
+                    "-1",
+                    "536870913",
+                    "1073741824",
+                    "2147483647",
+            }
+    )
+    void capacityFailTest(int capacity) {
+        SaveOptions options = new SaveOptions();
+        options.setSharedStringsCapacity(SaveOptions.MAX_SHARED_STRINGS_CAPACITY);
+        assertEquals(SaveOptions.MAX_SHARED_STRINGS_CAPACITY, options.getSharedStringsCapacity());
+        assertThrows(RangeException.class, () -> options.setSharedStringsCapacity(capacity));
+        assertEquals(SharedStringTable.MAXIMUM_CAPACITY, SaveOptions.MAX_SHARED_STRINGS_CAPACITY);
+    }
+}
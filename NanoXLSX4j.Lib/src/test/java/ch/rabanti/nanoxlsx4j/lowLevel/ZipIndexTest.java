@@ -0,0 +1,122 @@
+package ch.rabanti.nanoxlsx4j.lowLevel;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ZipIndexTest {
+
+    @DisplayName("Test of the random access to the entries of a zip file, written by a zip output stream")
+    @ParameterizedTest(name = "Given {0} entries with a comment of {1} characters should lead to the original contents")
+    @CsvSource(
+            {
+                    "1, 0",
+                    "10, 0",
+                    "10, 100",
+                    "200, 65535",
+            }
+    )
+    void readTest(int entryCount, int commentLength) throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(stream)) {
+            for (int i = 0; i < entryCount; i++) {
+                byte[] content = createContent(i);
+                ZipEntry entry = new ZipEntry(getName(i));
+                if (i % 3 == 1) {
+                    CRC32 crc = new CRC32();
+                    crc.update(content);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(content.length);
+                    entry.setCrc(crc.getValue());
+                }
+                zip.putNextEntry(entry);
+                zip.write(content);
+                zip.closeEntry();
+            }
+            zip.setComment("c".repeat(commentLength));
+        }
+        ZipIndex index = new ZipIndex(stream.toByteArray());
+        assertEquals(entryCount, index.size());
+        // Read in reverse order, to ensure that no entry depends on the preceding ones
+        for (int i = entryCount - 1; i >= 0; i--) {
+            ZipIndex.Entry entry = index.getEntry(getName(i));
+            assertNotNull(entry);
+            assertEquals(getName(i), entry.getName());
+            assertEquals(createContent(i).length, entry.getSize());
+            try (InputStream entryStream = index.getInputStream(entry)) {
+                assertArrayEquals(createContent(i), entryStream.readAllBytes());
+            }
+        }
+        assertNull(index.getEntry("missing.xml"));
+    }
+
+    @DisplayName("Test of the random access to the entries of a ZIP64 zip file")
+    @Test()
+    void readZip64Test() throws Exception {
+        int entryCount = 70000;
+        ParallelZipWriter zip = new ParallelZipWriter(Runnable::run, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+        for (int i = 0; i < entryCount; i++) {
+            zip.addEntry("entry" + i + ".xml", ("<v>" + i + "</v>").getBytes(StandardCharsets.UTF_8), i % 2 == 0);
+        }
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        zip.writeTo(stream);
+        ZipIndex index = new ZipIndex(stream.toByteArray());
+        assertEquals(entryCount, index.size());
+        for (int i : new int[]{0, 1, 65534, 65535, entryCount - 1}) {
+            try (InputStream entryStream = index.getInputStream(index.getEntry("entry" + i + ".xml"))) {
+                assertArrayEquals(("<v>" + i + "</v>").getBytes(StandardCharsets.UTF_8), entryStream.readAllBytes());
+            }
+        }
+    }
+
+    @DisplayName("Test of the failing indexing of invalid zip files")
+    @ParameterizedTest(name = "Given data truncated to {0} bytes should lead to an exception")
+    @CsvSource(
+            {
+                    "0",
+                    "21",
+                    "100",
+                    "-10",
+            }
+    )
+    void readFailTest(int length) throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(stream)) {
+            zip.putNextEntry(new ZipEntry(getName(0)));
+            zip.write(createContent(0));
+            zip.closeEntry();
+        }
+        byte[] data = stream.toByteArray();
+        byte[] givenData = Arrays.copyOf(data, length < 0 ? data.length + length : length);
+        assertThrows(ZipException.class, () -> new ZipIndex(givenData));
+    }
+
+    private static String getName(int index) {
+        return "xl/worksheets/sheet" + index + "_ä.xml";
+    }
+
+    private static byte[] createContent(int index) {
+        StringBuilder sb = new StringBuilder("<sheet>");
+        for (int i = 0; i < index * 50; i++) {
+            sb.append("<c r=\"A").append(i).append("\"><v>").append(i * index).append("</v></c>");
+        }
+        return sb.append("</sheet>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,109 @@
+package ch.rabanti.nanoxlsx4j.misc;
+
+import ch.rabanti.nanoxlsx4j.SaveOptions;
+import ch.rabanti.nanoxlsx4j.TestUtils;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark of the time/size trade-off of the compression options. Run with: mvn test
+ * -Dtest=CompressionBenchmarkTest -Dnanoxlsx4j.benchmark=true
+ */
+@EnabledIfSystemProperty(named = "nanoxlsx4j.benchmark", matches = "true")
+public class CompressionBenchmarkTest {
+
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 7;
+    private static final String[] RESOURCES = {"autofilter.xlsx", "chartsheet.xlsx", "new_format.xlsx", "phonetics.xlsx",
+            "swapped_worksheets.xlsx", "valid_column_row_dimensions.xlsx"};
+
+    @DisplayName("Benchmark of the compression level, strategy and stored parts on the test workbooks")
+    @Test()
+    void compressionBenchmark() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            Map<String, Supplier<SaveOptions>> configurations = new LinkedHashMap<>();
+            configurations.put("default (6)", SaveOptions::new);
+            configurations.put("level 1", () -> level(1));
+            configurations.put("level 9", () -> level(9));
+            configurations.put("level 0", () -> level(0));
+            configurations.put("huffman only", () -> {
+                SaveOptions options = new SaveOptions();
+                options.setCompressionStrategy(SaveOptions.CompressionStrategy.HUFFMAN_ONLY);
+                return options;
+            });
+            configurations.put("stored worksheets", () -> {
+                SaveOptions options = new SaveOptions();
+                options.setStored(SaveOptions.PartType.WORKSHEET, true);
+                return options;
+            });
+            configurations.put("parallel", () -> {
+                SaveOptions options = new SaveOptions();
+                options.setExecutor(executor);
+                options.setParallelCompression(true);
+                return options;
+            });
+            Map<String, Workbook> workbooks = new LinkedHashMap<>();
+            for (String resource : RESOURCES) {
+                try (InputStream stream = TestUtils.getResource(resource)) {
+                    workbooks.put(resource, Workbook.load(stream));
+                }
+            }
+            workbooks.put("generated (100k cells)", createWorkbook());
+            System.out.printf("%-34s %-18s %12s %12s%n", "Workbook", "Options", "Median [ms]", "Size [bytes]");
+            for (Map.Entry<String, Workbook> workbook : workbooks.entrySet()) {
+                for (Map.Entry<String, Supplier<SaveOptions>> configuration : configurations.entrySet()) {
+                    for (int i = 0; i < WARMUP; i++) {
+                        workbook.getValue().saveAsStream(new ByteArrayOutputStream(), configuration.getValue().get());
+                    }
+                    long[] times = new long[ITERATIONS];
+                    int size = 0;
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                        long start = System.nanoTime();
+                        workbook.getValue().saveAsStream(stream, configuration.getValue().get());
+                        times[i] = System.nanoTime() - start;
+                        size = stream.size();
+                    }
+                    Arrays.sort(times);
+                    System.out.printf("%-34s %-18s %12.2f %12d%n", workbook.getKey(), configuration.getKey(), times[ITERATIONS / 2] / 1e6, size);
+                    assertTrue(size > 0);
+                }
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private static SaveOptions level(int level) {
+        SaveOptions options = new SaveOptions();
+        options.setCompressionLevel(level);
+        return options;
+    }
+
+    private static Workbook createWorkbook() {
+        Workbook workbook = new Workbook("generated");
+        for (int r = 0; r < 25000; r++) {
+            workbook.getCurrentWorksheet().addCell("text" + (r % 1000), 0, r);
+            workbook.getCurrentWorksheet().addCell(r, 1, r);
+            workbook.getCurrentWorksheet().addCell(r * 0.5d, 2, r);
+            workbook.getCurrentWorksheet().addCell(r % 2 == 0, 3, r);
+        }
+        return workbook;
+    }
+
+}
@@ -11,6 +11,12 @@ import org.junit.jupiter.params.provider.CsvSource;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.Locale;
 
@@ -130,6 +136,74 @@ public class HelperTest {
         assertThrows(FormatException.class, () -> Helper.getOADate(null));
     }
 
+    @DisplayName("Test of the getOADateFromLocalDateTime and getOADateFromInstant functions, compared to the getOADate function")
+    @ParameterizedTest(name = "Given date {0} should lead to the same OADate number as the equivalent Date")
+    @CsvSource(
+            {
+                    "01.01.1900 00:00:00",
+                    "02.01.1900 12:35:20",
+                    "28.02.1900 12:30:32",
+                    "01.03.1900 00:00:00",
+                    "01.03.1900 08:08:11",
+                    "20.05.1960 22:11:05",
+                    "28.03.2021 02:30:00",
+                    "31.10.2021 02:30:00",
+                    "12.12.5870 11:30:12",
+                    "31.12.9999 23:59:59",}
+    )
+    void getOADateFromLocalDateTimeTest(String dateString) throws ParseException {
+        SimpleDateFormat formatter = new SimpleDateFormat("dd.MM.yyyy HH:mm:ss", Locale.US);
+        Date date = formatter.parse(dateString);
+        LocalDateTime dateTime = LocalDateTime.parse(dateString, DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss", Locale.US));
+        double expected = Helper.getOADate(date);
+        assertEquals(expected, Helper.getOADateFromInstant(date.toInstant()));
+        if (dateTime.equals(LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()))) {
+            // Local times within a gap of the default time zone are shifted by the Date
+            assertEquals(expected, Helper.getOADateFromLocalDateTime(dateTime));
+        }
+    }
+
+    @DisplayName("Test of the getOADateFromLocalDate function")
+    @ParameterizedTest(name = "Given date {0} should lead to the OADate number {1}")
+    @CsvSource(
+            {
+                    "1900-01-01, 1",
+                    "1900-02-27, 58",
+                    "1900-02-28, 59",
+                    "1900-03-01, 61",
+                    "1960-05-20, 22056",
+                    "2021-01-01, 44197",
+                    "9999-12-31, 2958465",}
+    )
+    void getOADateFromLocalDateTest(String dateString, double expectedOaDate) {
+        assertEquals(expectedOaDate, Helper.getOADateFromLocalDate(LocalDate.parse(dateString)));
+    }
+
+    @DisplayName("Test of the failing getOADateFromLocalDateTime and getOADateFromLocalDate functions on invalid dates")
+    @ParameterizedTest(name = "Given date {0} should lead to an exception")
+    @CsvSource(
+            {
+                    "0001-01-01T00:00:00",
+                    "0712-05-18T11:15:02",
+                    "1899-12-31T23:59:59",
+                    "+10000-01-01T00:00:00",}
+    )
+    void getOADateFromLocalDateTimeFailTest(String dateString) {
+        LocalDateTime dateTime = LocalDateTime.parse(dateString);
+        assertThrows(FormatException.class, () -> Helper.getOADateFromLocalDateTime(dateTime));
+        assertThrows(FormatException.class, () -> Helper.getOADateFromLocalDate(dateTime.toLocalDate()));
+    }
+
+    @DisplayName("Test of the failing getOADateFromInstant function on invalid instants")
+    @Test()
+    void getOADateFromInstantFailTest() {
+        assertThrows(FormatException.class, () -> Helper.getOADateFromInstant(Instant.MIN));
+        assertThrows(FormatException.class, () -> Helper.getOADateFromInstant(Instant.MAX));
+        assertThrows(FormatException.class, () -> Helper.getOADateFromInstant(null));
+        assertThrows(FormatException.class, () -> Helper.getOADateFromLocalDateTime(null));
+        assertThrows(FormatException.class, () -> Helper.getOADateFromLocalDate(null));
+    }
+
     @DisplayName("Test of the getOATimeString function")
     @ParameterizedTest(name = "Given value {0} should lead to the OaDate {1}")
     @CsvSource(
@@ -178,6 +252,29 @@ public class HelperTest {
         assertThrows(FormatException.class, () -> Helper.getOATime(null));
     }
 
+    @DisplayName("Test of the getOATimeFromLocalTime function")
+    @ParameterizedTest(name = "Given value {0} should lead to the OaDate {1}")
+    @CsvSource(
+            {
+                    "00:00:00, 0.0",
+                    "12:00:00, 0.5",
+                    "23:59:59,  0.999988425925926",
+                    "13:11:10, 0.549421296296296",
+                    "18:00:00, 0.75",}
+    )
+    void getOATimeFromLocalTimeTest(String timeString, double expectedOaTime) {
+        LocalTime time = LocalTime.parse(timeString);
+        assertEquals(Helper.getOATime(Duration.ofSeconds(time.toSecondOfDay())), Helper.getOATimeFromLocalTime(time));
+        float threshold = 0.000000001f; // Ignore everything below a millisecond
+        assertTrue(Math.abs(expectedOaTime - Helper.getOATimeFromLocalTime(time)) < threshold);
+    }
+
+    @DisplayName("Test of the failing getOATimeFromLocalTime function on a null LocalTime")
+    @Test()
+    void getOATimeFromLocalTimeFailTest() {
+        assertThrows(FormatException.class, () -> Helper.getOATimeFromLocalTime(null));
+    }
+
     @DisplayName("Test of the getInternalColumnWidth function")
     @ParameterizedTest(name = "Given value {0} should lead to the internal width {1}")
     @CsvSource(
@@ -338,6 +435,42 @@ public class HelperTest {
         assertEquals(expectedDate, date);
     }
 
+    @DisplayName("Test of the getLocalDateTimeFromOA function")
+    @ParameterizedTest(name = "Given value {0} should lead to the date {1}")
+    @CsvSource(
+            {
+                    "1, '1900-01-01T00:00:00'",
+                    "2.5245370370370401, '1900-01-02T12:35:20'",
+                    "58, '1900-02-27T00:00:00'",
+                    "59, '1900-02-28T00:00:00'",
+                    "59.521203703703705, '1900-02-28T12:30:32'",
+                    "61, '1900-03-01T00:00:00'",
+                    "61.339016203703707, '1900-03-01T08:08:11'",
+                    "22056.924363425926, '1960-05-20T22:11:05'",
+                    "44197, '2021-01-01T00:00:00'",
+                    "1450360.47930556, '5870-12-12T11:30:12'",}
+    )
+    void getLocalDateTimeFromOATest(double givenValue, String expectedDateString) {
+        LocalDateTime expectedDate = LocalDateTime.parse(expectedDateString);
+        assertEquals(expectedDate, Helper.getLocalDateTimeFromOA(givenValue));
+        assertEquals(givenValue, Helper.getOADateFromLocalDateTime(expectedDate), 0.00001);
+    }
+
+    @DisplayName("Test of the getTimeFromOA function")
+    @ParameterizedTest(name = "Given value {0} should lead to the duration {1}")
+    @CsvSource(
+            {
+                    "0, 'PT0S'",
+                    "0.5, 'PT12H'",
+                    "0.999988425925926, 'PT23H59M59S'",
+                    "0.549421296296296, 'PT13H11M10S'",
+                    "2.5245370370370401, 'PT60H35M20S'",
+                    "61.339016203703707, 'PT1472H8M11S'",}
+    )
+    void getTimeFromOATest(double givenValue, String expectedDuration) {
+        assertEquals(Duration.parse(expectedDuration), Helper.getTimeFromOA(givenValue));
+    }
+
     @DisplayName("Test of the parseTime function")
     @ParameterizedTest(name = "Given value {0}  and pattern {1} should lead to the duration {2}")
     @CsvSource(
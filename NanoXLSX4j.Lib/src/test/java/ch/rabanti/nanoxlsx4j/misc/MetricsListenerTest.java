@@ -0,0 +1,251 @@
+package ch.rabanti.nanoxlsx4j.misc;
+
+import ch.rabanti.nanoxlsx4j.ImportOptions;
+import ch.rabanti.nanoxlsx4j.MetricsListener;
+import ch.rabanti.nanoxlsx4j.SaveOptions;
+import ch.rabanti.nanoxlsx4j.SummaryMetricsListener;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.styles.BasicStyles;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetricsListenerTest {
+
+    @DisplayName("Test of the metrics of a saved workbook")
+    @ParameterizedTest(name = "Given parallel mode {0}, part caching {1} and stored worksheets {2} should lead to the expected metrics")
+    @CsvSource(
+            {
+                    "false, false, false",
+                    "false, false, true",
+                    "false, true, false",
+                    "true, false, false",
+                    "true, true, true",
+            }
+    )
+    void saveMetricsTest(boolean parallel, boolean partCaching, boolean storedWorksheets) throws Exception {
+        RecordingListener listener = new RecordingListener();
+        SaveOptions options = new SaveOptions();
+        options.setMetricsListener(listener);
+        options.setPartCaching(partCaching);
+        options.setStored(SaveOptions.PartType.WORKSHEET, storedWorksheets);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try {
+            if (parallel) {
+                options.setExecutor(executor);
+                options.setParallelCompression(true);
+            }
+            createWorkbook().saveAsStream(stream, options);
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertEquals(List.of("started:SAVE", "completed:SAVE"), listener.operations);
+        assertEquals(2L, listener.counters.get(MetricsListener.Counter.WORKSHEETS));
+        assertEquals(1001L, listener.counters.get(MetricsListener.Counter.CELLS));
+        assertEquals(501L, listener.counters.get(MetricsListener.Counter.SHARED_STRING_REFERENCES));
+        assertEquals(251L, listener.counters.get(MetricsListener.Counter.SHARED_STRINGS));
+        assertTrue(listener.counters.get(MetricsListener.Counter.STYLES) >= 2);
+        assertEquals(listener.parts.size(), listener.counters.get(MetricsListener.Counter.PARTS));
+        assertTrue(listener.phases.containsKey(MetricsListener.Phase.WORKSHEETS));
+        assertTrue(listener.phases.containsKey(MetricsListener.Phase.STYLES));
+        assertTrue(listener.phases.containsKey(MetricsListener.Phase.PACKING));
+        assertTrue(listener.parts.containsKey("xl/worksheets/sheet1.xml"));
+        assertTrue(listener.parts.containsKey("xl/sharedStrings.xml"));
+        assertTrue(listener.parts.containsKey("[Content_Types].xml"));
+        long[] sizes = listener.parts.get("xl/worksheets/sheet1.xml");
+        assertTrue(sizes[0] > 0);
+        if (storedWorksheets) {
+            assertEquals(sizes[0], sizes[1]);
+        }
+        else {
+            assertTrue(sizes[1] > 0 && sizes[1] < sizes[0]);
+        }
+    }
+
+    @DisplayName("Test of the metrics of a loaded workbook")
+    @ParameterizedTest(name = "Given a workbook loaded from a file ({0}) should lead to the expected metrics")
+    @CsvSource(
+            {
+                    "false",
+                    "true",
+            }
+    )
+    void loadMetricsTest(boolean fromFile) throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        createWorkbook().saveAsStream(stream);
+        RecordingListener listener = new RecordingListener();
+        ImportOptions options = new ImportOptions();
+        options.setMetricsListener(listener);
+        if (fromFile) {
+            File file = File.createTempFile("metrics", ".xlsx");
+            try {
+                Files.write(file.toPath(), stream.toByteArray());
+                Workbook.load(file.getPath(), options);
+            }
+            finally {
+                file.delete();
+            }
+            assertNull(listener.buffers.get(MetricsListener.Buffer.ARCHIVE_BUFFER));
+        }
+        else {
+            Workbook.load(new ByteArrayInputStream(stream.toByteArray()), options);
+            assertEquals((long) stream.size(), listener.buffers.get(MetricsListener.Buffer.ARCHIVE_BUFFER));
+        }
+        assertEquals(List.of("started:LOAD", "completed:LOAD"), listener.operations);
+        assertEquals(2L, listener.counters.get(MetricsListener.Counter.WORKSHEETS));
+        assertEquals(1001L, listener.counters.get(MetricsListener.Counter.CELLS));
+        assertEquals(251L, listener.counters.get(MetricsListener.Counter.SHARED_STRINGS));
+        assertTrue(listener.phases.containsKey(MetricsListener.Phase.WORKBOOK));
+        assertTrue(listener.phases.containsKey(MetricsListener.Phase.WORKSHEETS));
+        assertTrue(listener.phases.containsKey(MetricsListener.Phase.SHARED_STRINGS));
+        long[] sizes = listener.parts.get("xl/worksheets/sheet1.xml");
+        assertNotNull(sizes);
+        assertTrue(sizes[0] > 0);
+        assertNotNull(listener.parts.get("xl/styles.xml"));
+    }
+
+    @DisplayName("Test of the summary of the summary metrics listener")
+    @Test()
+    void summaryTest() throws Exception {
+        StringBuilder output = new StringBuilder();
+        SummaryMetricsListener listener = new SummaryMetricsListener(output);
+        assertNull(listener.getSummary());
+        assertEquals(-1, listener.getCounter(MetricsListener.Counter.CELLS));
+        SaveOptions saveOptions = new SaveOptions();
+        saveOptions.setMetricsListener(listener);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        createWorkbook().saveAsStream(stream, saveOptions);
+        String summary = listener.getSummary();
+        assertNotNull(summary);
+        assertTrue(summary.startsWith("Save completed in "));
+        assertTrue(summary.contains("xl/worksheets/sheet1.xml"));
+        assertTrue(summary.contains("CELLS"));
+        assertEquals(summary, output.toString());
+        assertEquals(1001, listener.getCounter(MetricsListener.Counter.CELLS));
+        assertTrue(listener.getPhaseDuration(MetricsListener.Phase.WORKSHEETS) > 0);
+
+        ImportOptions importOptions = new ImportOptions();
+        importOptions.setMetricsListener(listener);
+        Workbook.load(new ByteArrayInputStream(stream.toByteArray()), importOptions);
+        assertTrue(listener.getSummary().startsWith("Load completed in "));
+        assertEquals(-1, listener.getCounter(MetricsListener.Counter.PARTS));
+        assertEquals(summary + listener.getSummary(), output.toString());
+    }
+
+    @DisplayName("Test of the metrics of a failed save and a failed load")
+    @Test()
+    void failedOperationTest() throws Exception {
+        RecordingListener listener = new RecordingListener();
+        SaveOptions saveOptions = new SaveOptions();
+        saveOptions.setMetricsListener(listener);
+        OutputStream failingStream = new OutputStream() {
+            @Override
+            public void write(int b) throws java.io.IOException {
+                throw new java.io.IOException("write failed");
+            }
+        };
+        Exception saveException = assertThrows(Exception.class, () -> createWorkbook().saveAsStream(failingStream, saveOptions));
+        assertEquals(List.of("started:SAVE", "failed:SAVE"), listener.operations);
+        assertEquals(saveException, listener.failure);
+
+        listener.operations.clear();
+        ImportOptions importOptions = new ImportOptions();
+        importOptions.setMetricsListener(listener);
+        Exception loadException = assertThrows(Exception.class, () -> Workbook.load(new ByteArrayInputStream(new byte[]{1, 2, 3}), importOptions));
+        assertEquals(List.of("started:LOAD", "failed:LOAD"), listener.operations);
+        assertEquals(loadException, listener.failure);
+
+        // The summary listener keeps the summary of the last completed operation and discards the incomplete metrics
+        StringBuilder output = new StringBuilder();
+        SummaryMetricsListener summaryListener = new SummaryMetricsListener(output);
+        saveOptions.setMetricsListener(summaryListener);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        createWorkbook().saveAsStream(stream, saveOptions);
+        String summary = summaryListener.getSummary();
+        assertThrows(Exception.class, () -> createWorkbook().saveAsStream(failingStream, saveOptions));
+        assertEquals(summary, summaryListener.getSummary());
+        assertEquals(summary, output.toString());
+        assertEquals(-1, summaryListener.getCounter(MetricsListener.Counter.CELLS));
+        assertEquals(0, summaryListener.getPhaseDuration(MetricsListener.Phase.WORKSHEETS));
+    }
+
+    private static Workbook createWorkbook() {
+        Workbook workbook = new Workbook("sheet1");
+        for (int r = 0; r < 500; r++) {
+            workbook.getCurrentWorksheet().addCell("text" + (r % 250), 0, r);
+            workbook.getCurrentWorksheet().addCell(r, 1, r, BasicStyles.Bold());
+        }
+        workbook.addWorksheet("sheet2");
+        workbook.getCurrentWorksheet().addCell("sheet2", 0, 0);
+        return workbook;
+    }
+
+    private static class RecordingListener implements MetricsListener {
+        private final List<String> operations = new ArrayList<>();
+        private final Map<Phase, Long> phases = new LinkedHashMap<>();
+        private final Map<String, long[]> parts = new LinkedHashMap<>();
+        private final Map<Counter, Long> counters = new LinkedHashMap<>();
+        private final Map<Buffer, Long> buffers = new LinkedHashMap<>();
+        private Throwable failure;
+
+        @Override
+        public synchronized void operationStarted(Operation operation) {
+            operations.add("started:" + operation);
+        }
+
+        @Override
+        public synchronized void phaseCompleted(Operation operation, Phase phase, long durationNanos) {
+            assertTrue(durationNanos >= 0);
+            phases.merge(phase, durationNanos, Long::sum);
+        }
+
+        @Override
+        public synchronized void partProcessed(Operation operation, String name, long uncompressedBytes, long compressedBytes) {
+            parts.put(name, new long[]{uncompressedBytes, compressedBytes});
+        }
+
+        @Override
+        public synchronized void counted(Operation operation, Counter counter, long value) {
+            counters.put(counter, value);
+        }
+
+        @Override
+        public synchronized void bufferPeak(Operation operation, Buffer buffer, long peakSize) {
+            buffers.put(buffer, peakSize);
+        }
+
+        @Override
+        public synchronized void operationCompleted(Operation operation, long durationNanos) {
+            assertTrue(durationNanos > 0);
+            operations.add("completed:" + operation);
+        }
+
+        @Override
+        public synchronized void operationFailed(Operation operation, Throwable cause) {
+            operations.add("failed:" + operation);
+            failure = cause;
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+package ch.rabanti.nanoxlsx4j.misc;
+
+import ch.rabanti.nanoxlsx4j.SaveOptions;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.exceptions.FormatException;
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SaveOptionsTest {
+
+    @DisplayName("Test of the default values of the save options")
+    @Test()
+    void defaultValuesTest() {
+        SaveOptions options = new SaveOptions();
+        assertFalse(options.isParallel());
+        assertFalse(options.isParallelCompression());
+        assertEquals(SaveOptions.DEFAULT_COMPRESSION_LEVEL, options.getCompressionLevel());
+        assertEquals(SaveOptions.CompressionStrategy.DEFAULT, options.getCompressionStrategy());
+        assertEquals(0, options.getSharedStringsCapacity());
+        assertEquals(SaveOptions.StringMode.SHARED, options.getStringMode());
+        assertEquals(SaveOptions.DEFAULT_ADAPTIVE_STRING_THRESHOLD, options.getAdaptiveStringThreshold());
+        for (SaveOptions.PartType partType : SaveOptions.PartType.values()) {
+            assertFalse(options.isStored(partType));
+        }
+    }
+
+    @DisplayName("Test of the compression level and strategy when saving a workbook")
+    @ParameterizedTest(name = "Given level {0} and strategy {1} (parallel: {2}) should lead to a valid workbook")
+    @CsvSource(
+            {
+                    "-1, DEFAULT, false",
+                    "0, DEFAULT, false",
+                    "1, FILTERED, false",
+                    "9, HUFFMAN_ONLY, false",
+                    "-1, DEFAULT, true",
+                    "0, FILTERED, true",
+                    "9, HUFFMAN_ONLY, true",
+            }
+    )
+    void compressionTest(int level, SaveOptions.CompressionStrategy strategy, boolean parallel) throws Exception {
+        SaveOptions options = new SaveOptions();
+        options.setCompressionLevel(level);
+        options.setCompressionStrategy(strategy);
+        assertEquals(level, options.getCompressionLevel());
+        assertEquals(strategy, options.getCompressionStrategy());
+        Workbook givenWorkbook = saveAndLoad(createWorkbook(), options, parallel);
+        assertWorkbook(givenWorkbook);
+    }
+
+    @DisplayName("Test of the failing assignment of an invalid compression level")
+    @ParameterizedTest(name = "Given level {0} should lead to an exception")
+    @CsvSource(
+            {
+                    "-2",
+                    "10",
+            }
+    )
+    void compressionLevelFailTest(int level) {
+        SaveOptions options = new SaveOptions();
+        assertThrows(RangeException.class, () -> options.setCompressionLevel(level));
+    }
+
+    @DisplayName("Test of the failing assignment of a negative shared strings capacity")
+    @Test()
+    void sharedStringsCapacityFailTest() {
+        SaveOptions options = new SaveOptions();
+        options.setSharedStringsCapacity(100);
+        assertEquals(100, options.getSharedStringsCapacity());
+        assertThrows(RangeException.class, () -> options.setSharedStringsCapacity(-1));
+    }
+
+    @DisplayName("Test of the string mode of columns, overriding the default string mode")
+    @Test()
+    void columnStringModeTest() {
+        SaveOptions options = new SaveOptions();
+        options.setStringMode(SaveOptions.StringMode.ADAPTIVE);
+        options.setStringMode("sheet1", 2, SaveOptions.StringMode.INLINE);
+        assertEquals(SaveOptions.StringMode.INLINE, options.getStringMode("sheet1", 2));
+        assertEquals(SaveOptions.StringMode.ADAPTIVE, options.getStringMode("sheet1", 1));
+        assertEquals(SaveOptions.StringMode.ADAPTIVE, options.getStringMode("sheet2", 2));
+        options.setStringMode("sheet1", 2, null);
+        assertEquals(SaveOptions.StringMode.ADAPTIVE, options.getStringMode("sheet1", 2));
+        options.setStringMode(null);
+        assertEquals(SaveOptions.StringMode.SHARED, options.getStringMode());
+        assertThrows(RangeException.class, () -> options.setStringMode("sheet1", -1, SaveOptions.StringMode.INLINE));
+        assertThrows(RangeException.class, () -> options.setStringMode("sheet1", 16384, SaveOptions.StringMode.INLINE));
+        assertThrows(FormatException.class, () -> options.setStringMode(null, 2, SaveOptions.StringMode.INLINE));
+        assertNotNull(options.getContentKey());
+    }
+
+    @DisplayName("Test of the failing assignment of an invalid adaptive string threshold")
+    @ParameterizedTest(name = "Given threshold {0} should lead to an exception")
+    @CsvSource(
+            {
+                    "-0.1",
+                    "1.1",
+            }
+    )
+    void adaptiveStringThresholdFailTest(float threshold) {
+        SaveOptions options = new SaveOptions();
+        options.setAdaptiveStringThreshold(0.8f);
+        assertEquals(0.8f, options.getAdaptiveStringThreshold());
+        assertThrows(RangeException.class, () -> options.setAdaptiveStringThreshold(threshold));
+    }
+
+    @DisplayName("Test of the assignment of the file options (preallocation and force)")
+    @Test()
+    void fileOptionsTest() {
+        SaveOptions options = new SaveOptions();
+        assertEquals(0L, options.getPreallocationSize());
+        assertFalse(options.isForceToDisk());
+        options.setPreallocationSize(1024L);
+        options.setForceToDisk(true);
+        assertEquals(1024L, options.getPreallocationSize());
+        assertTrue(options.isForceToDisk());
+        assertThrows(RangeException.class, () -> options.setPreallocationSize(-1L));
+        assertEquals(1024L, options.getPreallocationSize());
+    }
+
+    @DisplayName("Test of the assignment of a null strategy, leading to the default strategy")
+    @Test()
+    void compressionStrategyNullTest() {
+        SaveOptions options = new SaveOptions();
+        options.setCompressionStrategy(SaveOptions.CompressionStrategy.HUFFMAN_ONLY);
+        options.setCompressionStrategy(null);
+        assertEquals(SaveOptions.CompressionStrategy.DEFAULT, options.getCompressionStrategy());
+    }
+
+    @DisplayName("Test of stored parts when saving a workbook")
+    @ParameterizedTest(name = "Given stored part type {0} (parallel: {2}) should lead to the stored entry {1}")
+    @CsvSource(
+            {
+                    "WORKSHEET, xl/worksheets/sheet1.xml, false",
+                    "SHARED_STRINGS, xl/sharedStrings.xml, false",
+                    "STYLES, xl/styles.xml, false",
+                    "WORKBOOK, xl/workbook.xml, false",
+                    "METADATA, docProps/app.xml, false",
+                    "PACKAGE, [Content_Types].xml, false",
+                    "WORKSHEET, xl/worksheets/sheet1.xml, true",
+                    "PACKAGE, _rels/.rels, true",
+            }
+    )
+    void storedPartTest(SaveOptions.PartType partType, String expectedEntry, boolean parallel) throws Exception {
+        SaveOptions options = new SaveOptions();
+        options.setStored(partType, true);
+        assertTrue(options.isStored(partType));
+        ByteArrayOutputStream stream = save(createWorkbook(), options, parallel);
+        Map<String, Integer> methods = new HashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(stream.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                methods.put(entry.getName(), entry.getMethod());
+            }
+        }
+        assertEquals(ZipEntry.STORED, methods.get(expectedEntry));
+        String otherEntry = partType == SaveOptions.PartType.STYLES ? "xl/workbook.xml" : "xl/styles.xml";
+        assertEquals(ZipEntry.DEFLATED, methods.get(otherEntry));
+        assertWorkbook(Workbook.load(new ByteArrayInputStream(stream.toByteArray())));
+        options.setStored(partType, false);
+        assertFalse(options.isStored(partType));
+    }
+
+    private static Workbook createWorkbook() {
+        Workbook workbook = new Workbook("sheet1");
+        for (int r = 0; r < 500; r++) {
+            workbook.getCurrentWorksheet().addCell("text" + r, 0, r);
+            workbook.getCurrentWorksheet().addCell(r, 1, r);
+        }
+        workbook.addWorksheet("sheet2");
+        workbook.getCurrentWorksheet().addCell("sheet2", 0, 0);
+        return workbook;
+    }
+
+    private static void assertWorkbook(Workbook givenWorkbook) {
+        assertEquals(2, givenWorkbook.getWorksheets().size());
+        for (int r = 0; r < 500; r++) {
+            assertEquals("text" + r, givenWorkbook.getWorksheet("sheet1").getCell(0, r).getValue());
+            assertEquals(r, givenWorkbook.getWorksheet("sheet1").getCell(1, r).getValue());
+        }
+        assertEquals("sheet2", givenWorkbook.getWorksheet("sheet2").getCell(0, 0).getValue());
+    }
+
+    private static Workbook saveAndLoad(Workbook workbook, SaveOptions options, boolean parallel) throws Exception {
+        ByteArrayOutputStream stream = save(workbook, options, parallel);
+        return Workbook.load(new ByteArrayInputStream(stream.toByteArray()));
+    }
+
+    private static ByteArrayOutputStream save(Workbook workbook, SaveOptions options, boolean parallel) throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            if (parallel) {
+                options.setExecutor(executor);
+                options.setParallelCompression(true);
+            }
+            workbook.saveAsStream(stream, options);
+        }
+        finally {
+            executor.shutdown();
+        }
+        return stream;
+    }
+
+}
@@ -1,12 +1,40 @@
 package ch.rabanti.nanoxlsx4j.misc;
 
+import ch.rabanti.nanoxlsx4j.Helper;
+import ch.rabanti.nanoxlsx4j.SaveOptions;
 import ch.rabanti.nanoxlsx4j.TestUtils;
 import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.styles.BasicStyles;
+import ch.rabanti.nanoxlsx4j.styles.StyleRepository;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class XlsxWriterTest {
 
@@ -74,4 +102,491 @@ public class XlsxWriterTest {
         assertEquals(expectedText, givenWorkbook.getCurrentWorksheet().getSheetName());
     }
 
+    @DisplayName("Test of the escaping of shared strings with line breaks, special characters and leading or trailing white spaces")
+    @ParameterizedTest(name = "Given text {0} should lead to the XML element {1}")
+    @CsvSource(
+            {
+                    "'plain', '<t>plain</t>'",
+                    "'a\nb', '<t>a\r\nb</t>'",
+                    "'a\rb\r\nc\n', '<t xml:space=\"preserve\">a\r\nb\r\nc\r\n</t>'",
+                    "'<a & \"b\">', '<t>&lt;a &amp; \"b\"&gt;</t>'",
+                    "'a & b ', '<t xml:space=\"preserve\">a &amp; b </t>'",
+                    "'\u0001a', '<t xml:space=\"preserve\"> a</t>'",
+                    "'\ta\u0008b', '<t xml:space=\"preserve\">\ta b</t>'",
+            }
+    )
+    void stringTextEscapingTest(String givenText, String expectedElement) throws Exception {
+        Workbook workbook = new Workbook("sheet1");
+        workbook.getCurrentWorksheet().addCell(givenText, "A1");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream);
+        String sharedStrings = new String(readParts(stream).get("xl/sharedStrings.xml"), StandardCharsets.UTF_8);
+        assertTrue(sharedStrings.contains("<si>" + expectedElement + "</si>"), sharedStrings);
+    }
+
+    @DisplayName("Test of the serialization of java.time values as dates and times")
+    @Test()
+    void javaTimeValuesTest() throws Exception {
+        LocalDateTime dateTime = LocalDateTime.of(2021, 5, 20, 22, 11, 5);
+        Date date = TestUtils.buildDate(2021, 4, 20, 22, 11, 5);
+        Workbook workbook = new Workbook("sheet1");
+        workbook.getCurrentWorksheet().addCell(dateTime, "A1");
+        workbook.getCurrentWorksheet().addCell(dateTime.toLocalDate(), "A2");
+        workbook.getCurrentWorksheet().addCell(date.toInstant(), "A3");
+        workbook.getCurrentWorksheet().addCell(LocalTime.of(13, 11, 10), "A4");
+        workbook.getCurrentWorksheet().addCell(LocalDate.of(1900, 2, 28), "A5");
+        workbook.getCurrentWorksheet().addCell(Instant.ofEpochSecond(0), "A6");
+
+        Workbook givenWorkbook = TestUtils.writeAndReadWorkbook(workbook);
+        assertEquals(date, givenWorkbook.getCurrentWorksheet().getCell("A1").getValue());
+        assertEquals(TestUtils.buildDate(2021, 4, 20), givenWorkbook.getCurrentWorksheet().getCell("A2").getValue());
+        assertEquals(date, givenWorkbook.getCurrentWorksheet().getCell("A3").getValue());
+        assertEquals(TestUtils.buildTime(13, 11, 10), givenWorkbook.getCurrentWorksheet().getCell("A4").getValue());
+        assertEquals(TestUtils.buildDate(1900, 1, 28), givenWorkbook.getCurrentWorksheet().getCell("A5").getValue());
+        assertEquals(new Date(0), givenWorkbook.getCurrentWorksheet().getCell("A6").getValue());
+    }
+
+    @DisplayName("Test of the streamed serialization of a worksheet that exceeds the internal flush threshold several times")
+    @Test()
+    void streamedLargeWorksheetTest() throws Exception {
+        Workbook workbook = new Workbook("worksheet1");
+        for (int r = 0; r < 5000; r++) {
+            workbook.getCurrentWorksheet().addCell("text" + r, 0, r);
+            workbook.getCurrentWorksheet().addCell(r, 1, r);
+            workbook.getCurrentWorksheet().addCell(r + 0.5f, 2, r);
+        }
+        Workbook givenWorkbook = TestUtils.writeAndReadWorkbook(workbook);
+        assertEquals(15000, givenWorkbook.getCurrentWorksheet().getCells().size());
+        for (int r = 0; r < 5000; r++) {
+            assertEquals("text" + r, givenWorkbook.getCurrentWorksheet().getCell(0, r).getValue());
+            assertEquals(r, givenWorkbook.getCurrentWorksheet().getCell(1, r).getValue());
+            assertEquals(r + 0.5f, givenWorkbook.getCurrentWorksheet().getCell(2, r).getValue());
+        }
+    }
+
+    @DisplayName("Test that each streamed part of a saved workbook starts with an XML declaration")
+    @Test()
+    void streamedPartDeclarationTest() throws Exception {
+        Workbook workbook = new Workbook("worksheet1");
+        workbook.getCurrentWorksheet().addCell("test", "A1");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream);
+        int entries = 0;
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(stream.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String content = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(content.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\""), entry.getName());
+                entries++;
+            }
+        }
+        assertEquals(9, entries);
+    }
+
+    @DisplayName("Test of the parallel rendering of worksheets, leading to the same parts as the sequential rendering")
+    @ParameterizedTest(name = "Given {0} worksheets rendered on {1} threads should lead to identical parts")
+    @CsvSource(
+            {
+                    "1, 1",
+                    "5, 2",
+                    "12, 4",
+            }
+    )
+    void parallelWorksheetRenderingTest(int worksheets, int threads) throws Exception {
+        ByteArrayOutputStream sequentialStream = new ByteArrayOutputStream();
+        createParallelTestWorkbook(worksheets, 100).saveAsStream(sequentialStream);
+        ByteArrayOutputStream parallelStream = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            SaveOptions options = new SaveOptions();
+            options.setExecutor(executor);
+            createParallelTestWorkbook(worksheets, 100).saveAsStream(parallelStream, options);
+        }
+        finally {
+            executor.shutdown();
+        }
+        Map<String, byte[]> expectedParts = readParts(sequentialStream);
+        Map<String, byte[]> givenParts = readParts(parallelStream);
+        assertEquals(expectedParts.keySet(), givenParts.keySet());
+        for (Map.Entry<String, byte[]> part : expectedParts.entrySet()) {
+            if (part.getKey().equals("docProps/core.xml")) {
+                continue; // Contains the creation timestamp
+            }
+            assertArrayEquals(part.getValue(), givenParts.get(part.getKey()), part.getKey());
+        }
+        Workbook givenWorkbook = Workbook.load(new ByteArrayInputStream(parallelStream.toByteArray()));
+        assertEquals(worksheets, givenWorkbook.getWorksheets().size());
+        assertEquals("shared", givenWorkbook.getWorksheets().get(worksheets - 1).getCell(0, 99).getValue());
+    }
+
+    @DisplayName("Test of the parallel compression of the entries, leading to the same content as the sequential compression")
+    @ParameterizedTest(name = "Given {0} worksheets with {1} rows compressed on {2} threads should lead to identical content")
+    @CsvSource(
+            {
+                    "1, 10, 1",
+                    "3, 5000, 2",
+                    "2, 20000, 4",
+            }
+    )
+    void parallelCompressionTest(int worksheets, int rows, int threads) throws Exception {
+        ByteArrayOutputStream sequentialStream = new ByteArrayOutputStream();
+        createParallelTestWorkbook(worksheets, rows).saveAsStream(sequentialStream);
+        ByteArrayOutputStream parallelStream = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            SaveOptions options = new SaveOptions();
+            options.setExecutor(executor);
+            options.setParallelCompression(true);
+            createParallelTestWorkbook(worksheets, rows).saveAsStream(parallelStream, options);
+        }
+        finally {
+            executor.shutdown();
+        }
+        Map<String, byte[]> expectedParts = readParts(sequentialStream);
+        Map<String, byte[]> givenParts = readParts(parallelStream);
+        assertEquals(expectedParts.keySet(), givenParts.keySet());
+        for (Map.Entry<String, byte[]> part : expectedParts.entrySet()) {
+            if (part.getKey().equals("docProps/core.xml")) {
+                continue; // Contains the creation timestamp
+            }
+            assertArrayEquals(part.getValue(), givenParts.get(part.getKey()), part.getKey());
+        }
+        // The central directory is only evaluated by ZipFile
+        Path file = Files.createTempFile("parallelCompression", ".xlsx");
+        try {
+            Files.write(file, parallelStream.toByteArray());
+            try (ZipFile zipFile = new ZipFile(file.toFile())) {
+                assertEquals(expectedParts.size(), zipFile.size());
+                for (Map.Entry<String, byte[]> part : givenParts.entrySet()) {
+                    try (InputStream entry = zipFile.getInputStream(zipFile.getEntry(part.getKey()))) {
+                        assertArrayEquals(part.getValue(), entry.readAllBytes(), part.getKey());
+                    }
+                }
+            }
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+
+    @DisplayName("Test of the shared strings table with repeated and unique strings, leading to growing tables")
+    @ParameterizedTest(name = "Given {0} unique strings, repeated {1} times, with a capacity of {2} should lead to {0} shared strings")
+    @CsvSource(
+            {
+                    "1, 10, 0",
+                    "300, 3, 0",
+                    "5000, 2, 0",
+                    "5000, 2, 5000",
+                    "20, 5, 1",
+            }
+    )
+    void sharedStringsTest(int uniqueStrings, int repetitions, int capacity) throws Exception {
+        Workbook workbook = new Workbook("worksheet1");
+        int row = 0;
+        for (int i = 0; i < repetitions; i++) {
+            for (int s = 0; s < uniqueStrings; s++) {
+                // New instances on each repetition, to check the equality instead of the identity
+                workbook.getCurrentWorksheet().addCell(new String(("label" + s).toCharArray()), 0, row);
+                row++;
+            }
+        }
+        workbook.getCurrentWorksheet().addCell("", 1, 0);
+        SaveOptions options = new SaveOptions();
+        options.setSharedStringsCapacity(capacity);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream, options);
+        String sharedStrings = new String(readParts(stream).get("xl/sharedStrings.xml"), StandardCharsets.UTF_8);
+        assertTrue(sharedStrings.contains("count=\"" + (uniqueStrings * repetitions + 1) + "\" uniqueCount=\"" + (uniqueStrings + 1) + "\""));
+        Workbook givenWorkbook = Workbook.load(new ByteArrayInputStream(stream.toByteArray()));
+        for (int r = 0; r < row; r++) {
+            assertEquals("label" + (r % uniqueStrings), givenWorkbook.getCurrentWorksheet().getCell(0, r).getValue());
+        }
+        assertEquals("", givenWorkbook.getCurrentWorksheet().getCell(1, 0).getValue());
+    }
+
+    @DisplayName("Test of the string modes, leading to shared or inline strings")
+    @ParameterizedTest(name = "Given string mode {0} should lead to {1} inline strings and {2} unique shared strings")
+    @CsvSource(
+            {
+                    "SHARED, 0, 205",
+                    "INLINE, 400, 0",
+                    // Column A switches after 100 (distinct) strings, column B remains shared
+                    "ADAPTIVE, 100, 105",
+            }
+    )
+    void stringModeTest(SaveOptions.StringMode mode, int expectedInlineStrings, int expectedUniqueStrings) throws Exception {
+        SaveOptions options = new SaveOptions();
+        options.setStringMode(mode);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        createStringModeTestWorkbook().saveAsStream(stream, options);
+        assertStringModeWorkbook(stream, expectedInlineStrings, expectedUniqueStrings);
+
+        ByteArrayOutputStream parallelStream = new ByteArrayOutputStream();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            options.setExecutor(executor);
+            createStringModeTestWorkbook().saveAsStream(parallelStream, options);
+        }
+        finally {
+            executor.shutdown();
+        }
+        Map<String, byte[]> expectedParts = readParts(stream);
+        Map<String, byte[]> givenParts = readParts(parallelStream);
+        assertArrayEquals(expectedParts.get("xl/worksheets/sheet1.xml"), givenParts.get("xl/worksheets/sheet1.xml"));
+        assertArrayEquals(expectedParts.get("xl/sharedStrings.xml"), givenParts.get("xl/sharedStrings.xml"));
+    }
+
+    @DisplayName("Test of the string mode of a defined column, overriding the default string mode")
+    @Test()
+    void columnStringModeTest() throws Exception {
+        SaveOptions options = new SaveOptions();
+        options.setStringMode(SaveOptions.StringMode.SHARED);
+        options.setStringMode("worksheet1", 0, SaveOptions.StringMode.INLINE);
+        options.setStringMode("other", 1, SaveOptions.StringMode.INLINE);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        createStringModeTestWorkbook().saveAsStream(stream, options);
+        assertStringModeWorkbook(stream, 200, 5);
+    }
+
+    private static Workbook createStringModeTestWorkbook() {
+        Workbook workbook = new Workbook("worksheet1");
+        for (int r = 0; r < 200; r++) {
+            String value = r == 0 ? " leading and trailing " : (r == 1 ? "line\r\nbreak" : "unique<&>" + r);
+            workbook.getCurrentWorksheet().addCell(value, 0, r);
+            workbook.getCurrentWorksheet().addCell("category" + (r % 5), 1, r);
+        }
+        return workbook;
+    }
+
+    @DisplayName("Test of the rendering of numbers, dates and times, leading to the same text as the toString methods of the values")
+    @ParameterizedTest(name = "Given {0} value {1} should be written as {2}")
+    @CsvSource(
+            {
+                    "DOUBLE, 0.1, 0.1",
+                    "DOUBLE, 1.0E-7, 1.0E-7",
+                    "DOUBLE, 1.2345678901234E21, 1.2345678901234E21",
+                    "DOUBLE, -0.0, -0.0",
+                    "DOUBLE, 4.9E-324, 4.9E-324",
+                    "DOUBLE, 12345678.9, 1.23456789E7",
+                    "FLOAT, 1.1, 1.1",
+                    "FLOAT, 3.4028235E38, 3.4028235E38",
+                    "FLOAT, 0.001, 0.001",
+                    "INTEGER, -2147483648, -2147483648",
+                    "LONG, 9223372036854775807, 9223372036854775807",
+                    "SHORT, -32768, -32768",
+                    "BYTE, 127, 127",
+                    "BIG_DECIMAL, 1.2300, 1.2300",
+                    "DATE, 1500000000000, ",
+                    "TIME, 45296, ",
+            }
+    )
+    void numberRenderingTest(String type, String givenValue, String expectedText) throws Exception {
+        Object value;
+        switch (type) {
+            case "DOUBLE":
+                value = Double.parseDouble(givenValue);
+                break;
+            case "FLOAT":
+                value = Float.parseFloat(givenValue);
+                break;
+            case "INTEGER":
+                value = Integer.parseInt(givenValue);
+                break;
+            case "LONG":
+                value = Long.parseLong(givenValue);
+                break;
+            case "SHORT":
+                value = Short.parseShort(givenValue);
+                break;
+            case "BYTE":
+                value = Byte.parseByte(givenValue);
+                break;
+            case "BIG_DECIMAL":
+                value = new BigDecimal(givenValue);
+                break;
+            case "DATE":
+                value = new Date(Long.parseLong(givenValue));
+                expectedText = Helper.getOADateString((Date) value);
+                break;
+            default:
+                value = Duration.ofSeconds(Long.parseLong(givenValue));
+                expectedText = Helper.getOATimeString((Duration) value);
+                break;
+        }
+        Workbook workbook = new Workbook("numbers");
+        workbook.getCurrentWorksheet().addCell(value, "A1");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream);
+        String worksheet = new String(readParts(stream).get("xl/worksheets/sheet1.xml"), StandardCharsets.UTF_8);
+        assertTrue(worksheet.contains("<v>" + expectedText + "</v>"), worksheet);
+    }
+
+    @DisplayName("Test of the writing of cells whose address was modified after they were added to the worksheet")
+    @Test()
+    void modifiedCellAddressTest() throws Exception {
+        Workbook workbook = new Workbook("sheet1");
+        workbook.getCurrentWorksheet().addCell("a", "A1");
+        workbook.getCurrentWorksheet().addCell("b", "B1");
+        workbook.getCurrentWorksheet().addCell("c", "A2");
+        workbook.getCurrentWorksheet().setRowHeight(2, 30f);
+        workbook.getCurrentWorksheet().getCell(0, 0).setRowNumber(4); // Not reflected in the row index
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream);
+        String worksheet = new String(readParts(stream).get("xl/worksheets/sheet1.xml"), StandardCharsets.UTF_8);
+        int row1 = worksheet.indexOf("<row r=\"1\"");
+        int row2 = worksheet.indexOf("<row r=\"2\"");
+        int row3 = worksheet.indexOf("<row r=\"3\"");
+        int row5 = worksheet.indexOf("<row r=\"5\"");
+        assertTrue(row1 >= 0 && row1 < row2 && row2 < row3 && row3 < row5, worksheet);
+        Workbook givenWorkbook = Workbook.load(new ByteArrayInputStream(stream.toByteArray()));
+        assertEquals("a", givenWorkbook.getCurrentWorksheet().getCell(0, 4).getValue());
+        assertEquals("b", givenWorkbook.getCurrentWorksheet().getCell(1, 0).getValue());
+        assertEquals("c", givenWorkbook.getCurrentWorksheet().getCell(0, 1).getValue());
+    }
+
+    @DisplayName("Test of repeated saves with part caching, leading to the same content as a save without caching")
+    @ParameterizedTest(name = "Given modification {0} on {1} threads should lead to identical content")
+    @CsvSource(
+            {
+                    "none, 0",
+                    "number, 0",
+                    "string, 0",
+                    "style, 0",
+                    "rowHeight, 0",
+                    "zoom, 0",
+                    "removeCell, 0",
+                    "number, 2",
+                    "string, 2",
+                    "style, 2",
+            }
+    )
+    void partCachingTest(String modification, int threads) throws Exception {
+        ExecutorService executor = threads > 0 ? Executors.newFixedThreadPool(threads) : null;
+        try {
+            SaveOptions options = new SaveOptions();
+            options.setExecutor(executor);
+            options.setPartCaching(true);
+            Workbook workbook = createParallelTestWorkbook(3, 200);
+            workbook.saveAsStream(new ByteArrayOutputStream(), options);
+            workbook.saveAsStream(new ByteArrayOutputStream(), options);
+            applyModification(workbook, modification);
+            ByteArrayOutputStream givenStream = new ByteArrayOutputStream();
+            workbook.saveAsStream(givenStream, options);
+
+            Workbook expectedWorkbook = createParallelTestWorkbook(3, 200);
+            applyModification(expectedWorkbook, modification);
+            ByteArrayOutputStream expectedStream = new ByteArrayOutputStream();
+            expectedWorkbook.saveAsStream(expectedStream);
+
+            Map<String, byte[]> expectedParts = readParts(expectedStream);
+            Map<String, byte[]> givenParts = readParts(givenStream);
+            assertEquals(expectedParts.keySet(), givenParts.keySet());
+            for (Map.Entry<String, byte[]> part : expectedParts.entrySet()) {
+                if (part.getKey().equals("docProps/core.xml")) {
+                    continue; // Contains the creation timestamp
+                }
+                assertArrayEquals(part.getValue(), givenParts.get(part.getKey()), part.getKey());
+            }
+        }
+        finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @DisplayName("Test of the reuse of cached worksheet parts, where only the modified worksheet is rendered again")
+    @Test()
+    void partCachingReuseTest() throws Exception {
+        SaveOptions options = new SaveOptions();
+        options.setPartCaching(true);
+        Workbook workbook = createParallelTestWorkbook(2, 10);
+        Date date = (Date) workbook.getWorksheets().get(0).getCell(2, 0).getValue();
+        workbook.saveAsStream(new ByteArrayOutputStream(), options);
+        // In-place modifications of values are not tracked, thus the cached part is written
+        date.setTime(0L);
+        workbook.getWorksheets().get(1).getCell(1, 0).setValue(42);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream, options);
+        Workbook givenWorkbook = Workbook.load(new ByteArrayInputStream(stream.toByteArray()));
+        assertEquals(new Date(1500000000000L), givenWorkbook.getWorksheets().get(0).getCell(2, 0).getValue());
+        assertEquals(42, givenWorkbook.getWorksheets().get(1).getCell(1, 0).getValue());
+
+        workbook.clearPartCache();
+        stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream, options);
+        givenWorkbook = Workbook.load(new ByteArrayInputStream(stream.toByteArray()));
+        assertEquals(new Date(0L), givenWorkbook.getWorksheets().get(0).getCell(2, 0).getValue());
+    }
+
+    private static void applyModification(Workbook workbook, String modification) {
+        switch (modification) {
+            case "number":
+                workbook.getWorksheets().get(1).getCell(1, 10).setValue(-1);
+                break;
+            case "string":
+                workbook.getWorksheets().get(0).addCell("new string", 0, 200);
+                break;
+            case "style":
+                workbook.getWorksheets().get(2).getCell(1, 5).setStyle(BasicStyles.Italic());
+                break;
+            case "rowHeight":
+                workbook.getWorksheets().get(1).setRowHeight(3, 40f);
+                break;
+            case "zoom":
+                workbook.getWorksheets().get(2).setZoomFactor(150);
+                break;
+            case "removeCell":
+                workbook.getWorksheets().get(1).removeCell(0, 4);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void assertStringModeWorkbook(ByteArrayOutputStream stream, int expectedInlineStrings, int expectedUniqueStrings) throws Exception {
+        Map<String, byte[]> parts = readParts(stream);
+        String worksheet = new String(parts.get("xl/worksheets/sheet1.xml"), StandardCharsets.UTF_8);
+        String sharedStrings = new String(parts.get("xl/sharedStrings.xml"), StandardCharsets.UTF_8);
+        assertEquals(expectedInlineStrings, worksheet.split("t=\"inlineStr\"", -1).length - 1);
+        assertTrue(sharedStrings.contains("uniqueCount=\"" + expectedUniqueStrings + "\""));
+        Workbook givenWorkbook = Workbook.load(new ByteArrayInputStream(stream.toByteArray()));
+        Workbook expectedWorkbook = createStringModeTestWorkbook();
+        for (int r = 0; r < 200; r++) {
+            for (int c = 0; c < 2; c++) {
+                assertEquals(expectedWorkbook.getCurrentWorksheet().getCell(c, r).getValue(), givenWorkbook.getCurrentWorksheet().getCell(c, r).getValue());
+            }
+        }
+    }
+
+    private static Workbook createParallelTestWorkbook(int worksheets, int rows) {
+        // Styles of dates and times are re-resolved from the repository while writing, thus former tests must not interfere
+        StyleRepository.getInstance().flushStyles();
+        Workbook workbook = new Workbook(false);
+        Date date = new Date(1500000000000L);
+        for (int w = 0; w < worksheets; w++) {
+            workbook.addWorksheet("sheet" + w);
+            for (int r = 0; r < rows; r++) {
+                workbook.getCurrentWorksheet().addCell(r % 2 == 0 ? "sheet" + w + "_" + r : "shared", 0, r);
+                workbook.getCurrentWorksheet().addCell(r * w, 1, r, BasicStyles.Bold());
+                workbook.getCurrentWorksheet().addCell(date, 2, r);
+                workbook.getCurrentWorksheet().addCell(Duration.ofMinutes(r), 3, r);
+                workbook.getCurrentWorksheet().addCellFormula("B" + (r + 1) + "*2", 4, r);
+            }
+            workbook.getCurrentWorksheet().mergeCells("F1:G2");
+        }
+        return workbook;
+    }
+
+    private static Map<String, byte[]> readParts(ByteArrayOutputStream stream) throws Exception {
+        Map<String, byte[]> parts = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(stream.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                parts.put(entry.getName(), zip.readAllBytes());
+            }
+        }
+        return parts;
+    }
+
 }
@@ -0,0 +1,125 @@
+package ch.rabanti.nanoxlsx4j.misc;
+
+import ch.rabanti.nanoxlsx4j.SaveOptions;
+import ch.rabanti.nanoxlsx4j.SheetWriter;
+import ch.rabanti.nanoxlsx4j.StreamingWorkbook;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class Zip64Test {
+
+    private static final long ZIP64_LIMIT = 0xFFFFFFFFL;
+    private static final String LARGE_SHEET = "xl/worksheets/sheet1.xml";
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Test of the loading of a workbook from a ZIP64 file (more than 65535 entries), from a path and from a stream")
+    @Test()
+    void loadZip64WorkbookTest() throws Exception {
+        Workbook workbook = new Workbook("sheet1");
+        workbook.getCurrentWorksheet().addCell("text", "A1");
+        workbook.getCurrentWorksheet().addCell(42, "B1");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        workbook.saveAsStream(stream);
+
+        // Repack the workbook and append unrelated entries, which forces the ZIP64 end of central directory record
+        ByteArrayOutputStream zip64Stream = new ByteArrayOutputStream();
+        try (ZipInputStream source = new ZipInputStream(new ByteArrayInputStream(stream.toByteArray()));
+             ZipOutputStream target = new ZipOutputStream(zip64Stream)) {
+            ZipEntry entry;
+            while ((entry = source.getNextEntry()) != null) {
+                target.putNextEntry(new ZipEntry(entry.getName()));
+                target.write(source.readAllBytes());
+            }
+            for (int i = 0; i < 0xFFFF; i++) {
+                target.putNextEntry(new ZipEntry("padding/" + i + ".txt"));
+            }
+        }
+        Path file = tempDir.resolve("zip64.xlsx");
+        Files.write(file, zip64Stream.toByteArray());
+        try (ZipFile zipFile = new ZipFile(file.toFile())) {
+            assertTrue(zipFile.size() > 0xFFFF);
+        }
+
+        Workbook givenWorkbook = Workbook.load(file.toString());
+        assertEquals("text", givenWorkbook.getCurrentWorksheet().getCell("A1").getValue());
+        assertEquals(42, givenWorkbook.getCurrentWorksheet().getCell("B1").getValue());
+        givenWorkbook = Workbook.load(new ByteArrayInputStream(zip64Stream.toByteArray()));
+        assertEquals("text", givenWorkbook.getCurrentWorksheet().getCell("A1").getValue());
+        assertEquals(42, givenWorkbook.getCurrentWorksheet().getCell("B1").getValue());
+    }
+
+    @DisplayName("Test of the streamed writing of a worksheet with more than 4 GB. Run with: mvn test -Dtest=Zip64Test -Dnanoxlsx4j.zip64=true")
+    @Test()
+    @EnabledIfSystemProperty(named = "nanoxlsx4j.zip64", matches = "true")
+    void streamedZip64WorksheetTest() throws Exception {
+        int rows = 1048576;
+        int columns = 128;
+        Integer[] values = new Integer[columns];
+        SaveOptions options = new SaveOptions();
+        options.setCompressionLevel(1);
+        Path file = tempDir.resolve("large.xlsx");
+        // Only the row window is kept in memory, thus the memory usage does not grow with the worksheet
+        try (StreamingWorkbook workbook = new StreamingWorkbook(file.toString(), StreamingWorkbook.DEFAULT_ROW_WINDOW, options)) {
+            SheetWriter sheet = workbook.addWorksheet("large");
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < columns; c++) {
+                    values[c] = r + c;
+                }
+                sheet.addRow((Object[]) values);
+            }
+        }
+
+        long size;
+        try (ZipFile zipFile = new ZipFile(file.toFile())) {
+            ZipEntry entry = zipFile.getEntry(LARGE_SHEET);
+            size = entry.getSize();
+            assertTrue(size > ZIP64_LIMIT, "Size: " + size);
+            assertEquals(size, countBytes(zipFile.getInputStream(entry)));
+            int count = 0;
+            for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements(); entries.nextElement()) {
+                count++;
+            }
+            assertEquals(zipFile.size(), count);
+        }
+        // The stream reader verifies the ZIP64 data descriptor and the CRC of the entry
+        try (ZipInputStream zipStream = new ZipInputStream(Files.newInputStream(file))) {
+            ZipEntry entry;
+            boolean found = false;
+            while ((entry = zipStream.getNextEntry()) != null) {
+                if (entry.getName().equals(LARGE_SHEET)) {
+                    assertEquals(size, countBytes(zipStream));
+                    found = true;
+                }
+            }
+            assertTrue(found);
+        }
+    }
+
+    private static long countBytes(InputStream stream) throws Exception {
+        byte[] buffer = new byte[1024 * 1024];
+        long count = 0;
+        for (int i = stream.read(buffer); i != -1; i = stream.read(buffer)) {
+            count += i;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,160 @@
+package ch.rabanti.nanoxlsx4j.reader;
+
+import ch.rabanti.nanoxlsx4j.Address;
+import ch.rabanti.nanoxlsx4j.ImportOptions;
+import ch.rabanti.nanoxlsx4j.TestUtils;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.Worksheet;
+import ch.rabanti.nanoxlsx4j.exceptions.FormatException;
+import ch.rabanti.nanoxlsx4j.styles.BasicStyles;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyLoadingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Test of the lazy loading of worksheets on the first access")
+    @ParameterizedTest(name = "Given reading from a file ({0}) should lead to worksheets that are loaded on the first access")
+    @CsvSource(
+            {
+                    "false",
+                    "true",
+            }
+    )
+    void lazyLoadingTest(boolean fromFile) throws Exception {
+        byte[] data = createWorkbook();
+        ImportOptions options = new ImportOptions();
+        options.setLazyLoading(true);
+        Workbook workbook = TestUtils.loadWorkbook(data, options, fromFile ? tempDir : null);
+        Workbook expectedWorkbook = TestUtils.loadWorkbook(data, null, fromFile ? tempDir : null);
+        assertEquals(3, workbook.getWorksheets().size());
+        for (int i = 0; i < 3; i++) {
+            Worksheet worksheet = workbook.getWorksheets().get(i);
+            assertFalse(worksheet.isLoaded());
+            assertEquals(expectedWorkbook.getWorksheets().get(i).getSheetName(), worksheet.getSheetName());
+            assertEquals(expectedWorkbook.getWorksheets().get(i).isHidden(), worksheet.isHidden());
+        }
+        assertEquals(expectedWorkbook.getSelectedWorksheet(), workbook.getSelectedWorksheet());
+
+        Worksheet second = workbook.getWorksheet("second");
+        assertEquals(10, second.getCells().size());
+        assertTrue(second.isLoaded());
+        assertFalse(workbook.getWorksheet("first").isLoaded());
+        assertFalse(workbook.getWorksheet("third").isLoaded());
+        TestUtils.assertWorksheetsEqual(expectedWorkbook.getWorksheet("second"), second);
+
+        // Properties of the worksheet part trigger the loading as well
+        Worksheet first = workbook.getWorksheet("first");
+        assertEquals(1, first.getMergedCells().size());
+        assertTrue(first.isLoaded());
+        TestUtils.assertWorksheetsEqual(expectedWorkbook.getWorksheet("first"), first);
+
+        Worksheet third = workbook.getWorksheet("third");
+        assertEquals("third", third.getCell("A1").getValue());
+        assertTrue(third.isLoaded());
+        TestUtils.assertWorksheetsEqual(expectedWorkbook.getWorksheet("third"), third);
+    }
+
+    @DisplayName("Test of the immediate loading of worksheets that are selected by the import options")
+    @Test()
+    void preloadedWorksheetTest() throws Exception {
+        ImportOptions options = new ImportOptions();
+        options.setLazyLoading(true);
+        options.addPreloadedWorksheet("first");
+        options.addPreloadedWorksheet(2);
+        Workbook workbook = Workbook.load(new ByteArrayInputStream(createWorkbook()), options);
+        assertTrue(workbook.getWorksheets().get(0).isLoaded());
+        assertFalse(workbook.getWorksheets().get(1).isLoaded());
+        assertTrue(workbook.getWorksheets().get(2).isLoaded());
+        assertEquals(104, workbook.getWorksheets().get(0).getCells().size());
+    }
+
+    @DisplayName("Test of the preloaded worksheets without lazy loading")
+    @Test()
+    void preloadedWorksheetWithoutLazyLoadingTest() throws Exception {
+        ImportOptions options = new ImportOptions();
+        options.addPreloadedWorksheet(0);
+        Workbook workbook = Workbook.load(new ByteArrayInputStream(createWorkbook()), options);
+        for (Worksheet worksheet : workbook.getWorksheets()) {
+            assertTrue(worksheet.isLoaded());
+        }
+    }
+
+    @DisplayName("Test of the modification of a lazily loaded worksheet before its cells are accessed")
+    @Test()
+    void modifyBeforeAccessTest() throws Exception {
+        ImportOptions options = new ImportOptions();
+        options.setLazyLoading(true);
+        Workbook workbook = Workbook.load(new ByteArrayInputStream(createWorkbook()), options);
+        Worksheet worksheet = workbook.getWorksheet("first");
+        worksheet.addCell("new", "Z1");
+        assertTrue(worksheet.isLoaded());
+        // 100 values, 4 cells of the merged range and the new cell
+        assertEquals(105, worksheet.getCells().size());
+        assertEquals("value0", worksheet.getCell("A1").getValue());
+    }
+
+    @DisplayName("Test of the saving of a lazily loaded workbook without accessing the worksheets")
+    @Test()
+    void saveTest() throws Exception {
+        byte[] data = createWorkbook();
+        ImportOptions options = new ImportOptions();
+        options.setLazyLoading(true);
+        Workbook workbook = Workbook.load(new ByteArrayInputStream(data), options);
+        Workbook expectedWorkbook = Workbook.load(new ByteArrayInputStream(data));
+        Workbook savedWorkbook = TestUtils.writeAndReadWorkbook(workbook);
+        for (int i = 0; i < 3; i++) {
+            TestUtils.assertWorksheetsEqual(expectedWorkbook.getWorksheets().get(i), savedWorkbook.getWorksheets().get(i));
+        }
+    }
+
+    @DisplayName("Test of the failing lazy loading of a worksheet, if the file was deleted")
+    @Test()
+    void lazyLoadingFailTest() throws Exception {
+        Path path = tempDir.resolve("deleted.xlsx");
+        Files.write(path, createWorkbook());
+        ImportOptions options = new ImportOptions();
+        options.setLazyLoading(true);
+        Workbook workbook = Workbook.load(path.toString(), options);
+        Files.delete(path);
+        Worksheet worksheet = workbook.getWorksheets().get(0);
+        assertThrows(FormatException.class, worksheet::getCells);
+    }
+
+    private static byte[] createWorkbook() throws Exception {
+        Workbook workbook = new Workbook("first");
+        Worksheet worksheet = workbook.getCurrentWorksheet();
+        for (int i = 0; i < 100; i++) {
+            worksheet.addCell("value" + i, 0, i);
+        }
+        worksheet.mergeCells("C1:D2");
+        worksheet.setColumnWidth(1, 30f);
+        worksheet.setRowHeight(3, 40f);
+        worksheet.addHiddenRow(5);
+        worksheet.setHorizontalSplit(2, true, new Address("A3"), Worksheet.WorksheetPane.bottomLeft);
+        workbook.addWorksheet("second");
+        for (int i = 0; i < 10; i++) {
+            workbook.getCurrentWorksheet().addCell(i * 1.5d, i, 0, BasicStyles.Bold());
+        }
+        workbook.getCurrentWorksheet().setZoomFactor(150);
+        workbook.addWorksheet("third");
+        workbook.getCurrentWorksheet().addCell("third", "A1");
+        workbook.getCurrentWorksheet().setHidden(true);
+        workbook.setSelectedWorksheet(1);
+        return TestUtils.saveWorkbook(workbook);
+    }
+}
@@ -0,0 +1,131 @@
+package ch.rabanti.nanoxlsx4j.reader;
+
+import ch.rabanti.nanoxlsx4j.ImportOptions;
+import ch.rabanti.nanoxlsx4j.TestUtils;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.Worksheet;
+import ch.rabanti.nanoxlsx4j.exceptions.IOException;
+import ch.rabanti.nanoxlsx4j.styles.BasicStyles;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelLoadingTest {
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Test of the parallel reading of worksheets, leading to the same workbook as the sequential reading")
+    @ParameterizedTest(name = "Given {0} worksheets read on {1} threads (from a file: {2}) should lead to an identical workbook")
+    @CsvSource(
+            {
+                    "1, 1, false",
+                    "5, 2, false",
+                    "12, 4, false",
+                    "5, 2, true",
+                    "12, 4, true",
+            }
+    )
+    void parallelLoadingTest(int worksheets, int threads, boolean fromFile) throws Exception {
+        byte[] data = createWorkbook(worksheets);
+        Workbook expectedWorkbook = TestUtils.loadWorkbook(data, new ImportOptions(), fromFile ? tempDir : null);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Workbook workbook;
+        try {
+            ImportOptions options = new ImportOptions();
+            options.setExecutor(executor);
+            assertTrue(options.isParallel());
+            workbook = TestUtils.loadWorkbook(data, options, fromFile ? tempDir : null);
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertEquals(expectedWorkbook.getWorksheets().size(), workbook.getWorksheets().size());
+        for (int i = 0; i < worksheets; i++) {
+            Worksheet expected = expectedWorkbook.getWorksheets().get(i);
+            Worksheet actual = workbook.getWorksheets().get(i);
+            assertEquals(expected.getSheetID(), actual.getSheetID());
+            TestUtils.assertWorksheetsEqual(expected, actual);
+        }
+        assertEquals(expectedWorkbook.getSelectedWorksheet(), workbook.getSelectedWorksheet());
+    }
+
+    @DisplayName("Test of the parallel reading of the preloaded worksheets, if the worksheets are loaded lazily")
+    @Test()
+    void parallelLazyLoadingTest() throws Exception {
+        byte[] data = createWorkbook(4);
+        Workbook expectedWorkbook = Workbook.load(new ByteArrayInputStream(data));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Workbook workbook;
+        try {
+            ImportOptions options = new ImportOptions();
+            options.setExecutor(executor);
+            options.setLazyLoading(true);
+            options.addPreloadedWorksheet(1);
+            options.addPreloadedWorksheet(3);
+            workbook = Workbook.load(new ByteArrayInputStream(data), options);
+        }
+        finally {
+            executor.shutdown();
+        }
+        assertFalse(workbook.getWorksheets().get(0).isLoaded());
+        assertTrue(workbook.getWorksheets().get(1).isLoaded());
+        assertFalse(workbook.getWorksheets().get(2).isLoaded());
+        assertTrue(workbook.getWorksheets().get(3).isLoaded());
+        for (int i = 0; i < 4; i++) {
+            TestUtils.assertWorksheetsEqual(expectedWorkbook.getWorksheets().get(i), workbook.getWorksheets().get(i));
+        }
+    }
+
+    @DisplayName("Test of the failing parallel reading of an invalid workbook")
+    @Test()
+    void parallelLoadingFailTest() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ImportOptions options = new ImportOptions();
+            options.setExecutor(executor);
+            assertThrows(IOException.class, () -> Workbook.load(new ByteArrayInputStream(new byte[]{1, 2, 3}), options));
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private static byte[] createWorkbook(int worksheets) throws Exception {
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(2020, Calendar.MARCH, 15, 10, 30, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        Workbook workbook = new Workbook(false);
+        for (int i = 0; i < worksheets; i++) {
+            workbook.addWorksheet("sheet" + i);
+            Worksheet worksheet = workbook.getCurrentWorksheet();
+            for (int r = 0; r < 200; r++) {
+                worksheet.addCell("value" + (r % 50), 0, r);
+                worksheet.addCell(r * 1.25d + i, 1, r);
+                worksheet.addCell(r + i, 2, r, BasicStyles.Bold());
+                worksheet.addCell(new Date(calendar.getTimeInMillis() + (long) r * 86400000L), 3, r);
+                worksheet.addCell(r % 2 == 0, 4, r);
+            }
+            worksheet.mergeCells("F1:G2");
+            worksheet.setColumnWidth(1, 20f + i);
+        }
+        workbook.addWorksheet("shared");
+        workbook.getCurrentWorksheet().addCell("value1", "A1");
+        workbook.setSelectedWorksheet(worksheets / 2);
+        return TestUtils.saveWorkbook(workbook);
+    }
+}
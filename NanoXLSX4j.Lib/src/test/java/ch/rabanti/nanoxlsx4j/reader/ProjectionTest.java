@@ -0,0 +1,165 @@
+package ch.rabanti.nanoxlsx4j.reader;
+
+import ch.rabanti.nanoxlsx4j.Cell;
+import ch.rabanti.nanoxlsx4j.ImportOptions;
+import ch.rabanti.nanoxlsx4j.SheetRowReader;
+import ch.rabanti.nanoxlsx4j.TestUtils;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.Worksheet;
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProjectionTest {
+
+    @DisplayName("Test of the column projection when loading a workbook")
+    @Test()
+    void columnProjectionTest() throws Exception {
+        ImportOptions options = new ImportOptions();
+        options.addProjectedColumn("B");
+        options.addProjectedColumn(3);
+        assertTrue(options.hasProjection());
+        Workbook workbook = TestUtils.loadWorkbook(createWorkbook(), options, null);
+        Worksheet worksheet = workbook.getWorksheets().get(0);
+        assertEquals(200, worksheet.getCells().size());
+        for (Map.Entry<String, Cell> cell : worksheet.getCells().entrySet()) {
+            int column = cell.getValue().getColumnNumber();
+            assertTrue(column == 1 || column == 3);
+            assertEquals(getExpectedValue(column, cell.getValue().getRowNumber()), cell.getValue().getValue());
+        }
+    }
+
+    @DisplayName("Test of the row projection when loading a workbook")
+    @ParameterizedTest(name = "Given the row range {0} to {1} should lead to {2} imported rows")
+    @CsvSource(
+            {
+                    "0, 0, 1",
+                    "1, 10, 10",
+                    "95, 200, 5",
+                    "100, 200, 0",
+            }
+    )
+    void rowRangeProjectionTest(int firstRow, int lastRow, int expectedRows) throws Exception {
+        ImportOptions options = new ImportOptions();
+        options.setProjectedRowRange(firstRow, lastRow);
+        Workbook workbook = TestUtils.loadWorkbook(createWorkbook(), options, null);
+        Worksheet worksheet = workbook.getWorksheets().get(0);
+        assertEquals(expectedRows * 5, worksheet.getCells().size());
+        for (Map.Entry<String, Cell> cell : worksheet.getCells().entrySet()) {
+            int row = cell.getValue().getRowNumber();
+            assertTrue(row >= firstRow && row <= lastRow);
+            assertEquals(getExpectedValue(cell.getValue().getColumnNumber(), row), cell.getValue().getValue());
+        }
+        // Row definitions outside the range are skipped as well
+        assertEquals(firstRow <= 50 && lastRow >= 50, worksheet.getHiddenRows().containsKey(50));
+    }
+
+    @DisplayName("Test of the combined row filter and column projection when loading a workbook")
+    @Test()
+    void rowFilterProjectionTest() throws Exception {
+        ImportOptions options = new ImportOptions();
+        options.setProjectedRowRange(10, 59);
+        options.setProjectedRowFilter(row -> row % 2 == 0);
+        options.addProjectedColumn(0);
+        Workbook workbook = TestUtils.loadWorkbook(createWorkbook(), options, null);
+        Worksheet worksheet = workbook.getWorksheets().get(0);
+        assertEquals(25, worksheet.getCells().size());
+        assertEquals("value10", worksheet.getCell(0, 10).getValue());
+        assertFalse(worksheet.hasCell(0, 11));
+        assertFalse(worksheet.hasCell(1, 10));
+        assertFalse(worksheet.hasCell(0, 60));
+    }
+
+    @DisplayName("Test of the projection when reading a worksheet row by row")
+    @Test()
+    void rowReaderProjectionTest() throws Exception {
+        ImportOptions options = new ImportOptions();
+        options.setProjectedRowRange(5, 20);
+        options.setProjectedRowFilter(row -> row != 7);
+        options.addProjectedColumn("E");
+        options.addProjectedColumn("A");
+        List<Integer> rows = new ArrayList<>();
+        try (SheetRowReader reader = new SheetRowReader(new ByteArrayInputStream(createWorkbook()), 0, options)) {
+            for (SheetRowReader.Row row : reader) {
+                rows.add(row.getRowNumber());
+                assertEquals(2, row.getCells().size());
+                assertEquals(getExpectedValue(0, row.getRowNumber()), row.getValue(0));
+                assertEquals(getExpectedValue(4, row.getRowNumber()), row.getValue(4));
+                assertNull(row.getCell(1));
+            }
+        }
+        assertEquals(15, rows.size());
+        assertEquals(5, rows.get(0));
+        assertFalse(rows.contains(7));
+        assertEquals(20, rows.get(rows.size() - 1));
+    }
+
+    @DisplayName("Test of the default import options without projection")
+    @Test()
+    void noProjectionTest() {
+        ImportOptions options = new ImportOptions();
+        assertFalse(options.hasProjection());
+        assertTrue(options.isProjectedRow(0));
+        assertTrue(options.isProjectedRow(Integer.MAX_VALUE));
+        assertTrue(options.isProjectedColumn(16383));
+        assertEquals(0, options.getFirstProjectedRow());
+        assertEquals(Integer.MAX_VALUE, options.getLastProjectedRow());
+        assertNull(options.getProjectedRowFilter());
+        assertTrue(options.getProjectedColumns().isEmpty());
+    }
+
+    @DisplayName("Test of the failing definition of an invalid projection")
+    @ParameterizedTest(name = "Given the row range {0} to {1} should lead to an exception")
+    @CsvSource(
+            {
+                    "-1, 10",
+                    "10, 9",
+            }
+    )
+    void invalidRowRangeTest(int firstRow, int lastRow) {
+        ImportOptions options = new ImportOptions();
+        assertThrows(RangeException.class, () -> options.setProjectedRowRange(firstRow, lastRow));
+        assertThrows(RangeException.class, () -> options.addProjectedColumn(16384));
+        assertThrows(RangeException.class, () -> options.addProjectedColumn(-1));
+    }
+
+    private static Object getExpectedValue(int column, int row) {
+        switch (column) {
+            case 0:
+                return "value" + row;
+            case 1:
+                return row;
+            case 2:
+                return row * 1.5f + 0.25f;
+            case 3:
+                return row % 2 == 0;
+            default:
+                return "shared" + (row % 10);
+        }
+    }
+
+    private static byte[] createWorkbook() throws Exception {
+        Workbook workbook = new Workbook("projection");
+        Worksheet worksheet = workbook.getCurrentWorksheet();
+        for (int r = 0; r < 100; r++) {
+            for (int c = 0; c < 5; c++) {
+                worksheet.addCell(getExpectedValue(c, r), c, r);
+            }
+        }
+        worksheet.addHiddenRow(50);
+        return TestUtils.saveWorkbook(workbook);
+    }
+}
@@ -0,0 +1,138 @@
+package ch.rabanti.nanoxlsx4j.reader;
+
+import ch.rabanti.nanoxlsx4j.ImportOptions;
+import ch.rabanti.nanoxlsx4j.RowHandler;
+import ch.rabanti.nanoxlsx4j.SheetRowReader;
+import ch.rabanti.nanoxlsx4j.TestUtils;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.exceptions.IOException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RowHandlerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Test of the reading of all rows of a worksheet by a row handler")
+    @ParameterizedTest(name = "Given worksheet {0} (index {1}) and reading from a file ({2}) should lead to {3} handled rows")
+    @CsvSource(
+            {
+                    "data, 0, false, 50",
+                    "data, 0, true, 50",
+                    "header, 1, false, 1",
+                    "header, 1, true, 1",
+            }
+    )
+    void readTest(String worksheetName, int worksheetIndex, boolean fromFile, int expectedRows) throws Exception {
+        byte[] data = createWorkbook();
+        String fileName = tempDir.resolve("rows.xlsx").toString();
+        Files.write(Path.of(fileName), data);
+        List<SheetRowReader.Row> rowsByName = new ArrayList<>();
+        List<SheetRowReader.Row> rowsByIndex = new ArrayList<>();
+        boolean completedByName;
+        boolean completedByIndex;
+        if (fromFile) {
+            completedByName = Workbook.read(fileName, worksheetName, row -> add(rowsByName, row));
+            completedByIndex = Workbook.read(fileName, worksheetIndex, row -> add(rowsByIndex, row));
+        }
+        else {
+            completedByName = Workbook.read(new ByteArrayInputStream(data), worksheetName, row -> add(rowsByName, row));
+            completedByIndex = Workbook.read(new ByteArrayInputStream(data), worksheetIndex, row -> add(rowsByIndex, row));
+        }
+        assertTrue(completedByName);
+        assertTrue(completedByIndex);
+        assertEquals(expectedRows, rowsByName.size());
+        assertEquals(expectedRows, rowsByIndex.size());
+        for (int i = 0; i < expectedRows; i++) {
+            assertEquals(i, rowsByName.get(i).getRowNumber());
+            assertEquals(rowsByName.get(i).getValue(0), rowsByIndex.get(i).getValue(0));
+        }
+    }
+
+    @DisplayName("Test of the early termination of the reading by a row handler")
+    @ParameterizedTest(name = "Given a stop at row {0} and reading from a file ({1}) should lead to {0} handled rows")
+    @CsvSource(
+            {
+                    "1, false",
+                    "1, true",
+                    "25, false",
+                    "25, true",
+            }
+    )
+    void readStopTest(int stopRow, boolean fromFile) throws Exception {
+        byte[] data = createWorkbook();
+        List<SheetRowReader.Row> rows = new ArrayList<>();
+        RowHandler handler = row -> {
+            rows.add(row);
+            return rows.size() == stopRow ? RowHandler.Action.STOP : RowHandler.Action.CONTINUE;
+        };
+        boolean completed;
+        if (fromFile) {
+            Path path = tempDir.resolve("stop.xlsx");
+            Files.write(path, data);
+            completed = Workbook.read(path.toString(), "data", handler);
+            // The file must be released after the stop
+            Files.delete(path);
+        }
+        else {
+            completed = Workbook.read(new ByteArrayInputStream(data), "data", handler);
+        }
+        assertFalse(completed);
+        assertEquals(stopRow, rows.size());
+        assertEquals("value" + (stopRow - 1), rows.get(stopRow - 1).getValue(0));
+    }
+
+    @DisplayName("Test of the reading by a row handler with import options")
+    @Test()
+    void readImportOptionsTest() throws Exception {
+        ImportOptions options = new ImportOptions();
+        options.setGlobalEnforcingType(ImportOptions.GlobalType.EverythingToString);
+        List<Object> values = new ArrayList<>();
+        Workbook.read(new ByteArrayInputStream(createWorkbook()), 0, options, row -> {
+            values.add(row.getValue(1));
+            return RowHandler.Action.CONTINUE;
+        });
+        assertEquals(50, values.size());
+        assertEquals("0", values.get(0));
+        assertEquals("49", values.get(49));
+    }
+
+    @DisplayName("Test of the failing reading by a row handler of a worksheet that does not exist")
+    @Test()
+    void readFailTest() throws Exception {
+        byte[] data = createWorkbook();
+        assertThrows(IOException.class, () -> Workbook.read(new ByteArrayInputStream(data), "missing", row -> RowHandler.Action.CONTINUE));
+        assertThrows(IOException.class, () -> Workbook.read(new ByteArrayInputStream(data), 5, row -> RowHandler.Action.CONTINUE));
+    }
+
+    private static RowHandler.Action add(List<SheetRowReader.Row> rows, SheetRowReader.Row row) {
+        rows.add(row);
+        return RowHandler.Action.CONTINUE;
+    }
+
+    private static byte[] createWorkbook() throws Exception {
+        Workbook workbook = new Workbook("data");
+        for (int r = 0; r < 50; r++) {
+            workbook.getCurrentWorksheet().addCell("value" + r, 0, r);
+            workbook.getCurrentWorksheet().addCell(r, 1, r);
+        }
+        workbook.addWorksheet("header");
+        workbook.getCurrentWorksheet().addCell("header", 0, 0);
+        return TestUtils.saveWorkbook(workbook);
+    }
+}
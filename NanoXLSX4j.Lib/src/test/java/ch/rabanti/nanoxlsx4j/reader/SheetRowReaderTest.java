@@ -0,0 +1,212 @@
+package ch.rabanti.nanoxlsx4j.reader;
+
+import ch.rabanti.nanoxlsx4j.Cell;
+import ch.rabanti.nanoxlsx4j.ImportOptions;
+import ch.rabanti.nanoxlsx4j.SheetRowReader;
+import ch.rabanti.nanoxlsx4j.TestUtils;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.Worksheet;
+import ch.rabanti.nanoxlsx4j.exceptions.IOException;
+import ch.rabanti.nanoxlsx4j.styles.BasicStyles;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SheetRowReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("Test of the row by row reading of the worksheets of test files, compared with the regular loading")
+    @ParameterizedTest(name = "Given file {0} should lead to the same cells as the loaded workbook")
+    @CsvSource(
+            {
+                    "inline_shared_strings.xlsx",
+                    "new_format.xlsx",
+                    "swapped_worksheets.xlsx",
+                    "omitted_style_refs.xlsx",
+                    "valid_column_row_dimensions.xlsx",
+            }
+    )
+    void readFileTest(String fileName) throws Exception {
+        byte[] data = TestUtils.getResource(fileName).readAllBytes();
+        Workbook expectedWorkbook = Workbook.load(new ByteArrayInputStream(data));
+        for (int i = 0; i < expectedWorkbook.getWorksheets().size(); i++) {
+            try (SheetRowReader reader = new SheetRowReader(new ByteArrayInputStream(data), i)) {
+                assertWorksheet(expectedWorkbook.getWorksheets().get(i), reader);
+            }
+        }
+    }
+
+    @DisplayName("Test of the row by row reading of a saved workbook with all data types, styles and row definitions")
+    @ParameterizedTest(name = "Given import option {0} and reading from a file ({1}) should lead to the same cells as the loaded workbook")
+    @CsvSource(
+            {
+                    "Default, false",
+                    "Default, true",
+                    "AllNumbersToDouble, false",
+                    "EverythingToString, true",
+            }
+    )
+    void readWorkbookTest(ImportOptions.GlobalType globalType, boolean fromFile) throws Exception {
+        Workbook workbook = createWorkbook();
+        ImportOptions options = new ImportOptions();
+        options.setGlobalEnforcingType(globalType);
+        options.addEnforcedColumn(3, ImportOptions.ColumnType.String);
+        Workbook expectedWorkbook;
+        SheetRowReader reader;
+        if (fromFile) {
+            String fileName = tempDir.resolve("rows.xlsx").toString();
+            workbook.saveAs(fileName);
+            expectedWorkbook = Workbook.load(fileName, options);
+            reader = new SheetRowReader(fileName, "data", options);
+        }
+        else {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            workbook.saveAsStream(stream);
+            expectedWorkbook = Workbook.load(new ByteArrayInputStream(stream.toByteArray()), options);
+            reader = new SheetRowReader(new ByteArrayInputStream(stream.toByteArray()), "data", options);
+        }
+        try {
+            assertWorksheet(expectedWorkbook.getWorksheet("data"), reader);
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    @DisplayName("Test of the row attributes and the iteration of a row reader")
+    @Test()
+    void readRowAttributesTest() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        createWorkbook().saveAsStream(stream);
+        List<SheetRowReader.Row> rows = new ArrayList<>();
+        try (SheetRowReader reader = new SheetRowReader(new ByteArrayInputStream(stream.toByteArray()), "data")) {
+            for (SheetRowReader.Row row : reader) {
+                rows.add(row);
+            }
+            assertFalse(reader.hasNext());
+            assertNull(reader.readRow());
+            assertThrows(NoSuchElementException.class, reader::next);
+        }
+        assertEquals(101, rows.size());
+        assertEquals(0, rows.get(0).getRowNumber());
+        assertEquals("text0", rows.get(0).getValue(0));
+        assertEquals(0, rows.get(0).getValue(1));
+        assertNull(rows.get(0).getValue(10));
+        assertNull(rows.get(0).getCell(10));
+        assertTrue(rows.get(5).isHidden());
+        assertFalse(rows.get(6).isHidden());
+        assertEquals(30f, rows.get(7).getHeight());
+        assertNull(rows.get(8).getHeight());
+        assertEquals(200, rows.get(100).getRowNumber());
+        assertEquals(1, rows.get(100).getCells().size());
+        assertThrows(UnsupportedOperationException.class, () -> rows.get(0).getCells().clear());
+    }
+
+    @DisplayName("Test of the early closing of a row reader")
+    @Test()
+    void closeTest() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        createWorkbook().saveAsStream(stream);
+        SheetRowReader reader = new SheetRowReader(new ByteArrayInputStream(stream.toByteArray()), 0);
+        assertEquals(0, reader.readRow().getRowNumber());
+        reader.close();
+        assertNull(reader.readRow());
+        assertFalse(reader.hasNext());
+        reader.close();
+    }
+
+    @DisplayName("Test of the failing opening of a worksheet that does not exist")
+    @ParameterizedTest(name = "Given worksheet name {0} or index {1} should lead to an exception")
+    @CsvSource(
+            {
+                    "missing, 0",
+                    ", 2",
+                    ", -1",
+            }
+    )
+    void openFailTest(String worksheetName, int worksheetIndex) throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        createWorkbook().saveAsStream(stream);
+        InputStream givenStream = new ByteArrayInputStream(stream.toByteArray());
+        if (worksheetName == null) {
+            assertThrows(IOException.class, () -> new SheetRowReader(givenStream, worksheetIndex));
+        }
+        else {
+            assertThrows(IOException.class, () -> new SheetRowReader(givenStream, worksheetName));
+        }
+    }
+
+    @DisplayName("Test of the failing opening of an invalid file")
+    @Test()
+    void openInvalidFileTest() {
+        InputStream stream = TestUtils.getResource("invalid_workbook.xlsx");
+        assertThrows(IOException.class, () -> new SheetRowReader(stream, 0));
+    }
+
+    private static Workbook createWorkbook() {
+        Workbook workbook = new Workbook("data");
+        Worksheet worksheet = workbook.getCurrentWorksheet();
+        for (int r = 0; r < 100; r++) {
+            worksheet.addCell("text" + r, 0, r);
+            worksheet.addCell(r, 1, r, r % 3 == 0 ? BasicStyles.Bold() : null);
+            worksheet.addCell(r * 1.5d, 2, r);
+            worksheet.addCell(r % 2 == 0, 3, r);
+            worksheet.addCell(TestUtils.buildDate(2020, 1, 1 + r % 28), 4, r);
+            worksheet.addCell(Duration.ofMinutes(r), 5, r);
+            worksheet.addCellFormula("B" + (r + 1) + "*2", 6, r);
+            if (r % 4 == 0) {
+                worksheet.addCell(null, 7, r, BasicStyles.BorderFrame());
+            }
+        }
+        worksheet.addCell("last", 0, 200);
+        worksheet.addHiddenRow(5);
+        worksheet.setRowHeight(7, 30f);
+        workbook.addWorksheet("other");
+        workbook.getCurrentWorksheet().addCell("other", 0, 0);
+        return workbook;
+    }
+
+    private static void assertWorksheet(Worksheet expectedWorksheet, SheetRowReader reader) throws Exception {
+        int cellCount = 0;
+        int lastRowNumber = -1;
+        SheetRowReader.Row row;
+        while ((row = reader.readRow()) != null) {
+            assertTrue(row.getRowNumber() > lastRowNumber);
+            lastRowNumber = row.getRowNumber();
+            assertEquals(expectedWorksheet.getHiddenRows().getOrDefault(row.getRowNumber(), false), row.isHidden());
+            assertEquals(expectedWorksheet.getRowHeights().get(row.getRowNumber()), row.getHeight());
+            for (Cell cell : row.getCells()) {
+                assertEquals(row.getRowNumber(), cell.getRowNumber());
+                Cell expectedCell = expectedWorksheet.getCells().get(cell.getCellAddress());
+                assertEquals(expectedCell.getDataType(), cell.getDataType(), cell.getCellAddress());
+                assertEquals(expectedCell.getValue(), cell.getValue(), cell.getCellAddress());
+                assertEquals(expectedCell.getCellStyle(), cell.getCellStyle(), cell.getCellAddress());
+                cellCount++;
+            }
+        }
+        assertEquals(expectedWorksheet.getCells().size(), cellCount);
+        for (Map.Entry<Integer, Boolean> hiddenRow : expectedWorksheet.getHiddenRows().entrySet()) {
+            assertTrue(hiddenRow.getKey() <= lastRowNumber || !hiddenRow.getValue());
+        }
+    }
+}
@@ -1,17 +1,45 @@
 package ch.rabanti.nanoxlsx4j.workbooks;
 
+import ch.rabanti.nanoxlsx4j.SaveOptions;
 import ch.rabanti.nanoxlsx4j.TestUtils;
 import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.exceptions.IOException;
+import ch.rabanti.nanoxlsx4j.styles.Font;
+import ch.rabanti.nanoxlsx4j.styles.Style;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class SaveTest {
@@ -118,4 +146,192 @@ public class SaveTest {
             throw new AssertionError("Stream exception", ex);
         }
     }
+
+    @DisplayName("Test of the saveAsAsync function (file System) with an executor and the common pool")
+    @ParameterizedTest(name = "Given executor threads {0} should lead to a saved file")
+    @CsvSource(
+            {
+                    "0",
+                    "2",}
+    )
+    void saveAsAsyncTest(int threads) throws Exception {
+        ExecutorService executor = threads == 0 ? null : Executors.newFixedThreadPool(threads);
+        try {
+            String fileName = WorkbookTest.getRandomName();
+            Workbook workbook = new Workbook("test");
+            workbook.getCurrentWorksheet().addCell("value", "A1");
+            workbook.saveAsAsync(fileName, executor).get(30, TimeUnit.SECONDS);
+            WorkbookTest.assertExistingFile(fileName, true);
+        }
+        finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @DisplayName("Test of the saveAsStreamAsync function, where the workbook is modified after the call")
+    @Test()
+    void saveAsStreamAsyncTest() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        Workbook workbook = new Workbook("test");
+        workbook.getCurrentWorksheet().addCell("value", "A1");
+        workbook.getCurrentWorksheet().addCell(42, "B2");
+        workbook.getWorkbookMetadata().setTitle("title");
+        workbook.addWorksheet("second");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        CompletableFuture<Void> future = workbook.saveAsStreamAsync(stream, tasks::add);
+        assertFalse(future.isDone());
+        workbook.getWorksheet("test").addCell("modified", "A1");
+        workbook.getWorksheet("test").removeCell(1, 1);
+        workbook.getWorksheet("test").setSheetName("renamed");
+        workbook.getWorkbookMetadata().setTitle("modified");
+        workbook.removeWorksheet("second");
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertTrue(future.isDone());
+        future.join();
+        Workbook givenWorkbook = Workbook.load(new ByteArrayInputStream(stream.toByteArray()));
+        assertEquals(2, givenWorkbook.getWorksheets().size());
+        assertEquals("value", givenWorkbook.getWorksheet("test").getCell("A1").getValue());
+        assertEquals(42, givenWorkbook.getWorksheet("test").getCell("B2").getValue());
+        assertEquals("title", givenWorkbook.getWorkbookMetadata().getTitle());
+        assertEquals("second", givenWorkbook.getWorksheets().get(1).getSheetName());
+    }
+
+    @DisplayName("Test of the saveAsStreamAsync function, where the styles are modified while the workbook is saved")
+    @Test()
+    void saveAsStreamAsyncStyleTest() throws Exception {
+        Style style = new Style();
+        style.getFont().setName("AsyncStyleTest");
+        style.getFont().setSize(14f);
+        Workbook workbook = new Workbook("test");
+        for (int r = 0; r < 5000; r++) {
+            workbook.getCurrentWorksheet().addCell("value" + r, 0, r, style);
+            workbook.getCurrentWorksheet().addCell(r, 1, r);
+        }
+        workbook.getCurrentWorksheet().setColumnDefaultStyle(2, style);
+        Style liveStyle = workbook.getCurrentWorksheet().getCell("A1").getCellStyle();
+        Font liveFont = liveStyle.getFont();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            CompletableFuture<Void> future = workbook.saveAsStreamAsync(stream, executor);
+            int i = 0;
+            while (!future.isDone()) {
+                liveFont.setSize(20f + (i % 10));
+                liveFont.setItalic(i % 2 == 0);
+                i++;
+            }
+            future.get(30, TimeUnit.SECONDS);
+            // The save must neither replace the components of the live style nor see the modifications
+            assertSame(liveFont, liveStyle.getFont());
+            assertSame(liveStyle, workbook.getCurrentWorksheet().getCell("A1").getCellStyle());
+            // The style sheet is checked directly, since a loaded style would be resolved by the (modified) live style
+            String styles = null;
+            try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(stream.toByteArray()))) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    if (entry.getName().equals("xl/styles.xml")) {
+                        styles = new String(zip.readAllBytes(), StandardCharsets.UTF_8);
+                    }
+                }
+            }
+            assertNotNull(styles);
+            int nameIndex = styles.indexOf("<name val=\"AsyncStyleTest\"/>");
+            assertEquals(nameIndex, styles.lastIndexOf("<name val=\"AsyncStyleTest\"/>"));
+            String font = styles.substring(styles.lastIndexOf("<font>", nameIndex), styles.indexOf("</font>", nameIndex));
+            assertTrue(font.contains("<sz val=\"14.0\"/>"));
+            assertFalse(font.contains("<i/>"));
+        }
+        finally {
+            executor.shutdown();
+            liveFont.setSize(14f);
+            liveFont.setItalic(false);
+        }
+    }
+
+    @DisplayName("Test of the failing saveAsStreamAsync function, where the error is reported by the future")
+    @Test()
+    void saveAsStreamAsyncFailTest() {
+        Workbook workbook = new Workbook("test");
+        CompletableFuture<Void> future = workbook.saveAsStreamAsync(null, Runnable::run);
+        assertTrue(future.isCompletedExceptionally());
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IOException.class, exception.getCause());
+        CompletableFuture<Void> future2 = workbook.saveAsStreamAsync(new ByteArrayOutputStream(), task -> {
+            throw new RejectedExecutionException("rejected");
+        });
+        exception = assertThrows(ExecutionException.class, future2::get);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+    }
+
+    @DisplayName("Test of the saveAs function with a path, with and without preallocation and forcing to the disk")
+    @ParameterizedTest(name = "Given preallocation {0} and force {1} should lead to a valid file")
+    @CsvSource(
+            {
+                    "0, false",
+                    "0, true",
+                    "100, false",
+                    "10000000, true",}
+    )
+    void saveAsPathTest(long preallocationSize, boolean force) throws Exception {
+        Path path = Path.of(WorkbookTest.getRandomName());
+        try {
+            Workbook workbook = createLargeWorkbook();
+            SaveOptions options = new SaveOptions();
+            options.setPreallocationSize(preallocationSize);
+            options.setForceToDisk(force);
+            workbook.saveAs(path, options);
+            byte[] data = Files.readAllBytes(path);
+            assertTrue(data.length < 10000000);
+            int endOfCentralDirectory = data.length - 22; // Preallocated space is truncated, thus the file ends with the record
+            assertEquals(0x06054b50, ByteBuffer.wrap(data, endOfCentralDirectory, 4).order(ByteOrder.LITTLE_ENDIAN).getInt());
+            Workbook givenWorkbook = Workbook.load(path.toString());
+            assertEquals("value 29999", givenWorkbook.getCurrentWorksheet().getCell(2, 29999).getValue());
+        }
+        finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @DisplayName("Test of the saveAsChannel function with a channel that remains open")
+    @Test()
+    void saveAsChannelTest() throws Exception {
+        Workbook workbook = createLargeWorkbook();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(stream);
+        SaveOptions options = new SaveOptions();
+        options.setStored(SaveOptions.PartType.WORKSHEET, true);
+        workbook.saveAsChannel(channel, options);
+        assertTrue(channel.isOpen());
+        int size = stream.size();
+        assertTrue(size > 1024 * 1024); // Larger than the internal buffer, since the worksheet is not compressed
+        workbook.saveAsChannel(channel, options); // Second workbook (reused buffer)
+        byte[] data = stream.toByteArray();
+        Workbook givenWorkbook = Workbook.load(new ByteArrayInputStream(data, 0, size));
+        assertEquals("value 29999", givenWorkbook.getCurrentWorksheet().getCell(2, 29999).getValue());
+        givenWorkbook = Workbook.load(new ByteArrayInputStream(data, size, data.length - size));
+        assertEquals("value 29999", givenWorkbook.getCurrentWorksheet().getCell(2, 29999).getValue());
+    }
+
+    @DisplayName("Test of the failing saveAsChannel function with a null or closed channel")
+    @Test()
+    void saveAsChannelFailTest() throws Exception {
+        Workbook workbook = new Workbook("test");
+        assertThrows(IOException.class, () -> workbook.saveAsChannel(null));
+        WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+        channel.close();
+        assertThrows(IOException.class, () -> workbook.saveAsChannel(channel));
+    }
+
+    private static Workbook createLargeWorkbook() {
+        Workbook workbook = new Workbook("test");
+        for (int r = 0; r < 30000; r++) {
+            workbook.getCurrentWorksheet().addCell(r, 0, r);
+            workbook.getCurrentWorksheet().addCell(r * 0.5, 1, r);
+            workbook.getCurrentWorksheet().addCell("value " + r, 2, r);
+        }
+        return workbook;
+    }
 }
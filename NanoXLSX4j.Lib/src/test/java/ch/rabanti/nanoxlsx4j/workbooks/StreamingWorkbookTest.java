@@ -0,0 +1,200 @@
+package ch.rabanti.nanoxlsx4j.workbooks;
+
+import ch.rabanti.nanoxlsx4j.Cell;
+import ch.rabanti.nanoxlsx4j.SaveOptions;
+import ch.rabanti.nanoxlsx4j.SheetWriter;
+import ch.rabanti.nanoxlsx4j.StreamingWorkbook;
+import ch.rabanti.nanoxlsx4j.Workbook;
+import ch.rabanti.nanoxlsx4j.Worksheet;
+import ch.rabanti.nanoxlsx4j.exceptions.RangeException;
+import ch.rabanti.nanoxlsx4j.exceptions.WorksheetException;
+import ch.rabanti.nanoxlsx4j.styles.BasicStyles;
+import ch.rabanti.nanoxlsx4j.styles.Style;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamingWorkbookTest {
+
+    @DisplayName("Test of the streamed writing of rows with different value types, with the row window size as parameter")
+    @ParameterizedTest(name = "Given row window {0} should lead to the same workbook")
+    @CsvSource(
+            {
+                    "1",
+                    "3",
+                    "100",
+            }
+    )
+    void writeRowsTest(int rowWindow) throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (StreamingWorkbook workbook = new StreamingWorkbook(stream, rowWindow)) {
+            SheetWriter sheet = workbook.addWorksheet("streamed");
+            for (int r = 0; r < 250; r++) {
+                sheet.addRow("text" + r, r, r % 2 == 0, null, r + 0.25f);
+            }
+            sheet.addCellFormula("SUM(B1:B250)", 1, 250);
+        }
+        Workbook givenWorkbook = load(stream);
+        Worksheet worksheet = givenWorkbook.getCurrentWorksheet();
+        assertEquals("streamed", worksheet.getSheetName());
+        assertEquals(1001, worksheet.getCells().size());
+        for (int r = 0; r < 250; r++) {
+            assertEquals("text" + r, worksheet.getCell(0, r).getValue());
+            assertEquals(r, worksheet.getCell(1, r).getValue());
+            assertEquals(r % 2 == 0, worksheet.getCell(2, r).getValue());
+            assertFalse(worksheet.hasCell(3, r));
+            assertEquals(r + 0.25f, worksheet.getCell(4, r).getValue());
+        }
+        assertEquals(Cell.CellType.FORMULA, worksheet.getCell(1, 250).getDataType());
+        assertEquals("SUM(B1:B250)", worksheet.getCell(1, 250).getValue());
+    }
+
+    @DisplayName("Test of the streamed writing of styles that are added after other styles were already written")
+    @Test()
+    void writeStylesTest() throws Exception {
+        Style style1 = BasicStyles.Bold();
+        Style style2 = BasicStyles.Italic();
+        Date date = new Date(1500000000000L);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (StreamingWorkbook workbook = new StreamingWorkbook(stream, 1)) {
+            SheetWriter sheet = workbook.addWorksheet("styles");
+            sheet.addRow(Arrays.asList("a", 1), style1);
+            sheet.addRow(Arrays.asList("b", 2), style2);
+            sheet.addRow(Arrays.asList("c", 3), null);
+            sheet.addRow(Arrays.asList("d", 4), style1);
+            sheet.addCell(date, 0, 4);
+            sheet.addCell(date, 1, 4, style2);
+        }
+        Workbook givenWorkbook = load(stream);
+        Worksheet worksheet = givenWorkbook.getCurrentWorksheet();
+        assertTrue(worksheet.getCell(0, 0).getCellStyle().getFont().isBold());
+        assertTrue(worksheet.getCell(1, 1).getCellStyle().getFont().isItalic());
+        assertFalse(worksheet.getCell(1, 1).getCellStyle().getFont().isBold());
+        assertNull(worksheet.getCell(0, 2).getCellStyle());
+        assertTrue(worksheet.getCell(1, 3).getCellStyle().getFont().isBold());
+        assertEquals(date, worksheet.getCell(0, 4).getValue());
+        assertEquals(date, worksheet.getCell(1, 4).getValue());
+        assertTrue(worksheet.getCell(1, 4).getCellStyle().getFont().isItalic());
+    }
+
+    @DisplayName("Test of the streamed writing of several worksheets with merged cells, row heights, hidden rows and columns")
+    @Test()
+    void writeWorksheetsTest() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (StreamingWorkbook workbook = new StreamingWorkbook(stream, 2)) {
+            workbook.getWorkbookMetadata().setTitle("Streamed");
+            SheetWriter sheet1 = workbook.addWorksheet("sheet1");
+            sheet1.getWorksheet().setColumnWidth(0, 42f);
+            sheet1.addRow("merged", "hidden");
+            sheet1.mergeCells("A1:B2");
+            sheet1.setRowHeight(1, 30f);
+            sheet1.addHiddenRow(5);
+            SheetWriter sheet2 = workbook.addWorksheet("sheet2");
+            sheet2.addCell("x", 2, 3);
+            assertTrue(sheet1.isCompleted());
+        }
+        Workbook givenWorkbook = load(stream);
+        assertEquals("Streamed", givenWorkbook.getWorkbookMetadata().getTitle());
+        assertEquals(2, givenWorkbook.getWorksheets().size());
+        Worksheet worksheet1 = givenWorkbook.getWorksheet("sheet1");
+        assertEquals("merged", worksheet1.getCell(0, 0).getValue());
+        assertEquals(Cell.CellType.EMPTY, worksheet1.getCell(1, 0).getDataType());
+        assertTrue(worksheet1.getMergedCells().containsKey("A1:B2"));
+        assertEquals(42f, worksheet1.getColumns().get(0).getWidth(), 1f); // Width is rounded internally
+        assertEquals(30f, worksheet1.getRowHeights().get(1));
+        assertTrue(worksheet1.getHiddenRows().get(5));
+        assertEquals("x", givenWorkbook.getWorksheet("sheet2").getCell(2, 3).getValue());
+    }
+
+    @DisplayName("Test of the streamed writing of inline strings")
+    @Test()
+    void inlineStringsTest() throws Exception {
+        SaveOptions options = new SaveOptions();
+        options.setStringMode(SaveOptions.StringMode.INLINE);
+        options.setStringMode("streamed", 1, SaveOptions.StringMode.SHARED);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (StreamingWorkbook workbook = new StreamingWorkbook(stream, 10, options)) {
+            SheetWriter sheet = workbook.addWorksheet("streamed");
+            for (int r = 0; r < 50; r++) {
+                sheet.addRow("inline" + r, "shared" + (r % 3));
+            }
+        }
+        Worksheet worksheet = load(stream).getCurrentWorksheet();
+        for (int r = 0; r < 50; r++) {
+            assertEquals("inline" + r, worksheet.getCell(0, r).getValue());
+            assertEquals("shared" + (r % 3), worksheet.getCell(1, r).getValue());
+        }
+    }
+
+    @DisplayName("Test of the failing modification of rows that were already written")
+    @Test()
+    void writtenRowFailTest() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (StreamingWorkbook workbook = new StreamingWorkbook(stream, 2)) {
+            SheetWriter sheet = workbook.addWorksheet("sheet1");
+            sheet.addRow("a");
+            sheet.addRow("b");
+            sheet.addRow("c");
+            assertEquals(1, sheet.getFirstOpenRowNumber());
+            assertThrows(WorksheetException.class, () -> sheet.addCell("x", 1, 0));
+            assertThrows(WorksheetException.class, () -> sheet.mergeCells("A1:A3"));
+            sheet.addCell("y", 1, 1);
+            sheet.flush();
+            assertThrows(WorksheetException.class, () -> sheet.addCell("z", 1, 2));
+            sheet.addRow("d");
+            assertEquals(3, sheet.getNextRowNumber() - 1);
+        }
+        Workbook givenWorkbook = load(stream);
+        assertEquals("y", givenWorkbook.getCurrentWorksheet().getCell(1, 1).getValue());
+        assertEquals("d", givenWorkbook.getCurrentWorksheet().getCell(0, 3).getValue());
+    }
+
+    @DisplayName("Test of the failing modification of a completed worksheet and a closed workbook")
+    @Test()
+    void completedFailTest() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        StreamingWorkbook workbook = new StreamingWorkbook(stream);
+        SheetWriter sheet = workbook.addWorksheet("sheet1");
+        workbook.addWorksheet("sheet2");
+        assertThrows(WorksheetException.class, () -> sheet.addRow("a"));
+        workbook.close();
+        assertTrue(workbook.isClosed());
+        assertThrows(WorksheetException.class, () -> workbook.addWorksheet("sheet3"));
+        workbook.close(); // Second call is ignored
+        assertEquals(2, load(stream).getWorksheets().size());
+    }
+
+    @DisplayName("Test of the streamed writing of an empty workbook")
+    @Test()
+    void emptyWorkbookTest() throws Exception {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new StreamingWorkbook(stream).close();
+        Workbook givenWorkbook = load(stream);
+        assertEquals(1, givenWorkbook.getWorksheets().size());
+        assertEquals("Sheet1", givenWorkbook.getCurrentWorksheet().getSheetName());
+        assertEquals(0, givenWorkbook.getCurrentWorksheet().getCells().size());
+    }
+
+    @DisplayName("Test of the failing constructor with an invalid row window")
+    @Test()
+    void rowWindowFailTest() {
+        assertThrows(RangeException.class, () -> new StreamingWorkbook(new ByteArrayOutputStream(), 0));
+    }
+
+    private static Workbook load(ByteArrayOutputStream stream) throws Exception {
+        return Workbook.load(new ByteArrayInputStream(stream.toByteArray()));
+    }
+
+}
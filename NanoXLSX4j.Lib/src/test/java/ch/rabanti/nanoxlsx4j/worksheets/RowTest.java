@@ -9,6 +9,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -236,4 +238,105 @@ public class RowTest {
         assertEquals(0, row.size());
     }
 
+
+    @DisplayName("Test of the getSortedRows function after adding cells in random order")
+    @Test()
+    void getSortedRowsTest() {
+        Worksheet worksheet = new Worksheet();
+        worksheet.addCell("C3", 2, 2);
+        worksheet.addCell("A3", 0, 2);
+        worksheet.addCell("B1", 1, 0);
+        worksheet.addCell("B3", 1, 2);
+        worksheet.addCell("A1", 0, 0);
+        worksheet.addCell("Z10", 25, 9);
+        assertSortedRows(worksheet, "A1,B1", "A3,B3,C3", "Z10");
+        worksheet.addCell("B3 new", 1, 2); // Replaces the existing cell
+        assertEquals("B3 new", worksheet.getSortedRows().get(2).get(1).getValue());
+        assertSortedRows(worksheet, "A1,B1", "A3,B3,C3", "Z10");
+        assertThrows(UnsupportedOperationException.class, () -> worksheet.getSortedRows().get(0).add(new Cell()));
+        assertThrows(UnsupportedOperationException.class, () -> worksheet.getSortedRows().remove(0));
+    }
+
+    @DisplayName("Test of the getSortedRows function after removing cells, also by the map of cells")
+    @Test()
+    void getSortedRowsTest2() {
+        Worksheet worksheet = new Worksheet();
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++) {
+                worksheet.addCell(r * 3 + c, c, r);
+            }
+        }
+        worksheet.removeCell(1, 0);
+        worksheet.getCells().remove("A2");
+        worksheet.getCells().entrySet().removeIf(entry -> entry.getKey().equals("C2"));
+        worksheet.getCells().values().removeIf(cell -> cell.getRowNumber() == 2 && cell.getColumnNumber() != 1);
+        assertSortedRows(worksheet, "A1,C1", "B2", "B3");
+        worksheet.getCells().remove("B2");
+        assertSortedRows(worksheet, "A1,C1", "B3");
+        worksheet.getCells().put("D2", new Cell("x", Cell.CellType.STRING, "D2"));
+        worksheet.getCells().entrySet().iterator().next().setValue(new Cell("y", Cell.CellType.STRING, "E5"));
+        assertEquals(worksheet.getCells().size(), worksheet.getSortedRows().values().stream().mapToInt(List::size).sum());
+        worksheet.getCells().clear();
+        assertTrue(worksheet.getSortedRows().isEmpty());
+    }
+
+    @DisplayName("Test of the getSortedRows function after inserting rows and columns")
+    @Test()
+    void getSortedRowsTest3() {
+        Worksheet worksheet = new Worksheet();
+        worksheet.addCell("A1", 0, 0);
+        worksheet.addCell("B1", 1, 0);
+        worksheet.addCell("A2", 0, 1);
+        worksheet.addCell("B2", 1, 1);
+        worksheet.insertRow(0, 1);
+        worksheet.insertColumn(0, 1);
+        List<String> expected = new ArrayList<>();
+        for (List<Cell> row : worksheet.getSortedRows().values()) {
+            for (Cell cell : row) {
+                expected.add(cell.getCellAddress());
+            }
+        }
+        List<String> sorted = new ArrayList<>(worksheet.getCells().keySet());
+        sorted.sort(Comparator.comparing((String address) -> new Address(address).Row).thenComparing(address -> new Address(address).Column));
+        assertEquals(sorted, expected);
+    }
+
+    @DisplayName("Test of the getModificationCount function with modifications of cells and cells that are shared between worksheets")
+    @Test()
+    void getModificationCountTest() {
+        Worksheet worksheet = new Worksheet();
+        worksheet.addCell("A1", 0, 0);
+        long count = worksheet.getModificationCount();
+        worksheet.getCell(0, 0).setValue("x");
+        assertTrue(worksheet.getModificationCount() > count);
+        count = worksheet.getModificationCount();
+        worksheet.getCell(0, 0).resolveCellType(); // Type is unchanged
+        worksheet.getCell(0, 0).removeStyle(); // No style assigned
+        assertEquals(count, worksheet.getModificationCount());
+        Cell cell = worksheet.getCell(0, 0);
+        worksheet.removeCell(0, 0);
+        count = worksheet.getModificationCount();
+        cell.setValue("y"); // Not part of the worksheet anymore
+        assertEquals(count, worksheet.getModificationCount());
+        worksheet.addCell("B1", 1, 0);
+        Worksheet other = new Worksheet();
+        other.getCells().put("B1", worksheet.getCell(1, 0));
+        assertEquals(-1, worksheet.getModificationCount());
+        assertEquals(-1, other.getModificationCount());
+    }
+
+    private static void assertSortedRows(Worksheet worksheet, String... expectedRows) {
+        List<List<Cell>> rows = new ArrayList<>(worksheet.getSortedRows().values());
+        assertEquals(expectedRows.length, rows.size());
+        for (int i = 0; i < expectedRows.length; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (Cell cell : rows.get(i)) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(cell.getCellAddress());
+            }
+            assertEquals(expectedRows[i], sb.toString());
+        }
+    }
 }